@@ -1,6 +1,18 @@
 package com.api.testing.base;
 
+import com.api.testing.utils.AsyncRequestClient;
+import com.api.testing.utils.CircuitBreakerFilter;
 import com.api.testing.utils.ConfigManager;
+import com.api.testing.utils.CredentialPool;
+import com.api.testing.utils.Http2TransportFilter;
+import com.api.testing.utils.HttpTransport;
+import com.api.testing.utils.LiveMetricsServer;
+import com.api.testing.utils.OAuth2TokenProvider;
+import com.api.testing.utils.PerformanceBaseline;
+import com.api.testing.utils.ProfilingSession;
+import com.api.testing.utils.RequestCoalescingFilter;
+import com.api.testing.utils.RequestPipeline;
+import com.api.testing.utils.TestReportListener;
 import io.qameta.allure.restassured.AllureRestAssured;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
@@ -9,9 +21,20 @@ import io.restassured.filter.log.ResponseLoggingFilter;
 import io.restassured.specification.RequestSpecification;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.testng.ITestContext;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.BeforeSuite;
 
+import java.net.http.HttpClient;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * Base class for API tests - provides common setup and utilities
@@ -20,17 +43,19 @@ import java.util.concurrent.TimeUnit;
  */
 public class BaseTest {
     protected static final Logger logger = LogManager.getLogger(BaseTest.class);
-    protected static String BASE_URI;
-    protected static String ENVIRONMENT;
+    private static final Map<String, AsyncRequestClient> asyncClients = new HashMap<>();
+    private static final Set<String> probedBaseUrls = ConcurrentHashMap.newKeySet();
+    // Credential lease of the running test invocation, returned to the pool after it
+    private static final ThreadLocal<CredentialPool.Lease> virtualUser = new ThreadLocal<>();
 
     @BeforeSuite
     public void setupEnvironment() {
-        // Load configuration from ConfigManager
-        BASE_URI = ConfigManager.getBaseUrl();
-        ENVIRONMENT = ConfigManager.getCurrentEnvironment();
-        
-        // Configure RestAssured with environment settings
-        RestAssured.baseURI = BASE_URI;
+        // Opt-in JFR profiling of the whole suite (profiling.enabled), summarised in the HTML report
+        ProfilingSession.startSuite();
+
+        // Configure RestAssured with the suite environment; threads bound to another environment
+        // are routed by EnvironmentRoutingFilter, so read getBaseUri()/getCurrentEnvironment()
+        RestAssured.baseURI = ConfigManager.getBaseUrl();
         RestAssured.useRelaxedHTTPSValidation();
         
         // Set timeouts
@@ -38,10 +63,22 @@ public class BaseTest {
                 .httpClient(io.restassured.config.HttpClientConfig.httpClientConfig()
                         .setParam("http.connection.timeout", ConfigManager.getConnectionTimeout())
                         .setParam("http.socket.timeout", ConfigManager.getRequestTimeout()));
+
+        // Register the shared request pipeline (cache, etc.) as global filters
+        RequestPipeline.install();
+
+        // Watch long runs while they execute (live.metrics.enabled)
+        LiveMetricsServer.startSuite();
+
+        // Fail fast on a dead environment: its tests are skipped instead of timing out one by one
+        probeEnvironment(RestAssured.baseURI);
+
+        // Pick up config.properties edits during long runs (config.hot.reload.enabled)
+        ConfigManager.startWatching();
         
         logger.info("========================================");
-        logger.info("Environment: " + ENVIRONMENT);
-        logger.info("Base URI: " + BASE_URI);
+        logger.info("Environment: " + ConfigManager.getCurrentEnvironment());
+        logger.info("Base URI: " + RestAssured.baseURI);
         logger.info("API Version: " + ConfigManager.getApiVersion());
         logger.info("========================================");
     }
@@ -66,6 +103,74 @@ public class BaseTest {
         return builder.build();
     }
 
+    /**
+     * Bind the &lt;test&gt; parameter "env" (if present) to the test thread, so &lt;test&gt; blocks for
+     * different environments can run concurrently in one JVM
+     */
+    @BeforeMethod(alwaysRun = true)
+    public void bindTestEnvironment(ITestContext context) {
+        String env = context.getCurrentXmlTest().getParameter("env");
+        if (env != null && !env.isEmpty()) {
+            ConfigManager.bindEnvironment(env);
+            probeEnvironment(ConfigManager.getBaseUrl());
+        }
+    }
+
+    /**
+     * Health-probe an environment once per run; an unreachable one has its circuit opened
+     */
+    private static void probeEnvironment(String baseUrl) {
+        CircuitBreakerFilter breaker = RequestPipeline.getStage(CircuitBreakerFilter.class);
+        String healthPath = ConfigManager.getHealthCheckPath();
+        if (breaker != null && !healthPath.isEmpty() && probedBaseUrls.add(baseUrl)) {
+            breaker.probe(baseUrl, healthPath, ConfigManager.getHealthCheckTimeoutMillis());
+        }
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void unbindTestEnvironment() {
+        CredentialPool.Lease lease = virtualUser.get();
+        if (lease != null) {
+            lease.close();
+            virtualUser.remove();
+        }
+        ConfigManager.unbindEnvironment();
+    }
+
+    /**
+     * Fail the suite when the run regressed against the performance baseline
+     * (baseline.fail.on.regression); the comparison itself is in the HTML report
+     */
+    @AfterSuite(alwaysRun = true)
+    public void verifyPerformanceBaseline() {
+        List<PerformanceBaseline.Result> regressions = TestReportListener.getBaselineRegressions();
+        if (!regressions.isEmpty() && ConfigManager.isBaselineFailOnRegression()) {
+            throw new AssertionError("Performance regression against the baseline: "
+                    + regressions.stream().map(Object::toString).collect(Collectors.joining("; ")));
+        }
+    }
+
+    /**
+     * Get the shared non-blocking client for fan-out requests (returns CompletableFuture&lt;Response&gt;)
+     * One client per environment; all of them share the same HTTP transport and connection pool
+     */
+    protected AsyncRequestClient getAsyncClient() {
+        synchronized (BaseTest.class) {
+            return asyncClients.computeIfAbsent(getCurrentEnvironment(), env -> {
+                HttpTransport transport = asyncClients.isEmpty() ? null
+                        : asyncClients.values().iterator().next().getTransport();
+                if (transport == null) {
+                    Http2TransportFilter transportFilter = RequestPipeline.getStage(Http2TransportFilter.class);
+                    transport = transportFilter != null ? transportFilter.getTransport()
+                            : new HttpTransport(HttpClient.Version.HTTP_2,
+                                    ConfigManager.getConnectionTimeout(), ConfigManager.getRequestTimeout());
+                }
+                return new AsyncRequestClient(transport, getBaseUri(),
+                        ConfigManager.getAsyncMaxConcurrency(), ConfigManager.getRequestTimeout());
+            });
+        }
+    }
+
     /**
      * Get a basic request specification with additional headers
      */
@@ -77,12 +182,39 @@ public class BaseTest {
         return spec;
     }
 
+    /**
+     * Get a request specification whose identical concurrent GETs may share one network call
+     */
+    protected RequestSpecification getShareableRequestSpec() {
+        return getRequestSpec()
+                .filter(RequestCoalescingFilter.SHAREABLE);
+    }
+
     /**
      * Get request specification with authentication
+     * Uses a cached OAuth2 token when oauth.token.url.&lt;env&gt; is configured, otherwise auth.token.&lt;env&gt;
      */
     protected RequestSpecification getAuthenticatedRequestSpec() {
+        String token = OAuth2TokenProvider.ClientRegistration.fromConfig() != null
+                ? OAuth2TokenProvider.getInstance().getAccessToken()
+                : ConfigManager.getAuthToken();
         return getRequestSpec()
-                .header("Authorization", "Bearer " + ConfigManager.getAuthToken());
+                .header("Authorization", "Bearer " + token);
+    }
+
+    /**
+     * Get request specification authenticated as the calling virtual user from the credential pool.
+     * Each test invocation is one virtual user; its lease is released after the invocation.
+     */
+    protected RequestSpecification getVirtualUserRequestSpec() {
+        CredentialPool.Lease lease = virtualUser.get();
+        if (lease == null) {
+            lease = CredentialPool.getInstance().lease();
+            virtualUser.set(lease);
+        }
+        CredentialPool.Credential credential = lease.getCredential();
+        return getRequestSpec()
+                .header("Authorization", "Bearer " + credential.getToken());
     }
 
     /**
@@ -97,30 +229,37 @@ public class BaseTest {
     }
 
     /**
-     * Get current environment
+     * Get current environment (the environment bound to this test's &lt;test&gt; block, if any)
      */
     protected String getCurrentEnvironment() {
-        return ENVIRONMENT;
+        return ConfigManager.getCurrentEnvironment();
+    }
+
+    /**
+     * Get the base URI for the current environment
+     */
+    protected String getBaseUri() {
+        return ConfigManager.getBaseUrl();
     }
 
     /**
      * Check if running in production
      */
     protected boolean isProduction() {
-        return "prod".equalsIgnoreCase(ENVIRONMENT);
+        return "prod".equalsIgnoreCase(getCurrentEnvironment());
     }
 
     /**
      * Check if running in staging
      */
     protected boolean isStaging() {
-        return "staging".equalsIgnoreCase(ENVIRONMENT);
+        return "staging".equalsIgnoreCase(getCurrentEnvironment());
     }
 
     /**
      * Check if running in development
      */
     protected boolean isDevelopment() {
-        return "dev".equalsIgnoreCase(ENVIRONMENT);
+        return "dev".equalsIgnoreCase(getCurrentEnvironment());
     }
 }
@@ -0,0 +1,133 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.AdaptiveTimeoutFilter;
+import com.api.testing.utils.StubServer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Tests for per-endpoint timeouts derived from latency history
+ */
+public class AdaptiveTimeoutTest extends BaseTest {
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String endpoint(StubServer server, String path) {
+        return "GET " + URI.create(server.getBaseUrl()).getAuthority() + path;
+    }
+
+    @Test(description = "A hung request to a normally fast endpoint fails after the adaptive timeout")
+    public void testHungRequestFailsFast() throws Exception {
+        logger.info("Testing: adaptive timeout on a hung endpoint");
+
+        Path history = Files.createTempDirectory("latency").resolve("history.json");
+        AdaptiveTimeoutFilter timeouts = new AdaptiveTimeoutFilter(history, 99.9, 3, 300, 30000, 20);
+        AtomicBoolean hung = new AtomicBoolean();
+        try (StubServer server = new StubServer().handle("/items", exchange -> {
+            sleep(hung.get() ? 5000 : 5);
+            StubServer.respond(exchange, 200, "{\"ok\": true}");
+        })) {
+            String endpoint = endpoint(server, "/items");
+            for (int i = 0; i < 20; i++) {
+                Assert.assertEquals(timeouts.getTimeoutMillis(endpoint), -1L, "No timeout before min samples");
+                given().noFilters().filter(timeouts).baseUri(server.getBaseUrl()).get("/items").then().statusCode(200);
+            }
+            long timeout = timeouts.getTimeoutMillis(endpoint);
+            logger.info("Adaptive timeout for " + endpoint + ": " + timeout + "ms");
+            Assert.assertTrue(timeout >= 300 && timeout < 2000, "Timeout should be near the minimum, was " + timeout);
+
+            hung.set(true);
+            long start = System.currentTimeMillis();
+            try {
+                given().noFilters().filter(timeouts).baseUri(server.getBaseUrl()).get("/items");
+                Assert.fail("Hung request should time out");
+            } catch (Exception e) {
+                Assert.assertTrue(e instanceof SocketTimeoutException, "Unexpected failure: " + e);
+            }
+            long elapsed = System.currentTimeMillis() - start;
+            Assert.assertTrue(elapsed < 2500, "Timed out after " + elapsed + "ms, expected about " + timeout + "ms");
+            Assert.assertEquals(timeouts.getTimedOut(), 1);
+            logger.info(timeouts.getSummary());
+        }
+    }
+
+    @Test(description = "Latency history is saved and picked up by the next run at half weight")
+    public void testHistoryPersistsBetweenRuns() throws Exception {
+        logger.info("Testing: latency history persistence");
+
+        Path history = Files.createTempDirectory("latency").resolve("history.json");
+        try (StubServer server = new StubServer().handle("/users", exchange ->
+                StubServer.respond(exchange, 200, "[]"))) {
+            String endpoint = endpoint(server, "/users");
+            AdaptiveTimeoutFilter firstRun = new AdaptiveTimeoutFilter(history, 99.9, 3, 200, 30000, 10);
+            for (int i = 0; i < 60; i++) {
+                given().noFilters().filter(firstRun).baseUri(server.getBaseUrl()).get("/users").then().statusCode(200);
+            }
+            firstRun.save();
+            Assert.assertTrue(Files.exists(history));
+
+            AdaptiveTimeoutFilter secondRun = new AdaptiveTimeoutFilter(history, 99.9, 3, 200, 30000, 10);
+            // Halved per bucket, rounding down
+            long restored = secondRun.getLatencies().find(endpoint).getCount();
+            Assert.assertTrue(restored >= 10 && restored <= 30, "Previous run should count about half, restored " + restored);
+            // Single slow samples (e.g. the first, cold request) may be dropped, so the timeout can
+            // only shrink, give or take the histogram's ~6% bucket precision
+            long before = firstRun.getTimeoutMillis(endpoint);
+            long after = secondRun.getTimeoutMillis(endpoint);
+            Assert.assertTrue(after >= 200 && after <= before * 1.1, "Timeout was " + before + "ms, now " + after + "ms");
+        }
+    }
+
+    @Test(description = "A single outlier in the history is forgotten after a few reloads")
+    public void testSingleOutlierDecays() throws Exception {
+        logger.info("Testing: latency history decay");
+
+        Path history = Files.createTempDirectory("latency").resolve("history.json");
+        String fast = "GET example.test/fast";
+        String slow = "GET example.test/slow";
+        AdaptiveTimeoutFilter run = new AdaptiveTimeoutFilter(history, 99.9, 3, 200, 30000, 10);
+        run.getLatencies().histogram(fast).recordMicros(2_000, 64);
+        run.getLatencies().histogram(fast).recordMicros(900_000, 1);
+        run.getLatencies().histogram(slow).recordMicros(500_000, 1);
+        run.save();
+
+        run = new AdaptiveTimeoutFilter(history, 99.9, 3, 200, 30000, 10);
+        Assert.assertEquals(run.getLatencies().find(fast).getCount(), 32);
+        Assert.assertTrue(run.getLatencies().find(fast).getMaxMicros() < 10_000, "Outlier survived the reload");
+        Assert.assertNull(run.getLatencies().find(slow), "Endpoint with a single sample survived the reload");
+
+        for (int i = 0; i < 5; i++) {
+            run.save();
+            run = new AdaptiveTimeoutFilter(history, 99.9, 3, 200, 30000, 10);
+        }
+        Assert.assertEquals(run.getLatencies().find(fast).getCount(), 1);
+        run.save();
+        run = new AdaptiveTimeoutFilter(history, 99.9, 3, 200, 30000, 10);
+        Assert.assertNull(run.getLatencies().find(fast), "History never decays to nothing");
+    }
+
+    @Test(description = "An unreadable history file is ignored")
+    public void testCorruptHistoryIgnored() throws Exception {
+        logger.info("Testing: corrupt latency history");
+
+        Path history = Files.createTempFile("latency-history", ".json");
+        Files.writeString(history, "{not json");
+        AdaptiveTimeoutFilter timeouts = new AdaptiveTimeoutFilter(history, 99.9, 3, 200, 30000, 10);
+        Assert.assertTrue(timeouts.getLatencies().getHistograms().isEmpty());
+    }
+}
@@ -98,7 +98,7 @@ public class AllureReportingTest extends BaseTest {
 
         Allure.step("Add environment details");
         Allure.parameter("Environment", getCurrentEnvironment());
-        Allure.parameter("Base URI", BASE_URI);
+        Allure.parameter("Base URI", getBaseUri());
         Allure.parameter("Java Version", System.getProperty("java.version"));
         Allure.parameter("OS", System.getProperty("os.name"));
 
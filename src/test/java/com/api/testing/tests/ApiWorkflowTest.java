@@ -0,0 +1,150 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.ApiWorkflow;
+import com.api.testing.utils.ConfigManager;
+import com.api.testing.utils.ConfigSnapshot;
+import com.api.testing.utils.LatencySlo;
+import com.api.testing.utils.LatencySloTracker;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Tests for the dependency-graph workflow engine (no HTTP involved)
+ */
+public class ApiWorkflowTest extends BaseTest {
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test(description = "Duplicate step names are rejected",
+            expectedExceptions = IllegalArgumentException.class)
+    public void testDuplicateStepRejected() {
+        logger.info("Testing: Workflow duplicate step names");
+
+        new ApiWorkflow("duplicate")
+                .step("update").run(vars -> Map.of())
+                .step("update").run(vars -> Map.of());
+    }
+
+    @Test(description = "Steps run after their producers and see their outputs")
+    public void testDependencyOrder() {
+        logger.info("Testing: Workflow dependency order");
+
+        List<String> executed = new CopyOnWriteArrayList<>();
+        ApiWorkflow.Result result = new ApiWorkflow("order")
+                .step("delete").needs("id").after("update").run(vars -> {
+                    executed.add("delete");
+                    return Map.of();
+                })
+                .step("update").needs("id").produces("title").run(vars -> {
+                    executed.add("update");
+                    return Map.of("title", "updated-" + vars.getInt("id"));
+                })
+                .step("create").produces("id").run(vars -> {
+                    executed.add("create");
+                    return Map.of("id", 101);
+                })
+                .execute();
+
+        Assert.assertEquals(executed, List.of("create", "update", "delete"));
+        Assert.assertEquals(result.getVariables().getString("title"), "updated-101");
+    }
+
+    @Test(description = "Independent branches run concurrently")
+    public void testIndependentStepsRunConcurrently() {
+        logger.info("Testing: Workflow concurrency");
+
+        ApiWorkflow workflow = new ApiWorkflow("fan-out").maxParallelism(4)
+                .step("root").produces("postId").run(vars -> Map.of("postId", 1));
+        for (String branch : List.of("comments", "author", "album", "todos")) {
+            workflow.step(branch).needs("postId").run(vars -> {
+                pause(300);
+                return Map.of();
+            });
+        }
+        ApiWorkflow.Result result = workflow.execute();
+
+        Assert.assertEquals(result.getPeakConcurrency(), 4);
+        Assert.assertTrue(result.getTotalDuration() < 4 * 300, "Branches were serialized: " + result.getTotalDuration() + "ms");
+    }
+
+    @Test(description = "Cycles and missing producers are rejected before running",
+            expectedExceptions = IllegalStateException.class,
+            expectedExceptionsMessageRegExp = ".*dependency cycle.*")
+    public void testCycleRejected() {
+        logger.info("Testing: Workflow cycle detection");
+
+        new ApiWorkflow("cycle")
+                .step("a").needs("b").produces("a").run(vars -> Map.of("a", 1))
+                .step("b").needs("a").produces("b").run(vars -> Map.of("b", 2))
+                .execute();
+    }
+
+    @Test(description = "A failing step fails the workflow and its dependents never run",
+            expectedExceptions = AssertionError.class)
+    public void testFailurePropagates() {
+        logger.info("Testing: Workflow failure propagation");
+
+        List<String> executed = new CopyOnWriteArrayList<>();
+        try {
+            new ApiWorkflow("failure")
+                    .step("create").produces("id").run(vars -> {
+                        throw new AssertionError("Expected status code <201> but was <500>");
+                    })
+                    .step("read").needs("id").run(vars -> {
+                        executed.add("read");
+                        return Map.of();
+                    })
+                    .execute();
+        } finally {
+            Assert.assertTrue(executed.isEmpty(), "Dependent step ran after failure");
+        }
+    }
+
+    @Test(description = "Steps run in the caller's environment and @LatencySlo scope")
+    public void testStepsInheritCallerContext() {
+        logger.info("Testing: Workflow context propagation");
+
+        ConfigSnapshot previous = ConfigManager.getBoundSnapshot();
+        LatencySloTracker tracker = new LatencySloTracker();
+        LatencySloTracker.Binding slo = tracker.bind("workflow", Objective.class.getAnnotation(LatencySlo.class));
+        ConfigManager.bindEnvironment("staging");
+        try {
+            List<String> environments = new CopyOnWriteArrayList<>();
+            List<LatencySloTracker.Binding> bindings = new CopyOnWriteArrayList<>();
+            ApiWorkflow workflow = new ApiWorkflow("context").maxParallelism(2);
+            for (String stepName : List.of("a", "b", "c")) {
+                workflow.step(stepName).run(vars -> {
+                    environments.add(ConfigManager.getCurrentEnvironment());
+                    bindings.add(LatencySloTracker.current());
+                    return Map.of();
+                });
+            }
+            workflow.execute();
+
+            Assert.assertEquals(environments, List.of("staging", "staging", "staging"));
+            Assert.assertEquals(bindings, List.of(slo, slo, slo));
+        } finally {
+            LatencySloTracker.unbind(slo);
+            if (previous != null) {
+                ConfigManager.bind(previous);
+            } else {
+                ConfigManager.unbindEnvironment();
+            }
+        }
+    }
+
+    @LatencySlo(p99 = "1s")
+    private static class Objective {
+    }
+}
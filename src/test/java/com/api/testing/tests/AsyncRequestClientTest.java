@@ -0,0 +1,199 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.AsyncRequestClient;
+import com.api.testing.utils.AsyncStage;
+import com.api.testing.utils.CircuitBreakerFilter;
+import com.api.testing.utils.ConfigManager;
+import com.api.testing.utils.ConfigSnapshot;
+import com.api.testing.utils.HttpTransport;
+import com.api.testing.utils.MetricsFilter;
+import com.api.testing.utils.MetricsRegistry;
+import com.api.testing.utils.RateLimitFilter;
+import com.api.testing.utils.StubServer;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Tests for the non-blocking CompletableFuture request client
+ */
+public class AsyncRequestClientTest extends BaseTest {
+
+    private StubServer slowServer(AtomicInteger concurrent, AtomicInteger peak) {
+        return new StubServer().handle("/posts", exchange -> {
+            int now = concurrent.incrementAndGet();
+            peak.accumulateAndGet(now, Math::max);
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrent.decrementAndGet();
+            }
+            String id = exchange.getRequestURI().getPath().replaceAll(".*/", "");
+            StubServer.respond(exchange, 200, "{\"id\": " + id + "}");
+        });
+    }
+
+    @Test(description = "Fan-out completes in about the time of the slowest call")
+    public void testFanOutRunsConcurrently() {
+        logger.info("Testing: Async fan-out");
+
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        try (StubServer server = slowServer(concurrent, peak)) {
+            AsyncRequestClient client = new AsyncRequestClient(
+                    new HttpTransport(HttpClient.Version.HTTP_1_1, 5000, 5000), server.getBaseUrl(), 10, 5000);
+
+            long start = System.currentTimeMillis();
+            List<CompletableFuture<Response>> calls = new ArrayList<>();
+            for (int id = 1; id <= 10; id++) {
+                calls.add(client.get("/posts/{id}", id));
+            }
+            List<Response> responses = AsyncRequestClient.allOf(calls).join();
+            long elapsed = System.currentTimeMillis() - start;
+
+            for (int i = 0; i < responses.size(); i++) {
+                responses.get(i).then().statusCode(200).body("id", equalTo(i + 1));
+            }
+            logger.info("10 calls of 300ms completed in " + elapsed + "ms");
+            Assert.assertTrue(elapsed < 10 * 300, "Calls were serialized: " + elapsed + "ms");
+        }
+    }
+
+    @Test(description = "In-flight requests never exceed the concurrency bound")
+    public void testConcurrencyIsBounded() {
+        logger.info("Testing: Async concurrency bound");
+
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        try (StubServer server = slowServer(concurrent, peak)) {
+            AsyncRequestClient client = new AsyncRequestClient(
+                    new HttpTransport(HttpClient.Version.HTTP_1_1, 5000, 5000), server.getBaseUrl(), 2, 5000);
+
+            List<CompletableFuture<Response>> calls = new ArrayList<>();
+            for (int id = 1; id <= 6; id++) {
+                calls.add(client.get("/posts/{id}", id));
+            }
+            AsyncRequestClient.allOf(calls).join();
+
+            Assert.assertEquals(client.getPeakInFlight(), 2);
+            Assert.assertTrue(peak.get() <= 2, "Server saw " + peak.get() + " concurrent requests");
+            Assert.assertEquals(client.getInFlight(), 0);
+        }
+    }
+
+    @Test(description = "Async requests go through the rate limit, circuit breaker and metrics stages")
+    public void testPipelineStagesApply() {
+        logger.info("Testing: Async requests in the request pipeline");
+
+        Properties properties = new Properties();
+        properties.setProperty("base.url.asynctest", "http://localhost");
+        properties.setProperty("rate.limit.rps", "20");
+        properties.setProperty("rate.limit.burst", "1");
+        ConfigManager.bind(new ConfigSnapshot(properties, "asynctest"));
+        try (StubServer server = new StubServer()
+                .handle("/items", exchange -> StubServer.respond(exchange, 200, "{}"))
+                .handle("/down", exchange -> StubServer.respond(exchange, 503, "{}"))) {
+            RateLimitFilter limiter = new RateLimitFilter();
+            CircuitBreakerFilter breaker = new CircuitBreakerFilter(1, 60_000);
+            MetricsFilter metrics = new MetricsFilter(new MetricsRegistry());
+            AsyncRequestClient client = new AsyncRequestClient(new HttpTransport(HttpClient.Version.HTTP_1_1, 5000, 5000),
+                    server.getBaseUrl(), 10, 5000, List.of(breaker, limiter, metrics));
+
+            long start = System.currentTimeMillis();
+            List<CompletableFuture<Response>> calls = new ArrayList<>();
+            for (int id = 1; id <= 5; id++) {
+                calls.add(client.get("/items/{id}", id));
+            }
+            AsyncRequestClient.allOf(calls).join();
+            long elapsed = System.currentTimeMillis() - start;
+
+            Assert.assertTrue(elapsed >= 180, "5 requests at 20/s with burst 1 took only " + elapsed + "ms");
+            Assert.assertEquals(limiter.getThrottled(), 4);
+            String endpoint = "GET " + URI.create(server.getBaseUrl()).getAuthority() + "/items/{id}";
+            Assert.assertEquals(metrics.getLatencies().find(endpoint).getCount(), 5);
+            Assert.assertEquals(metrics.getInFlight(), 0);
+
+            Assert.assertEquals(client.get("/down").join().statusCode(), 503);
+            Assert.assertEquals(breaker.getState(URI.create(server.getBaseUrl()).getAuthority()),
+                    CircuitBreakerFilter.State.OPEN);
+            Assert.assertThrows(SkipException.class, () -> client.get("/items/{id}", 6));
+            Assert.assertEquals(server.getHits("/items"), 5);
+        } finally {
+            ConfigManager.unbindEnvironment();
+        }
+    }
+
+    /**
+     * Transport whose first request waits for gate and whose later requests fail at once
+     */
+    private static HttpTransport failingTransport(CompletableFuture<Response> gate) {
+        AtomicInteger calls = new AtomicInteger();
+        return new HttpTransport(HttpClient.Version.HTTP_1_1, 5000, 5000) {
+            @Override
+            public CompletableFuture<Response> sendAsync(HttpRequest request) {
+                return calls.getAndIncrement() == 0 ? gate
+                        : CompletableFuture.failedFuture(new IOException("Connection refused"));
+            }
+        };
+    }
+
+    @Test(description = "A long queue of requests that fail at once is drained without recursion")
+    public void testQueuedFailuresDoNotRecurse() {
+        logger.info("Testing: Async queue of failing requests");
+
+        CompletableFuture<Response> gate = new CompletableFuture<>();
+        AsyncRequestClient client = new AsyncRequestClient(failingTransport(gate), "http://localhost", 1, 5000,
+                List.of());
+        List<CompletableFuture<Response>> calls = new ArrayList<>();
+        for (int id = 0; id < 20_000; id++) {
+            calls.add(client.get("/posts/{id}", id));
+        }
+        Assert.assertEquals(client.getInFlight(), 1);
+
+        gate.completeExceptionally(new IOException("Connection reset"));
+        for (CompletableFuture<Response> call : calls) {
+            Assert.assertTrue(call.isCompletedExceptionally());
+        }
+        CompletionException failure = Assert.expectThrows(CompletionException.class, () -> calls.get(1).join());
+        Assert.assertTrue(failure.getCause() instanceof IOException, "Unexpected failure: " + failure.getCause());
+        Assert.assertEquals(client.getInFlight(), 0);
+    }
+
+    @Test(description = "A stage that fails to record the outcome does not leave the caller waiting", timeOut = 10000)
+    public void testFailingStageStillCompletes() {
+        logger.info("Testing: Async stage failure on completion");
+
+        AsyncStage broken = (method, uri, endpointKey) -> (status, error, nanos) -> {
+            throw new IllegalStateException("stage broke");
+        };
+        CompletableFuture<Response> gate = new CompletableFuture<>();
+        AsyncRequestClient client = new AsyncRequestClient(failingTransport(gate), "http://localhost", 1, 5000,
+                List.of(broken));
+        CompletableFuture<Response> first = client.get("/posts/1");
+        CompletableFuture<Response> second = client.get("/posts/2");
+
+        gate.completeExceptionally(new IOException("Connection reset"));
+        CompletionException failure = Assert.expectThrows(CompletionException.class, first::join);
+        Assert.assertEquals(failure.getCause().getMessage(), "Connection reset");
+        failure = Assert.expectThrows(CompletionException.class, second::join);
+        Assert.assertEquals(failure.getCause().getMessage(), "Connection refused");
+        Assert.assertEquals(client.getInFlight(), 0);
+    }
+}
@@ -1,10 +1,14 @@
 package com.api.testing.tests;
 
 import com.api.testing.base.BaseTest;
+import com.api.testing.utils.ApiWorkflow;
+import com.api.testing.utils.JsonFieldExtractor;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import org.testng.annotations.Test;
 
+import java.util.Map;
+
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
 
@@ -39,7 +43,7 @@ public class ChainRequestTest extends BaseTest {
                 .extract()
                 .response();
 
-        Integer createdPostId = response.jsonPath().getInt("id");
+        Integer createdPostId = JsonFieldExtractor.getInt(response, "/id");
         logger.info("Post created successfully with ID: " + createdPostId);
     }
 
@@ -162,7 +166,7 @@ public class ChainRequestTest extends BaseTest {
                 .extract()
                 .response();
 
-        Integer postId = createResponse.jsonPath().getInt("id");
+        Integer postId = JsonFieldExtractor.getInt(createResponse, "/id");
         logger.info("Created post with ID: " + postId);
 
         // Step 2: Read (using an existing post since JSONPlaceholder doesn't persist created resources)
@@ -208,4 +212,93 @@ public class ChainRequestTest extends BaseTest {
         logger.info("Successfully deleted post with ID: " + existingPostId);
         logger.info("Complete CRUD chain test finished successfully");
     }
-}
\ No newline at end of file
+
+    @Test(description = "CRUD chain as a dependency graph with concurrent independent steps")
+    public void testCrudChainAsWorkflow() {
+        logger.info("Testing: CRUD chain as a workflow");
+
+        ApiWorkflow.Result result = new ApiWorkflow("CRUD chain")
+                .step("createPost").produces("createdPostId").run(vars -> {
+                    Response response = given()
+                            .contentType(ContentType.JSON)
+                            .body("{\"title\": \"Workflow Post\", \"body\": \"Created by workflow\", \"userId\": 1}")
+                            .when()
+                            .post("/posts")
+                            .then()
+                            .statusCode(201)
+                            .extract()
+                            .response();
+                    return Map.of("createdPostId", JsonFieldExtractor.getInt(response, "/id"));
+                })
+                // JSONPlaceholder doesn't persist created resources, so the remaining steps use post 1
+                .step("getPost").produces("postId", "userId").run(vars -> {
+                    Response response = given()
+                            .pathParam("id", 1)
+                            .when()
+                            .get("/posts/{id}")
+                            .then()
+                            .statusCode(200)
+                            .extract()
+                            .response();
+                    return Map.of("postId", JsonFieldExtractor.getInt(response, "/id"),
+                            "userId", JsonFieldExtractor.getInt(response, "/userId"));
+                })
+                .step("getAuthor").needs("userId").run(vars -> {
+                    given()
+                            .pathParam("id", vars.getInt("userId"))
+                            .when()
+                            .get("/users/{id}")
+                            .then()
+                            .statusCode(200)
+                            .body("id", equalTo(vars.getInt("userId")));
+                    return Map.of();
+                })
+                .step("getComments").needs("postId").run(vars -> {
+                    given()
+                            .pathParam("id", vars.getInt("postId"))
+                            .when()
+                            .get("/posts/{id}/comments")
+                            .then()
+                            .statusCode(200)
+                            .body("postId", everyItem(equalTo(vars.getInt("postId"))));
+                    return Map.of();
+                })
+                .step("updatePost").needs("postId").run(vars -> {
+                    given()
+                            .contentType(ContentType.JSON)
+                            .pathParam("id", vars.getInt("postId"))
+                            .body("{\"id\": " + vars.getInt("postId") + ", \"title\": \"Updated by workflow\", \"body\": \"Updated\", \"userId\": 1}")
+                            .when()
+                            .put("/posts/{id}")
+                            .then()
+                            .statusCode(200)
+                            .body("title", equalTo("Updated by workflow"));
+                    return Map.of();
+                })
+                .step("patchPost").needs("postId").after("updatePost").run(vars -> {
+                    given()
+                            .contentType(ContentType.JSON)
+                            .pathParam("id", vars.getInt("postId"))
+                            .body("{\"title\": \"Patched by workflow\"}")
+                            .when()
+                            .patch("/posts/{id}")
+                            .then()
+                            .statusCode(200)
+                            .body("title", equalTo("Patched by workflow"));
+                    return Map.of();
+                })
+                .step("deletePost").needs("postId").after("patchPost", "getAuthor", "getComments").run(vars -> {
+                    given()
+                            .pathParam("id", vars.getInt("postId"))
+                            .when()
+                            .delete("/posts/{id}")
+                            .then()
+                            .statusCode(200);
+                    return Map.of();
+                })
+                .execute();
+
+        logger.info("Created post ID: " + result.getVariables().getInt("createdPostId"));
+        logger.info("Step durations: " + result.getStepDurations());
+    }
+}
@@ -0,0 +1,154 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.CircuitBreakerFilter;
+import com.api.testing.utils.StubServer;
+import io.restassured.filter.Filter;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Tests for the per-host circuit breaker and the pre-suite health probe
+ */
+public class CircuitBreakerTest extends BaseTest {
+
+    /**
+     * Base URL of a local port nothing listens on
+     */
+    private static String deadBaseUrl() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return "http://127.0.0.1:" + socket.getLocalPort();
+        }
+    }
+
+    private static String host(String baseUrl) {
+        return URI.create(baseUrl).getAuthority();
+    }
+
+    @Test(description = "Consecutive connection failures open the circuit and later requests are skipped at once")
+    public void testOpensAfterConsecutiveFailures() throws Exception {
+        logger.info("Testing: circuit opens on connection failures");
+
+        CircuitBreakerFilter breaker = new CircuitBreakerFilter(3, 60000);
+        String baseUrl = deadBaseUrl();
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(breaker.getState(host(baseUrl)), CircuitBreakerFilter.State.CLOSED);
+            try {
+                given().noFilters().filter(breaker).baseUri(baseUrl).get("/anything");
+                Assert.fail("Request to a closed port should fail");
+            } catch (SkipException e) {
+                Assert.fail("Circuit opened too early: " + e.getMessage());
+            } catch (Exception expected) {
+                // connection refused
+            }
+        }
+        Assert.assertEquals(breaker.getState(host(baseUrl)), CircuitBreakerFilter.State.OPEN);
+
+        long start = System.currentTimeMillis();
+        SkipException skip = Assert.expectThrows(SkipException.class,
+                () -> given().noFilters().filter(breaker).baseUri(baseUrl).get("/anything"));
+        Assert.assertTrue(System.currentTimeMillis() - start < 1000, "Open circuit should fail fast");
+        Assert.assertTrue(skip.getMessage().contains(host(baseUrl)), skip.getMessage());
+        Assert.assertEquals(breaker.getShortCircuited(), 1);
+        logger.info(breaker.getSummary());
+    }
+
+    @Test(description = "A successful half-open probe closes the circuit")
+    public void testHalfOpenProbeCloses() throws Exception {
+        logger.info("Testing: circuit recovery");
+
+        CircuitBreakerFilter breaker = new CircuitBreakerFilter(2, 300);
+        AtomicInteger failuresLeft = new AtomicInteger(2);
+        try (StubServer server = new StubServer().handle("/service", exchange -> {
+            int status = failuresLeft.getAndDecrement() > 0 ? 503 : 200;
+            StubServer.respond(exchange, status, "{}");
+        })) {
+            String host = host(server.getBaseUrl());
+            for (int i = 0; i < 2; i++) {
+                given().noFilters().filter(breaker).baseUri(server.getBaseUrl()).get("/service").then().statusCode(503);
+            }
+            Assert.assertEquals(breaker.getState(host), CircuitBreakerFilter.State.OPEN);
+            Assert.expectThrows(SkipException.class,
+                    () -> given().noFilters().filter(breaker).baseUri(server.getBaseUrl()).get("/service"));
+            Assert.assertEquals(server.getHits("/service"), 2);
+
+            Thread.sleep(400);
+            given().noFilters().filter(breaker).baseUri(server.getBaseUrl()).get("/service").then().statusCode(200);
+            Assert.assertEquals(breaker.getState(host), CircuitBreakerFilter.State.CLOSED);
+            given().noFilters().filter(breaker).baseUri(server.getBaseUrl()).get("/service").then().statusCode(200);
+        }
+    }
+
+    @Test(description = "A failed half-open probe opens the circuit again")
+    public void testHalfOpenProbeReopens() throws Exception {
+        logger.info("Testing: failed recovery probe");
+
+        CircuitBreakerFilter breaker = new CircuitBreakerFilter(1, 300);
+        try (StubServer server = new StubServer().handle("/down", exchange ->
+                StubServer.respond(exchange, 503, "{}"))) {
+            String host = host(server.getBaseUrl());
+            given().noFilters().filter(breaker).baseUri(server.getBaseUrl()).get("/down");
+            Assert.assertEquals(breaker.getState(host), CircuitBreakerFilter.State.OPEN);
+
+            Thread.sleep(400);
+            given().noFilters().filter(breaker).baseUri(server.getBaseUrl()).get("/down").then().statusCode(503);
+            Assert.assertEquals(breaker.getState(host), CircuitBreakerFilter.State.OPEN);
+            Assert.expectThrows(SkipException.class,
+                    () -> given().noFilters().filter(breaker).baseUri(server.getBaseUrl()).get("/down"));
+            Assert.assertEquals(server.getHits("/down"), 2);
+        }
+    }
+
+    @Test(description = "A half-open probe that ends in an Error does not leave the circuit half-open")
+    public void testProbeErrorReleasesProbe() throws Exception {
+        logger.info("Testing: recovery probe ending in an Error");
+
+        CircuitBreakerFilter breaker = new CircuitBreakerFilter(1, 300);
+        Filter failing = (requestSpec, responseSpec, ctx) -> {
+            throw new AssertionError("downstream filter failed");
+        };
+        try (StubServer server = new StubServer().handle("/down", exchange ->
+                StubServer.respond(exchange, 503, "{}"))) {
+            String host = host(server.getBaseUrl());
+            given().noFilters().filter(breaker).baseUri(server.getBaseUrl()).get("/down");
+            Assert.assertEquals(breaker.getState(host), CircuitBreakerFilter.State.OPEN);
+
+            Thread.sleep(400);
+            Assert.expectThrows(AssertionError.class,
+                    () -> given().noFilters().filters(breaker, failing).baseUri(server.getBaseUrl()).get("/down"));
+            Assert.assertEquals(breaker.getState(host), CircuitBreakerFilter.State.OPEN);
+
+            Thread.sleep(400);
+            given().noFilters().filter(breaker).baseUri(server.getBaseUrl()).get("/down").then().statusCode(503);
+            Assert.assertEquals(server.getHits("/down"), 2);
+        }
+    }
+
+    @Test(description = "The health probe opens the circuit of an unreachable environment")
+    public void testHealthProbe() throws Exception {
+        logger.info("Testing: pre-suite health probe");
+
+        CircuitBreakerFilter breaker = new CircuitBreakerFilter(3, 60000);
+        String deadUrl = deadBaseUrl();
+        Assert.assertFalse(breaker.probe(deadUrl, "/", 1000));
+        Assert.assertEquals(breaker.getState(host(deadUrl)), CircuitBreakerFilter.State.OPEN);
+        SkipException skip = Assert.expectThrows(SkipException.class,
+                () -> given().noFilters().filter(breaker).baseUri(deadUrl).get("/posts"));
+        Assert.assertTrue(skip.getMessage().contains("health probe failed"), skip.getMessage());
+
+        try (StubServer server = new StubServer().handle("/health", exchange ->
+                StubServer.respond(exchange, 200, "{\"status\": \"UP\"}"))) {
+            Assert.assertTrue(breaker.probe(server.getBaseUrl() + "/", "/health", 1000));
+            Assert.assertEquals(breaker.getState(host(server.getBaseUrl())), CircuitBreakerFilter.State.CLOSED);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.CompressionFilter;
+import com.api.testing.utils.ContentCodec;
+import com.api.testing.utils.StubServer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Tests for Accept-Encoding negotiation and request body compression
+ */
+public class CompressionFilterTest extends BaseTest {
+
+    private static final String LARGE_JSON = "[" + String.join(",",
+            Collections.nCopies(200, "{\"userId\": 1, \"title\": \"repeated title\"}")) + "]";
+
+    @Test(description = "Gzip responses are negotiated, decoded and measured")
+    public void testGzipResponseDecoded() {
+        logger.info("Testing: Gzip response negotiation");
+
+        try (StubServer server = new StubServer()) {
+            AtomicReference<String> acceptEncoding = new AtomicReference<>();
+            server.handle("/posts", exchange -> {
+                acceptEncoding.set(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+                ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+                try (OutputStream out = new GZIPOutputStream(gzipped)) {
+                    out.write(LARGE_JSON.getBytes(StandardCharsets.UTF_8));
+                }
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                exchange.sendResponseHeaders(200, gzipped.size());
+                exchange.getResponseBody().write(gzipped.toByteArray());
+            });
+            CompressionFilter filter = new CompressionFilter(Arrays.asList("gzip", "deflate"), 0);
+
+            given().filter(filter).baseUri(server.getBaseUrl())
+                    .when().get("/posts")
+                    .then().statusCode(200)
+                    .body("size()", equalTo(200))
+                    .body("[0].title", equalTo("repeated title"));
+
+            Assert.assertEquals(acceptEncoding.get(), "gzip, deflate");
+            Assert.assertEquals(filter.getCompressedResponses(), 1);
+            Assert.assertEquals(filter.getDecodedBytes(), LARGE_JSON.length());
+            Assert.assertTrue(filter.getWireBytes() * 10 < filter.getDecodedBytes(),
+                    "Expected at least 10:1, wire=" + filter.getWireBytes());
+        }
+    }
+
+    @Test(description = "Large request bodies are sent gzip-encoded")
+    public void testRequestBodyCompressed() {
+        logger.info("Testing: Request body compression");
+
+        try (StubServer server = new StubServer()) {
+            AtomicReference<String> contentEncoding = new AtomicReference<>();
+            AtomicReference<String> receivedBody = new AtomicReference<>();
+            server.handle("/posts", exchange -> {
+                contentEncoding.set(exchange.getRequestHeaders().getFirst("Content-Encoding"));
+                try (GZIPInputStream in = new GZIPInputStream(exchange.getRequestBody())) {
+                    receivedBody.set(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                }
+                StubServer.respond(exchange, 201, "{\"id\": 101}");
+            });
+            CompressionFilter filter = new CompressionFilter(Arrays.asList("gzip"), 1024);
+
+            given().filter(filter).baseUri(server.getBaseUrl())
+                    .contentType("application/json")
+                    .body(LARGE_JSON)
+                    .when().post("/posts")
+                    .then().statusCode(201).body("id", equalTo(101));
+
+            Assert.assertEquals(contentEncoding.get(), "gzip");
+            Assert.assertEquals(receivedBody.get(), LARGE_JSON);
+        }
+    }
+
+    @Test(description = "Deflate decodes zlib-wrapped and raw bodies and closes cleanly")
+    public void testDeflateDecoding() throws Exception {
+        logger.info("Testing: deflate decoding");
+
+        for (boolean raw : new boolean[]{false, true}) {
+            ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, raw);
+            try (OutputStream out = new DeflaterOutputStream(encoded, deflater)) {
+                out.write(LARGE_JSON.getBytes(StandardCharsets.UTF_8));
+            } finally {
+                deflater.end();
+            }
+
+            InputStream decoded = ContentCodec.DEFLATE.decode(new ByteArrayInputStream(encoded.toByteArray()));
+            Assert.assertEquals(new String(decoded.readAllBytes(), StandardCharsets.UTF_8), LARGE_JSON);
+            decoded.close();
+            // Closing again must not touch the ended Inflater
+            decoded.close();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.ConcurrencyLimitFilter;
+import com.api.testing.utils.StubServer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Tests for the adaptive per-host concurrency limit
+ */
+public class ConcurrencyLimitTest extends BaseTest {
+
+    private static String host(StubServer server) {
+        return URI.create(server.getBaseUrl()).getAuthority();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test(description = "The limit grows while responses stay fast")
+    public void testLimitGrowsWhileLatencyStable() {
+        logger.info("Testing: additive increase");
+
+        ConcurrencyLimitFilter limiter = new ConcurrencyLimitFilter(2, 1, 64, 0.9, 2.0, 5000);
+        try (StubServer server = new StubServer().handle("/fast", exchange -> {
+            sleep(5);
+            StubServer.respond(exchange, 200, "{\"ok\": true}");
+        })) {
+            for (int i = 0; i < 40; i++) {
+                given().noFilters().filter(limiter).baseUri(server.getBaseUrl())
+                        .get("/fast")
+                        .then().statusCode(200);
+            }
+            int limit = limiter.getLimit(host(server));
+            logger.info("Limit after 40 fast requests: " + limit);
+            Assert.assertTrue(limit > 4, "Limit should have grown from 2, was " + limit);
+        }
+    }
+
+    @Test(description = "Server errors shrink the limit multiplicatively, down to the minimum")
+    public void testBacksOffOnErrors() {
+        logger.info("Testing: multiplicative decrease on 503");
+
+        ConcurrencyLimitFilter limiter = new ConcurrencyLimitFilter(8, 2, 64, 0.5, 2.0, 5000);
+        try (StubServer server = new StubServer().handle("/failing", exchange ->
+                StubServer.respond(exchange, 503, "{\"error\": \"unavailable\"}"))) {
+            given().noFilters().filter(limiter).baseUri(server.getBaseUrl())
+                    .get("/failing")
+                    .then().statusCode(503);
+            Assert.assertEquals(limiter.getLimit(host(server)), 4);
+
+            for (int i = 0; i < 5; i++) {
+                given().noFilters().filter(limiter).baseUri(server.getBaseUrl()).get("/failing");
+            }
+            Assert.assertEquals(limiter.getLimit(host(server)), 2, "Limit should stop at the minimum");
+        }
+    }
+
+    @Test(description = "A latency spike over the baseline shrinks the limit")
+    public void testBacksOffOnLatencySpike() {
+        logger.info("Testing: multiplicative decrease on slow responses");
+
+        AtomicInteger calls = new AtomicInteger();
+        ConcurrencyLimitFilter limiter = new ConcurrencyLimitFilter(8, 1, 64, 0.9, 2.0, 5000);
+        try (StubServer server = new StubServer().handle("/degrading", exchange -> {
+            sleep(calls.incrementAndGet() <= 20 ? 5 : 150);
+            StubServer.respond(exchange, 200, "{\"ok\": true}");
+        })) {
+            for (int i = 0; i < 20; i++) {
+                given().noFilters().filter(limiter).baseUri(server.getBaseUrl()).get("/degrading");
+            }
+            int stable = limiter.getLimit(host(server));
+            for (int i = 0; i < 5; i++) {
+                given().noFilters().filter(limiter).baseUri(server.getBaseUrl())
+                        .get("/degrading")
+                        .then().statusCode(200);
+            }
+            int degraded = limiter.getLimit(host(server));
+            logger.info("Limit while stable: " + stable + ", after slow responses: " + degraded);
+            Assert.assertTrue(degraded < stable, "Limit should back off, was " + stable + " then " + degraded);
+        }
+    }
+
+    @Test(description = "Requests over the limit wait for a slot and the wait is recorded")
+    public void testQueuesRequestsOverLimit() throws Exception {
+        logger.info("Testing: queueing at the limit");
+
+        ConcurrencyLimitFilter limiter = new ConcurrencyLimitFilter(1, 1, 1, 0.9, 2.0, 5000);
+        ExecutorService pool = Executors.newFixedThreadPool(3);
+        try (StubServer server = new StubServer().handle("/slow", exchange -> {
+            sleep(200);
+            StubServer.respond(exchange, 200, "{\"ok\": true}");
+        })) {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                results.add(pool.submit(() -> given().noFilters().filter(limiter).baseUri(server.getBaseUrl())
+                        .get("/slow").statusCode()));
+            }
+            for (Future<Integer> result : results) {
+                Assert.assertEquals(result.get().intValue(), 200);
+            }
+
+            Assert.assertEquals(limiter.getPeakInFlight(host(server)), 1);
+            Assert.assertEquals(limiter.getQueueTime().getCount(), 3);
+            Assert.assertTrue(limiter.getQueueTime().getMaxMicros() >= 300_000,
+                    "Last request should have waited for two others, waited " + limiter.getQueueTime().getMaxMicros() + "µs");
+            logger.info(limiter.getSummary());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test(description = "A request that cannot get a slot in time fails instead of waiting forever")
+    public void testQueueTimeout() throws Exception {
+        logger.info("Testing: queue timeout");
+
+        ConcurrencyLimitFilter limiter = new ConcurrencyLimitFilter(1, 1, 1, 0.9, 2.0, 100);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try (StubServer server = new StubServer().handle("/slow", exchange -> {
+            sleep(500);
+            StubServer.respond(exchange, 200, "{\"ok\": true}");
+        })) {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                results.add(pool.submit(() -> given().noFilters().filter(limiter).baseUri(server.getBaseUrl())
+                        .get("/slow").statusCode()));
+            }
+            int succeeded = 0;
+            int timedOut = 0;
+            for (Future<Integer> result : results) {
+                try {
+                    Assert.assertEquals(result.get().intValue(), 200);
+                    succeeded++;
+                } catch (ExecutionException e) {
+                    Assert.assertTrue(e.getCause() instanceof IllegalStateException, "Unexpected failure: " + e.getCause());
+                    timedOut++;
+                }
+            }
+            Assert.assertEquals(succeeded, 1);
+            Assert.assertEquals(timedOut, 1);
+            Assert.assertEquals(server.getHits("/slow"), 1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
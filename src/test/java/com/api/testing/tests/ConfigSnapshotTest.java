@@ -0,0 +1,120 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.ConfigManager;
+import com.api.testing.utils.ConfigSnapshot;
+import com.api.testing.utils.ConfigWatcher;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Tests for configuration snapshots and hot reload
+ */
+public class ConfigSnapshotTest extends BaseTest {
+
+    private Properties properties(String... keyValues) {
+        Properties properties = new Properties();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            properties.setProperty(keyValues[i], keyValues[i + 1]);
+        }
+        return properties;
+    }
+
+    @Test(description = "Typed values and environment keys are resolved once per environment")
+    public void testSnapshotResolution() {
+        logger.info("Testing: config snapshot resolution");
+
+        ConfigSnapshot dev = new ConfigSnapshot(properties(
+                "base.url.dev", "https://dev.example.com",
+                "base.url.staging", "https://staging.example.com",
+                "auth.token.dev", "dev-token",
+                "auth.token.staging", "staging-token",
+                "request.timeout", " 1500 ",
+                "hedging.max.rate", "0.1",
+                "http.transport.staging", "http2"), "DEV");
+
+        Assert.assertEquals(dev.getEnvironment(), "dev");
+        Assert.assertEquals(dev.getBaseUrl(), "https://dev.example.com");
+        Assert.assertEquals(dev.getAuthToken(), "dev-token");
+        Assert.assertEquals(dev.getRequestTimeout(), 1500);
+        Assert.assertEquals(dev.getConnectionTimeout(), 10000, "Default should apply");
+        Assert.assertEquals(dev.getDouble("hedging.max.rate", 0.05), 0.1);
+        Assert.assertEquals(dev.getInt("hedging.min.samples", 20), 20, "Default should apply");
+        Assert.assertEquals(dev.get("http.transport", "http1"), "http1");
+
+        ConfigSnapshot staging = dev.withEnvironment("staging");
+        Assert.assertEquals(staging.getBaseUrl(), "https://staging.example.com");
+        Assert.assertEquals(staging.getAuthToken(), "staging-token");
+        Assert.assertEquals(staging.get("http.transport", "http1"), "http2", "Environment key should win");
+        Assert.assertEquals(dev.getAuthToken(), "dev-token", "Original snapshot must not change");
+    }
+
+    @Test(description = "Invalid typed values are rejected when the snapshot is built",
+            expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidValueRejected() {
+        logger.info("Testing: config snapshot validation");
+        new ConfigSnapshot(properties("request.timeout", "thirty seconds"), "dev");
+    }
+
+    @Test(description = "Feature values are parsed when they are read",
+            expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidFeatureValueRejectedOnRead() {
+        logger.info("Testing: config snapshot typed read");
+        new ConfigSnapshot(properties("hedging.min.samples", "many"), "dev").getInt("hedging.min.samples", 20);
+    }
+
+    @Test(description = "The global snapshot is swapped atomically on environment change")
+    public void testEnvironmentSwitchPublishesSnapshot() {
+        logger.info("Testing: config snapshot publication");
+
+        String original = ConfigManager.getCurrentEnvironment();
+        ConfigSnapshot before = ConfigManager.current();
+        AtomicReference<ConfigSnapshot> notified = new AtomicReference<>();
+        java.util.function.Consumer<ConfigSnapshot> listener = notified::set;
+        ConfigManager.addReloadListener(listener);
+        try {
+            ConfigManager.setEnvironment("staging");
+            Assert.assertEquals(ConfigManager.getBaseUrl(), "https://staging-api.example.com");
+            Assert.assertSame(notified.get(), ConfigManager.current());
+            Assert.assertEquals(before.getEnvironment(), original, "Readers holding the old snapshot keep a stable view");
+        } finally {
+            ConfigManager.removeReloadListener(listener);
+            ConfigManager.setEnvironment(original);
+        }
+    }
+
+    @Test(description = "The watcher reports edits to the config file")
+    public void testWatcherDetectsChange() throws Exception {
+        logger.info("Testing: config file watcher");
+
+        Path dir = Files.createTempDirectory("config");
+        Path file = dir.resolve("config.properties");
+        Files.write(file, "target.rate=10\n".getBytes(StandardCharsets.UTF_8));
+
+        CountDownLatch changed = new CountDownLatch(1);
+        AtomicReference<String> rate = new AtomicReference<>();
+        try (ConfigWatcher watcher = new ConfigWatcher(file, path -> {
+            Properties properties = new Properties();
+            try (java.io.InputStream in = Files.newInputStream(path)) {
+                properties.load(in);
+            } catch (java.io.IOException e) {
+                throw new java.io.UncheckedIOException(e);
+            }
+            rate.set(properties.getProperty("target.rate"));
+            changed.countDown();
+        })) {
+            Assert.assertNotNull(watcher);
+            Files.write(file, "target.rate=50\n".getBytes(StandardCharsets.UTF_8));
+            Assert.assertTrue(changed.await(15, TimeUnit.SECONDS), "No change notification");
+            Assert.assertEquals(rate.get(), "50");
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.ConfigManager;
+import com.api.testing.utils.ConfigSnapshot;
+import com.api.testing.utils.CredentialPool;
+import com.api.testing.utils.OAuth2TokenProvider;
+import com.api.testing.utils.StubServer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the per-virtual-user credential pool
+ */
+public class CredentialPoolTest extends BaseTest {
+
+    private Path writeCredentials(int users, String... extraLines) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("username,password");
+        for (int i = 1; i <= users; i++) {
+            lines.add("user" + i + ",pass" + i + ",static-" + i);
+        }
+        for (String line : extraLines) {
+            lines.add(line);
+        }
+        Path file = Files.createTempFile("credentials", ".csv");
+        file.toFile().deleteOnExit();
+        Files.write(file, lines, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    @Test(description = "Users are pre-authenticated in parallel and failing users are dropped")
+    public void testPreAuthentication() throws IOException {
+        logger.info("Testing: credential pool pre-authentication");
+
+        try (StubServer server = new StubServer().handle("/oauth2/token", exchange -> {
+            String form = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            String username = null;
+            for (String pair : form.split("&")) {
+                if (pair.startsWith("username=")) {
+                    username = URLDecoder.decode(pair.substring("username=".length()), StandardCharsets.UTF_8);
+                }
+            }
+            if ("locked".equals(username)) {
+                StubServer.respond(exchange, 401, "{\"error\": \"invalid_grant\"}");
+            } else {
+                StubServer.respond(exchange, 200, "{\"access_token\": \"oauth-" + username + "\", \"expires_in\": 3600}");
+            }
+        })) {
+            List<CredentialPool.Credential> loaded = CredentialPool.load(writeCredentials(20, "locked,secret").toString());
+            Assert.assertEquals(loaded.size(), 21);
+
+            OAuth2TokenProvider provider = new OAuth2TokenProvider(60_000);
+            OAuth2TokenProvider.ClientRegistration client = new OAuth2TokenProvider.ClientRegistration("dev",
+                    server.getBaseUrl() + "/oauth2/token", "load-client", "secret", null, "client_credentials", null, null);
+            List<CredentialPool.Credential> ready = CredentialPool.preAuthenticate(loaded, provider, client, 4);
+
+            Assert.assertEquals(ready.size(), 20, "Locked user should be dropped");
+            Assert.assertEquals(provider.getTokenRequests(), 21);
+
+            CredentialPool pool = new CredentialPool(ready, CredentialPool.Affinity.ROUND_ROBIN);
+            CredentialPool.Credential credential = pool.lease().getCredential();
+            Assert.assertEquals(credential.getToken(), "oauth-" + credential.getUsername());
+            Assert.assertEquals(provider.getTokenRequests(), 21, "Tokens should come from the cache");
+        }
+    }
+
+    @Test(description = "Sticky leases keep one credential and concurrent leases do not share one")
+    public void testStickyAffinity() throws Exception {
+        logger.info("Testing: sticky credential affinity");
+
+        CredentialPool pool = new CredentialPool(CredentialPool.load(writeCredentials(5).toString()),
+                CredentialPool.Affinity.STICKY);
+        Set<String> holding = ConcurrentHashMap.newKeySet();
+        Set<String> shared = ConcurrentHashMap.newKeySet();
+        Set<String> switched = ConcurrentHashMap.newKeySet();
+
+        // 100 virtual users on 5 reused threads, at most 5 at a time
+        ExecutorService virtualUsers = Executors.newFixedThreadPool(5);
+        for (int i = 0; i < 100; i++) {
+            virtualUsers.submit(() -> {
+                try (CredentialPool.Lease lease = pool.lease()) {
+                    String username = lease.getCredential().getUsername();
+                    if (!holding.add(username)) {
+                        shared.add(username);
+                    }
+                    for (int request = 0; request < 10; request++) {
+                        if (!lease.getCredential().getUsername().equals(username)) {
+                            switched.add(username);
+                        }
+                    }
+                    holding.remove(username);
+                }
+            });
+        }
+        virtualUsers.shutdown();
+        Assert.assertTrue(virtualUsers.awaitTermination(10, TimeUnit.SECONDS));
+
+        Assert.assertTrue(switched.isEmpty(), "Virtual users switched credentials: " + switched);
+        Assert.assertTrue(shared.isEmpty(), "Concurrent virtual users shared credentials: " + shared);
+    }
+
+    @Test(description = "Closed leases return their credential to the pool")
+    public void testLeaseRelease() throws IOException {
+        logger.info("Testing: credential lease release");
+
+        CredentialPool pool = new CredentialPool(CredentialPool.load(writeCredentials(2).toString()),
+                CredentialPool.Affinity.STICKY);
+        CredentialPool.Lease first = pool.lease();
+        CredentialPool.Lease second = pool.lease();
+        Assert.assertNotEquals(first.getCredential().getUsername(), second.getCredential().getUsername());
+
+        String released = first.getCredential().getUsername();
+        first.close();
+        first.close();
+        try (CredentialPool.Lease third = pool.lease()) {
+            Assert.assertEquals(third.getCredential().getUsername(), released);
+        }
+        second.close();
+    }
+
+    @Test(description = "Each environment gets its own pool")
+    public void testPoolPerEnvironment() throws IOException {
+        logger.info("Testing: credential pool per environment");
+
+        Properties properties = new Properties();
+        properties.setProperty("base.url.pool-a", "http://localhost");
+        properties.setProperty("base.url.pool-b", "http://localhost");
+        properties.setProperty("credentials.file.pool-a", writeCredentials(1).toString());
+        properties.setProperty("credentials.file.pool-b", writeCredentials(3).toString());
+        try {
+            ConfigManager.bind(new ConfigSnapshot(properties, "pool-a"));
+            CredentialPool a = CredentialPool.getInstance();
+            ConfigManager.bind(new ConfigSnapshot(properties, "pool-b"));
+            CredentialPool b = CredentialPool.getInstance();
+
+            Assert.assertEquals(a.size(), 1);
+            Assert.assertEquals(b.size(), 3);
+            Assert.assertSame(CredentialPool.getInstance(), b);
+        } finally {
+            ConfigManager.unbindEnvironment();
+        }
+    }
+
+    @Test(description = "Round-robin affinity cycles through every credential")
+    public void testRoundRobinAffinity() throws IOException {
+        logger.info("Testing: round-robin credential affinity");
+
+        CredentialPool pool = new CredentialPool(CredentialPool.load(writeCredentials(3).toString()),
+                CredentialPool.Affinity.ROUND_ROBIN);
+        List<String> tokens = new ArrayList<>();
+        try (CredentialPool.Lease lease = pool.lease()) {
+            for (int i = 0; i < 6; i++) {
+                tokens.add(lease.getCredential().getToken());
+            }
+        }
+        Assert.assertEquals(tokens, List.of("static-1", "static-2", "static-3", "static-1", "static-2", "static-3"));
+    }
+}
@@ -0,0 +1,119 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.ConfigManager;
+import com.api.testing.utils.ConfigSnapshot;
+import com.api.testing.utils.StubServer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Tests for per-thread environment binding and base URI routing
+ */
+public class EnvironmentRoutingTest extends BaseTest {
+
+    private ConfigSnapshot environment(String name, StubServer server) {
+        Properties properties = ConfigManager.current().getProperties();
+        properties.setProperty("base.url." + name, server.getBaseUrl());
+        properties.setProperty("auth.token." + name, name + "-token");
+        return new ConfigSnapshot(properties, name);
+    }
+
+    private StubServer server(String name) {
+        return new StubServer().handle("/whoami", exchange ->
+                StubServer.respond(exchange, 200, "{\"env\": \"" + name + "\"}"));
+    }
+
+    @Test(description = "Threads bound to different environments run concurrently against their own hosts")
+    public void testConcurrentEnvironments() throws Exception {
+        logger.info("Testing: concurrent environment routing");
+
+        try (StubServer alpha = server("alpha"); StubServer beta = server("beta")) {
+            ConfigSnapshot alphaConfig = environment("alpha", alpha);
+            ConfigSnapshot betaConfig = environment("beta", beta);
+
+            ExecutorService pool = Executors.newFixedThreadPool(4);
+            try {
+                Future<?>[] calls = new Future<?>[8];
+                for (int i = 0; i < calls.length; i++) {
+                    ConfigSnapshot config = i % 2 == 0 ? alphaConfig : betaConfig;
+                    calls[i] = pool.submit((Callable<Void>) () -> {
+                        ConfigManager.bind(config);
+                        try {
+                            String env = given().get("/whoami").then().statusCode(200)
+                                    .extract().path("env");
+                            Assert.assertEquals(env, config.getEnvironment());
+                            Assert.assertEquals(ConfigManager.getAuthToken(), config.getEnvironment() + "-token");
+                        } finally {
+                            ConfigManager.unbindEnvironment();
+                        }
+                        return null;
+                    });
+                }
+                for (Future<?> call : calls) {
+                    call.get();
+                }
+            } finally {
+                pool.shutdown();
+            }
+
+            Assert.assertEquals(alpha.getHits("/whoami"), 4);
+            Assert.assertEquals(beta.getHits("/whoami"), 4);
+        }
+    }
+
+    @Test(description = "An absolute URL on the suite's host is routed like a relative path")
+    public void testAbsoluteUrlRouted() {
+        logger.info("Testing: absolute URL routing");
+
+        try (StubServer alpha = server("alpha")) {
+            ConfigManager.bind(environment("alpha", alpha));
+            try {
+                given().get(io.restassured.RestAssured.baseURI + "/whoami").then().statusCode(200);
+                Assert.assertEquals(alpha.getHits("/whoami"), 1);
+            } finally {
+                ConfigManager.unbindEnvironment();
+            }
+        }
+    }
+
+    @Test(description = "An explicit base URI is not rewritten by the bound environment")
+    public void testExplicitBaseUriWins() {
+        logger.info("Testing: explicit base URI bypasses routing");
+
+        try (StubServer alpha = server("alpha"); StubServer beta = server("beta")) {
+            ConfigManager.bind(environment("alpha", alpha));
+            try {
+                given().baseUri(beta.getBaseUrl()).get("/whoami").then().statusCode(200);
+                Assert.assertEquals(beta.getHits("/whoami"), 1);
+                Assert.assertEquals(alpha.getHits("/whoami"), 0);
+            } finally {
+                ConfigManager.unbindEnvironment();
+            }
+        }
+    }
+
+    @Test(description = "Binding by name resolves the environment from config.properties")
+    public void testBindByName() {
+        logger.info("Testing: bind environment by name");
+
+        String suiteEnvironment = getCurrentEnvironment();
+        ConfigManager.bindEnvironment("staging");
+        try {
+            Assert.assertEquals(getCurrentEnvironment(), "staging");
+            Assert.assertEquals(getBaseUri(), "https://staging-api.example.com");
+            Assert.assertTrue(isStaging());
+        } finally {
+            ConfigManager.unbindEnvironment();
+        }
+        Assert.assertEquals(getCurrentEnvironment(), suiteEnvironment, "Unbound thread falls back to the suite environment");
+    }
+}
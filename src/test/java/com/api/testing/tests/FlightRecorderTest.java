@@ -0,0 +1,108 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.FlightRecorderFilter;
+import com.api.testing.utils.StubServer;
+import com.api.testing.utils.TestReportListener;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+import org.testng.annotations.Test;
+
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Tests for the custom JFR request and test method events
+ */
+public class FlightRecorderTest extends BaseTest {
+
+    private static List<RecordedEvent> events(Recording recording, String type) throws Exception {
+        Path file = Files.createTempFile("events", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(type))
+                    .collect(Collectors.toList());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test(description = "Each HTTP exchange is recorded with endpoint, status and sizes")
+    public void testHttpRequestEvents() throws Exception {
+        logger.info("Testing: HTTP request JFR events");
+
+        FlightRecorderFilter filter = new FlightRecorderFilter();
+        try (Recording recording = new Recording();
+             StubServer server = new StubServer().handle("/posts", exchange ->
+                     StubServer.respond(exchange, 201, "{\"id\": 101}"))) {
+            recording.enable("com.api.testing.HttpRequest");
+            recording.start();
+
+            given().noFilters().filter(filter).baseUri(server.getBaseUrl())
+                    .contentType("application/json")
+                    .body("{\"title\": \"jfr\"}")
+                    .post("/posts")
+                    .then().statusCode(201);
+
+            String deadUrl;
+            try (ServerSocket socket = new ServerSocket(0)) {
+                deadUrl = "http://127.0.0.1:" + socket.getLocalPort();
+            }
+            try {
+                given().noFilters().filter(filter).baseUri(deadUrl).get("/posts");
+                Assert.fail("Request to a closed port should fail");
+            } catch (Exception expected) {
+                // connection refused
+            }
+            recording.stop();
+
+            List<RecordedEvent> events = events(recording, "com.api.testing.HttpRequest");
+            Assert.assertEquals(events.size(), 2);
+
+            RecordedEvent ok = events.stream().filter(e -> e.getInt("status") == 201).findFirst().orElseThrow();
+            Assert.assertEquals(ok.getString("method"), "POST");
+            Assert.assertTrue(ok.getString("endpoint").endsWith("/posts"), ok.getString("endpoint"));
+            Assert.assertEquals(ok.getLong("requestBytes"), 16);
+            Assert.assertEquals(ok.getLong("responseBytes"), 11);
+            Assert.assertNull(ok.getString("failure"));
+            Assert.assertFalse(ok.getDuration().isNegative());
+
+            RecordedEvent failed = events.stream().filter(e -> e.getInt("status") == 0).findFirst().orElseThrow();
+            Assert.assertEquals(failed.getString("failure"), "java.net.ConnectException");
+        }
+    }
+
+    @Test(description = "The report listener records a span per test method")
+    public void testTestMethodEvent() throws Exception {
+        logger.info("Testing: test method JFR events");
+
+        ITestResult current = Reporter.getCurrentTestResult();
+        TestReportListener listener = new TestReportListener();
+        try (Recording recording = new Recording()) {
+            recording.enable("com.api.testing.TestMethod");
+            recording.start();
+            listener.onTestStart(current);
+            Thread.sleep(20);
+            listener.onTestSuccess(current);
+            recording.stop();
+
+            List<RecordedEvent> events = events(recording, "com.api.testing.TestMethod");
+            Assert.assertEquals(events.size(), 1);
+            RecordedEvent event = events.get(0);
+            Assert.assertEquals(event.getString("testClass"), FlightRecorderTest.class.getName());
+            Assert.assertEquals(event.getString("testMethod"), "testTestMethodEvent");
+            Assert.assertEquals(event.getString("status"), "PASSED");
+            Assert.assertTrue(event.getDuration().toMillis() >= 20, "Duration " + event.getDuration());
+        }
+    }
+}
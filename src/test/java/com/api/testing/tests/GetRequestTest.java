@@ -1,16 +1,23 @@
 package com.api.testing.tests;
 
 import com.api.testing.base.BaseTest;
+import com.api.testing.utils.AsyncRequestClient;
+import com.api.testing.utils.LatencySlo;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import org.testng.annotations.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
 
 /**
  * Sample GET Request Tests using RestAssured
  */
+@LatencySlo(p99 = "2s", errorRate = "1%", minRequests = 15)
 public class GetRequestTest extends BaseTest {
 
     @Test(description = "Get all posts")
@@ -35,6 +42,7 @@ public class GetRequestTest extends BaseTest {
         logger.info("Testing: Get post by ID");
 
         given()
+                .spec(getShareableRequestSpec())
                 .pathParam("id", 1)
                 .when()
                 .get("/posts/{id}")
@@ -86,6 +94,7 @@ public class GetRequestTest extends BaseTest {
         logger.info("Testing: Response headers verification");
 
         given()
+                .spec(getShareableRequestSpec())
                 .when()
                 .get("/posts/1")
                 .then()
@@ -94,4 +103,24 @@ public class GetRequestTest extends BaseTest {
 
         logger.info("Response headers verified successfully");
     }
+
+    @Test(description = "Get comments for several posts concurrently")
+    public void testGetCommentsForPostsConcurrently() {
+        logger.info("Testing: Concurrent fan-out of comment requests");
+
+        List<CompletableFuture<Response>> calls = new ArrayList<>();
+        for (int postId = 1; postId <= 10; postId++) {
+            calls.add(getAsyncClient().get("/posts/{id}/comments", postId));
+        }
+
+        List<Response> responses = AsyncRequestClient.allOf(calls).join();
+        for (int i = 0; i < responses.size(); i++) {
+            responses.get(i).then()
+                    .statusCode(200)
+                    .body("size()", greaterThan(0))
+                    .body("postId", everyItem(equalTo(i + 1)));
+        }
+
+        logger.info("Retrieved comments for " + responses.size() + " posts concurrently");
+    }
 }
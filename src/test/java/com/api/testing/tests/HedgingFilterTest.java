@@ -0,0 +1,131 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.EndpointLatencyTracker;
+import com.api.testing.utils.HedgingFilter;
+import com.api.testing.utils.HttpTransport;
+import com.api.testing.utils.StubServer;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.http.HttpClient;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Tests for hedged GET requests
+ */
+public class HedgingFilterTest extends BaseTest {
+    private static final int WARM_UP = 20;
+
+    /**
+     * Responds immediately except for the given hit numbers, which take slowMillis
+     */
+    private StubServer server(Set<Integer> slowHits, long slowMillis) {
+        AtomicInteger hits = new AtomicInteger();
+        return new StubServer().handle("/items", exchange -> {
+            if (slowHits.contains(hits.incrementAndGet())) {
+                try {
+                    Thread.sleep(slowMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            StubServer.respond(exchange, 200, "{\"id\": 1}");
+        });
+    }
+
+    private HedgingFilter hedgingFilter(EndpointLatencyTracker latencies, double maxRate) {
+        HttpTransport transport = new HttpTransport(HttpClient.Version.HTTP_1_1, 5000, 10000);
+        return new HedgingFilter(transport, latencies, 95, WARM_UP, 500, maxRate, 10000);
+    }
+
+    /**
+     * Collect enough samples to enable hedging, plus one more call
+     */
+    private void warmUp(StubServer server, HedgingFilter hedging) {
+        for (int i = 0; i <= WARM_UP; i++) {
+            given().noFilters().filter(hedging).baseUri(server.getBaseUrl())
+                    .get("/items").then().statusCode(200);
+        }
+    }
+
+    @Test(description = "A slow primary is overtaken by the hedge request")
+    public void testHedgeCutsTailLatency() {
+        logger.info("Testing: hedged GET overtakes a slow primary");
+
+        EndpointLatencyTracker latencies = new EndpointLatencyTracker();
+        HedgingFilter hedging = hedgingFilter(latencies, 0.5);
+        try (StubServer server = server(Set.of(WARM_UP + 2), 3000)) {
+            warmUp(server, hedging);
+
+            long start = System.currentTimeMillis();
+            given().noFilters().filter(hedging).baseUri(server.getBaseUrl())
+                    .get("/items")
+                    .then().statusCode(200);
+            long elapsed = System.currentTimeMillis() - start;
+
+            Assert.assertTrue(elapsed < 2000, "Hedge did not cut latency: " + elapsed + "ms");
+            Assert.assertEquals(hedging.getHedged(), 1);
+            Assert.assertEquals(hedging.getHedgeWins(), 1);
+            Assert.assertEquals(server.getHits("/items"), WARM_UP + 3);
+            Assert.assertTrue(latencies.getHistograms().keySet().stream().anyMatch(key -> key.endsWith("/items")));
+        }
+    }
+
+    @Test(description = "Hedges are capped at the configured rate")
+    public void testHedgeRateCap() {
+        logger.info("Testing: hedge rate cap");
+
+        HedgingFilter hedging = hedgingFilter(new EndpointLatencyTracker(), 0.0);
+        try (StubServer server = server(Set.of(WARM_UP + 2, WARM_UP + 4), 800)) {
+            warmUp(server, hedging);
+
+            // First slow call uses the single burst hedge, the second must wait for its primary
+            given().noFilters().filter(hedging).baseUri(server.getBaseUrl()).get("/items").then().statusCode(200);
+            long start = System.currentTimeMillis();
+            given().noFilters().filter(hedging).baseUri(server.getBaseUrl()).get("/items").then().statusCode(200);
+
+            Assert.assertTrue(System.currentTimeMillis() - start >= 700, "Second slow call should not be hedged");
+            Assert.assertEquals(hedging.getHedged(), 1);
+            Assert.assertEquals(hedging.getRateLimited(), 1);
+        }
+    }
+
+    @Test(description = "Requests that are not hedged go through the rest of the filter chain")
+    public void testPrimaryUsesFilterChain() {
+        logger.info("Testing: primary requests stay in the filter chain");
+
+        AtomicInteger downstreamCalls = new AtomicInteger();
+        OrderedFilter counting = new OrderedFilter() {
+            @Override
+            public Response filter(FilterableRequestSpecification requestSpec,
+                                   FilterableResponseSpecification responseSpec, FilterContext ctx) {
+                downstreamCalls.incrementAndGet();
+                return ctx.next(requestSpec, responseSpec);
+            }
+
+            @Override
+            public int getOrder() {
+                return LOWEST_PRECEDENCE - 1;
+            }
+        };
+        HedgingFilter hedging = hedgingFilter(new EndpointLatencyTracker(), 0.5);
+        try (StubServer server = server(Set.of(), 0)) {
+            for (int i = 0; i < WARM_UP * 2; i++) {
+                given().noFilters().filter(hedging).filter(counting).baseUri(server.getBaseUrl())
+                        .get("/items").then().statusCode(200);
+            }
+
+            Assert.assertEquals(hedging.getHedged(), 0);
+            Assert.assertEquals(downstreamCalls.get(), WARM_UP * 2);
+        }
+    }
+}
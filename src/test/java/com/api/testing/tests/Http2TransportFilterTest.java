@@ -0,0 +1,115 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.ConfigManager;
+import com.api.testing.utils.ConfigSnapshot;
+import com.api.testing.utils.Http2TransportFilter;
+import com.api.testing.utils.HttpTransport;
+import com.api.testing.utils.StubServer;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Tests for the JDK HttpClient transport stage and its HTTP/1.1 fallback
+ */
+public class Http2TransportFilterTest extends BaseTest {
+
+    @Test(description = "GET with query parameters and headers is sent over the JDK transport")
+    public void testGetThroughTransport() {
+        logger.info("Testing: GET through HTTP/2-capable transport");
+
+        try (StubServer server = new StubServer()) {
+            AtomicReference<String> query = new AtomicReference<>();
+            AtomicReference<String> environmentHeader = new AtomicReference<>();
+            server.handle("/posts", exchange -> {
+                query.set(exchange.getRequestURI().getQuery());
+                environmentHeader.set(exchange.getRequestHeaders().getFirst("X-Environment"));
+                StubServer.respond(exchange, 200, "[{\"userId\": 1}]", "X-Trace", "abc");
+            });
+            HttpTransport transport = new HttpTransport(HttpClient.Version.HTTP_2, 5000, 5000);
+            Http2TransportFilter filter = new Http2TransportFilter(transport);
+
+            Response response = given().filter(filter).baseUri(server.getBaseUrl())
+                    .queryParam("userId", 1)
+                    .header("X-Environment", "dev")
+                    .when().get("/posts")
+                    .then().statusCode(200)
+                    .header("X-Trace", "abc")
+                    .body("[0].userId", equalTo(1))
+                    .extract().response();
+
+            Assert.assertEquals(query.get(), "userId=1");
+            Assert.assertEquals(environmentHeader.get(), "dev");
+            Assert.assertTrue(response.getTime() >= 0, "Response time should be recorded");
+            Assert.assertEquals(transport.getHttp1Responses(), 1, "Stub server only speaks HTTP/1.1");
+        }
+    }
+
+    @Test(description = "POST body and basic auth are carried over the JDK transport")
+    public void testPostWithBasicAuth() {
+        logger.info("Testing: POST with basic auth through transport");
+
+        try (StubServer server = new StubServer()) {
+            AtomicReference<String> body = new AtomicReference<>();
+            AtomicReference<String> authorization = new AtomicReference<>();
+            server.handle("/posts", exchange -> {
+                body.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+                authorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+                StubServer.respond(exchange, 201, "{\"id\": 101}");
+            });
+            Http2TransportFilter filter = new Http2TransportFilter(
+                    new HttpTransport(HttpClient.Version.HTTP_2, 5000, 5000));
+
+            given().filter(filter).baseUri(server.getBaseUrl())
+                    .auth().preemptive().basic("admin", "password")
+                    .contentType("application/json")
+                    .body("{\"title\": \"Test\"}")
+                    .when().post("/posts")
+                    .then().statusCode(201).body("id", equalTo(101));
+
+            Assert.assertEquals(body.get(), "{\"title\": \"Test\"}");
+            Assert.assertEquals(authorization.get(), "Basic YWRtaW46cGFzc3dvcmQ=");
+        }
+    }
+
+    @Test(description = "The transport is chosen per request from the environment bound to the thread")
+    public void testTransportSelectedPerEnvironment() {
+        logger.info("Testing: HTTP/2 transport per environment");
+
+        Properties properties = new Properties();
+        properties.setProperty("base.url.h2env", "http://localhost");
+        properties.setProperty("base.url.h1env", "http://localhost");
+        properties.setProperty("http.transport", "http1");
+        properties.setProperty("http.transport.h2env", "http2");
+        ConfigSnapshot http2Environment = new ConfigSnapshot(properties, "h2env");
+        ConfigSnapshot http1Environment = new ConfigSnapshot(properties, "h1env");
+        Http2TransportFilter filter = new Http2TransportFilter();
+
+        try (StubServer server = new StubServer().handle("/posts", exchange ->
+                StubServer.respond(exchange, 200, "[]"))) {
+            ConfigManager.bind(http1Environment);
+            given().noFilters().filter(filter).baseUri(server.getBaseUrl()).get("/posts").then().statusCode(200);
+            Assert.assertEquals(filter.getSummary(), "not used");
+
+            ConfigManager.bind(http2Environment);
+            given().noFilters().filter(filter).baseUri(server.getBaseUrl()).get("/posts").then().statusCode(200);
+            Assert.assertEquals(filter.getTransport().getHttp1Responses(), 1, "Stub server only speaks HTTP/1.1");
+
+            ConfigManager.bind(http1Environment);
+            given().noFilters().filter(filter).baseUri(server.getBaseUrl()).get("/posts").then().statusCode(200);
+            Assert.assertEquals(filter.getTransport().getHttp1Responses(), 1);
+            Assert.assertEquals(server.getHits("/posts"), 3);
+        } finally {
+            ConfigManager.unbindEnvironment();
+        }
+    }
+}
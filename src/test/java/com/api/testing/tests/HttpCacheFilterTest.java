@@ -0,0 +1,132 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.HttpCacheFilter;
+import com.api.testing.utils.StubServer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Tests for the client-side HTTP cache filter against a local stub server
+ */
+public class HttpCacheFilterTest extends BaseTest {
+
+    @Test(description = "Fresh responses are served from the cache")
+    public void testFreshResponseServedFromCache() {
+        logger.info("Testing: Cache-Control max-age hit");
+
+        try (StubServer server = new StubServer()) {
+            server.handle("/posts/1", exchange -> StubServer.respond(exchange, 200,
+                    "{\"id\": 1}", "Cache-Control", "max-age=60"));
+            HttpCacheFilter cache = new HttpCacheFilter(1024 * 1024);
+
+            for (int i = 0; i < 3; i++) {
+                given().filter(cache).baseUri(server.getBaseUrl())
+                        .when().get("/posts/1")
+                        .then().statusCode(200).body("id", equalTo(1));
+            }
+
+            Assert.assertEquals(server.getHits("/posts/1"), 1);
+            Assert.assertEquals(cache.getHits(), 2);
+            Assert.assertEquals(cache.getMisses(), 1);
+        }
+    }
+
+    @Test(description = "Stale responses are revalidated with If-None-Match")
+    public void testRevalidationWithEtag() {
+        logger.info("Testing: ETag revalidation");
+
+        try (StubServer server = new StubServer()) {
+            server.handle("/users/1", exchange -> {
+                if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    StubServer.respond(exchange, 304, null, "ETag", "\"v1\"");
+                } else {
+                    StubServer.respond(exchange, 200, "{\"id\": 1, \"name\": \"Leanne\"}",
+                            "ETag", "\"v1\"", "Cache-Control", "no-cache");
+                }
+            });
+            HttpCacheFilter cache = new HttpCacheFilter(1024 * 1024);
+
+            for (int i = 0; i < 3; i++) {
+                given().filter(cache).baseUri(server.getBaseUrl())
+                        .when().get("/users/1")
+                        .then().statusCode(200).body("name", equalTo("Leanne"));
+            }
+
+            Assert.assertEquals(server.getHits("/users/1"), 3);
+            Assert.assertEquals(cache.getRevalidations(), 2);
+            Assert.assertEquals(cache.getMisses(), 1);
+        }
+    }
+
+    @Test(description = "Responses fetched with one Authorization are not served to another")
+    public void testAuthorizationPartOfKey() {
+        logger.info("Testing: cache entries per Authorization");
+
+        try (StubServer server = new StubServer()) {
+            server.handle("/me", exchange -> StubServer.respond(exchange, 200,
+                    "{\"user\": \"" + exchange.getRequestHeaders().getFirst("Authorization") + "\"}",
+                    "Cache-Control", "max-age=60"));
+            HttpCacheFilter cache = new HttpCacheFilter(1024 * 1024);
+
+            for (String token : new String[]{"Bearer alice", "Bearer bob", "Bearer alice"}) {
+                given().filter(cache).baseUri(server.getBaseUrl()).header("Authorization", token)
+                        .when().get("/me")
+                        .then().statusCode(200).body("user", equalTo(token));
+            }
+            given().filter(cache).baseUri(server.getBaseUrl())
+                    .when().get("/me")
+                    .then().statusCode(200).body("user", equalTo("null"));
+
+            Assert.assertEquals(server.getHits("/me"), 3);
+            Assert.assertEquals(cache.getHits(), 1);
+        }
+    }
+
+    @Test(description = "A 304 refreshes the stored headers, including freshness")
+    public void testRevalidationMergesHeaders() {
+        logger.info("Testing: 304 header merge");
+
+        try (StubServer server = new StubServer()) {
+            server.handle("/todos/1", exchange -> {
+                if (exchange.getRequestHeaders().getFirst("If-None-Match") != null) {
+                    StubServer.respond(exchange, 304, null, "ETag", "\"v2\"", "Cache-Control", "max-age=60");
+                } else {
+                    StubServer.respond(exchange, 200, "{\"id\": 1}", "ETag", "\"v1\"", "Cache-Control", "no-cache");
+                }
+            });
+            HttpCacheFilter cache = new HttpCacheFilter(1024 * 1024);
+
+            given().filter(cache).baseUri(server.getBaseUrl()).when().get("/todos/1").then().statusCode(200);
+            String etag = given().filter(cache).baseUri(server.getBaseUrl()).when().get("/todos/1")
+                    .then().statusCode(200).body("id", equalTo(1)).extract().header("ETag");
+            given().filter(cache).baseUri(server.getBaseUrl()).when().get("/todos/1").then().statusCode(200);
+
+            Assert.assertEquals(etag, "\"v2\"");
+            Assert.assertEquals(server.getHits("/todos/1"), 2, "max-age from the 304 makes the entry fresh");
+            Assert.assertEquals(cache.getRevalidations(), 1);
+            Assert.assertEquals(cache.getHits(), 1);
+        }
+    }
+
+    @Test(description = "Entries larger than the byte budget are not retained")
+    public void testByteBudgetEviction() {
+        logger.info("Testing: LRU byte budget");
+
+        try (StubServer server = new StubServer()) {
+            String largeBody = "{\"data\": \"" + "x".repeat(4000) + "\"}";
+            server.handle("/comments", exchange -> StubServer.respond(exchange, 200,
+                    largeBody, "Cache-Control", "max-age=60"));
+            HttpCacheFilter cache = new HttpCacheFilter(1024);
+
+            given().filter(cache).baseUri(server.getBaseUrl()).when().get("/comments").then().statusCode(200);
+            given().filter(cache).baseUri(server.getBaseUrl()).when().get("/comments").then().statusCode(200);
+
+            Assert.assertEquals(server.getHits("/comments"), 2);
+            Assert.assertEquals(cache.getHits(), 0);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.JsonFieldExtractor;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Tests for selective JSON Pointer extraction without full parsing
+ */
+public class JsonFieldExtractorTest extends BaseTest {
+
+    private static final String POST_JSON = "{\n" +
+            "  \"userId\": 1,\n" +
+            "  \"id\": 42,\n" +
+            "  \"title\": \"quote \\\" and unicode \\u00e9\",\n" +
+            "  \"tags\": [\"a\", {\"x\": [1, 2]}, \"c\"],\n" +
+            "  \"author\": {\"name\": \"Leanne\", \"a/b\": true, \"empty\": null}\n" +
+            "}";
+
+    private byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test(description = "Extract top-level scalar fields")
+    public void testExtractTopLevelFields() {
+        logger.info("Testing: Extract top-level fields by JSON Pointer");
+
+        Assert.assertEquals(JsonFieldExtractor.getInt(bytes(POST_JSON), "/id"), Integer.valueOf(42));
+        Assert.assertEquals(JsonFieldExtractor.getInt(bytes(POST_JSON), "/userId"), Integer.valueOf(1));
+        Assert.assertEquals(JsonFieldExtractor.getString(bytes(POST_JSON), "/title"), "quote \" and unicode é");
+    }
+
+    @Test(description = "Extract nested fields and array elements")
+    public void testExtractNestedFields() {
+        logger.info("Testing: Extract nested fields and array elements");
+
+        Assert.assertEquals(JsonFieldExtractor.getString(bytes(POST_JSON), "/author/name"), "Leanne");
+        Assert.assertEquals(JsonFieldExtractor.getString(bytes(POST_JSON), "/tags/2"), "c");
+        Assert.assertEquals(JsonFieldExtractor.getInt(bytes(POST_JSON), "/tags/1/x/1"), Integer.valueOf(2));
+        Assert.assertEquals(JsonFieldExtractor.getRaw(bytes(POST_JSON), "/tags/1"), "{\"x\": [1, 2]}");
+        Assert.assertEquals(JsonFieldExtractor.getString(bytes(POST_JSON), "/author/a~1b"), "true");
+    }
+
+    @Test(description = "Missing paths and JSON null return null")
+    public void testMissingAndNullValues() {
+        logger.info("Testing: Missing paths and null values");
+
+        Assert.assertNull(JsonFieldExtractor.getRaw(bytes(POST_JSON), "/missing"));
+        Assert.assertNull(JsonFieldExtractor.getRaw(bytes(POST_JSON), "/tags/7"));
+        Assert.assertNull(JsonFieldExtractor.getRaw(bytes(POST_JSON), "/id/nested"));
+        Assert.assertEquals(JsonFieldExtractor.getRaw(bytes(POST_JSON), "/author/empty"), "null");
+        Assert.assertNull(JsonFieldExtractor.getString(bytes(POST_JSON), "/author/empty"));
+    }
+
+    @Test(description = "Scanning stops once the value has been read")
+    public void testStopsReadingAfterValue() {
+        logger.info("Testing: Extraction reads only a prefix of the stream");
+
+        StringBuilder json = new StringBuilder("[{\"id\": 1, \"title\": \"first\"}");
+        for (int i = 2; i <= 50000; i++) {
+            json.append(", {\"id\": ").append(i).append(", \"title\": \"post ").append(i).append("\"}");
+        }
+        json.append("]");
+        byte[] document = bytes(json.toString());
+        CountingInputStream input = new CountingInputStream(document);
+
+        Assert.assertEquals(JsonFieldExtractor.getRaw(input, "/0/title"), "\"first\"");
+        Assert.assertTrue(input.bytesRead < document.length / 10,
+                "Read " + input.bytesRead + " of " + document.length + " bytes");
+    }
+
+    private static class CountingInputStream extends ByteArrayInputStream {
+        int bytesRead;
+
+        CountingInputStream(byte[] data) {
+            super(data);
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                bytesRead += n;
+            }
+            return n;
+        }
+    }
+}
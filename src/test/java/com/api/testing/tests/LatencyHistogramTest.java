@@ -0,0 +1,68 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.LatencyHistogram;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the lock-free latency histogram
+ */
+public class LatencyHistogramTest extends BaseTest {
+
+    private void assertWithin(long actual, long expected, double tolerance) {
+        Assert.assertTrue(Math.abs(actual - expected) <= expected * tolerance,
+                "Expected ~" + expected + " but was " + actual);
+    }
+
+    @Test(description = "Percentiles are reported within the bucket precision")
+    public void testPercentiles() {
+        logger.info("Testing: histogram percentiles");
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int millis = 1; millis <= 1000; millis++) {
+            histogram.recordMillis(millis);
+        }
+        Assert.assertEquals(histogram.getCount(), 1000);
+        assertWithin(histogram.getPercentileMillis(50), 500, 0.07);
+        assertWithin(histogram.getPercentileMillis(95), 950, 0.07);
+        assertWithin(histogram.getPercentileMillis(99), 990, 0.07);
+        Assert.assertEquals(histogram.getPercentileMillis(100), 1000);
+        Assert.assertEquals(histogram.getMinMicros(), 1000);
+        assertWithin((long) histogram.getMeanMicros(), 500_500, 0.001);
+    }
+
+    @Test(description = "Concurrent recording loses no samples and histograms merge")
+    public void testConcurrentRecordingAndMerge() throws InterruptedException {
+        logger.info("Testing: histogram concurrency and merge");
+
+        LatencyHistogram fast = new LatencyHistogram();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    fast.recordMicros(100 + i % 50);
+                }
+            });
+        }
+        pool.shutdown();
+        Assert.assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertEquals(fast.getCount(), 40_000);
+
+        LatencyHistogram slow = new LatencyHistogram();
+        for (int i = 0; i < 40_000; i++) {
+            slow.recordMillis(200);
+        }
+        LatencyHistogram merged = new LatencyHistogram();
+        merged.merge(fast);
+        merged.merge(slow);
+        Assert.assertEquals(merged.getCount(), 80_000);
+        Assert.assertTrue(merged.getValueAtPercentile(25) < 200);
+        assertWithin(merged.getPercentileMillis(75), 200, 0.07);
+        Assert.assertEquals(merged.getMaxMicros(), 200_000);
+    }
+}
@@ -0,0 +1,155 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.AsyncRequestClient;
+import com.api.testing.utils.HtmlReportGenerator;
+import com.api.testing.utils.HttpTransport;
+import com.api.testing.utils.LatencySlo;
+import com.api.testing.utils.LatencySloFilter;
+import com.api.testing.utils.LatencySloTracker;
+import com.api.testing.utils.StubServer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Tests for @LatencySlo scopes and their evaluation over all of a test's requests
+ */
+public class LatencySloTest extends BaseTest {
+
+    @LatencySlo(p99 = "2s", errorRate = "10%", minRequests = 10)
+    static class Annotated {
+        public void inherited() {
+        }
+
+        @LatencySlo(p50 = "20ms", minRequests = 4)
+        public void strict() {
+        }
+
+        @LatencySlo(p99 = "fast")
+        public void invalid() {
+        }
+    }
+
+    @Test(description = "Method objectives override class objectives and get their own scope")
+    public void testResolution() throws Exception {
+        logger.info("Testing: @LatencySlo resolution");
+
+        Method inherited = Annotated.class.getMethod("inherited");
+        Method strict = Annotated.class.getMethod("strict");
+        Assert.assertEquals(LatencySloTracker.find(Annotated.class, inherited).p99(), "2s");
+        Assert.assertEquals(LatencySloTracker.scopeName(Annotated.class, inherited), Annotated.class.getName());
+        Assert.assertEquals(LatencySloTracker.find(Annotated.class, strict).p50(), "20ms");
+        Assert.assertEquals(LatencySloTracker.scopeName(Annotated.class, strict), Annotated.class.getName() + ".strict");
+        Assert.assertNull(LatencySloTracker.find(LatencySloTest.class, LatencySloTest.class.getMethod("testResolution")));
+
+        Method invalid = Annotated.class.getMethod("invalid");
+        IllegalArgumentException error = Assert.expectThrows(IllegalArgumentException.class, () -> new LatencySloTracker()
+                .bind(LatencySloTracker.scopeName(Annotated.class, invalid), LatencySloTracker.find(Annotated.class, invalid)));
+        Assert.assertTrue(error.getMessage().contains("Invalid duration 'fast'"), error.getMessage());
+    }
+
+    @Test(description = "A percentile objective is checked once enough requests were recorded")
+    public void testPercentileObjective() throws Exception {
+        logger.info("Testing: @LatencySlo percentile objective");
+
+        Method strict = Annotated.class.getMethod("strict");
+        LatencySloTracker tracker = new LatencySloTracker();
+        LatencySloFilter filter = new LatencySloFilter();
+        try (StubServer server = new StubServer().handle("/slow", exchange -> {
+            try {
+                Thread.sleep(40);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            StubServer.respond(exchange, 200, "{}");
+        })) {
+            // Two invocations (e.g. data-provider rows) of two requests each share the scope
+            for (int invocation = 0; invocation < 2; invocation++) {
+                LatencySloTracker.Binding binding = tracker.bind(
+                        LatencySloTracker.scopeName(Annotated.class, strict), LatencySloTracker.find(Annotated.class, strict));
+                try {
+                    for (int i = 0; i < 2; i++) {
+                        given().noFilters().filter(filter).baseUri(server.getBaseUrl()).get("/slow").then().statusCode(200);
+                    }
+                } finally {
+                    LatencySloTracker.unbind(binding);
+                }
+                if (invocation == 0) {
+                    Assert.assertFalse(binding.getScope().isEvaluated(), "Two requests are below minRequests");
+                    Assert.assertNull(binding.getScope().checkOnce());
+                }
+            }
+            given().noFilters().filter(filter).baseUri(server.getBaseUrl()).get("/slow").then().statusCode(200);
+        }
+
+        LatencySloTracker.Scope scope = tracker.getScope(Annotated.class.getName() + ".strict");
+        Assert.assertEquals(scope.getRequests(), 4, "Requests after unbinding are not recorded");
+        String violation = scope.checkOnce();
+        logger.info(violation);
+        Assert.assertNotNull(violation);
+        Assert.assertTrue(violation.contains("over 4 requests: p50 "), violation);
+        Assert.assertTrue(violation.endsWith(" > 20.0ms"), violation);
+        Assert.assertNull(scope.checkOnce(), "A violation fails one invocation only");
+        Assert.assertTrue(scope.getStatus().contains("VIOLATED"));
+
+        HtmlReportGenerator report = new HtmlReportGenerator("SLO");
+        tracker.appendTo(report);
+        Path html = Path.of(report.generateReport());
+        try {
+            String content = Files.readString(html);
+            Assert.assertTrue(content.contains("Latency SLOs (1 of 1 violated)"));
+            Assert.assertTrue(content.contains(Annotated.class.getName() + ".strict"));
+        } finally {
+            Files.deleteIfExists(html);
+        }
+    }
+
+    @Test(description = "Error rates count requests from threads and async calls started by the test")
+    public void testErrorRateObjective() throws Exception {
+        logger.info("Testing: @LatencySlo error rate objective");
+
+        Method inherited = Annotated.class.getMethod("inherited");
+        LatencySloTracker tracker = new LatencySloTracker();
+        LatencySloFilter filter = new LatencySloFilter();
+        try (StubServer server = new StubServer()
+                .handle("/ok", exchange -> StubServer.respond(exchange, 200, "{}"))
+                .handle("/error", exchange -> StubServer.respond(exchange, 503, "{}"))) {
+            LatencySloTracker.Binding binding = tracker.bind(
+                    LatencySloTracker.scopeName(Annotated.class, inherited), LatencySloTracker.find(Annotated.class, inherited));
+            try {
+                AsyncRequestClient client = new AsyncRequestClient(
+                        new HttpTransport(HttpClient.Version.HTTP_1_1, 5000, 5000), server.getBaseUrl(), 4, 5000);
+                for (int i = 0; i < 5; i++) {
+                    client.get("/ok").join();
+                }
+                Thread worker = new Thread(() -> {
+                    for (int i = 0; i < 4; i++) {
+                        given().noFilters().filter(filter).baseUri(server.getBaseUrl()).get("/ok");
+                    }
+                    given().noFilters().filter(filter).baseUri(server.getBaseUrl()).get("/error");
+                });
+                worker.start();
+                worker.join();
+
+                LatencySloTracker.Scope scope = binding.getScope();
+                Assert.assertEquals(scope.getRequests(), 10);
+                Assert.assertEquals(scope.getErrors(), 1);
+                Assert.assertTrue(scope.getViolations().isEmpty(), "10% errors meets a 10% objective");
+
+                client.get("/error").join();
+                Assert.assertEquals(scope.getViolations().size(), 1);
+                Assert.assertTrue(scope.getViolations().get(0).startsWith("errors 18.18% > 10.00%"), scope.getViolations().toString());
+                Assert.assertTrue(scope.describe().contains("Requests: 11 (2 errors)"), scope.describe());
+            } finally {
+                LatencySloTracker.unbind(binding);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.LiveMetricsServer;
+import com.api.testing.utils.MetricsFilter;
+import com.api.testing.utils.MetricsRegistry;
+import com.api.testing.utils.RollingRequestStats;
+import com.api.testing.utils.StubServer;
+import io.restassured.path.json.JsonPath;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Tests for the one-second request buckets and the live metrics endpoint
+ */
+public class LiveMetricsTest extends BaseTest {
+
+    @Test(description = "Rolling windows cover complete seconds only and drop expired ones")
+    public void testRollingWindow() {
+        logger.info("Testing: rolling one-second buckets");
+
+        AtomicLong clock = new AtomicLong(1_000_000_000L);
+        RollingRequestStats stats = new RollingRequestStats(5, clock::get);
+        for (int i = 0; i < 10; i++) {
+            stats.record("GET api/users", 20_000_000, i == 0);
+        }
+        Assert.assertEquals(stats.getWindows().get("GET api/users").getCount(), 0, "Second in progress is excluded");
+
+        clock.addAndGet(1000);
+        stats.record("GET api/users", 80_000_000, false);
+        RollingRequestStats.Window window = stats.getWindows().get("GET api/users");
+        Assert.assertEquals(window.getCount(), 10);
+        Assert.assertEquals(window.getRequestsPerSecond(), 2.0);
+        Assert.assertEquals(window.getErrorRate(), 0.1);
+        Assert.assertEquals(window.getLatencies().getPercentileMillis(50), 20, 2);
+
+        clock.addAndGet(1000);
+        Assert.assertEquals(stats.getWindows().get("GET api/users").getCount(), 11);
+        Assert.assertEquals(stats.getSecond("GET api/users", 1_000_000).getCount(), 10);
+
+        clock.addAndGet(4000);
+        Assert.assertEquals(stats.getWindows().get("GET api/users").getCount(), 1, "First second has left the window");
+        clock.addAndGet(1000);
+        Assert.assertEquals(stats.getWindows().get("GET api/users").getCount(), 0);
+    }
+
+    @Test(description = "The live endpoint serves per-endpoint rates, errors and percentiles")
+    public void testLiveEndpoint() throws Exception {
+        logger.info("Testing: live metrics endpoint");
+
+        MetricsFilter filter = new MetricsFilter(new MetricsRegistry(), new RollingRequestStats(5));
+        try (StubServer server = new StubServer()
+                .handle("/orders", exchange -> StubServer.respond(exchange, 200, "[]"))
+                .handle("/failing", exchange -> StubServer.respond(exchange, 500, "{}"));
+             LiveMetricsServer live = new LiveMetricsServer(filter, "127.0.0.1", 0)) {
+            for (int i = 0; i < 4; i++) {
+                given().noFilters().filter(filter).baseUri(server.getBaseUrl()).get("/orders").then().statusCode(200);
+            }
+            given().noFilters().filter(filter).baseUri(server.getBaseUrl()).get("/failing").then().statusCode(500);
+            // Rates are published once the second they were recorded in has completed
+            Thread.sleep(1100);
+
+            String host = URI.create(server.getBaseUrl()).getAuthority();
+            JsonPath json = given().noFilters().baseUri(live.getBaseUrl()).get("/live")
+                    .then().statusCode(200).extract().jsonPath();
+            logger.info("Live metrics: " + json.prettify());
+            Assert.assertEquals(json.getInt("inFlight"), 0);
+            Assert.assertEquals(json.getFloat("errorRate"), 0.2f, 0.001f);
+            Map<String, Object> orders = json.getMap("endpoints.'GET " + host + "/orders'");
+            Assert.assertEquals(((Number) orders.get("requests")).intValue(), 4);
+            Assert.assertEquals(((Number) orders.get("rps")).doubleValue(), 0.8, 0.001);
+            Assert.assertTrue(((Number) orders.get("p99Ms")).doubleValue() > 0);
+            Map<String, Object> failing = json.getMap("endpoints.'GET " + host + "/failing'");
+            Assert.assertEquals(((Number) failing.get("errorRate")).doubleValue(), 1.0);
+
+            String openMetrics = given().noFilters().baseUri(live.getBaseUrl()).get("/live?format=openmetrics")
+                    .then().statusCode(200).extract().asString();
+            Assert.assertTrue(openMetrics.contains("api_live_requests_per_second{endpoint=\"GET " + host + "/orders\"} 0.8\n"), openMetrics);
+            Assert.assertTrue(openMetrics.contains("api_live_latency_seconds{endpoint=\"GET " + host + "/orders\",quantile=\"0.99\"}"), openMetrics);
+            Assert.assertTrue(openMetrics.endsWith("# EOF\n"));
+
+            String metrics = given().noFilters().baseUri(live.getBaseUrl()).get("/metrics")
+                    .then().statusCode(200).extract().asString();
+            Assert.assertTrue(metrics.contains("status_class=\"5xx\"} 1\n"), metrics);
+        }
+    }
+}
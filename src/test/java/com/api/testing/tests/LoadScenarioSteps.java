@@ -0,0 +1,22 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Scenario run by the worker JVMs in LoadTest.testDistributedRun. It is not listed in any suite
+ * XML and its name does not match surefire's test patterns, so it only runs inside load workers.
+ */
+public class LoadScenarioSteps extends BaseTest {
+
+    @Test(description = "Load scenario step")
+    public void getItem() {
+        if (System.getProperty("load.test.url") == null) {
+            throw new SkipException("Only run by the workers of LoadTest.testDistributedRun");
+        }
+        given().baseUri(System.getProperty("load.test.url")).get("/items").then().statusCode(200);
+    }
+}
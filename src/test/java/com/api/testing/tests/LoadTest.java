@@ -0,0 +1,159 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.ConfigManager;
+import com.api.testing.utils.ConfigSnapshot;
+import com.api.testing.utils.HtmlReportGenerator;
+import com.api.testing.utils.LatencyHistogram;
+import com.api.testing.utils.LoadCoordinator;
+import com.api.testing.utils.LoadResult;
+import com.api.testing.utils.LoadScenario;
+import com.api.testing.utils.LoadWorker;
+import com.api.testing.utils.StubServer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Tests for distributed load runs across worker JVMs
+ */
+public class LoadTest extends BaseTest {
+
+    @Test(description = "Iterations and threads are split evenly across workers")
+    public void testSplit() {
+        logger.info("Testing: load scenario split");
+
+        LoadScenario scenario = new LoadScenario(List.of("com.example.ATest", "com.example.BTest#testOne"), 10, 4, 30);
+        List<LoadScenario> shares = scenario.split(3);
+        Assert.assertEquals(shares.stream().map(LoadScenario::getIterations).collect(Collectors.toList()), List.of(4, 3, 3));
+        Assert.assertEquals(shares.stream().map(LoadScenario::getThreads).collect(Collectors.toList()), List.of(2, 1, 1));
+        for (LoadScenario share : shares) {
+            Assert.assertEquals(share.getTests(), scenario.getTests());
+            Assert.assertEquals(share.getDurationSeconds(), 30);
+        }
+        Assert.assertEquals(scenario.split(8).get(7).getIterations(), 1, "Every worker gets at least one iteration");
+    }
+
+    @Test(description = "Worker histograms and counters merge into exact combined percentiles")
+    public void testMerge() throws Exception {
+        logger.info("Testing: load result merge");
+
+        LoadResult fast = new LoadResult();
+        fast.endpoint("GET api/items").record(latencies(90, 10_000), 0);
+        fast.test("ItemsTest.getItem").passed(12);
+        fast.addWorker("worker-1", 10.0);
+        LoadResult slow = new LoadResult();
+        slow.endpoint("GET api/items").record(latencies(10, 500_000), 5);
+        slow.test("ItemsTest.getItem").failed(600, "AssertionError: expected 200");
+        slow.addWorker("worker-2", 12.5);
+
+        LoadResult merged = new LoadResult();
+        merged.merge(fast);
+        merged.merge(slow);
+        LoadResult.EndpointStats items = merged.getEndpoints().get("GET api/items");
+        Assert.assertEquals(items.getRequests(), 105);
+        Assert.assertEquals(items.getErrors(), 5);
+        Assert.assertEquals(items.getLatencies().getPercentileMillis(50), 10, 1);
+        Assert.assertEquals(items.getLatencies().getPercentileMillis(95), 500, 25, "p95 falls in the slow worker's share");
+        Assert.assertEquals(merged.getDurationSeconds(), 12.5);
+        Assert.assertEquals(merged.getThroughput(), 105 / 12.5, 0.001);
+        Assert.assertEquals(merged.getTests().get("ItemsTest.getItem").getPassed(), 1);
+        Assert.assertEquals(merged.getTests().get("ItemsTest.getItem").getFailed(), 1);
+        Assert.assertEquals(merged.getWorkers().size(), 2);
+
+        HtmlReportGenerator report = new HtmlReportGenerator("Load");
+        merged.appendTo(report);
+        Path html = Path.of(report.generateReport());
+        try {
+            String content = Files.readString(html);
+            Assert.assertTrue(content.contains("Distributed Load (2 workers, 12.5s, 8.4 req/s)"));
+            Assert.assertTrue(content.contains("AssertionError: expected 200"));
+            Assert.assertTrue(content.contains("worker-2"));
+        } finally {
+            Files.deleteIfExists(html);
+        }
+    }
+
+    @Test(description = "The coordinator runs a scenario on two worker JVMs and combines their results")
+    public void testDistributedRun() throws Exception {
+        logger.info("Testing: distributed load run");
+
+        AtomicInteger hits = new AtomicInteger();
+        try (StubServer server = new StubServer().handle("/items", exchange -> {
+            hits.incrementAndGet();
+            StubServer.respond(exchange, 200, "{\"id\":1}");
+        })) {
+            LoadScenario scenario = new LoadScenario(List.of(LoadScenarioSteps.class.getName()), 20, 4, 0);
+            LoadResult result;
+            try (LoadCoordinator coordinator = new LoadCoordinator(scenario, 2, 0, "127.0.0.1", 0, null,
+                    List.of("-Dload.test.url=" + server.getBaseUrl()), 60)) {
+                result = coordinator.run();
+            }
+            Path json = Files.createTempDirectory("load").resolve("load-result.json");
+            Path html = Path.of(LoadCoordinator.report(result, json));
+            Files.deleteIfExists(html);
+
+            Assert.assertEquals(hits.get(), 20, "Each invocation runs once across the workers");
+            Assert.assertEquals(result.getWorkers().size(), 2);
+            Assert.assertEquals(result.getWorkers().stream().map(LoadResult.WorkerStats::getRequests)
+                    .collect(Collectors.toList()), List.of(10L, 10L));
+            Assert.assertEquals(result.getRequests(), 20);
+            Assert.assertEquals(result.getErrors(), 0);
+            Assert.assertEquals(result.getTests().get(LoadScenarioSteps.class.getName() + ".getItem").getPassed(), 20);
+            Assert.assertTrue(Files.readString(json).contains("\"workers\""));
+        }
+    }
+
+    @Test(description = "The coordinator drops workers that do not present its token")
+    public void testWrongTokenRejected() throws Exception {
+        logger.info("Testing: load worker token handshake");
+
+        LoadScenario scenario = new LoadScenario(List.of(LoadScenarioSteps.class.getName()), 1, 1, 0);
+        try (LoadCoordinator coordinator = new LoadCoordinator(scenario, 0, 1, "127.0.0.1", 0, "secret",
+                List.of(), 2)) {
+            CompletableFuture<Void> run = CompletableFuture.runAsync(coordinator::run);
+            IllegalStateException rejected = Assert.expectThrows(IllegalStateException.class,
+                    () -> LoadWorker.serve("127.0.0.1", coordinator.getPort(), "intruder", "guess", 5000));
+            Assert.assertTrue(rejected.getMessage().contains("wrong load.token"), rejected.getMessage());
+
+            Exception timedOut = Assert.expectThrows(Exception.class, run::join);
+            Assert.assertTrue(timedOut.getCause().getMessage().startsWith("Only 0 of 1 load workers connected"),
+                    timedOut.getCause().getMessage());
+        }
+    }
+
+    @Test(description = "Remote workers need a configured token, and only they widen the bind address")
+    public void testRemoteWorkersNeedTokenAndWiderBind() {
+        logger.info("Testing: load coordinator defaults for remote workers");
+
+        LoadScenario scenario = new LoadScenario(List.of(LoadScenarioSteps.class.getName()), 1, 1, 0);
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> new LoadCoordinator(scenario, 0, 1, "127.0.0.1", 0, " ", List.of(), 1));
+
+        Properties properties = new Properties();
+        properties.setProperty("base.url.loadtest", "http://localhost");
+        properties.setProperty("load.coordinator.bind", "");
+        ConfigManager.bind(new ConfigSnapshot(properties, "loadtest"));
+        try {
+            Assert.assertEquals(ConfigManager.getLoadCoordinatorBind(), "127.0.0.1");
+            properties.setProperty("load.remote.workers", "2");
+            ConfigManager.bind(new ConfigSnapshot(properties, "loadtest"));
+            Assert.assertEquals(ConfigManager.getLoadCoordinatorBind(), "0.0.0.0");
+        } finally {
+            ConfigManager.unbindEnvironment();
+        }
+    }
+
+    private static LatencyHistogram latencies(int count, long micros) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordMicros(micros, count);
+        return histogram;
+    }
+}
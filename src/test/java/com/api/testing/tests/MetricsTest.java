@@ -0,0 +1,113 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.MetricsFilter;
+import com.api.testing.utils.MetricsRegistry;
+import com.api.testing.utils.StubServer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.ServerSocket;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Tests for the OpenMetrics registry and request metrics filter
+ */
+public class MetricsTest extends BaseTest {
+
+    @Test(description = "Requests are counted by endpoint, method and status class with latency buckets")
+    public void testRequestMetrics() throws Exception {
+        logger.info("Testing: request metrics");
+
+        MetricsRegistry registry = new MetricsRegistry();
+        MetricsFilter filter = new MetricsFilter(registry);
+        try (StubServer server = new StubServer()
+                .handle("/users", exchange -> StubServer.respond(exchange, 200, "[]"))
+                .handle("/broken", exchange -> StubServer.respond(exchange, 503, "{}"))) {
+            for (int i = 0; i < 3; i++) {
+                given().noFilters().filter(filter).baseUri(server.getBaseUrl()).get("/users").then().statusCode(200);
+            }
+            given().noFilters().filter(filter).baseUri(server.getBaseUrl()).get("/broken").then().statusCode(503);
+
+            String deadUrl;
+            try (ServerSocket socket = new ServerSocket(0)) {
+                deadUrl = "http://127.0.0.1:" + socket.getLocalPort();
+            }
+            try {
+                given().noFilters().filter(filter).baseUri(deadUrl).get("/users");
+                Assert.fail("Request to a closed port should fail");
+            } catch (Exception expected) {
+                // connection refused
+            }
+
+            String env = "environment=\"" + getCurrentEnvironment() + "\",method=\"GET\"";
+            String users = ",endpoint=\"" + URI.create(server.getBaseUrl()).getAuthority() + "/users\"";
+            String broken = ",endpoint=\"" + URI.create(server.getBaseUrl()).getAuthority() + "/broken\"";
+            String dead = ",endpoint=\"" + URI.create(deadUrl).getAuthority() + "/users\"";
+            String text = registry.scrape();
+            logger.info("Metrics:\n" + text);
+
+            Assert.assertTrue(text.contains("# TYPE api_requests counter\n"));
+            Assert.assertTrue(text.contains("api_requests_total{" + env + users + ",status_class=\"2xx\"} 3\n"), text);
+            Assert.assertTrue(text.contains("api_requests_total{" + env + broken + ",status_class=\"5xx\"} 1\n"), text);
+            Assert.assertTrue(text.contains("api_requests_total{" + env + dead + ",status_class=\"error\"} 1\n"), text);
+            Assert.assertTrue(text.contains("api_request_failures_total{" + env + dead + ",exception=\"ConnectException\"} 1\n"), text);
+            Assert.assertTrue(text.contains("api_request_duration_seconds_bucket{" + env + users + ",le=\"+Inf\"} 3\n"), text);
+            Assert.assertTrue(text.contains("api_request_duration_seconds_count{" + env + users + "} 3\n"), text);
+            Assert.assertTrue(text.contains("api_requests_in_flight 0\n"), text);
+            Assert.assertTrue(text.endsWith("# EOF\n"));
+        }
+    }
+
+    @Test(description = "Histogram buckets are cumulative and label values are escaped")
+    public void testExpositionFormat() {
+        logger.info("Testing: OpenMetrics exposition format");
+
+        MetricsRegistry registry = new MetricsRegistry();
+        MetricsRegistry.Histogram histogram = registry.histogram("latency_seconds", "Latency",
+                new double[]{0.01, 0.1, 1}, "path").labels("/a\"b");
+        histogram.observeNanos(5_000_000);
+        histogram.observeNanos(50_000_000);
+        histogram.observeNanos(50_000_000);
+        histogram.observeNanos(5_000_000_000L);
+
+        String text = registry.scrape();
+        Assert.assertTrue(text.contains("latency_seconds_bucket{path=\"/a\\\"b\",le=\"0.01\"} 1\n"), text);
+        Assert.assertTrue(text.contains("latency_seconds_bucket{path=\"/a\\\"b\",le=\"0.1\"} 3\n"), text);
+        Assert.assertTrue(text.contains("latency_seconds_bucket{path=\"/a\\\"b\",le=\"1.0\"} 3\n"), text);
+        Assert.assertTrue(text.contains("latency_seconds_bucket{path=\"/a\\\"b\",le=\"+Inf\"} 4\n"), text);
+        Assert.assertTrue(text.contains("latency_seconds_sum{path=\"/a\\\"b\"} 5.105\n"), text);
+
+        try {
+            registry.counter("latency_seconds", "Clash", "path");
+            Assert.fail("Re-registering a name with another type should fail");
+        } catch (IllegalStateException expected) {
+            // already a histogram
+        }
+    }
+
+    @Test(description = "Metrics are rewritten periodically and once more when exporting stops")
+    public void testPeriodicExport() throws Exception {
+        logger.info("Testing: periodic metrics export");
+
+        Path file = Files.createTempDirectory("metrics").resolve("api.prom");
+        MetricsRegistry registry = new MetricsRegistry();
+        MetricsRegistry.Counter counter = registry.counter("runs", "Runs").labels();
+        counter.inc();
+        registry.startExporting(file, 100);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!Files.exists(file) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        Assert.assertTrue(Files.readString(file).contains("runs_total 1\n"));
+
+        counter.inc(4);
+        registry.stopExporting();
+        Assert.assertTrue(Files.readString(file).contains("runs_total 5\n"));
+        Assert.assertNull(registry.getExportFile());
+    }
+}
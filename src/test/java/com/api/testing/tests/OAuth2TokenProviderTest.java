@@ -0,0 +1,103 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.OAuth2TokenProvider;
+import com.api.testing.utils.StubServer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests for cached OAuth2 tokens with single-flight background refresh
+ */
+public class OAuth2TokenProviderTest extends BaseTest {
+
+    private StubServer tokenServer(AtomicInteger issued, long expiresInSeconds, long delayMillis) {
+        return new StubServer().handle("/oauth2/token", exchange -> {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            int n = issued.incrementAndGet();
+            StubServer.respond(exchange, 200, "{\"access_token\": \"token-" + n
+                    + "\", \"token_type\": \"Bearer\", \"expires_in\": " + expiresInSeconds + "}");
+        });
+    }
+
+    private OAuth2TokenProvider.ClientRegistration client(StubServer server) {
+        return new OAuth2TokenProvider.ClientRegistration("dev", server.getBaseUrl() + "/oauth2/token",
+                "api-tests", "secret", "api.read", "client_credentials", null, null);
+    }
+
+    @Test(description = "Concurrent first requests share one token fetch and later calls hit the cache")
+    public void testSingleFlightAndCaching() {
+        logger.info("Testing: OAuth2 single-flight token fetch");
+
+        AtomicInteger issued = new AtomicInteger();
+        try (StubServer server = tokenServer(issued, 3600, 300)) {
+            OAuth2TokenProvider provider = new OAuth2TokenProvider(60_000);
+            OAuth2TokenProvider.ClientRegistration client = client(server);
+
+            List<CompletableFuture<String>> callers = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                callers.add(CompletableFuture.supplyAsync(() -> provider.getAccessToken(client)));
+            }
+            for (CompletableFuture<String> caller : callers) {
+                Assert.assertEquals(caller.join(), "token-1");
+            }
+            Assert.assertEquals(provider.getAccessToken(client), "token-1");
+
+            Assert.assertEquals(server.getHits("/oauth2/token"), 1);
+            Assert.assertEquals(provider.getTokenRequests(), 1);
+        }
+    }
+
+    @Test(description = "Tokens are refreshed in the background before expiry without blocking callers")
+    public void testProactiveRefresh() throws InterruptedException {
+        logger.info("Testing: OAuth2 proactive refresh");
+
+        AtomicInteger issued = new AtomicInteger();
+        try (StubServer server = tokenServer(issued, 6, 0)) {
+            // A 9s skew exceeds the 6s lifetime, so the refresh comes at half the lifetime (3s)
+            OAuth2TokenProvider provider = new OAuth2TokenProvider(9000);
+            OAuth2TokenProvider.ClientRegistration client = client(server);
+
+            Assert.assertEquals(provider.getAccessToken(client), "token-1");
+            Thread.sleep(3500);
+
+            long start = System.currentTimeMillis();
+            String token = provider.getAccessToken(client);
+            Assert.assertTrue(System.currentTimeMillis() - start < 100, "Caller waited for a refresh");
+            Assert.assertNotEquals(token, "token-1", "Token was not refreshed ahead of expiry");
+            Assert.assertTrue(provider.getBackgroundRefreshes() >= 1);
+        }
+    }
+
+    @Test(description = "Short-lived tokens and invalidations keep a single refresh scheduled")
+    public void testRefreshDoesNotLoopOrStack() throws InterruptedException {
+        logger.info("Testing: OAuth2 refresh scheduling");
+
+        AtomicInteger issued = new AtomicInteger();
+        try (StubServer server = tokenServer(issued, 1, 0)) {
+            // The 60s skew is longer than the 1s lifetime; the refresh must not fire immediately
+            OAuth2TokenProvider provider = new OAuth2TokenProvider(60_000);
+            OAuth2TokenProvider.ClientRegistration client = client(server);
+
+            for (int i = 0; i < 3; i++) {
+                provider.getAccessToken(client);
+                provider.invalidate(client);
+            }
+            Assert.assertEquals(provider.getAccessToken(client), "token-4");
+            Thread.sleep(500);
+            Assert.assertEquals(server.getHits("/oauth2/token"), 4, "Token endpoint was called in a loop");
+
+            Thread.sleep(3000);
+            Assert.assertEquals(provider.getBackgroundRefreshes(), 1, "Refreshes were scheduled more than once");
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.HtmlReportGenerator;
+import com.api.testing.utils.LatencyHistogram;
+import com.api.testing.utils.PerformanceBaseline;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Tests for the stored performance baseline and its regression check
+ */
+public class PerformanceBaselineTest extends BaseTest {
+    private static final String ENDPOINT = "GET api.example.com/users";
+
+    @Test(description = "Slower medians and tails are flagged, noise and small samples are not")
+    public void testRegressionDetection() throws Exception {
+        logger.info("Testing: baseline regression detection");
+
+        PerformanceBaseline store = new PerformanceBaseline(Files.createTempDirectory("baseline"), 5, 50, 0.25, 0.5, 0.01);
+        Random random = new Random(42);
+        for (int i = 0; i < 3; i++) {
+            store.save(run(1000L + i, latencies(random, 200, 20_000, 0, 0)), false, 10);
+        }
+
+        PerformanceBaseline.Comparison noise = store.compare(run(2000, latencies(random, 200, 20_000, 0, 0))
+                .test("com.example.SlowTest.once", latencies(random, 3, 900_000, 0, 0)));
+        logger.info("Same distribution: " + noise.getResults());
+        Assert.assertTrue(noise.hasBaseline());
+        Assert.assertEquals(noise.getComparedKeys(), 1, "Keys below min samples are not compared");
+        Assert.assertTrue(noise.getRegressions().isEmpty(), noise.getResults().toString());
+
+        PerformanceBaseline.Comparison slower = store.compare(run(2001, latencies(random, 200, 30_000, 0, 0)));
+        logger.info("Slower median: " + slower.getRegressions());
+        Assert.assertTrue(slower.getRegressions().stream().anyMatch(result -> "p50".equals(result.getPercentile())),
+                slower.getResults().toString());
+
+        PerformanceBaseline.Comparison tail = store.compare(run(2002, latencies(random, 400, 20_000, 20, 400_000)));
+        logger.info("Slower tail: " + tail.getRegressions());
+        List<String> regressed = tail.getRegressions().stream()
+                .map(PerformanceBaseline.Result::getPercentile).collect(Collectors.toList());
+        Assert.assertEquals(regressed, List.of("p99"), tail.getResults().toString());
+
+        HtmlReportGenerator report = new HtmlReportGenerator("Baseline");
+        tail.appendTo(report);
+        Path html = Path.of(report.generateReport());
+        try {
+            String content = Files.readString(html);
+            Assert.assertTrue(content.contains("Performance Baseline (1 regressions in 1 compared)"));
+            Assert.assertTrue(content.contains("REGRESSION</td>"));
+        } finally {
+            Files.deleteIfExists(html);
+        }
+    }
+
+    @Test(description = "Runs are stored per environment, regressed runs are skipped and old runs pruned")
+    public void testStore() throws Exception {
+        logger.info("Testing: baseline store");
+
+        Path dir = Files.createTempDirectory("baseline");
+        PerformanceBaseline store = new PerformanceBaseline(dir, 2, 50, 0.25, 0.5, 0.01);
+        Random random = new Random(7);
+        Assert.assertFalse(store.compare(run(1000, latencies(random, 100, 20_000, 0, 0))).hasBaseline());
+
+        store.save(run(1000, latencies(random, 100, 20_000, 0, 0)), false, 3);
+        store.save(run(1001, latencies(random, 100, 20_000, 0, 0)), false, 3);
+        store.save(run(1002, latencies(random, 100, 60_000, 0, 0)), true, 3);
+        store.save(run(1003, latencies(random, 100, 20_000, 0, 0)), false, 3);
+        try (Stream<Path> files = Files.list(dir.resolve("test"))) {
+            Assert.assertEquals(files.map(path -> path.getFileName().toString()).sorted().collect(Collectors.toList()),
+                    List.of("run-000000000001001.json", "run-000000000001002.json", "run-000000000001003.json"));
+        }
+
+        PerformanceBaseline.Comparison comparison = store.compare(run(2000, latencies(random, 100, 20_000, 0, 0)));
+        PerformanceBaseline.Run baseline = comparison.getBaseline();
+        Assert.assertEquals(baseline.getThroughput(), 20.0, 0.001, "Two non-regressed runs of 100 requests in 5s");
+        PerformanceBaseline.Result p50 = comparison.getResults().get(0);
+        Assert.assertEquals(p50.getBaselineMicros() / 1000.0, 20, 2, "The regressed run is not part of the baseline");
+        Assert.assertTrue(comparison.getRegressions().isEmpty(), comparison.getResults().toString());
+
+        Assert.assertFalse(new PerformanceBaseline(dir, 2, 50, 0.25, 0.5, 0.01)
+                .compare(new PerformanceBaseline.Run("prod", 2000, 5, 100)).hasBaseline(), "Baselines are per environment");
+    }
+
+    private static PerformanceBaseline.Run run(long timestamp, LatencyHistogram endpoint) {
+        return new PerformanceBaseline.Run("test", timestamp, 5, endpoint.getCount()).endpoint(ENDPOINT, endpoint);
+    }
+
+    /**
+     * Roughly normal latencies around a median with 10% spread, plus optional slow outliers
+     */
+    private static LatencyHistogram latencies(Random random, int count, long medianMicros, int outliers, long outlierMicros) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < count - outliers; i++) {
+            histogram.recordMicros(Math.max(1, (long) (medianMicros * (1 + 0.1 * random.nextGaussian()))));
+        }
+        for (int i = 0; i < outliers; i++) {
+            histogram.recordMicros(outlierMicros);
+        }
+        return histogram;
+    }
+}
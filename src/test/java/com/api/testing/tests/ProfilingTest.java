@@ -0,0 +1,88 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.HtmlReportGenerator;
+import com.api.testing.utils.ProfilingSession;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for the JFR profiling summary in the HTML report
+ */
+public class ProfilingTest extends BaseTest {
+    private static volatile long sink;
+
+    private static long burnCpu(long millis) {
+        long end = System.nanoTime() + millis * 1_000_000;
+        long x = 17;
+        while (System.nanoTime() < end) {
+            for (int i = 0; i < 10_000; i++) {
+                x = x * 6364136223846793005L + 1442695040888963407L;
+            }
+        }
+        return x;
+    }
+
+    private static List<byte[]> allocate(int megabytes) {
+        List<byte[]> chunks = new ArrayList<>();
+        for (int i = 0; i < megabytes * 16; i++) {
+            chunks.add(new byte[64 * 1024]);
+            if (chunks.size() > 64) {
+                chunks.clear();
+            }
+        }
+        return chunks;
+    }
+
+    @Test(description = "A profiling session reports hot methods, allocation sites and GC pauses")
+    public void testProfileSummary() throws Exception {
+        logger.info("Testing: JFR profiling summary");
+
+        Path file = Files.createTempDirectory("profiling").resolve("test.jfr");
+        ProfilingSession session = ProfilingSession.start("profile", file);
+        sink = burnCpu(600);
+        sink += allocate(256).size();
+        System.gc();
+        ProfilingSession.Summary summary = session.stop(10);
+
+        Assert.assertTrue(Files.size(file) > 0, "Recording should be written");
+        Assert.assertTrue(summary.getExecutionSamples() > 0, "No execution samples recorded");
+        Assert.assertFalse(summary.getHotMethods().isEmpty(), "Hot methods should be listed");
+        Assert.assertTrue(summary.getHotMethods().size() <= 10);
+        Assert.assertTrue(summary.getAllocatedBytes() > 0, "No allocations recorded");
+        Assert.assertTrue(summary.getAllocationSites().stream().anyMatch(entry -> entry.getName().contains("byte[]")),
+                "byte[] allocations should be listed");
+        Assert.assertFalse(summary.getGcPauses().isEmpty(), "System.gc() should be recorded");
+        logger.info("Hottest method: " + summary.getHotMethods().get(0).getName());
+    }
+
+    @Test(description = "The profiling summary is appended to the HTML report")
+    public void testSummaryInHtmlReport() throws Exception {
+        logger.info("Testing: profiling sections in the HTML report");
+
+        Path file = Files.createTempDirectory("profiling").resolve("test.jfr");
+        ProfilingSession session = ProfilingSession.start("profile", file);
+        sink = burnCpu(200);
+        ProfilingSession.Summary summary = session.stop(5);
+        Assert.assertTrue(Files.exists(file), "Recording should be written");
+        Assert.assertTrue(summary.getExecutionSamples() > 0, "No execution samples recorded");
+
+        HtmlReportGenerator report = new HtmlReportGenerator("Profiling");
+        report.addTestResult("testSummaryInHtmlReport", "profiling", "PASSED", 200, null);
+        summary.appendTo(report);
+        Path html = Path.of(report.generateReport());
+        try {
+            String content = Files.readString(html);
+            Assert.assertTrue(content.contains("CPU Hot Methods"));
+            Assert.assertTrue(content.contains("Allocation Sites"));
+            Assert.assertTrue(content.contains("GC Pauses"));
+        } finally {
+            Files.deleteIfExists(html);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.ConfigManager;
+import com.api.testing.utils.ConfigSnapshot;
+import com.api.testing.utils.RateLimitFilter;
+import com.api.testing.utils.StubServer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Tests for the per-environment and per-endpoint rate limits
+ */
+public class RateLimitTest extends BaseTest {
+
+    private static ConfigSnapshot snapshot(String env, String... keyValues) {
+        Properties properties = new Properties();
+        properties.setProperty("base.url." + env, "http://localhost");
+        for (int i = 0; i < keyValues.length; i += 2) {
+            properties.setProperty(keyValues[i], keyValues[i + 1]);
+        }
+        return new ConfigSnapshot(properties, env);
+    }
+
+    private static StubServer okServer(String... paths) {
+        StubServer server = new StubServer();
+        for (String path : paths) {
+            server.handle(path, exchange -> StubServer.respond(exchange, 200, "{\"ok\": true}"));
+        }
+        return server;
+    }
+
+    @Test(description = "Limits are resolved per environment and endpoint rules are parsed")
+    public void testLimitsPerEnvironment() {
+        logger.info("Testing: rate limit configuration");
+
+        String[] config = {"rate.limit.rps", "0", "rate.limit.rps.prod", "20", "rate.limit.burst", "10",
+                "rate.limit.burst.prod", "5", "rate.limit.endpoints.prod", "/posts:5, /comments:2.5"};
+        ConfigSnapshot dev = snapshot("dev", config);
+        ConfigSnapshot prod = snapshot("prod", config);
+
+        Assert.assertEquals(ConfigManager.getRateLimitRps(dev), 0.0);
+        Assert.assertEquals(ConfigManager.getRateLimitBurst(dev), 10);
+        Assert.assertTrue(ConfigManager.getRateLimitEndpoints(dev).isEmpty());
+        Assert.assertEquals(ConfigManager.getRateLimitRps(prod), 20.0);
+        Assert.assertEquals(ConfigManager.getRateLimitBurst(prod), 5);
+        Assert.assertEquals(ConfigManager.getRateLimitEndpoints(prod).get("/posts"), 5.0);
+        Assert.assertEquals(ConfigManager.getRateLimitEndpoints(prod).get("/comments"), 2.5);
+
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> ConfigManager.getRateLimitEndpoints(snapshot("dev", "rate.limit.endpoints", "/posts")));
+    }
+
+    @Test(description = "Requests beyond the burst are spaced at the configured rate")
+    public void testEnvironmentRateIsEnforced() {
+        logger.info("Testing: environment rate limit");
+
+        RateLimitFilter limiter = new RateLimitFilter();
+        ConfigManager.bind(snapshot("ratetest", "rate.limit.rps", "20", "rate.limit.burst", "3"));
+        try (StubServer server = okServer("/items")) {
+            long start = System.currentTimeMillis();
+            for (int i = 0; i < 13; i++) {
+                given().noFilters().filter(limiter).baseUri(server.getBaseUrl())
+                        .get("/items")
+                        .then().statusCode(200);
+            }
+            long elapsed = System.currentTimeMillis() - start;
+            logger.info("13 requests at 20/s with burst 3 took " + elapsed + "ms; " + limiter.getSummary());
+
+            // 3 immediately, the other 10 at 50ms intervals
+            Assert.assertTrue(elapsed >= 450, "Requests were not throttled, took " + elapsed + "ms");
+            Assert.assertTrue(limiter.getThrottled() > 0);
+            Assert.assertEquals(limiter.getRequestsByBucket().get("ratetest"), Long.valueOf(13));
+            Assert.assertTrue(limiter.getTotalWaitMillis() > 0);
+        } finally {
+            ConfigManager.unbindEnvironment();
+        }
+    }
+
+    @Test(description = "Endpoint limits apply only to matching paths")
+    public void testEndpointLimit() {
+        logger.info("Testing: endpoint rate limit");
+
+        RateLimitFilter limiter = new RateLimitFilter();
+        ConfigManager.bind(snapshot("ratetest", "rate.limit.burst", "1", "rate.limit.endpoints", "/limited:5"));
+        try (StubServer server = okServer("/limited", "/open")) {
+            for (int i = 0; i < 5; i++) {
+                given().noFilters().filter(limiter).baseUri(server.getBaseUrl()).get("/open").then().statusCode(200);
+            }
+            Assert.assertEquals(limiter.getThrottled(), 0);
+
+            long start = System.currentTimeMillis();
+            for (int i = 0; i < 3; i++) {
+                given().noFilters().filter(limiter).baseUri(server.getBaseUrl()).get("/limited/" + i).then().statusCode(200);
+            }
+            long elapsed = System.currentTimeMillis() - start;
+
+            Assert.assertEquals(limiter.getThrottled(), 2);
+            Assert.assertTrue(elapsed >= 350, "Endpoint was not throttled, took " + elapsed + "ms");
+            Assert.assertEquals(limiter.getRequestsByBucket().keySet(), Collections.singleton("ratetest /limited"));
+        } finally {
+            ConfigManager.unbindEnvironment();
+        }
+    }
+
+    @Test(description = "Concurrent tests share the rate and each gets its turn")
+    public void testFairAcrossThreads() throws Exception {
+        logger.info("Testing: rate limit shared by concurrent threads");
+
+        RateLimitFilter limiter = new RateLimitFilter();
+        ConfigSnapshot config = snapshot("ratetest", "rate.limit.rps", "10", "rate.limit.burst", "1");
+        List<Long> arrivals = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try (StubServer server = new StubServer().handle("/shared", exchange -> {
+            arrivals.add(System.currentTimeMillis());
+            StubServer.respond(exchange, 200, "{\"ok\": true}");
+        })) {
+            List<Future<Integer>> workers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                workers.add(pool.submit(() -> {
+                    ConfigManager.bind(config);
+                    try {
+                        int ok = 0;
+                        for (int i = 0; i < 3; i++) {
+                            if (given().noFilters().filter(limiter).baseUri(server.getBaseUrl()).get("/shared").statusCode() == 200) {
+                                ok++;
+                            }
+                        }
+                        return ok;
+                    } finally {
+                        ConfigManager.unbindEnvironment();
+                    }
+                }));
+            }
+            for (Future<Integer> worker : workers) {
+                Assert.assertEquals(worker.get().intValue(), 3, "Every thread should complete all its requests");
+            }
+
+            List<Long> sorted = new ArrayList<>(arrivals);
+            Collections.sort(sorted);
+            long span = sorted.get(sorted.size() - 1) - sorted.get(0);
+            logger.info("12 requests from 4 threads at 10/s spanned " + span + "ms");
+            Assert.assertTrue(span >= 1000, "12 requests at 10/s should span about 1100ms, spanned " + span + "ms");
+            Assert.assertTrue(limiter.getWaitTime().getCount() >= 8, "Waited " + limiter.getWaitTime().getCount() + " times");
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.RequestCoalescingFilter;
+import com.api.testing.utils.StubServer;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Tests for single-flight coalescing of identical concurrent GETs
+ */
+public class RequestCoalescingFilterTest extends BaseTest {
+
+    @Test(description = "Concurrent identical shareable GETs hit the server once")
+    public void testConcurrentRequestsShareOneCall() throws Exception {
+        logger.info("Testing: Single-flight coalescing");
+
+        try (StubServer server = new StubServer()) {
+            server.handle("/posts/1", exchange -> {
+                try {
+                    Thread.sleep(500);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                StubServer.respond(exchange, 200, "{\"id\": 1}");
+            });
+            RequestCoalescingFilter filter = new RequestCoalescingFilter();
+            CountDownLatch start = new CountDownLatch(1);
+            List<CompletableFuture<Response>> calls = new ArrayList<>();
+
+            for (int i = 0; i < 5; i++) {
+                calls.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return given().filter(filter).filter(RequestCoalescingFilter.SHAREABLE).baseUri(server.getBaseUrl())
+                            .when().get("/posts/1");
+                }));
+            }
+            start.countDown();
+
+            for (CompletableFuture<Response> call : calls) {
+                Response response = call.get();
+                Assert.assertEquals(response.statusCode(), 200);
+                Assert.assertEquals(response.jsonPath().getInt("id"), 1);
+            }
+            Assert.assertEquals(server.getHits("/posts/1"), 1);
+            Assert.assertEquals(filter.getCoalesced(), 4);
+        }
+    }
+
+    @Test(description = "The shareable marker never reaches the server, with or without coalescing")
+    public void testMarkerNotSent() {
+        logger.info("Testing: shareable marker stays client-side");
+
+        try (StubServer server = new StubServer()) {
+            List<String> headerNames = new ArrayList<>();
+            server.handle("/posts", exchange -> {
+                headerNames.addAll(exchange.getRequestHeaders().keySet());
+                StubServer.respond(exchange, 200, "[]");
+            });
+            RequestCoalescingFilter filter = new RequestCoalescingFilter();
+
+            given().filter(RequestCoalescingFilter.SHAREABLE).baseUri(server.getBaseUrl())
+                    .when().get("/posts").then().statusCode(200);
+            given().filter(filter).filter(RequestCoalescingFilter.SHAREABLE).baseUri(server.getBaseUrl())
+                    .when().get("/posts").then().statusCode(200);
+
+            Assert.assertEquals(filter.getNetworkCalls(), 1);
+            Assert.assertTrue(headerNames.stream().noneMatch(name -> name.toLowerCase().contains("shareable")),
+                    "Headers sent: " + headerNames);
+        }
+    }
+
+    @Test(description = "Requests without the shareable marker are never coalesced")
+    public void testUnmarkedRequestsBypassCoalescing() {
+        logger.info("Testing: Unmarked requests bypass coalescing");
+
+        try (StubServer server = new StubServer()) {
+            server.handle("/users", exchange -> StubServer.respond(exchange, 200, "[]"));
+            RequestCoalescingFilter filter = new RequestCoalescingFilter();
+
+            given().filter(filter).baseUri(server.getBaseUrl()).when().get("/users").then().statusCode(200);
+            given().filter(filter).baseUri(server.getBaseUrl()).when().get("/users").then().statusCode(200);
+
+            Assert.assertEquals(server.getHits("/users"), 2);
+            Assert.assertEquals(filter.getNetworkCalls(), 0);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.RetryFilter;
+import com.api.testing.utils.StubServer;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Tests for retries with backoff, Retry-After and the retry budget
+ */
+public class RetryFilterTest extends BaseTest {
+
+    private RetryFilter retryFilter(int maxRetries, RetryFilter.RetryBudget budget) {
+        return new RetryFilter(maxRetries, 10, 200, "Idempotency-Key", budget);
+    }
+
+    private RetryFilter.RetryBudget generousBudget() {
+        return new RetryFilter.RetryBudget(1.0, 100);
+    }
+
+    /**
+     * Fails with the given status the first failures times, then succeeds
+     */
+    private StubServer flakyServer(String path, int failures, int status, String retryAfter) {
+        AtomicInteger calls = new AtomicInteger();
+        return new StubServer().handle(path, exchange -> {
+            if (calls.incrementAndGet() <= failures) {
+                if (retryAfter != null) {
+                    exchange.getResponseHeaders().add("Retry-After", retryAfter);
+                }
+                StubServer.respond(exchange, status, "{\"error\": \"unavailable\"}");
+            } else {
+                StubServer.respond(exchange, 200, "{\"ok\": true}");
+            }
+        });
+    }
+
+    @Test(description = "Idempotent requests are retried on 503 and every attempt runs the downstream filters")
+    public void testRetriesTransientStatus() {
+        logger.info("Testing: retry on 503");
+
+        AtomicInteger downstreamCalls = new AtomicInteger();
+        OrderedFilter counting = new OrderedFilter() {
+            @Override
+            public Response filter(FilterableRequestSpecification requestSpec,
+                                   FilterableResponseSpecification responseSpec, FilterContext ctx) {
+                downstreamCalls.incrementAndGet();
+                return ctx.next(requestSpec, responseSpec);
+            }
+
+            @Override
+            public int getOrder() {
+                return DEFAULT_PRECEDENCE;
+            }
+        };
+        RetryFilter retry = retryFilter(3, generousBudget());
+
+        try (StubServer server = flakyServer("/flaky", 2, 503, null)) {
+            given().noFilters().filter(retry).filter(counting).baseUri(server.getBaseUrl())
+                    .get("/flaky")
+                    .then().statusCode(200);
+
+            Assert.assertEquals(server.getHits("/flaky"), 3);
+            Assert.assertEquals(downstreamCalls.get(), 3);
+            Assert.assertEquals(retry.getRetries(), 2);
+            Assert.assertEquals(retry.getRecovered(), 1);
+            Assert.assertEquals(retry.getRetriesByReason().get("503"), Long.valueOf(2));
+        }
+    }
+
+    @Test(description = "POST is retried only when it carries an idempotency key")
+    public void testPostNeedsIdempotencyKey() {
+        logger.info("Testing: POST retry requires idempotency key");
+
+        RetryFilter retry = retryFilter(3, generousBudget());
+        try (StubServer server = flakyServer("/orders", 1, 502, null)) {
+            given().noFilters().filter(retry).baseUri(server.getBaseUrl())
+                    .body("{\"item\": 1}")
+                    .post("/orders")
+                    .then().statusCode(502);
+            Assert.assertEquals(server.getHits("/orders"), 1, "POST without key must not be retried");
+
+            server.handle("/orders-keyed", exchange -> StubServer.respond(exchange,
+                    server.getHits("/orders-keyed") == 1 ? 502 : 201, "{}"));
+            given().noFilters().filter(retry).baseUri(server.getBaseUrl())
+                    .header("Idempotency-Key", "order-42")
+                    .body("{\"item\": 1}")
+                    .post("/orders-keyed")
+                    .then().statusCode(201);
+            Assert.assertEquals(server.getHits("/orders-keyed"), 2);
+        }
+    }
+
+    @Test(description = "Retry-After is honoured before the next attempt")
+    public void testHonoursRetryAfter() {
+        logger.info("Testing: Retry-After");
+
+        RetryFilter retry = new RetryFilter(2, 10, 5000, "Idempotency-Key", generousBudget());
+        try (StubServer server = flakyServer("/limited", 1, 429, "1")) {
+            long start = System.currentTimeMillis();
+            given().noFilters().filter(retry).baseUri(server.getBaseUrl())
+                    .get("/limited")
+                    .then().statusCode(200);
+            Assert.assertTrue(System.currentTimeMillis() - start >= 1000, "Retry-After: 1 was not honoured");
+            Assert.assertTrue(retry.getRetryMillis() >= 1000);
+        }
+    }
+
+    @Test(description = "The retry budget stops retries during an outage")
+    public void testBudgetPreventsRetryStorm() {
+        logger.info("Testing: retry budget");
+
+        RetryFilter retry = retryFilter(3, new RetryFilter.RetryBudget(0.0, 2));
+        try (StubServer server = flakyServer("/down", Integer.MAX_VALUE, 503, null)) {
+            for (int i = 0; i < 3; i++) {
+                given().noFilters().filter(retry).baseUri(server.getBaseUrl())
+                        .get("/down")
+                        .then().statusCode(503);
+            }
+            Assert.assertEquals(retry.getRetries(), 2, "Only the budgeted retries may be sent");
+            Assert.assertEquals(server.getHits("/down"), 5);
+            Assert.assertTrue(retry.getBudgetExhausted() >= 2);
+        }
+    }
+
+    @Test(description = "Connect failures are retried and rethrown once retries are exhausted")
+    public void testConnectFailure() throws Exception {
+        logger.info("Testing: retry on connect failure");
+
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        RetryFilter retry = retryFilter(2, generousBudget());
+        try {
+            given().noFilters().filter(retry).baseUri("http://127.0.0.1:" + closedPort).get("/nothing");
+            Assert.fail("Expected a connect failure");
+        } catch (Exception e) {
+            Throwable cause = e;
+            while (cause != null && !(cause instanceof ConnectException)) {
+                cause = cause.getCause();
+            }
+            Assert.assertNotNull(cause, "Unexpected failure: " + e);
+        }
+        Assert.assertEquals(retry.getRetries(), 2);
+    }
+
+    @Test(description = "Errors thrown below the retry stage are rethrown without a retry")
+    public void testErrorNotRetried() {
+        logger.info("Testing: errors are not retried");
+
+        RetryFilter retry = retryFilter(3, generousBudget());
+        OrderedFilter failing = new OrderedFilter() {
+            @Override
+            public Response filter(FilterableRequestSpecification requestSpec,
+                                   FilterableResponseSpecification responseSpec, FilterContext ctx) {
+                throw new AssertionError("downstream assertion");
+            }
+
+            @Override
+            public int getOrder() {
+                return DEFAULT_PRECEDENCE;
+            }
+        };
+        try (StubServer server = flakyServer("/flaky", 0, 200, null)) {
+            AssertionError error = Assert.expectThrows(AssertionError.class,
+                    () -> given().noFilters().filter(retry).filter(failing).baseUri(server.getBaseUrl()).get("/flaky"));
+            Assert.assertEquals(error.getMessage(), "downstream assertion");
+            Assert.assertEquals(retry.getRetries(), 0);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.api.testing.tests;
+
+import com.api.testing.base.BaseTest;
+import com.api.testing.utils.HtmlReportGenerator;
+import com.api.testing.utils.RollingRequestStats;
+import com.api.testing.utils.TimeSeriesRecorder;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tests for the per-second time series and its report charts
+ */
+public class TimeSeriesTest extends BaseTest {
+
+    @Test(description = "Each completed second is written per endpoint and for all endpoints")
+    public void testSecondsWritten() throws Exception {
+        logger.info("Testing: per-second time series file");
+
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        RollingRequestStats stats = new RollingRequestStats(5, clock::get);
+        Path file = Files.createTempDirectory("timeseries").resolve("series.csv");
+        try (TimeSeriesRecorder recorder = new TimeSeriesRecorder(stats, file, clock::get)) {
+            for (int i = 0; i < 9; i++) {
+                stats.record("GET api/users", 10_000_000, false);
+            }
+            stats.record("POST api/users", 40_000_000, true);
+
+            recorder.flush(false);
+            Assert.assertEquals(lines(file).size(), 1, "Second in progress is not written");
+
+            clock.addAndGet(1000);
+            stats.record("GET api/users", 200_000_000, false);
+            clock.addAndGet(2000);
+            recorder.flush(false);
+        }
+
+        List<String> lines = lines(file);
+        logger.info("Time series:\n" + String.join("\n", lines));
+        Assert.assertEquals(lines.get(0), "# epoch_second,count,errors,p50_ms,p99_ms,max_ms,endpoint");
+        Assert.assertTrue(lines.contains("1700000000,9,0,10.000,10.000,10.000,GET api/users"), lines.toString());
+        Assert.assertTrue(lines.contains("1700000000,1,1,40.000,40.000,40.000,POST api/users"), lines.toString());
+        // Merged percentiles are bucket bounds, within the histogram's precision
+        Assert.assertTrue(lines.stream().anyMatch(line -> line.startsWith("1700000000,10,1,10.")
+                && line.endsWith(",40.000,40.000,*")), lines.toString());
+        Assert.assertTrue(lines.contains("1700000001,1,0,200.000,200.000,200.000,GET api/users"), lines.toString());
+        Assert.assertTrue(lines.contains("1700000002,0,0,0.000,0.000,0.000,*"), "Idle seconds keep the series continuous");
+        Assert.assertTrue(lines.contains("1700000003,0,0,0.000,0.000,0.000,*"), "Closing writes the current second");
+        Assert.assertEquals(lines.stream().filter(line -> line.endsWith(",*")).count(), 4);
+    }
+
+    @Test(description = "Throughput and latency charts are rendered into the HTML report")
+    public void testCharts() throws Exception {
+        logger.info("Testing: time series charts");
+
+        AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+        RollingRequestStats stats = new RollingRequestStats(5, clock::get);
+        Path file = Files.createTempDirectory("timeseries").resolve("series.csv");
+        TimeSeriesRecorder recorder = new TimeSeriesRecorder(stats, file, clock::get);
+        for (int second = 0; second < 30; second++) {
+            for (int i = 0; i < 5 + second; i++) {
+                stats.record("GET api/orders", (10 + second) * 1_000_000L, i == 0 && second > 20);
+            }
+            clock.addAndGet(1000);
+            recorder.flush(false);
+        }
+        recorder.close();
+
+        HtmlReportGenerator report = new HtmlReportGenerator("Time series");
+        recorder.appendCharts(report, 5);
+        Path html = Path.of(report.generateReport());
+        try {
+            String content = Files.readString(html);
+            Assert.assertTrue(content.contains("Throughput per Second"));
+            Assert.assertTrue(content.contains("Latency per Second"));
+            Assert.assertTrue(content.contains("GET api/orders"));
+            Assert.assertEquals(content.split("<svg", -1).length - 1, 3, "Three charts expected");
+            Assert.assertTrue(content.contains("<path d=\"M"), "Series should be drawn");
+            Assert.assertTrue(content.contains(">0:30<"), "Time axis should span the run");
+        } finally {
+            Files.deleteIfExists(html);
+        }
+    }
+
+    private static List<String> lines(Path file) throws Exception {
+        return Files.readAllLines(file);
+    }
+}
@@ -0,0 +1,220 @@
+package com.api.testing.utils;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint socket timeouts derived from latency history.
+ * Every response time is recorded per endpoint (see EndpointLatencyTracker.endpointKey) and the
+ * histograms are saved to historyFile at the end of the run. Once an endpoint has minSamples
+ * observations its requests get a timeout of percentile x factor, clamped to [min, max], so a
+ * hung call to an endpoint that normally answers in 50ms fails in a fraction of a second rather
+ * than after request.timeout. Older runs are halved when the history is loaded, so recent runs
+ * dominate. Requests that set their own http.socket.timeout are left alone.
+ */
+public class AdaptiveTimeoutFilter implements ReportingFilter {
+    private static final Logger logger = LogManager.getLogger(AdaptiveTimeoutFilter.class);
+    private static final String SOCKET_TIMEOUT = "http.socket.timeout";
+
+    private final Path historyFile;
+    private final double percentile;
+    private final double factor;
+    private final long minMillis;
+    private final long maxMillis;
+    private final int minSamples;
+    private final EndpointLatencyTracker latencies = new EndpointLatencyTracker();
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder adapted = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    public AdaptiveTimeoutFilter(Path historyFile, double percentile, double factor,
+                                 long minMillis, long maxMillis, int minSamples) {
+        this.historyFile = historyFile;
+        this.percentile = percentile;
+        this.factor = factor;
+        this.minMillis = minMillis;
+        this.maxMillis = maxMillis;
+        this.minSamples = minSamples;
+        load();
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        requests.increment();
+        String endpoint = EndpointLatencyTracker.endpointKey(requestSpec);
+        long timeout = getTimeoutMillis(endpoint);
+        if (timeout > 0 && !hasExplicitTimeout(requestSpec)) {
+            RestAssuredConfig config = requestSpec.getConfig();
+            HttpClientConfig httpClient = config.getHttpClientConfig().setParam(SOCKET_TIMEOUT, (int) timeout);
+            requestSpec.config(config.httpClient(httpClient));
+            adapted.increment();
+        }
+
+        long start = System.nanoTime();
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            latencies.histogram(endpoint).recordNanos(System.nanoTime() - start);
+            return response;
+        } catch (Exception e) {
+            if (isTimeout(e)) {
+                // Keep the timed-out call in the history so the next timeout is more generous
+                latencies.histogram(endpoint).recordNanos(System.nanoTime() - start);
+                timedOut.increment();
+                logger.warn(endpoint + " timed out after " + (System.nanoTime() - start) / 1_000_000 + "ms"
+                        + (timeout > 0 ? " (adaptive timeout " + timeout + "ms)" : ""));
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Adaptive timeout for an endpoint, or -1 while its history is too short
+     */
+    public long getTimeoutMillis(String endpoint) {
+        LatencyHistogram histogram = latencies.find(endpoint);
+        if (histogram == null || histogram.getCount() < minSamples) {
+            return -1;
+        }
+        long timeout = Math.round(histogram.getValueAtPercentile(percentile) / 1000.0 * factor);
+        return Math.max(minMillis, Math.min(maxMillis, timeout));
+    }
+
+    /**
+     * A timeout differing from the suite-wide one was set on the request itself
+     */
+    private static boolean hasExplicitTimeout(FilterableRequestSpecification requestSpec) {
+        Object timeout = requestSpec.getConfig().getHttpClientConfig().params().get(SOCKET_TIMEOUT);
+        return timeout != null && !String.valueOf(timeout).equals(String.valueOf(ConfigManager.getRequestTimeout()));
+    }
+
+    private static boolean isTimeout(Throwable t) {
+        for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SocketTimeoutException || cause instanceof HttpTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Load the history written by previous runs, halving its counts. Halving rounds down, so a
+     * bucket left at one sample is dropped on the next load and old outliers are forgotten.
+     */
+    private void load() {
+        if (historyFile == null || !Files.exists(historyFile)) {
+            return;
+        }
+        try {
+            JsonObject endpoints = JsonParser.parseString(Files.readString(historyFile, StandardCharsets.UTF_8))
+                    .getAsJsonObject().getAsJsonObject("endpoints");
+            for (Map.Entry<String, JsonElement> entry : endpoints.entrySet()) {
+                LatencyHistogram histogram = null;
+                for (JsonElement bucket : entry.getValue().getAsJsonArray()) {
+                    JsonArray pair = bucket.getAsJsonArray();
+                    long count = pair.get(1).getAsLong() / 2;
+                    if (count > 0) {
+                        if (histogram == null) {
+                            histogram = latencies.histogram(entry.getKey());
+                        }
+                        histogram.recordMicros(pair.get(0).getAsLong(), count);
+                    }
+                }
+            }
+            logger.info("Loaded latency history for " + endpoints.size() + " endpoints from " + historyFile);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Ignoring unreadable latency history " + historyFile + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Write the latency histograms (history plus this run) for the next run
+     */
+    public synchronized void save() {
+        if (historyFile == null) {
+            return;
+        }
+        JsonObject endpoints = new JsonObject();
+        latencies.getHistograms().forEach((endpoint, histogram) -> {
+            JsonArray buckets = new JsonArray();
+            for (long[] bucket : histogram.getBuckets()) {
+                JsonArray pair = new JsonArray();
+                pair.add(bucket[0]);
+                pair.add(bucket[1]);
+                buckets.add(pair);
+            }
+            endpoints.add(endpoint, buckets);
+        });
+        JsonObject root = new JsonObject();
+        root.add("endpoints", endpoints);
+
+        try {
+            Path parent = historyFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "latency-history", ".tmp");
+            Files.writeString(temp, root.toString(), StandardCharsets.UTF_8);
+            Files.move(temp, historyFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write latency history " + historyFile, e);
+        }
+    }
+
+    public EndpointLatencyTracker getLatencies() {
+        return latencies;
+    }
+
+    public long getTimedOut() {
+        return timedOut.sum();
+    }
+
+    @Override
+    public String getName() {
+        return "Timeouts";
+    }
+
+    @Override
+    public String getSummary() {
+        long lowest = Long.MAX_VALUE;
+        long highest = 0;
+        int endpoints = 0;
+        for (String endpoint : latencies.getHistograms().keySet()) {
+            long timeout = getTimeoutMillis(endpoint);
+            if (timeout > 0) {
+                endpoints++;
+                lowest = Math.min(lowest, timeout);
+                highest = Math.max(highest, timeout);
+            }
+        }
+        String range = endpoints > 0 ? " (" + lowest + "-" + highest + "ms)" : "";
+        return "adaptive on " + endpoints + " endpoints" + range + ", applied to " + adapted.sum() + " of "
+                + requests.sum() + " requests, timed out=" + timedOut.sum();
+    }
+
+    @Override
+    public int getOrder() {
+        return RequestPipeline.TIMEOUT_ORDER;
+    }
+}
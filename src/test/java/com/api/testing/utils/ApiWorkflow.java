@@ -0,0 +1,355 @@
+package com.api.testing.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dependency-graph engine for multi-step API flows.
+ * Each step declares the variables it needs and the variables it produces (values extracted
+ * from its responses). The engine derives a DAG from those declarations (plus optional explicit
+ * "after" ordering), rejects cycles and missing producers, and runs every step as soon as its
+ * dependencies have completed, so independent branches execute concurrently. Variables are
+ * published through a ConcurrentHashMap and handed to dependents via CompletableFuture
+ * completion, without locks.
+ *
+ * Example:
+ *   new ApiWorkflow("CRUD")
+ *       .step("create").produces("postId").run(vars -&gt; Map.of("postId", createPost()))
+ *       .step("read").needs("postId").run(vars -&gt; { getPost(vars.getInt("postId")); return Map.of(); })
+ *       .execute();
+ */
+public class ApiWorkflow {
+    private static final Logger logger = LogManager.getLogger(ApiWorkflow.class);
+
+    private final String name;
+    private final Map<String, Step> steps = new LinkedHashMap<>();
+    private final Map<String, Object> initialVariables = new HashMap<>();
+    private int maxParallelism = 4;
+
+    public ApiWorkflow(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Start declaring a step; finish it with run(...)
+     */
+    public StepBuilder step(String stepName) {
+        if (steps.containsKey(stepName)) {
+            throw new IllegalArgumentException("Duplicate workflow step: " + stepName);
+        }
+        return new StepBuilder(stepName);
+    }
+
+    /**
+     * Provide a variable that is available before any step runs
+     */
+    public ApiWorkflow variable(String variableName, Object value) {
+        initialVariables.put(variableName, value);
+        return this;
+    }
+
+    /**
+     * Limit how many steps may run at the same time
+     */
+    public ApiWorkflow maxParallelism(int parallelism) {
+        this.maxParallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Run the workflow and wait for it; throws the first step failure
+     */
+    public Result execute() {
+        Map<String, Set<String>> dependencies = resolveDependencies();
+        List<String> order = topologicalOrder(dependencies);
+
+        ConcurrentHashMap<String, Object> variables = new ConcurrentHashMap<>(initialVariables);
+        Map<String, Long> durations = new ConcurrentHashMap<>();
+        Map<String, CompletableFuture<Void>> futures = new HashMap<>();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peakRunning = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, maxParallelism));
+        // Steps run on pool threads; they use the caller's environment and @LatencySlo scope
+        ConfigSnapshot config = ConfigManager.current();
+        LatencySloTracker.Binding slo = LatencySloTracker.current();
+
+        logger.info("Workflow '" + name + "' starting " + order.size() + " steps");
+        long start = System.currentTimeMillis();
+        try {
+            for (String stepName : order) {
+                Step step = steps.get(stepName);
+                CompletableFuture<?>[] upstream = dependencies.get(stepName).stream()
+                        .map(futures::get)
+                        .toArray(CompletableFuture[]::new);
+                CompletableFuture<Void> future = CompletableFuture.allOf(upstream)
+                        .thenRunAsync(() -> {
+                            peakRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                            ConfigManager.bind(config);
+                            LatencySloTracker.attach(slo);
+                            try {
+                                runStep(step, variables, durations);
+                            } finally {
+                                LatencySloTracker.attach(null);
+                                ConfigManager.unbindEnvironment();
+                                running.decrementAndGet();
+                            }
+                        }, executor);
+                futures.put(stepName, future);
+            }
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        } finally {
+            executor.shutdown();
+        }
+
+        long total = System.currentTimeMillis() - start;
+        logger.info("Workflow '" + name + "' completed in " + total + "ms (peak " + peakRunning.get() + " concurrent steps)");
+        return new Result(variables, durations, total, peakRunning.get());
+    }
+
+    private void runStep(Step step, ConcurrentHashMap<String, Object> variables, Map<String, Long> durations) {
+        logger.info("▶ Workflow step: " + step.name);
+        long stepStart = System.currentTimeMillis();
+        Map<String, Object> outputs;
+        try {
+            outputs = step.action.execute(new Variables(variables));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Workflow step '" + step.name + "' failed", e);
+        }
+        for (String output : step.outputs) {
+            Object value = outputs == null ? null : outputs.get(output);
+            if (value == null) {
+                throw new IllegalStateException("Workflow step '" + step.name + "' did not produce '" + output + "'");
+            }
+            variables.put(output, value);
+        }
+        durations.put(step.name, System.currentTimeMillis() - stepStart);
+    }
+
+    /**
+     * Map each step to the steps it must wait for
+     */
+    private Map<String, Set<String>> resolveDependencies() {
+        Map<String, String> producers = new HashMap<>();
+        for (Step step : steps.values()) {
+            for (String output : step.outputs) {
+                String previous = producers.put(output, step.name);
+                if (previous != null) {
+                    throw new IllegalStateException("Variable '" + output + "' is produced by both '"
+                            + previous + "' and '" + step.name + "'");
+                }
+            }
+        }
+
+        Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+        for (Step step : steps.values()) {
+            Set<String> upstream = new LinkedHashSet<>();
+            for (String input : step.inputs) {
+                String producer = producers.get(input);
+                if (producer != null) {
+                    upstream.add(producer);
+                } else if (!initialVariables.containsKey(input)) {
+                    throw new IllegalStateException("Workflow step '" + step.name + "' needs '" + input
+                            + "' but no step produces it");
+                }
+            }
+            for (String after : step.after) {
+                if (!steps.containsKey(after)) {
+                    throw new IllegalStateException("Workflow step '" + step.name + "' runs after unknown step '" + after + "'");
+                }
+                upstream.add(after);
+            }
+            dependencies.put(step.name, upstream);
+        }
+        return dependencies;
+    }
+
+    /**
+     * Kahn's algorithm; fails on cycles
+     */
+    private List<String> topologicalOrder(Map<String, Set<String>> dependencies) {
+        Map<String, Integer> remaining = new HashMap<>();
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (Map.Entry<String, Set<String>> entry : dependencies.entrySet()) {
+            remaining.put(entry.getKey(), entry.getValue().size());
+            for (String upstream : entry.getValue()) {
+                dependents.computeIfAbsent(upstream, k -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+
+        Deque<String> ready = new ArrayDeque<>();
+        remaining.forEach((stepName, count) -> {
+            if (count == 0) {
+                ready.add(stepName);
+            }
+        });
+        List<String> order = new ArrayList<>();
+        while (!ready.isEmpty()) {
+            String stepName = ready.poll();
+            order.add(stepName);
+            for (String dependent : dependents.getOrDefault(stepName, Collections.emptyList())) {
+                if (remaining.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (order.size() != steps.size()) {
+            Set<String> cyclic = new LinkedHashSet<>(steps.keySet());
+            order.forEach(cyclic::remove);
+            throw new IllegalStateException("Workflow '" + name + "' has a dependency cycle among: " + cyclic);
+        }
+        return order;
+    }
+
+    /**
+     * Step body: reads variables, returns the values it produces
+     */
+    @FunctionalInterface
+    public interface StepAction {
+        Map<String, Object> execute(Variables variables) throws Exception;
+    }
+
+    /**
+     * Fluent declaration of a step's inputs, outputs and ordering
+     */
+    public class StepBuilder {
+        private final String stepName;
+        private final List<String> inputs = new ArrayList<>();
+        private final List<String> outputs = new ArrayList<>();
+        private final List<String> after = new ArrayList<>();
+
+        private StepBuilder(String stepName) {
+            this.stepName = stepName;
+        }
+
+        public StepBuilder needs(String... variableNames) {
+            inputs.addAll(Arrays.asList(variableNames));
+            return this;
+        }
+
+        public StepBuilder produces(String... variableNames) {
+            outputs.addAll(Arrays.asList(variableNames));
+            return this;
+        }
+
+        /**
+         * Order this step after others even though it does not consume their variables
+         */
+        public StepBuilder after(String... stepNames) {
+            after.addAll(Arrays.asList(stepNames));
+            return this;
+        }
+
+        public ApiWorkflow run(StepAction action) {
+            steps.put(stepName, new Step(stepName, inputs, outputs, after, action));
+            return ApiWorkflow.this;
+        }
+    }
+
+    private static class Step {
+        final String name;
+        final List<String> inputs;
+        final List<String> outputs;
+        final List<String> after;
+        final StepAction action;
+
+        Step(String name, List<String> inputs, List<String> outputs, List<String> after, StepAction action) {
+            this.name = name;
+            this.inputs = inputs;
+            this.outputs = outputs;
+            this.after = after;
+            this.action = action;
+        }
+    }
+
+    /**
+     * Read-only view of the workflow variables
+     */
+    public static class Variables {
+        private final Map<String, Object> values;
+
+        Variables(Map<String, Object> values) {
+            this.values = values;
+        }
+
+        @SuppressWarnings("unchecked")
+        public <T> T get(String variableName) {
+            Object value = values.get(variableName);
+            if (value == null) {
+                throw new IllegalStateException("Workflow variable not available: " + variableName);
+            }
+            return (T) value;
+        }
+
+        public int getInt(String variableName) {
+            Object value = get(variableName);
+            return value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString());
+        }
+
+        public String getString(String variableName) {
+            Object value = get(variableName);
+            return String.valueOf(value);
+        }
+    }
+
+    /**
+     * Final variables and per-step timings of a run
+     */
+    public static class Result {
+        private final Map<String, Object> variables;
+        private final Map<String, Long> stepDurations;
+        private final long totalDuration;
+        private final int peakConcurrency;
+
+        Result(Map<String, Object> variables, Map<String, Long> stepDurations, long totalDuration, int peakConcurrency) {
+            this.variables = Collections.unmodifiableMap(variables);
+            this.stepDurations = Collections.unmodifiableMap(stepDurations);
+            this.totalDuration = totalDuration;
+            this.peakConcurrency = peakConcurrency;
+        }
+
+        public Variables getVariables() {
+            return new Variables(variables);
+        }
+
+        public Map<String, Long> getStepDurations() {
+            return stepDurations;
+        }
+
+        public long getTotalDuration() {
+            return totalDuration;
+        }
+
+        public int getPeakConcurrency() {
+            return peakConcurrency;
+        }
+    }
+}
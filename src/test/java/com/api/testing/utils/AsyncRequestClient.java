@@ -0,0 +1,273 @@
+package com.api.testing.utils;
+
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Non-blocking request API returning CompletableFuture&lt;Response&gt;.
+ * Requests are sent with HttpTransport's asynchronous JDK client, so no thread is parked per
+ * in-flight call, and at most maxConcurrency requests are on the wire at once; the rest wait
+ * in a queue without holding a thread. Responses are regular RestAssured responses, so the
+ * usual then().statusCode(...).body(...) validation works on the completed value.
+ * The request pipeline's AsyncStages (rate limit, circuit breaker, metrics, SLOs) see every
+ * request: a rate limit delays the send without blocking, an open circuit rejects the request.
+ *
+ * Example:
+ *   List&lt;CompletableFuture&lt;Response&gt;&gt; calls = ids.stream().map(id -&gt; client.get("/posts/{id}/comments", id)).collect(toList());
+ *   AsyncRequestClient.allOf(calls).join().forEach(r -&gt; r.then().statusCode(200));
+ */
+public class AsyncRequestClient {
+    private static final Logger logger = LogManager.getLogger(AsyncRequestClient.class);
+    private static final Pattern PATH_PARAM = Pattern.compile("\\{[^}]+}");
+
+    private final HttpTransport transport;
+    private final String baseUri;
+    private final int maxConcurrency;
+    private final Duration timeout;
+    private final Map<String, String> defaultHeaders = new LinkedHashMap<>();
+    private final List<AsyncStage> stages;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final ConcurrentLinkedQueue<Runnable> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger dispatchRequests = new AtomicInteger();
+
+    public AsyncRequestClient(HttpTransport transport, String baseUri, int maxConcurrency, int timeoutMillis) {
+        this(transport, baseUri, maxConcurrency, timeoutMillis, null);
+    }
+
+    /**
+     * Client with its own stages instead of the installed pipeline's (null for the pipeline's)
+     */
+    public AsyncRequestClient(HttpTransport transport, String baseUri, int maxConcurrency, int timeoutMillis,
+                              List<AsyncStage> stages) {
+        this.transport = transport;
+        this.stages = stages;
+        this.baseUri = baseUri.endsWith("/") ? baseUri.substring(0, baseUri.length() - 1) : baseUri;
+        this.maxConcurrency = maxConcurrency;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        defaultHeaders.put("Content-Type", "application/json");
+        defaultHeaders.put("Accept", "application/json");
+    }
+
+    /**
+     * Add a header sent with every request from this client
+     */
+    public AsyncRequestClient header(String name, String value) {
+        defaultHeaders.put(name, value);
+        return this;
+    }
+
+    /**
+     * GET a path; {placeholders} are filled from pathParams in order
+     */
+    public CompletableFuture<Response> get(String path, Object... pathParams) {
+        return send("GET", path, null, pathParams);
+    }
+
+    /**
+     * GET a path with query parameters
+     */
+    public CompletableFuture<Response> get(String path, Map<String, ?> queryParams) {
+        List<String> pairs = new ArrayList<>();
+        queryParams.forEach((name, value) -> pairs.add(URLEncoder.encode(name, StandardCharsets.UTF_8)
+                + "=" + URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8)));
+        return send("GET", pairs.isEmpty() ? path : path + "?" + String.join("&", pairs), null);
+    }
+
+    public CompletableFuture<Response> post(String path, String body, Object... pathParams) {
+        return send("POST", path, body, pathParams);
+    }
+
+    public CompletableFuture<Response> put(String path, String body, Object... pathParams) {
+        return send("PUT", path, body, pathParams);
+    }
+
+    public CompletableFuture<Response> patch(String path, String body, Object... pathParams) {
+        return send("PATCH", path, body, pathParams);
+    }
+
+    public CompletableFuture<Response> delete(String path, Object... pathParams) {
+        return send("DELETE", path, null, pathParams);
+    }
+
+    /**
+     * Queue a request; it starts as soon as a concurrency slot is free and any rate limit
+     * delay has passed. Throws SkipException when the host's circuit is open.
+     */
+    public CompletableFuture<Response> send(String method, String path, String body, Object... pathParams) {
+        HttpRequest request = buildRequest(method, path, body, pathParams);
+        // Stages see the calling thread (environment, @LatencySlo scope); completions run on client threads
+        List<AsyncStage.Exchange> exchanges = begin(method, request.uri(), endpointKey(method, request.uri(), path));
+        long delayNanos = exchanges.stream().mapToLong(AsyncStage.Exchange::getDelayNanos).max().orElse(0);
+        CompletableFuture<Response> result = new CompletableFuture<>();
+        Runnable task = () -> {
+            long start = System.nanoTime();
+            CompletableFuture<Response> call;
+            try {
+                call = transport.sendAsync(request);
+            } catch (RuntimeException e) {
+                call = CompletableFuture.failedFuture(e);
+            }
+            call.whenComplete((response, error) -> {
+                inFlight.decrementAndGet();
+                long nanos = System.nanoTime() - start;
+                try {
+                    for (AsyncStage.Exchange exchange : exchanges) {
+                        try {
+                            exchange.end(error == null ? response.statusCode() : 0, error, nanos);
+                        } catch (RuntimeException e) {
+                            logger.warn("Async stage failed to record " + method + " " + request.uri() + ": " + e, e);
+                        }
+                    }
+                } finally {
+                    dispatch();
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(response);
+                    }
+                }
+            });
+        };
+        if (delayNanos > 0) {
+            CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(() -> {
+                pending.add(task);
+                dispatch();
+            });
+        } else {
+            pending.add(task);
+            dispatch();
+        }
+        return result;
+    }
+
+    /**
+     * Let every stage see the request; when one rejects it, the stages before it hear the rejection
+     */
+    private List<AsyncStage.Exchange> begin(String method, URI uri, String endpointKey) {
+        List<AsyncStage.Exchange> exchanges = new ArrayList<>();
+        for (AsyncStage stage : stages != null ? stages : RequestPipeline.getAsyncStages()) {
+            try {
+                exchanges.add(stage.begin(method, uri, endpointKey));
+            } catch (RuntimeException e) {
+                for (AsyncStage.Exchange exchange : exchanges) {
+                    exchange.end(0, e, 0);
+                }
+                throw e;
+            }
+        }
+        return exchanges;
+    }
+
+    /**
+     * Endpoint key from the path template, so /posts/{id} is one endpoint like in the sync pipeline
+     */
+    private String endpointKey(String method, URI uri, String path) {
+        String template = path.startsWith("http") ? URI.create(path).getPath()
+                : URI.create(baseUri).getPath() + (path.startsWith("/") ? "" : "/") + path;
+        int query = template.indexOf('?');
+        return EndpointLatencyTracker.endpointKey(method, uri.getAuthority(), query < 0 ? template : template.substring(0, query));
+    }
+
+    /**
+     * Start queued requests while slots are available. Only one thread runs the loop at a time: a
+     * call made while it runs (e.g. by a request that failed synchronously inside task.run()) only
+     * asks it to go round again, so a queue of failing requests cannot recurse.
+     */
+    private void dispatch() {
+        if (dispatchRequests.getAndIncrement() != 0) {
+            return;
+        }
+        int requests = 1;
+        do {
+            while (!pending.isEmpty()) {
+                int current = inFlight.get();
+                if (current >= maxConcurrency) {
+                    break;
+                }
+                if (!inFlight.compareAndSet(current, current + 1)) {
+                    continue;
+                }
+                Runnable task = pending.poll();
+                if (task == null) {
+                    inFlight.decrementAndGet();
+                    continue;
+                }
+                peakInFlight.accumulateAndGet(current + 1, Math::max);
+                task.run();
+            }
+            requests = dispatchRequests.addAndGet(-requests);
+        } while (requests != 0);
+    }
+
+    private HttpRequest buildRequest(String method, String path, String body, Object... pathParams) {
+        String resolvedPath = path;
+        if (pathParams.length > 0) {
+            Matcher matcher = PATH_PARAM.matcher(path);
+            StringBuffer buffer = new StringBuffer();
+            int index = 0;
+            while (matcher.find()) {
+                if (index >= pathParams.length) {
+                    throw new IllegalArgumentException("Not enough path parameters for: " + path);
+                }
+                String value = URLEncoder.encode(String.valueOf(pathParams[index++]), StandardCharsets.UTF_8);
+                matcher.appendReplacement(buffer, Matcher.quoteReplacement(value));
+            }
+            matcher.appendTail(buffer);
+            resolvedPath = buffer.toString();
+        }
+
+        String uri = resolvedPath.startsWith("http") ? resolvedPath
+                : baseUri + (resolvedPath.startsWith("/") ? "" : "/") + resolvedPath;
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(uri)).timeout(timeout);
+        defaultHeaders.forEach(builder::header);
+        builder.method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8));
+        logger.debug("Async " + method + " " + uri);
+        return builder.build();
+    }
+
+    /**
+     * Complete when every future has completed, preserving order
+     */
+    public static <T> CompletableFuture<List<T>> allOf(List<CompletableFuture<T>> futures) {
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    List<T> results = new ArrayList<>(futures.size());
+                    for (CompletableFuture<T> future : futures) {
+                        results.add(future.join());
+                    }
+                    return results;
+                });
+    }
+
+    public HttpTransport getTransport() {
+        return transport;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getPeakInFlight() {
+        return peakInFlight.get();
+    }
+}
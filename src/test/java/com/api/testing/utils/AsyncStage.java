@@ -0,0 +1,36 @@
+package com.api.testing.utils;
+
+import java.net.URI;
+
+/**
+ * A pipeline stage that also applies to AsyncRequestClient. Async requests go straight to the
+ * JDK client rather than through RestAssured's filter chain, so the stages that must see every
+ * request (rate limit, circuit breaker, metrics, SLOs) implement this as well.
+ * begin() runs on the calling thread, so stages can read its environment and SLO binding.
+ */
+public interface AsyncStage {
+
+    /**
+     * A request is about to be queued; throw to reject it (e.g. SkipException for an open circuit)
+     */
+    Exchange begin(String method, URI uri, String endpointKey);
+
+    /**
+     * One async request as seen by a stage
+     */
+    interface Exchange {
+
+        /**
+         * Time the request must wait before it is sent, e.g. for a rate limit permit
+         */
+        default long getDelayNanos() {
+            return 0;
+        }
+
+        /**
+         * The request ended with a response (error is null) or without one (status is 0).
+         * nanos is the time from sending to the end, without any delay.
+         */
+        void end(int status, Throwable error, long nanos);
+    }
+}
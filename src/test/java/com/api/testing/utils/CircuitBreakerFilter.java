@@ -0,0 +1,256 @@
+package com.api.testing.utils;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.SkipException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-host circuit breaker.
+ * After failureThreshold consecutive failures (I/O errors such as refused connections and
+ * timeouts, or 502/503/504 after retries) the host's circuit opens and further requests to it
+ * throw SkipException immediately, so the remaining tests are reported as skipped with the
+ * reason instead of each waiting out the connection timeout. Once openMillis has passed a
+ * single request is let through as a probe (half-open): success closes the circuit, failure
+ * opens it again. probe() checks a host before the suite starts and opens its circuit at once
+ * when it is unreachable.
+ */
+public class CircuitBreakerFilter implements ReportingFilter, AsyncStage {
+    private static final Logger logger = LogManager.getLogger(CircuitBreakerFilter.class);
+    private static final Set<Integer> FAILURE_STATUS = Set.of(502, 503, 504);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final ConcurrentHashMap<String, HostCircuit> circuits = new ConcurrentHashMap<>();
+    private final LongAdder shortCircuited = new LongAdder();
+
+    public CircuitBreakerFilter(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String host = URI.create(requestSpec.getURI()).getAuthority();
+        HostCircuit circuit = circuits.computeIfAbsent(host, HostCircuit::new);
+        boolean probe = circuit.acquire();
+
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (Exception e) {
+            // RestAssured rethrows checked IOExceptions such as ConnectException undeclared
+            circuit.record(0, e, probe);
+            throw e;
+        } catch (Error e) {
+            // Says nothing about the host, but must not leave the circuit half-open for good
+            if (probe) {
+                circuit.releaseProbe();
+            }
+            throw e;
+        }
+        circuit.record(response.statusCode(), null, probe);
+        return response;
+    }
+
+    /**
+     * Async requests to an open circuit are rejected before they are queued
+     */
+    @Override
+    public Exchange begin(String method, URI uri, String endpointKey) {
+        HostCircuit circuit = circuits.computeIfAbsent(uri.getAuthority(), HostCircuit::new);
+        boolean probe = circuit.acquire();
+        return (status, error, nanos) -> circuit.record(status, error, probe);
+    }
+
+    /**
+     * Check that baseUrl + healthPath answers within timeoutMillis; any response other than
+     * 502/503/504 counts as healthy. An unhealthy host has its circuit opened immediately.
+     * TLS is as relaxed as for the tests themselves, so a self-signed certificate is not a failure.
+     */
+    public boolean probe(String baseUrl, String healthPath, long timeoutMillis) {
+        URI uri = URI.create(baseUrl.replaceAll("/+$", "") + healthPath);
+        String failure;
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofMillis(timeoutMillis))
+                    .followRedirects(HttpClient.Redirect.NORMAL)
+                    .sslContext(HttpTransport.trustAllSslContext())
+                    .build();
+            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofMillis(timeoutMillis))
+                    .GET()
+                    .build(), HttpResponse.BodyHandlers.discarding());
+            if (!FAILURE_STATUS.contains(response.statusCode())) {
+                logger.info("Health probe " + uri + ": HTTP " + response.statusCode());
+                return true;
+            }
+            failure = "health probe returned HTTP " + response.statusCode();
+        } catch (IOException e) {
+            failure = "health probe failed: " + e.getClass().getSimpleName()
+                    + (e.getMessage() != null ? ": " + e.getMessage() : "");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = "health probe interrupted";
+        }
+        logger.error(uri.getAuthority() + " is unavailable (" + failure + "); its tests will be skipped");
+        circuits.computeIfAbsent(uri.getAuthority(), HostCircuit::new).trip(failure);
+        return false;
+    }
+
+    private static boolean isNetworkFailure(Throwable t) {
+        for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public State getState(String host) {
+        HostCircuit circuit = circuits.get(host);
+        return circuit == null ? State.CLOSED : circuit.state;
+    }
+
+    public long getShortCircuited() {
+        return shortCircuited.sum();
+    }
+
+    @Override
+    public String getName() {
+        return "Circuit breaker";
+    }
+
+    @Override
+    public String getSummary() {
+        List<String> open = new ArrayList<>();
+        long opened = 0;
+        for (Map.Entry<String, HostCircuit> entry : new TreeMap<>(circuits).entrySet()) {
+            HostCircuit circuit = entry.getValue();
+            opened += circuit.timesOpened.sum();
+            if (circuit.state != State.CLOSED) {
+                open.add(entry.getKey() + " " + circuit.state + " (" + circuit.lastFailure + ")");
+            }
+        }
+        return (open.isEmpty() ? "all circuits closed" : String.join(", ", open))
+                + ", opened=" + opened + ", short-circuited=" + shortCircuited.sum();
+    }
+
+    @Override
+    public int getOrder() {
+        return RequestPipeline.CIRCUIT_BREAKER_ORDER;
+    }
+
+    /**
+     * Breaker state for one host
+     */
+    private class HostCircuit {
+        final String host;
+        final LongAdder timesOpened = new LongAdder();
+        volatile State state = State.CLOSED;
+        int consecutiveFailures;
+        long openedAt;
+        boolean probeInFlight;
+        String lastFailure;
+
+        HostCircuit(String host) {
+            this.host = host;
+        }
+
+        /**
+         * Let a request through, or throw SkipException while the circuit is open.
+         * Returns true when the request is the half-open probe.
+         */
+        synchronized boolean acquire() {
+            if (state == State.CLOSED) {
+                return false;
+            }
+            long openFor = System.currentTimeMillis() - openedAt;
+            if (!probeInFlight && openFor >= openMillis) {
+                state = State.HALF_OPEN;
+                probeInFlight = true;
+                logger.info("Circuit for " + host + " half-open, probing");
+                return true;
+            }
+            shortCircuited.increment();
+            throw new SkipException("Circuit open for " + host + " after " + lastFailure
+                    + (probeInFlight ? "; recovery probe in progress" : "; next probe in " + (openMillis - openFor) + "ms"));
+        }
+
+        /**
+         * Outcome of a request: a status, or the error that ended it (status 0)
+         */
+        void record(int status, Throwable error, boolean probe) {
+            if (error != null) {
+                if (isNetworkFailure(error)) {
+                    recordFailure(error.getClass().getSimpleName() + ": " + error.getMessage());
+                } else if (probe) {
+                    releaseProbe();
+                }
+            } else if (FAILURE_STATUS.contains(status)) {
+                recordFailure("HTTP " + status);
+            } else {
+                recordSuccess();
+            }
+        }
+
+        synchronized void recordSuccess() {
+            if (state != State.CLOSED) {
+                logger.info("Circuit for " + host + " closed, host recovered");
+            }
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            probeInFlight = false;
+        }
+
+        synchronized void recordFailure(String failure) {
+            lastFailure = failure;
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                trip(failure);
+            }
+        }
+
+        synchronized void trip(String failure) {
+            lastFailure = failure;
+            if (state != State.OPEN) {
+                timesOpened.increment();
+                logger.warn("Circuit for " + host + " opened: " + failure);
+            }
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            probeInFlight = false;
+        }
+
+        /**
+         * The probe ended without telling anything about the host's health
+         */
+        synchronized void releaseProbe() {
+            probeInFlight = false;
+            if (state == State.HALF_OPEN) {
+                state = State.OPEN;
+            }
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.api.testing.utils;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Negotiates compressed responses and optionally compresses large request bodies.
+ * RestAssured's built-in decoders are switched off for requests passing through this filter
+ * so the compressed wire bytes can be counted; the body is then decoded as a stream with the
+ * matching ContentCodec. Wire vs decoded sizes are logged per request and totalled for the report.
+ */
+public class CompressionFilter implements ReportingFilter {
+    private static final Logger logger = LogManager.getLogger(CompressionFilter.class);
+    private static final Map<String, ContentCodec> codecs = new ConcurrentHashMap<>();
+
+    static {
+        registerCodec(ContentCodec.GZIP);
+        registerCodec(ContentCodec.DEFLATE);
+    }
+
+    private final List<ContentCodec> acceptedCodecs;
+    private final String acceptEncoding;
+    private final int requestCompressionThreshold;
+
+    private final AtomicLong wireBytes = new AtomicLong();
+    private final AtomicLong decodedBytes = new AtomicLong();
+    private final AtomicLong requestBytesRaw = new AtomicLong();
+    private final AtomicLong requestBytesSent = new AtomicLong();
+    private final AtomicLong compressedResponses = new AtomicLong();
+
+    /**
+     * @param encodings                   codec names to advertise, in preference order
+     * @param requestCompressionThreshold gzip request bodies of at least this many bytes (0 disables)
+     */
+    public CompressionFilter(List<String> encodings, int requestCompressionThreshold) {
+        this.acceptedCodecs = new ArrayList<>();
+        for (String encoding : encodings) {
+            ContentCodec codec = codecs.get(encoding.trim().toLowerCase(Locale.ROOT));
+            if (codec == null) {
+                logger.warn("No codec registered for encoding: " + encoding);
+            } else {
+                acceptedCodecs.add(codec);
+            }
+        }
+        List<String> names = new ArrayList<>();
+        for (ContentCodec codec : acceptedCodecs) {
+            names.add(codec.getName());
+        }
+        this.acceptEncoding = String.join(", ", names);
+        this.requestCompressionThreshold = requestCompressionThreshold;
+    }
+
+    /**
+     * Register a codec so it can be named in compression.accept.encoding
+     */
+    public static void registerCodec(ContentCodec codec) {
+        codecs.put(codec.getName().toLowerCase(Locale.ROOT), codec);
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        compressRequestBody(requestSpec);
+
+        if (acceptedCodecs.isEmpty() || requestSpec.getHeaders().hasHeaderWithName("Accept-Encoding")) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        RestAssuredConfig config = requestSpec.getConfig() != null ? requestSpec.getConfig() : RestAssuredConfig.config();
+        requestSpec.config(config.decoderConfig(DecoderConfig.decoderConfig().noContentDecoders()));
+        requestSpec.header("Accept-Encoding", acceptEncoding);
+
+        Response response = ctx.next(requestSpec, responseSpec);
+        return decodeResponse(requestSpec, response);
+    }
+
+    /**
+     * Gzip the request body when it is larger than the configured threshold
+     */
+    private void compressRequestBody(FilterableRequestSpecification requestSpec) {
+        Object body = requestSpec.getBody();
+        if (requestCompressionThreshold <= 0 || body == null
+                || requestSpec.getHeaders().hasHeaderWithName("Content-Encoding")) {
+            return;
+        }
+        byte[] raw;
+        if (body instanceof byte[]) {
+            raw = (byte[]) body;
+        } else if (body instanceof String) {
+            raw = ((String) body).getBytes(StandardCharsets.UTF_8);
+        } else {
+            return;
+        }
+        if (raw.length < requestCompressionThreshold) {
+            return;
+        }
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 4);
+        try (OutputStream out = ContentCodec.GZIP.encode(compressed)) {
+            out.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress request body", e);
+        }
+        requestSpec.body(compressed.toByteArray());
+        requestSpec.header("Content-Encoding", ContentCodec.GZIP.getName());
+        requestBytesRaw.addAndGet(raw.length);
+        requestBytesSent.addAndGet(compressed.size());
+        logger.debug(requestSpec.getMethod() + " " + requestSpec.getURI() + " request body "
+                + raw.length + "B -> " + compressed.size() + "B gzip");
+    }
+
+    /**
+     * Stream-decode the response body according to its Content-Encoding
+     */
+    private Response decodeResponse(FilterableRequestSpecification requestSpec, Response response) {
+        String contentEncoding = response.getHeader("Content-Encoding");
+        if (contentEncoding == null || contentEncoding.trim().isEmpty()
+                || contentEncoding.trim().equalsIgnoreCase("identity")) {
+            long size = response.asByteArray().length;
+            wireBytes.addAndGet(size);
+            decodedBytes.addAndGet(size);
+            return response;
+        }
+
+        String[] encodings = contentEncoding.split(",");
+        CountingInputStream wire = new CountingInputStream(response.asInputStream());
+        byte[] decoded;
+        InputStream in = wire;
+        try {
+            for (int i = encodings.length - 1; i >= 0; i--) {
+                ContentCodec codec = codecs.get(encodings[i].trim().toLowerCase(Locale.ROOT));
+                if (codec == null) {
+                    throw new IllegalStateException("Unsupported Content-Encoding: " + encodings[i].trim());
+                }
+                in = codec.decode(in);
+            }
+            decoded = in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode " + contentEncoding + " response", e);
+        } finally {
+            // Closing the outermost decoder closes the chain and releases the codecs' native memory
+            try {
+                in.close();
+            } catch (IOException ignored) {
+                // the body has been read or has already failed
+            }
+        }
+
+        wireBytes.addAndGet(wire.count);
+        decodedBytes.addAndGet(decoded.length);
+        compressedResponses.incrementAndGet();
+        logger.debug(requestSpec.getMethod() + " " + requestSpec.getURI() + " " + contentEncoding
+                + " wire=" + wire.count + "B decoded=" + decoded.length + "B");
+
+        List<Header> headers = new ArrayList<>();
+        for (Header header : response.getHeaders()) {
+            if (!header.getName().equalsIgnoreCase("Content-Encoding")
+                    && !header.getName().equalsIgnoreCase("Content-Length")) {
+                headers.add(header);
+            }
+        }
+        return new ResponseBuilder().clone(response)
+                .setHeaders(new Headers(headers))
+                .setBody(decoded)
+                .build();
+    }
+
+    public long getWireBytes() {
+        return wireBytes.get();
+    }
+
+    public long getDecodedBytes() {
+        return decodedBytes.get();
+    }
+
+    public long getCompressedResponses() {
+        return compressedResponses.get();
+    }
+
+    @Override
+    public String getName() {
+        return "Compression";
+    }
+
+    @Override
+    public String getSummary() {
+        long wire = wireBytes.get();
+        long decoded = decodedBytes.get();
+        String ratio = wire > 0 ? String.format("%.1f:1", decoded / (double) wire) : "n/a";
+        return "responses wire=" + wire / 1024 + "KB decoded=" + decoded / 1024 + "KB (" + ratio + ")"
+                + ", requests " + requestBytesRaw.get() / 1024 + "KB->" + requestBytesSent.get() / 1024 + "KB";
+    }
+
+    @Override
+    public int getOrder() {
+        return RequestPipeline.COMPRESSION_ORDER;
+    }
+
+    /**
+     * Counts the compressed bytes read from the wire
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.api.testing.utils;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive per-host concurrency limit (AIMD).
+ * Every host starts at an initial limit of in-flight requests; each request that succeeds
+ * without a latency spike raises the limit by 1/limit (about +1 per round of requests), while
+ * a failure (5xx, 429, exception) or a response slower than latencyTolerance x the host's
+ * baseline latency multiplies it by backoffRatio. Requests over the limit wait in FIFO order.
+ * Current limits, in-flight peaks and queueing time are exposed for the report.
+ */
+public class ConcurrencyLimitFilter implements ReportingFilter {
+    private static final Logger logger = LogManager.getLogger(ConcurrencyLimitFilter.class);
+    // Jitter below this is not treated as a latency spike, however small the baseline
+    private static final long MIN_SPIKE_MICROS = 5000;
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+    private final long maxQueueMillis;
+
+    private final ConcurrentHashMap<String, HostLimiter> limiters = new ConcurrentHashMap<>();
+    private final LatencyHistogram queueTime = new LatencyHistogram();
+
+    public ConcurrencyLimitFilter(int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                                  double latencyTolerance, long maxQueueMillis) {
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.maxQueueMillis = maxQueueMillis;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String host = URI.create(requestSpec.getURI()).getAuthority();
+        HostLimiter limiter = limiters.computeIfAbsent(host, HostLimiter::new);
+
+        long queued = System.nanoTime();
+        limiter.acquire(requestSpec);
+        queueTime.recordNanos(System.nanoTime() - queued);
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            failed = response.statusCode() >= 500 || response.statusCode() == 429;
+            return response;
+        } finally {
+            limiter.release(System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * Current limit for a host (the initial limit if the host has not been called yet)
+     */
+    public int getLimit(String host) {
+        HostLimiter limiter = limiters.get(host);
+        return limiter == null ? initialLimit : limiter.effectiveLimit;
+    }
+
+    /**
+     * Current limit per host
+     */
+    public Map<String, Integer> getLimits() {
+        Map<String, Integer> limits = new TreeMap<>();
+        limiters.forEach((host, limiter) -> limits.put(host, limiter.effectiveLimit));
+        return limits;
+    }
+
+    /**
+     * Time requests spent waiting for a slot
+     */
+    public LatencyHistogram getQueueTime() {
+        return queueTime;
+    }
+
+    public int getPeakInFlight(String host) {
+        HostLimiter limiter = limiters.get(host);
+        return limiter == null ? 0 : limiter.peakInFlight.get();
+    }
+
+    @Override
+    public String getName() {
+        return "Concurrency";
+    }
+
+    @Override
+    public String getSummary() {
+        List<String> hosts = new ArrayList<>();
+        new TreeMap<>(limiters).forEach((host, limiter) -> hosts.add(host + " limit=" + limiter.effectiveLimit
+                + " peak=" + limiter.peakInFlight.get()));
+        return (hosts.isEmpty() ? "no requests" : String.join(", ", hosts))
+                + ", queue p95=" + queueTime.getPercentileMillis(95) + "ms max=" + queueTime.getMaxMicros() / 1000 + "ms";
+    }
+
+    @Override
+    public int getOrder() {
+        return RequestPipeline.CONCURRENCY_ORDER;
+    }
+
+    /**
+     * Semaphore whose permits can be withdrawn while they are held
+     */
+    private static class AdjustableSemaphore extends Semaphore {
+        private static final long serialVersionUID = 1L;
+
+        AdjustableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        void reduce(int permits) {
+            reducePermits(permits);
+        }
+    }
+
+    /**
+     * AIMD state for one host
+     */
+    private class HostLimiter {
+        final String host;
+        final AdjustableSemaphore permits;
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger peakInFlight = new AtomicInteger();
+        double limit;
+        volatile int effectiveLimit;
+        double baselineMicros = -1;
+
+        HostLimiter(String host) {
+            this.host = host;
+            this.limit = initialLimit;
+            this.effectiveLimit = initialLimit;
+            this.permits = new AdjustableSemaphore(initialLimit);
+        }
+
+        void acquire(FilterableRequestSpecification requestSpec) {
+            try {
+                if (!permits.tryAcquire(maxQueueMillis, TimeUnit.MILLISECONDS)) {
+                    throw new IllegalStateException("Waited more than " + maxQueueMillis + "ms for a concurrency slot to "
+                            + host + " (limit " + effectiveLimit + "): " + requestSpec.getMethod() + " " + requestSpec.getURI());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a concurrency slot to " + host, e);
+            }
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        }
+
+        synchronized void release(long elapsedNanos, boolean failed) {
+            inFlight.decrementAndGet();
+            long micros = elapsedNanos / 1000;
+            boolean slow = baselineMicros > 0 && micros > baselineMicros * latencyTolerance
+                    && micros - baselineMicros > MIN_SPIKE_MICROS;
+            if (!failed && !slow) {
+                // Slow-moving baseline so short spikes do not drag it up
+                baselineMicros = baselineMicros < 0 ? micros : baselineMicros * 0.95 + micros * 0.05;
+            }
+
+            if (failed || slow) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+            } else {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+
+            int target = (int) Math.floor(limit);
+            int current = effectiveLimit;
+            if (target > current) {
+                permits.release(target - current + 1);
+            } else {
+                if (target < current) {
+                    permits.reduce(current - target);
+                    logger.debug("Concurrency limit for " + host + " lowered to " + target
+                            + (failed ? " after failure" : " after slow response (" + micros / 1000 + "ms)"));
+                }
+                permits.release();
+            }
+            effectiveLimit = target;
+        }
+    }
+}
@@ -5,61 +5,130 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 /**
  * Configuration Manager for handling different environments
  * Supports dev, staging, and prod environments
+ * Values are served from an immutable ConfigSnapshot that is swapped atomically on reload,
+ * environment change, or (when config.hot.reload.enabled=true) when the config file changes.
+ * A thread can bind its own environment (see bindEnvironment), so several environments can be
+ * exercised concurrently in one JVM; unbound threads use the suite-wide environment.
  */
 public class ConfigManager {
     private static final Logger logger = LogManager.getLogger(ConfigManager.class);
-    private static Properties properties;
-    private static String currentEnvironment;
+    private static final String CONFIG_FILE = "config.properties";
+    private static final AtomicReference<ConfigSnapshot> snapshot = new AtomicReference<>();
+    private static final List<Consumer<ConfigSnapshot>> reloadListeners = new CopyOnWriteArrayList<>();
+    private static final Map<String, ConfigSnapshot> environmentSnapshots = new ConcurrentHashMap<>();
+    private static final ThreadLocal<ConfigSnapshot> boundSnapshot = new ThreadLocal<>();
+    private static ConfigWatcher watcher;
 
     static {
         loadProperties();
     }
 
     /**
-     * Load properties from config.properties file
+     * Load properties from config.properties (or the file named by -Dconfig.file), apply -D
+     * overrides and publish a snapshot
      */
     private static void loadProperties() {
-        properties = new Properties();
-        try (InputStream input = ConfigManager.class.getClassLoader()
-                .getResourceAsStream("config.properties")) {
+        ConfigSnapshot previous = snapshot.get();
+        // Get environment from system property or default to 'dev'
+        String environment = previous != null ? previous.getEnvironment() : System.getProperty("env", "dev").toLowerCase();
+        snapshot.set(new ConfigSnapshot(readProperties(), environment));
+        environmentSnapshots.clear();
+        logger.info("Loaded configuration for environment: " + environment);
+    }
+
+    private static Properties readProperties() {
+        Properties properties = new Properties();
+        String externalFile = System.getProperty("config.file");
+        try (InputStream input = externalFile != null
+                ? Files.newInputStream(Paths.get(externalFile))
+                : ConfigManager.class.getClassLoader().getResourceAsStream(CONFIG_FILE)) {
             if (input == null) {
                 logger.error("Unable to find config.properties");
                 throw new RuntimeException("config.properties file not found");
             }
             properties.load(input);
-            
-            // Get environment from system property or default to 'dev'
-            currentEnvironment = System.getProperty("env", "dev").toLowerCase();
-            logger.info("Loaded configuration for environment: " + currentEnvironment);
-            
         } catch (IOException e) {
             logger.error("Error loading config.properties", e);
             throw new RuntimeException("Failed to load configuration", e);
         }
+        // -D<key>=<value> overrides a key of the file, e.g. per-process output files of load workers
+        for (String key : properties.stringPropertyNames()) {
+            String override = System.getProperty(key);
+            if (override != null) {
+                properties.setProperty(key, override);
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Current configuration snapshot (the calling thread's bound environment, if any);
+     * read it once per operation for a consistent view
+     */
+    public static ConfigSnapshot current() {
+        ConfigSnapshot bound = boundSnapshot.get();
+        return bound != null ? bound : snapshot.get();
+    }
+
+    /**
+     * Bind an environment to the calling thread until unbindEnvironment() is called.
+     * Snapshots are resolved once per environment; a reload takes effect from the next bind.
+     */
+    public static void bindEnvironment(String env) {
+        String key = env.toLowerCase();
+        bind(environmentSnapshots.computeIfAbsent(key, e -> snapshot.get().withEnvironment(e)));
+    }
+
+    /**
+     * Bind an explicit snapshot to the calling thread
+     */
+    public static void bind(ConfigSnapshot config) {
+        boundSnapshot.set(config);
+    }
+
+    public static void unbindEnvironment() {
+        boundSnapshot.remove();
+    }
+
+    /**
+     * Snapshot bound to the calling thread, or null when it uses the suite-wide environment
+     */
+    public static ConfigSnapshot getBoundSnapshot() {
+        return boundSnapshot.get();
     }
 
     /**
      * Get current environment (dev, staging, or prod)
      */
     public static String getCurrentEnvironment() {
-        return currentEnvironment;
+        return current().getEnvironment();
     }
 
     /**
      * Get base URL for current environment
      */
     public static String getBaseUrl() {
-        String key = "base.url." + currentEnvironment;
-        String url = properties.getProperty(key);
-        if (url == null) {
-            logger.warn("Base URL not found for environment: " + currentEnvironment + ", using dev");
-            url = properties.getProperty("base.url.dev");
-        }
+        String url = current().getBaseUrl();
         logger.debug("Using base URL: " + url);
         return url;
     }
@@ -68,14 +137,14 @@ public class ConfigManager {
      * Get property value by key
      */
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        return current().getProperty(key);
     }
 
     /**
      * Get property with default value
      */
     public static String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        return current().getProperty(key, defaultValue);
     }
 
     /**
@@ -83,72 +152,633 @@ public class ConfigManager {
      * Example: getEnvProperty("auth.username") returns "auth.username.dev" value for dev environment
      */
     public static String getEnvProperty(String baseKey) {
-        String key = baseKey + "." + currentEnvironment;
-        return properties.getProperty(key);
+        return current().getEnvProperty(baseKey);
     }
 
     /**
      * Get username for current environment
      */
     public static String getUsername() {
-        return getEnvProperty("auth.username");
+        return current().getUsername();
     }
 
     /**
      * Get password for current environment
      */
     public static String getPassword() {
-        return getEnvProperty("auth.password");
+        return current().getPassword();
     }
 
     /**
      * Get auth token for current environment
      */
     public static String getAuthToken() {
-        return getEnvProperty("auth.token");
+        return current().getAuthToken();
     }
 
     /**
      * Get connection timeout
      */
     public static int getConnectionTimeout() {
-        return Integer.parseInt(getProperty("connection.timeout", "10000"));
+        return current().getConnectionTimeout();
     }
 
     /**
      * Get request timeout
      */
     public static int getRequestTimeout() {
-        return Integer.parseInt(getProperty("request.timeout", "30000"));
+        return current().getRequestTimeout();
     }
 
     /**
      * Get API version
      */
     public static String getApiVersion() {
-        return getProperty("api.version", "v1");
+        return current().getApiVersion();
     }
 
     /**
      * Check if logging is enabled
      */
     public static boolean isLoggingEnabled() {
-        return Boolean.parseBoolean(getProperty("enable.logging", "true"));
+        return current().isLoggingEnabled();
     }
 
     /**
      * Get retry count
      */
     public static int getRetryCount() {
-        return Integer.parseInt(getProperty("retry.count", "3"));
+        return current().getRetryCount();
+    }
+
+    /**
+     * Check if transient failures are retried (up to retry.count times)
+     */
+    public static boolean isRetryEnabled() {
+        return current().getBoolean("retry.enabled", true);
+    }
+
+    /**
+     * Get the smallest delay between retries
+     */
+    public static long getRetryBaseDelayMillis() {
+        return current().getLong("retry.base.delay.ms", 100);
+    }
+
+    /**
+     * Get the largest delay between retries (also the longest Retry-After that is honoured)
+     */
+    public static long getRetryMaxDelayMillis() {
+        return current().getLong("retry.max.delay.ms", 5000);
+    }
+
+    /**
+     * Get the fraction of requests that may be retried suite-wide
+     */
+    public static double getRetryBudgetRatio() {
+        return current().getDouble("retry.budget.ratio", 0.1);
+    }
+
+    /**
+     * Get the retry budget's burst size
+     */
+    public static int getRetryBudgetMaxTokens() {
+        return current().getInt("retry.budget.max.tokens", 10);
+    }
+
+    /**
+     * Get the header that marks a POST/PATCH as safe to retry
+     */
+    public static String getRetryIdempotencyHeader() {
+        return current().get("retry.idempotency.header", "Idempotency-Key");
+    }
+
+    /**
+     * Check if the client-side HTTP cache is enabled
+     */
+    public static boolean isHttpCacheEnabled() {
+        return current().getBoolean("http.cache.enabled", false);
+    }
+
+    /**
+     * Get the HTTP cache byte budget
+     */
+    public static long getHttpCacheMaxBytes() {
+        return current().getLong("http.cache.max.bytes", 10485760);
+    }
+
+    /**
+     * Check if single-flight coalescing of shareable GET requests is enabled
+     */
+    public static boolean isRequestCoalescingEnabled() {
+        return current().getBoolean("request.coalescing.enabled", false);
+    }
+
+    /**
+     * Check if response compression negotiation is enabled
+     */
+    public static boolean isCompressionEnabled() {
+        return current().getBoolean("compression.enabled", false);
+    }
+
+    /**
+     * Get the content encodings to advertise in Accept-Encoding, in preference order
+     */
+    public static List<String> getAcceptEncodings() {
+        return current().getParsed("compression.accept.encoding", ConfigManager::parseList);
+    }
+
+    /**
+     * Get the request body size from which bodies are gzip-compressed (0 disables)
+     */
+    public static int getRequestCompressionThreshold() {
+        return current().getInt("compression.request.threshold.bytes", 0);
+    }
+
+    /**
+     * Get the HTTP transport for current environment ("http1" or "http2")
+     */
+    public static String getHttpTransport() {
+        return current().get("http.transport", "http1").trim();
+    }
+
+    /**
+     * Get the maximum number of in-flight requests for the async client
+     */
+    public static int getAsyncMaxConcurrency() {
+        return current().getInt("async.max.concurrency", 16);
+    }
+
+    /**
+     * Check if slow GETs are hedged with a second request
+     */
+    public static boolean isHedgingEnabled() {
+        return current().getBoolean("hedging.enabled", false);
+    }
+
+    /**
+     * Get the endpoint latency percentile after which a hedge is sent
+     */
+    public static double getHedgingPercentile() {
+        return current().getDouble("hedging.percentile", 95);
+    }
+
+    /**
+     * Get how many latency samples an endpoint needs before it is hedged
+     */
+    public static int getHedgingMinSamples() {
+        return current().getInt("hedging.min.samples", 20);
+    }
+
+    /**
+     * Get the shortest hedge delay
+     */
+    public static long getHedgingMinDelayMillis() {
+        return current().getLong("hedging.min.delay.ms", 10);
+    }
+
+    /**
+     * Get the largest fraction of GETs that may be hedged
+     */
+    public static double getHedgingMaxRate() {
+        return current().getDouble("hedging.max.rate", 0.05);
+    }
+
+    /**
+     * Check if in-flight requests per host are limited adaptively
+     */
+    public static boolean isConcurrencyLimitEnabled() {
+        return current().getBoolean("concurrency.limit.enabled", false);
+    }
+
+    /**
+     * Get the in-flight limit a host starts with
+     */
+    public static int getConcurrencyLimitInitial() {
+        return current().getInt("concurrency.limit.initial", 8);
+    }
+
+    /**
+     * Get the lowest in-flight limit per host
+     */
+    public static int getConcurrencyLimitMin() {
+        return current().getInt("concurrency.limit.min", 1);
+    }
+
+    /**
+     * Get the highest in-flight limit per host
+     */
+    public static int getConcurrencyLimitMax() {
+        return current().getInt("concurrency.limit.max", 64);
+    }
+
+    /**
+     * Get the factor the limit is multiplied by after a failure or latency spike
+     */
+    public static double getConcurrencyLimitBackoffRatio() {
+        return current().getDouble("concurrency.limit.backoff.ratio", 0.9);
+    }
+
+    /**
+     * Get how many times the baseline latency a response may take before the limit backs off
+     */
+    public static double getConcurrencyLimitLatencyTolerance() {
+        return current().getDouble("concurrency.limit.latency.tolerance", 2.0);
+    }
+
+    /**
+     * Get the request rate limit for the current environment (0 = unlimited)
+     */
+    public static double getRateLimitRps() {
+        return getRateLimitRps(current());
+    }
+
+    /**
+     * Get how many requests may be sent back to back before the rate limit applies
+     */
+    public static int getRateLimitBurst() {
+        return getRateLimitBurst(current());
+    }
+
+    /**
+     * Get the per-endpoint rate limits for the current environment (path prefix to requests/second)
+     */
+    public static Map<String, Double> getRateLimitEndpoints() {
+        return getRateLimitEndpoints(current());
+    }
+
+    /**
+     * Rate limit of one snapshot, so a caller can read all rate limit settings from the same view
+     */
+    public static double getRateLimitRps(ConfigSnapshot config) {
+        return config.getDouble("rate.limit.rps", 0);
+    }
+
+    public static int getRateLimitBurst(ConfigSnapshot config) {
+        return (int) config.getDouble("rate.limit.burst", 1);
+    }
+
+    public static Map<String, Double> getRateLimitEndpoints(ConfigSnapshot config) {
+        return config.getParsed("rate.limit.endpoints", ConfigManager::parseRateLimits);
+    }
+
+    /**
+     * Check if requests to a failing host are short-circuited
+     */
+    public static boolean isCircuitBreakerEnabled() {
+        return current().getBoolean("circuit.breaker.enabled", true);
+    }
+
+    /**
+     * Get how many consecutive failures open a host's circuit
+     */
+    public static int getCircuitBreakerFailureThreshold() {
+        return current().getInt("circuit.breaker.failure.threshold", 3);
+    }
+
+    /**
+     * Get how long a circuit stays open before a probe request is let through
+     */
+    public static long getCircuitBreakerOpenMillis() {
+        return current().getLong("circuit.breaker.open.ms", 30000);
+    }
+
+    /**
+     * Get the path probed before the suite starts (empty = no probe)
+     */
+    public static String getHealthCheckPath() {
+        return current().get("health.check.path", "").trim();
+    }
+
+    /**
+     * Get the timeout of the pre-suite health probe
+     */
+    public static long getHealthCheckTimeoutMillis() {
+        return current().getLong("health.check.timeout.ms", 3000);
+    }
+
+    /**
+     * Check if per-endpoint timeouts are derived from latency history
+     */
+    public static boolean isAdaptiveTimeoutEnabled() {
+        return current().getBoolean("timeout.adaptive.enabled", false);
+    }
+
+    /**
+     * Get the latency percentile adaptive timeouts are based on
+     */
+    public static double getAdaptiveTimeoutPercentile() {
+        return current().getDouble("timeout.adaptive.percentile", 99.9);
+    }
+
+    /**
+     * Get the multiple of the latency percentile used as timeout
+     */
+    public static double getAdaptiveTimeoutFactor() {
+        return current().getDouble("timeout.adaptive.factor", 3.0);
+    }
+
+    /**
+     * Get the shortest adaptive timeout
+     */
+    public static long getAdaptiveTimeoutMinMillis() {
+        return current().getLong("timeout.adaptive.min.ms", 200);
+    }
+
+    /**
+     * Get the longest adaptive timeout (request.timeout unless set)
+     */
+    public static long getAdaptiveTimeoutMaxMillis() {
+        ConfigSnapshot config = current();
+        long max = config.getLong("timeout.adaptive.max.ms", 0);
+        return max > 0 ? max : config.getRequestTimeout();
+    }
+
+    /**
+     * Get how many latency samples an endpoint needs before its timeout adapts
+     */
+    public static int getAdaptiveTimeoutMinSamples() {
+        return current().getInt("timeout.adaptive.min.samples", 50);
+    }
+
+    /**
+     * Get the file latency history is kept in between runs
+     */
+    public static String getAdaptiveTimeoutHistoryFile() {
+        return current().get("timeout.adaptive.history.file", "latency-history.json");
+    }
+
+    /**
+     * Check if the suite runs under a JFR profiling recording
+     */
+    public static boolean isProfilingEnabled() {
+        return current().getBoolean("profiling.enabled", false);
+    }
+
+    /**
+     * Get the JFR settings (name or .jfc file) used for profiling
+     */
+    public static String getProfilingSettings() {
+        return current().get("profiling.settings", "profile").trim();
+    }
+
+    /**
+     * Get the file the profiling recording is written to
+     */
+    public static String getProfilingFile() {
+        return current().get("profiling.file", "target/profiling/suite.jfr").trim();
+    }
+
+    /**
+     * Get how many hot methods and allocation sites the report lists
+     */
+    public static int getProfilingTopEntries() {
+        return current().getInt("profiling.top", 15);
+    }
+
+    /**
+     * Check if request and test metrics are collected and exported
+     */
+    public static boolean isMetricsEnabled() {
+        return current().getBoolean("metrics.enabled", true);
+    }
+
+    /**
+     * Get the OpenMetrics text file metrics are exported to
+     */
+    public static String getMetricsFile() {
+        return current().get("metrics.file", "target/metrics/api-metrics.prom").trim();
+    }
+
+    /**
+     * Get how often the metrics file is rewritten during a run (0 = only at the end)
+     */
+    public static int getMetricsExportIntervalSeconds() {
+        return current().getInt("metrics.export.interval.seconds", 30);
+    }
+
+    /**
+     * Check if the live metrics endpoint is served during the run
+     */
+    public static boolean isLiveMetricsEnabled() {
+        return current().getBoolean("live.metrics.enabled", false);
+    }
+
+    /**
+     * Get the address the live metrics endpoint binds to
+     */
+    public static String getLiveMetricsHost() {
+        return current().get("live.metrics.host", "127.0.0.1").trim();
+    }
+
+    /**
+     * Get the live metrics port (0 = any free port)
+     */
+    public static int getLiveMetricsPort() {
+        return current().getInt("live.metrics.port", 9465);
+    }
+
+    /**
+     * Get how many complete seconds live rates and percentiles cover
+     */
+    public static int getLiveMetricsWindowSeconds() {
+        return Math.max(1, current().getInt("live.metrics.window.seconds", 10));
+    }
+
+    /**
+     * Check if per-second throughput, errors and percentiles are recorded
+     */
+    public static boolean isTimeSeriesEnabled() {
+        return current().getBoolean("timeseries.enabled", true);
+    }
+
+    /**
+     * Get the file the per-second time series is written to
+     */
+    public static String getTimeSeriesFile() {
+        return current().get("timeseries.file", "target/metrics/timeseries.csv").trim();
+    }
+
+    /**
+     * Check if run latencies are stored and compared with the performance baseline
+     */
+    public static boolean isBaselineEnabled() {
+        return current().getBoolean("baseline.enabled", false);
+    }
+
+    /**
+     * Get the directory the performance baselines are stored in
+     */
+    public static String getBaselineDir() {
+        return current().get("baseline.dir", "target/perf-baselines").trim();
+    }
+
+    /**
+     * Get how many previous runs make up the performance baseline
+     */
+    public static int getBaselineRuns() {
+        return Math.max(1, current().getInt("baseline.runs", 5));
+    }
+
+    /**
+     * Get the minimum samples per endpoint or test before it is compared with the baseline
+     */
+    public static int getBaselineMinSamples() {
+        return Math.max(1, current().getInt("baseline.min.samples", 50));
+    }
+
+    /**
+     * Get the relative p50 slowdown that counts as a regression
+     */
+    public static double getBaselineP50Threshold() {
+        return current().getDouble("baseline.p50.threshold", 0.25);
+    }
+
+    /**
+     * Get the relative p99 slowdown that counts as a regression
+     */
+    public static double getBaselineP99Threshold() {
+        return current().getDouble("baseline.p99.threshold", 0.5);
+    }
+
+    /**
+     * Get the significance level a slowdown must reach to count as a regression
+     */
+    public static double getBaselineAlpha() {
+        return current().getDouble("baseline.alpha", 0.01);
+    }
+
+    /**
+     * Check if a performance regression fails the suite
+     */
+    public static boolean isBaselineFailOnRegression() {
+        return current().getBoolean("baseline.fail.on.regression", false);
+    }
+
+    /**
+     * Get the test classes and methods a distributed load run executes
+     */
+    public static String getLoadScenario() {
+        return current().get("load.scenario", "com.api.testing.tests.GetRequestTest").trim();
+    }
+
+    /**
+     * Get the invocations of each test method in a load run, across all workers
+     */
+    public static int getLoadIterations() {
+        return Math.max(1, current().getInt("load.iterations", 100));
+    }
+
+    /**
+     * Get the concurrent invocations of each test method in a load run, across all workers
+     */
+    public static int getLoadThreads() {
+        return Math.max(1, current().getInt("load.threads", 4));
+    }
+
+    /**
+     * Get the time limit of a load run in seconds (0 = run all iterations)
+     */
+    public static int getLoadDurationSeconds() {
+        return Math.max(0, current().getInt("load.duration.seconds", 0));
+    }
+
+    /**
+     * Get how many local worker JVMs the load coordinator starts
+     */
+    public static int getLoadWorkers() {
+        return Math.max(0, current().getInt("load.workers", 2));
+    }
+
+    /**
+     * Get how many workers on other hosts the load coordinator waits for
+     */
+    public static int getLoadRemoteWorkers() {
+        return Math.max(0, current().getInt("load.remote.workers", 0));
+    }
+
+    /**
+     * Get the address the load coordinator listens on; unset means loopback only, or all
+     * interfaces when remote workers are expected
+     */
+    public static String getLoadCoordinatorBind() {
+        String bind = current().get("load.coordinator.bind", "").trim();
+        if (!bind.isEmpty()) {
+            return bind;
+        }
+        return getLoadRemoteWorkers() > 0 ? "0.0.0.0" : "127.0.0.1";
+    }
+
+    /**
+     * Get the token load workers must present to the coordinator; empty when unset
+     */
+    public static String getLoadToken() {
+        return current().get("load.token", "").trim();
+    }
+
+    /**
+     * Get the port the load coordinator listens on
+     */
+    public static int getLoadCoordinatorPort() {
+        return current().getInt("load.coordinator.port", 9470);
+    }
+
+    /**
+     * Get the extra JVM options for local load workers
+     */
+    public static String getLoadWorkerJvmArgs() {
+        return current().get("load.worker.jvm.args", "");
+    }
+
+    /**
+     * Get how long the coordinator waits for workers to connect and get ready
+     */
+    public static int getLoadConnectTimeoutSeconds() {
+        return Math.max(1, current().getInt("load.connect.timeout.seconds", 60));
+    }
+
+    /**
+     * Get the file the combined load result is written to
+     */
+    public static String getLoadResultFile() {
+        return current().get("load.result.file", "target/load/load-result.json").trim();
+    }
+
+    /**
+     * Get how long before expiry OAuth2 tokens are refreshed in the background
+     */
+    public static int getOAuthRefreshSkewSeconds() {
+        return current().getInt("oauth.refresh.before.expiry.seconds", 60);
+    }
+
+    /**
+     * Get the CSV file (path or classpath resource) with per-virtual-user credentials
+     */
+    public static String getCredentialsFile() {
+        return current().get("credentials.file", "").trim();
+    }
+
+    /**
+     * Get how credentials are assigned to virtual users (sticky or round_robin)
+     */
+    public static CredentialPool.Affinity getCredentialsAffinity() {
+        return current().getParsed("credentials.affinity", ConfigManager::parseAffinity);
+    }
+
+    /**
+     * Get how many users are authenticated in parallel when the credential pool starts
+     */
+    public static int getCredentialsPreAuthParallelism() {
+        return current().getInt("credentials.preauth.parallelism", 8);
     }
 
     /**
      * Set environment programmatically (useful for testing)
      */
     public static void setEnvironment(String env) {
-        currentEnvironment = env.toLowerCase();
-        logger.info("Environment changed to: " + currentEnvironment);
+        ConfigSnapshot updated = snapshot.updateAndGet(config -> config.withEnvironment(env));
+        logger.info("Environment changed to: " + updated.getEnvironment());
+        notifyListeners(updated);
     }
 
     /**
@@ -156,5 +786,119 @@ public class ConfigManager {
      */
     public static void reload() {
         loadProperties();
+        notifyListeners(snapshot.get());
+    }
+
+    /**
+     * Be notified with the new snapshot after every reload or environment change
+     */
+    public static void addReloadListener(Consumer<ConfigSnapshot> listener) {
+        reloadListeners.add(listener);
+    }
+
+    public static void removeReloadListener(Consumer<ConfigSnapshot> listener) {
+        reloadListeners.remove(listener);
+    }
+
+    /**
+     * Start reloading automatically when the config file changes (config.hot.reload.enabled=true).
+     * Requests already in flight keep the snapshot they started with.
+     */
+    public static synchronized void startWatching() {
+        if (watcher != null || !Boolean.parseBoolean(getProperty("config.hot.reload.enabled", "false"))) {
+            return;
+        }
+        Path file = configFilePath();
+        if (file == null) {
+            logger.warn("config.properties is not a file on disk; hot reload disabled");
+            return;
+        }
+        try {
+            watcher = new ConfigWatcher(file, changed -> {
+                try {
+                    reload();
+                    logger.info("Configuration reloaded from " + changed);
+                } catch (RuntimeException e) {
+                    logger.error("Ignoring invalid configuration change in " + changed + ": " + e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            logger.warn("Cannot watch " + file + " for changes", e);
+        }
+    }
+
+    public static synchronized void stopWatching() {
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+    }
+
+    private static Path configFilePath() {
+        String externalFile = System.getProperty("config.file");
+        if (externalFile != null) {
+            return Paths.get(externalFile);
+        }
+        URL resource = ConfigManager.class.getClassLoader().getResource(CONFIG_FILE);
+        if (resource == null || !"file".equals(resource.getProtocol())) {
+            return null;
+        }
+        try {
+            return Paths.get(resource.toURI());
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    /**
+     * "gzip, deflate" into [gzip, deflate]
+     */
+    private static List<String> parseList(String value) {
+        List<String> items = new ArrayList<>();
+        for (String item : (value != null ? value : "gzip,deflate").split(",")) {
+            items.add(item.trim());
+        }
+        return Collections.unmodifiableList(items);
+    }
+
+    /**
+     * "/posts:5, /comments:2" into path prefix -> requests per second
+     */
+    private static Map<String, Double> parseRateLimits(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Double> limits = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            int colon = entry.lastIndexOf(':');
+            if (colon <= 0) {
+                throw new IllegalArgumentException("Invalid rate.limit.endpoints entry (expected /path:rps): " + entry.trim());
+            }
+            try {
+                limits.put(entry.substring(0, colon).trim(), Double.parseDouble(entry.substring(colon + 1).trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number for rate.limit.endpoints: " + entry.trim(), e);
+            }
+        }
+        return Collections.unmodifiableMap(limits);
+    }
+
+    private static CredentialPool.Affinity parseAffinity(String value) {
+        String affinity = value != null ? value.trim() : "sticky";
+        try {
+            return CredentialPool.Affinity.valueOf(affinity.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid credentials.affinity: " + affinity, e);
+        }
+    }
+
+    private static void notifyListeners(ConfigSnapshot updated) {
+        for (Consumer<ConfigSnapshot> listener : reloadListeners) {
+            try {
+                listener.accept(updated);
+            } catch (RuntimeException e) {
+                logger.warn("Config reload listener failed", e);
+            }
+        }
     }
 }
@@ -0,0 +1,209 @@
+package com.api.testing.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Immutable view of config.properties resolved for one environment.
+ * Environment-specific keys ("auth.token.dev") are pre-resolved to their base key ("auth.token"),
+ * and the connection settings every request needs are parsed and validated when the snapshot is
+ * built. Feature settings are read through the generic getters (get, getInt, ...) by the typed
+ * getters of ConfigManager, so a new key needs no field here. A snapshot is safe to share between
+ * threads; ConfigManager publishes new snapshots atomically on reload or environment change.
+ */
+public final class ConfigSnapshot {
+    private static final Logger logger = LogManager.getLogger(ConfigSnapshot.class);
+
+    private final Properties source;
+    private final String environment;
+    private final Map<String, String> values;
+    private final Map<String, String> envValues;
+    private final Map<String, Object> parsed = new ConcurrentHashMap<>();
+
+    private final String baseUrl;
+    private final int connectionTimeout;
+    private final int requestTimeout;
+    private final String apiVersion;
+    private final boolean loggingEnabled;
+    private final int retryCount;
+
+    /**
+     * Resolve a snapshot; throws IllegalArgumentException when a connection setting does not parse
+     */
+    public ConfigSnapshot(Properties properties, String environment) {
+        this.source = new Properties();
+        this.source.putAll(properties);
+        this.environment = environment.toLowerCase(Locale.ROOT);
+
+        Map<String, String> all = new HashMap<>();
+        Map<String, String> forEnv = new HashMap<>();
+        String suffix = "." + this.environment;
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key);
+            all.put(key, value);
+            if (key.endsWith(suffix)) {
+                forEnv.put(key.substring(0, key.length() - suffix.length()), value);
+            }
+        }
+        this.values = Collections.unmodifiableMap(all);
+        this.envValues = Collections.unmodifiableMap(forEnv);
+
+        String url = envValues.get("base.url");
+        if (url == null) {
+            logger.warn("Base URL not found for environment: " + this.environment + ", using dev");
+            url = values.get("base.url.dev");
+        }
+        this.baseUrl = url;
+        this.connectionTimeout = getInt("connection.timeout", 10000);
+        this.requestTimeout = getInt("request.timeout", 30000);
+        this.apiVersion = get("api.version", "v1");
+        this.loggingEnabled = getBoolean("enable.logging", true);
+        this.retryCount = getInt("retry.count", 3);
+    }
+
+    /**
+     * Same properties resolved for another environment
+     */
+    public ConfigSnapshot withEnvironment(String env) {
+        return new ConfigSnapshot(source, env);
+    }
+
+    /**
+     * Copy of the raw properties this snapshot was built from
+     */
+    public Properties getProperties() {
+        Properties copy = new Properties();
+        copy.putAll(source);
+        return copy;
+    }
+
+    public String getEnvironment() {
+        return environment;
+    }
+
+    /**
+     * Value of key.&lt;env&gt; when set, else key; null when neither is set
+     */
+    public String get(String key) {
+        String value = envValues.get(key);
+        return value != null && !value.trim().isEmpty() ? value : values.get(key);
+    }
+
+    public String get(String key, String defaultValue) {
+        String value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Integer value of key (see get); throws IllegalArgumentException when it does not parse
+     */
+    public int getInt(String key, int defaultValue) {
+        String value = get(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid integer for " + key + ": " + value, e);
+        }
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = get(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + key + ": " + value, e);
+        }
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        String value = get(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + key + ": " + value, e);
+        }
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key);
+        return value == null || value.trim().isEmpty() ? defaultValue : Boolean.parseBoolean(value.trim());
+    }
+
+    /**
+     * Value of key converted by parser once and kept for the life of this snapshot, for values
+     * that are costly to parse on every request. parser receives null when the key is unset and
+     * must return the same type every time it is used for key.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getParsed(String key, Function<String, T> parser) {
+        return (T) parsed.computeIfAbsent(key, k -> parser.apply(get(k)));
+    }
+
+    public String getProperty(String key) {
+        return values.get(key);
+    }
+
+    public String getProperty(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * Environment-specific value, e.g. getEnvProperty("auth.token") reads "auth.token.&lt;env&gt;"
+     */
+    public String getEnvProperty(String baseKey) {
+        return envValues.get(baseKey);
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public String getUsername() {
+        return envValues.get("auth.username");
+    }
+
+    public String getPassword() {
+        return envValues.get("auth.password");
+    }
+
+    public String getAuthToken() {
+        return envValues.get("auth.token");
+    }
+
+    public int getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public int getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public String getApiVersion() {
+        return apiVersion;
+    }
+
+    public boolean isLoggingEnabled() {
+        return loggingEnabled;
+    }
+
+    public int getRetryCount() {
+        return retryCount;
+    }
+}
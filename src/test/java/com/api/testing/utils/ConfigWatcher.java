@@ -0,0 +1,85 @@
+package com.api.testing.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watches one file and calls back after it changes.
+ * Runs on a daemon thread; bursts of events (editors often write a file in several steps)
+ * are collapsed into one callback after a short quiet period.
+ */
+public class ConfigWatcher implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(ConfigWatcher.class);
+    private static final long QUIET_PERIOD_MILLIS = 200;
+
+    private final Path file;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    public ConfigWatcher(Path file, Consumer<Path> onChange) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.file.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+        this.thread = new Thread(() -> watch(onChange), "config-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+        logger.info("Watching " + this.file + " for changes");
+    }
+
+    private void watch(Consumer<Path> onChange) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = drain(key);
+                // Wait for the writer to finish, folding follow-up events into this change
+                WatchKey more;
+                while ((more = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= drain(more);
+                }
+                if (changed) {
+                    try {
+                        onChange.accept(file);
+                    } catch (RuntimeException e) {
+                        logger.error("Failed to apply change to " + file, e);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            logger.debug("Stopped watching " + file);
+        }
+    }
+
+    private boolean drain(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (context instanceof Path && file.getFileName().equals(context)) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close watch service for " + file, e);
+        }
+        thread.interrupt();
+    }
+}
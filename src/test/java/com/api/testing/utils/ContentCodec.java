@@ -0,0 +1,87 @@
+package com.api.testing.utils;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A Content-Encoding codec usable by CompressionFilter.
+ * Additional codecs (e.g. br, zstd) can be registered with CompressionFilter.registerCodec().
+ */
+public interface ContentCodec {
+
+    /**
+     * Encoding token as used in Accept-Encoding / Content-Encoding (e.g. "gzip")
+     */
+    String getName();
+
+    /**
+     * Wrap a stream of encoded bytes so that reading it yields decoded bytes
+     */
+    InputStream decode(InputStream encoded) throws IOException;
+
+    /**
+     * Wrap a stream so that bytes written to it are encoded
+     */
+    OutputStream encode(OutputStream target) throws IOException;
+
+    ContentCodec GZIP = new ContentCodec() {
+        @Override
+        public String getName() {
+            return "gzip";
+        }
+
+        @Override
+        public InputStream decode(InputStream encoded) throws IOException {
+            return new GZIPInputStream(encoded);
+        }
+
+        @Override
+        public OutputStream encode(OutputStream target) throws IOException {
+            return new GZIPOutputStream(target);
+        }
+    };
+
+    /**
+     * HTTP "deflate" is zlib-wrapped, but some servers send raw deflate; both are accepted
+     */
+    ContentCodec DEFLATE = new ContentCodec() {
+        @Override
+        public String getName() {
+            return "deflate";
+        }
+
+        @Override
+        public InputStream decode(InputStream encoded) throws IOException {
+            BufferedInputStream in = new BufferedInputStream(encoded);
+            in.mark(2);
+            int b0 = in.read();
+            int b1 = in.read();
+            in.reset();
+            boolean zlibHeader = b0 >= 0 && b1 >= 0 && (b0 & 0x0F) == 8 && ((b0 << 8) | b1) % 31 == 0;
+            Inflater inflater = new Inflater(!zlibHeader);
+            // A stream given its own Inflater does not end it; release the native memory on close
+            return new InflaterInputStream(in, inflater) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        inflater.end();
+                    }
+                }
+            };
+        }
+
+        @Override
+        public OutputStream encode(OutputStream target) {
+            return new DeflaterOutputStream(target);
+        }
+    };
+}
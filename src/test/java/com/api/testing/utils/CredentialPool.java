@@ -0,0 +1,277 @@
+package com.api.testing.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of per-virtual-user credentials for multi-user load runs.
+ * Users are loaded from a CSV file (username,password[,token]), optionally pre-authenticated
+ * in parallel through OAuth2TokenProvider's password grant, and handed out to concurrent
+ * virtual users through leases. A virtual user holds a lease for as long as it runs (BaseTest:
+ * one test invocation) and closes it afterwards. With sticky affinity the lease keeps one
+ * credential, the least-leased one, like a real logged-in session; round-robin leases take the
+ * next credential on every request.
+ */
+public class CredentialPool {
+    private static final Logger logger = LogManager.getLogger(CredentialPool.class);
+    private static final Map<String, CredentialPool> instances = new HashMap<>();
+
+    public enum Affinity {
+        STICKY, ROUND_ROBIN
+    }
+
+    private final List<Credential> credentials;
+    private final Affinity affinity;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final int[] leases;
+
+    public CredentialPool(List<Credential> credentials, Affinity affinity) {
+        if (credentials.isEmpty()) {
+            throw new IllegalArgumentException("Credential pool is empty");
+        }
+        this.credentials = Collections.unmodifiableList(new ArrayList<>(credentials));
+        this.affinity = affinity;
+        this.leases = new int[credentials.size()];
+    }
+
+    /**
+     * Shared pool of the current environment, built from credentials.file[.&lt;env&gt;] and
+     * pre-authenticated when the environment has an OAuth2 client; one pool per environment
+     */
+    public static synchronized CredentialPool getInstance() {
+        return instances.computeIfAbsent(ConfigManager.getCurrentEnvironment(), env -> {
+            String file = ConfigManager.getCredentialsFile();
+            if (file == null || file.isEmpty()) {
+                throw new IllegalStateException("credentials.file is not configured for " + env);
+            }
+            List<Credential> loaded = load(file);
+            OAuth2TokenProvider.ClientRegistration client = OAuth2TokenProvider.ClientRegistration.fromConfig();
+            if (client != null) {
+                loaded = preAuthenticate(loaded, OAuth2TokenProvider.getInstance(), client,
+                        ConfigManager.getCredentialsPreAuthParallelism());
+            }
+            return new CredentialPool(loaded, ConfigManager.getCredentialsAffinity());
+        });
+    }
+
+    /**
+     * Read credentials from a classpath resource or file path; blank lines and # comments are skipped
+     */
+    public static List<Credential> load(String location) {
+        List<Credential> loaded = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(open(location), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")
+                        || (lineNumber == 1 && trimmed.toLowerCase(Locale.ROOT).startsWith("username,"))) {
+                    continue;
+                }
+                String[] fields = trimmed.split(",", -1);
+                if (fields.length < 2) {
+                    throw new IllegalStateException(location + ":" + lineNumber + " expected username,password[,token]");
+                }
+                String token = fields.length > 2 && !fields[2].trim().isEmpty() ? fields[2].trim() : null;
+                loaded.add(new Credential(fields[0].trim(), fields[1].trim(), token));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read credentials file: " + location, e);
+        }
+        logger.info("Loaded " + loaded.size() + " credentials from " + location);
+        return loaded;
+    }
+
+    private static InputStream open(String location) throws IOException {
+        Path path = Paths.get(location);
+        if (Files.exists(path)) {
+            return Files.newInputStream(path);
+        }
+        InputStream resource = CredentialPool.class.getClassLoader().getResourceAsStream(location);
+        if (resource == null) {
+            throw new IOException("Credentials file not found: " + location);
+        }
+        return resource;
+    }
+
+    /**
+     * Fetch a token for every user in parallel; users that fail to authenticate are dropped
+     */
+    public static List<Credential> preAuthenticate(List<Credential> credentials, OAuth2TokenProvider provider,
+                                                   OAuth2TokenProvider.ClientRegistration client, int parallelism) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        long start = System.currentTimeMillis();
+        try {
+            List<Future<Credential>> futures = new ArrayList<>();
+            for (Credential credential : credentials) {
+                futures.add(executor.submit(() -> {
+                    Credential authenticated = credential.withOAuth(provider,
+                            client.withUser(credential.getUsername(), credential.password));
+                    authenticated.getToken();
+                    return authenticated;
+                }));
+            }
+
+            List<Credential> ready = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    ready.add(futures.get(i).get());
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    logger.warn("Pre-authentication failed for " + credentials.get(i).getUsername() + ": " + cause.getMessage());
+                }
+            }
+            logger.info("Pre-authenticated " + ready.size() + "/" + credentials.size() + " users in "
+                    + (System.currentTimeMillis() - start) + "ms");
+            return ready;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Start a virtual user's hold on the pool; close the lease when the virtual user is done
+     */
+    public Lease lease() {
+        return affinity == Affinity.ROUND_ROBIN ? new Lease(-1) : new Lease(take());
+    }
+
+    /**
+     * Index of the credential with the fewest leases, scanning from a rotating start
+     */
+    private synchronized int take() {
+        int start = Math.floorMod(cursor.getAndIncrement(), credentials.size());
+        int best = start;
+        for (int i = 1; i < credentials.size(); i++) {
+            int index = (start + i) % credentials.size();
+            if (leases[index] < leases[best]) {
+                best = index;
+            }
+        }
+        if (leases[best] == 1) {
+            logger.warn("More virtual users than credentials (" + credentials.size() + "); credentials are now shared");
+        }
+        leases[best]++;
+        return best;
+    }
+
+    private synchronized void release(int index) {
+        leases[index]--;
+    }
+
+    private Credential next() {
+        return credentials.get(Math.floorMod(cursor.getAndIncrement(), credentials.size()));
+    }
+
+    public int size() {
+        return credentials.size();
+    }
+
+    public Affinity getAffinity() {
+        return affinity;
+    }
+
+    /**
+     * A virtual user's hold on the pool
+     */
+    public class Lease implements AutoCloseable {
+        private final int index;
+        private boolean closed;
+
+        private Lease(int index) {
+            this.index = index;
+        }
+
+        /**
+         * The leased credential (sticky), or the next one in turn (round-robin)
+         */
+        public Credential getCredential() {
+            return index < 0 ? next() : credentials.get(index);
+        }
+
+        /**
+         * Return the credential to the pool; closing twice has no effect
+         */
+        @Override
+        public synchronized void close() {
+            if (!closed && index >= 0) {
+                release(index);
+            }
+            closed = true;
+        }
+    }
+
+    /**
+     * One user's credentials; the token comes from OAuth2 when pre-authenticated, else the data file
+     */
+    public static class Credential {
+        private final String username;
+        private final String password;
+        private final String token;
+        private final OAuth2TokenProvider provider;
+        private final OAuth2TokenProvider.ClientRegistration registration;
+
+        public Credential(String username, String password, String token) {
+            this(username, password, token, null, null);
+        }
+
+        private Credential(String username, String password, String token,
+                           OAuth2TokenProvider provider, OAuth2TokenProvider.ClientRegistration registration) {
+            this.username = username;
+            this.password = password;
+            this.token = token;
+            this.provider = provider;
+            this.registration = registration;
+        }
+
+        Credential withOAuth(OAuth2TokenProvider tokenProvider, OAuth2TokenProvider.ClientRegistration client) {
+            return new Credential(username, password, token, tokenProvider, client);
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        /**
+         * Bearer token for this user (cached and refreshed by OAuth2TokenProvider when pre-authenticated)
+         */
+        public String getToken() {
+            if (provider != null) {
+                return provider.getAccessToken(registration);
+            }
+            if (token == null) {
+                throw new IllegalStateException("No token for user '" + username + "' and no OAuth2 client configured");
+            }
+            return token;
+        }
+
+        @Override
+        public String toString() {
+            return username;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.api.testing.utils;
+
+import io.restassured.specification.FilterableRequestSpecification;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency histograms per endpoint, keyed by method, host and the path template the test used
+ * (e.g. "GET jsonplaceholder.typicode.com/posts/{id}"), so /posts/1 and /posts/2 share one
+ * distribution. Shared by the pipeline stages that make latency-based decisions.
+ */
+public class EndpointLatencyTracker {
+    private final ConcurrentHashMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Endpoint key for a request
+     */
+    public static String endpointKey(FilterableRequestSpecification requestSpec) {
+        String path = requestSpec.getUserDefinedPath();
+        String host;
+        if (path != null && path.startsWith("http")) {
+            URI uri = URI.create(path);
+            host = uri.getAuthority();
+            path = uri.getPath();
+        } else {
+            host = URI.create(requestSpec.getURI()).getAuthority();
+        }
+        String basePath = requestSpec.getBasePath() == null || "/".equals(requestSpec.getBasePath())
+                ? "" : requestSpec.getBasePath();
+        return endpointKey(requestSpec.getMethod(), host, basePath + (path == null ? "" : path));
+    }
+
+    /**
+     * Endpoint key for a method, host and path template (used by AsyncRequestClient)
+     */
+    public static String endpointKey(String method, String host, String path) {
+        return method + " " + host + (path == null || path.isEmpty() ? "/" : path);
+    }
+
+    public void record(String endpoint, long micros) {
+        histogram(endpoint).recordMicros(micros);
+    }
+
+    /**
+     * Histogram for an endpoint (created on first use)
+     */
+    public LatencyHistogram histogram(String endpoint) {
+        return histograms.computeIfAbsent(endpoint, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Histogram for an endpoint, or null when nothing was recorded for it
+     */
+    public LatencyHistogram find(String endpoint) {
+        return histograms.get(endpoint);
+    }
+
+    /**
+     * All endpoints, sorted by key
+     */
+    public Map<String, LatencyHistogram> getHistograms() {
+        return new TreeMap<>(histograms);
+    }
+}
@@ -0,0 +1,125 @@
+package com.api.testing.utils;
+
+import io.restassured.RestAssured;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Routes requests to the base URL of the environment bound to the calling thread.
+ * RestAssured.baseURI is a single global, so requests addressed to the suite's host, whether
+ * through the default base URI or an absolute URL, are rewritten here to the bound environment's
+ * base.url.&lt;env&gt;. This lets dev, staging and prod &lt;test&gt; blocks run concurrently in one
+ * JVM while sharing the rest of the pipeline (connection pools, caches). Requests to any other
+ * host are left alone.
+ */
+public class EnvironmentRoutingFilter implements ReportingFilter {
+    private final Map<String, LongAdder> routed = new ConcurrentHashMap<>();
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        ConfigSnapshot bound = ConfigManager.getBoundSnapshot();
+        if (bound != null && bound.getBaseUrl() != null && RestAssured.baseURI != null) {
+            String rebased = rebase(requestSpec.getBaseUri(), RestAssured.baseURI, bound.getBaseUrl());
+            if (rebased != null) {
+                requestSpec.baseUri(rebased);
+                // get("https://host/path") keeps the absolute URL as the path, which would win over
+                // the new base URI; RestAssured has already split it, so set the relative part
+                requestSpec.path(requestSpec.getUserDefinedPath());
+                routed.computeIfAbsent(bound.getEnvironment(), env -> new LongAdder()).increment();
+            }
+        }
+        return ctx.next(requestSpec, responseSpec);
+    }
+
+    /**
+     * url moved from suiteBase to boundBase, or null when url is not on suiteBase's host
+     */
+    private static String rebase(String url, String suiteBase, String boundBase) {
+        String origin = origin(url);
+        if (origin == null || !origin.equals(origin(suiteBase))) {
+            return null;
+        }
+        String suite = suiteBase.endsWith("/") ? suiteBase.substring(0, suiteBase.length() - 1) : suiteBase;
+        String target = boundBase.endsWith("/") ? boundBase.substring(0, boundBase.length() - 1) : boundBase;
+        if (url.startsWith(suite) && (url.length() == suite.length() || "/?#".indexOf(url.charAt(suite.length())) >= 0)) {
+            return target + url.substring(suite.length());
+        }
+        // Same host, different base path: keep the path and only swap scheme, host and port
+        int boundEnd = authorityEnd(boundBase);
+        return boundEnd > 0 ? boundBase.substring(0, boundEnd) + url.substring(authorityEnd(url)) : null;
+    }
+
+    /**
+     * "scheme://host:port" with the scheme's default port filled in, or null for a relative url
+     */
+    private static String origin(String url) {
+        int end = authorityEnd(url);
+        if (end < 0) {
+            return null;
+        }
+        int schemeEnd = url.indexOf("://");
+        String scheme = url.substring(0, schemeEnd).toLowerCase(Locale.ROOT);
+        String authority = url.substring(schemeEnd + 3, end);
+        authority = authority.substring(authority.lastIndexOf('@') + 1).toLowerCase(Locale.ROOT);
+        if (authority.lastIndexOf(':') <= authority.lastIndexOf(']')) {
+            authority += "https".equals(scheme) ? ":443" : ":80";
+        }
+        return scheme + "://" + authority;
+    }
+
+    /**
+     * Index just past the authority of an absolute url, or -1 when url is relative
+     */
+    private static int authorityEnd(String url) {
+        int schemeEnd = url == null ? -1 : url.indexOf("://");
+        if (schemeEnd <= 0) {
+            return -1;
+        }
+        for (int i = 0; i < schemeEnd; i++) {
+            if (!Character.isLetterOrDigit(url.charAt(i)) && "+-.".indexOf(url.charAt(i)) < 0) {
+                return -1;
+            }
+        }
+        int end = schemeEnd + 3;
+        while (end < url.length() && "/?#".indexOf(url.charAt(end)) < 0) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Requests routed per environment
+     */
+    public Map<String, Long> getRoutedRequests() {
+        Map<String, Long> counts = new TreeMap<>();
+        routed.forEach((env, count) -> counts.put(env, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public String getName() {
+        return "Env routing";
+    }
+
+    @Override
+    public String getSummary() {
+        Map<String, Long> counts = getRoutedRequests();
+        return counts.isEmpty() ? "single environment (" + ConfigManager.getCurrentEnvironment() + ")"
+                : "routed " + counts;
+    }
+
+    @Override
+    public int getOrder() {
+        return RequestPipeline.ROUTING_ORDER;
+    }
+}
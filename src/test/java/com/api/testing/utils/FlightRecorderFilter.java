@@ -0,0 +1,76 @@
+package com.api.testing.utils;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Emits an HttpRequestEvent per HTTP exchange. It sits after the retry, cache and limiter
+ * stages, so every network attempt gets its own event and cache hits or queueing do not.
+ * When no recording has the event enabled the only cost is one allocation and a flag check.
+ */
+public class FlightRecorderFilter implements OrderedFilter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        HttpRequestEvent event = new HttpRequestEvent();
+        if (!event.isEnabled()) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        event.begin();
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            event.status = response.statusCode();
+            event.responseTime = response.getTime();
+            event.responseBytes = responseBytes(response);
+            return response;
+        } catch (Exception e) {
+            // RestAssured rethrows checked IOExceptions undeclared
+            event.failure = e.getClass().getName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = requestSpec.getMethod();
+                event.endpoint = EndpointLatencyTracker.endpointKey(requestSpec);
+                event.url = requestSpec.getURI();
+                event.environment = ConfigManager.getCurrentEnvironment();
+                event.requestBytes = bodyBytes(requestSpec.getBody());
+                event.commit();
+            }
+        }
+    }
+
+    private static long responseBytes(Response response) {
+        String contentLength = response.getHeader("Content-Length");
+        if (contentLength != null) {
+            try {
+                return Long.parseLong(contentLength.trim());
+            } catch (NumberFormatException ignored) {
+                // fall back to the buffered body
+            }
+        }
+        return response.asByteArray().length;
+    }
+
+    private static long bodyBytes(Object body) {
+        if (body instanceof byte[]) {
+            return ((byte[]) body).length;
+        }
+        if (body instanceof String) {
+            return ((String) body).getBytes(StandardCharsets.UTF_8).length;
+        }
+        return 0;
+    }
+
+    @Override
+    public int getOrder() {
+        return RequestPipeline.FLIGHT_RECORDER_ORDER;
+    }
+}
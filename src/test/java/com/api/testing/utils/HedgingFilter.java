@@ -0,0 +1,199 @@
+package com.api.testing.utils;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hedged GET requests: when a response has not arrived within the endpoint's observed
+ * latency percentile (p95 by default), an identical second request is sent and whichever
+ * response arrives first wins; the other is cancelled. Hedges are capped at a fraction of
+ * requests so a slow backend does not receive double load, and endpoints are only hedged once
+ * enough latency samples have been observed. The primary request always goes through the
+ * rest of the filter chain; only the hedge is sent through HttpTransport's asynchronous client,
+ * so it can be aborted when the primary wins.
+ */
+public class HedgingFilter implements ReportingFilter {
+    private static final Logger logger = LogManager.getLogger(HedgingFilter.class);
+
+    private static final ExecutorService PRIMARIES = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "hedging-primary");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final HttpTransport transport;
+    private final EndpointLatencyTracker latencies;
+    private final double percentile;
+    private final int minSamples;
+    private final long minDelayMillis;
+    private final double maxHedgeRate;
+    private final long requestTimeoutMillis;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hedged = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+
+    public HedgingFilter(HttpTransport transport, EndpointLatencyTracker latencies, double percentile,
+                         int minSamples, long minDelayMillis, double maxHedgeRate, long requestTimeoutMillis) {
+        this.transport = transport;
+        this.latencies = latencies;
+        this.percentile = percentile;
+        this.minSamples = minSamples;
+        this.minDelayMillis = minDelayMillis;
+        this.maxHedgeRate = maxHedgeRate;
+        this.requestTimeoutMillis = requestTimeoutMillis;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!"GET".equalsIgnoreCase(requestSpec.getMethod()) || !transport.supports(requestSpec)) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        requests.increment();
+        String endpoint = EndpointLatencyTracker.endpointKey(requestSpec);
+        LatencyHistogram histogram = latencies.histogram(endpoint);
+
+        if (histogram.getCount() < minSamples) {
+            long start = System.nanoTime();
+            Response response = ctx.next(requestSpec, responseSpec);
+            histogram.recordNanos(System.nanoTime() - start);
+            return response;
+        }
+
+        long hedgeDelay = Math.max(minDelayMillis, histogram.getPercentileMillis(percentile));
+        long start = System.nanoTime();
+        // The primary goes through the rest of the chain on a worker so this thread can race it
+        CompletableFuture<Response> primary = CompletableFuture.supplyAsync(() -> ctx.next(requestSpec, responseSpec), PRIMARIES);
+        primary.thenRun(() -> histogram.recordNanos(System.nanoTime() - start));
+
+        try {
+            return primary.get(hedgeDelay, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (!allowHedge()) {
+                rateLimited.increment();
+                return await(primary, requestSpec.getURI());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + requestSpec.getURI(), e);
+        } catch (ExecutionException e) {
+            throw unwrap(e, requestSpec.getURI());
+        }
+
+        hedged.increment();
+        logger.debug("Hedging " + endpoint + " after " + hedgeDelay + "ms");
+        // Only the hedge is sent by the JDK client, whose exchange can be aborted if it loses
+        CompletableFuture<Response> hedge = transport.sendAsync(transport.toHttpRequest(requestSpec));
+        CompletableFuture<Response> winner = firstSuccessful(primary, hedge);
+        Response response = await(winner, requestSpec.getURI());
+        if (hedge.isDone() && !hedge.isCompletedExceptionally() && hedge.join() == response) {
+            hedgeWins.increment();
+            // A RestAssured exchange cannot be aborted; the primary finishes on its worker and is
+            // discarded. The primary took at least this long; keep the tail in the distribution.
+            primary.cancel(false);
+            histogram.recordNanos(System.nanoTime() - start);
+        } else {
+            hedge.cancel(true);
+        }
+        return response;
+    }
+
+    /**
+     * Keep hedges below maxHedgeRate of requests (one hedge is always allowed as burst)
+     */
+    private boolean allowHedge() {
+        return hedged.sum() < maxHedgeRate * requests.sum() + 1;
+    }
+
+    private static CompletableFuture<Response> firstSuccessful(CompletableFuture<Response> a, CompletableFuture<Response> b) {
+        CompletableFuture<Response> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<Response> attempt : List.of(a, b)) {
+            attempt.whenComplete((response, error) -> {
+                if (error == null) {
+                    winner.complete(response);
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+        return winner;
+    }
+
+    private Response await(CompletableFuture<Response> future, String uri) {
+        try {
+            return future.get(requestTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + uri, e);
+        } catch (ExecutionException e) {
+            throw unwrap(e, uri);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new IllegalStateException("No response within " + requestTimeoutMillis + "ms: " + uri, e);
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e, String uri) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException) {
+            return (RuntimeException) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        if (cause instanceof IOException) {
+            return new UncheckedIOException("HTTP request failed: GET " + uri, (IOException) cause);
+        }
+        return new IllegalStateException("HTTP request failed: GET " + uri, cause);
+    }
+
+    public long getHedged() {
+        return hedged.sum();
+    }
+
+    public long getHedgeWins() {
+        return hedgeWins.sum();
+    }
+
+    public long getRateLimited() {
+        return rateLimited.sum();
+    }
+
+    @Override
+    public String getName() {
+        return "Hedging";
+    }
+
+    @Override
+    public String getSummary() {
+        long total = requests.sum();
+        String rate = total > 0 ? String.format("%.1f%%", 100.0 * hedged.sum() / total) : "0%";
+        return "hedged=" + hedged.sum() + " of " + total + " GETs (" + rate + "), hedge won=" + hedgeWins.sum()
+                + ", capped=" + rateLimited.sum();
+    }
+
+    @Override
+    public int getOrder() {
+        return RequestPipeline.HEDGING_ORDER;
+    }
+}
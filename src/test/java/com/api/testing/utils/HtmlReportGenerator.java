@@ -13,12 +13,18 @@ public class HtmlReportGenerator {
     private String reportName;
     private LocalDateTime reportTime;
     private List<TestResult> results;
+    private List<Section> sections;
+    private List<Chart> charts;
+    private static final String[] CHART_COLORS = {"#667eea", "#ee0979", "#11998e", "#ffa400", "#764ba2"};
+    private static final int CHART_MAX_POINTS = 1000;
     private static final String REPORTS_DIR = "target/api-test-reports/";
 
     public HtmlReportGenerator(String reportName) {
         this.reportName = reportName;
         this.reportTime = LocalDateTime.now();
         this.results = new ArrayList<>();
+        this.sections = new ArrayList<>();
+        this.charts = new ArrayList<>();
     }
 
     /**
@@ -29,12 +35,26 @@ public class HtmlReportGenerator {
     }
 
     /**
-     * Generate HTML report file
+     * Add a table after the test results, e.g. a profiling summary; cells are escaped
      */
-    public void generateReport() {
+    public void addSection(String title, List<String> headers, List<List<String>> rows) {
+        sections.add(new Section(title, headers, rows));
+    }
+
+    /**
+     * Add an inline SVG line chart over time; NaN values leave gaps
+     */
+    public void addLineChart(String title, String unit, long[] epochSeconds, Map<String, double[]> series) {
+        charts.add(new Chart(title, unit, epochSeconds, series));
+    }
+
+    /**
+     * Generate HTML report file, returning its path (null if it could not be written)
+     */
+    public String generateReport() {
         try {
             String fileName = REPORTS_DIR + "test-report-" + 
-                    reportTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd-HH-mm-ss")) + ".html";
+                    reportTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd-HH-mm-ss-SSS")) + ".html";
             
             // Create directory if not exists
             java.nio.file.Files.createDirectories(java.nio.file.Paths.get(REPORTS_DIR));
@@ -45,8 +65,10 @@ public class HtmlReportGenerator {
             }
             
             System.out.println("Report generated: " + fileName);
+            return fileName;
         } catch (IOException e) {
             System.err.println("Failed to generate HTML report: " + e.getMessage());
+            return null;
         }
     }
 
@@ -74,6 +96,8 @@ public class HtmlReportGenerator {
         html.append(getHeader());
         html.append(getStatistics(passed, failed, skipped, total, passRate));
         html.append(getDetailedResults());
+        html.append(getSections());
+        html.append(getCharts());
         html.append(getFooter());
         html.append("</body>\n");
         html.append("</html>");
@@ -108,6 +132,8 @@ public class HtmlReportGenerator {
         style.append(".status-badge.failed {background: #f8d7da; color: #721c24;}\n");
         style.append(".status-badge.skipped {background: #fff3cd; color: #856404;}\n");
         style.append(".footer {background: #f5f5f5; padding: 20px; text-align: center; color: #666; font-size: 0.9em; border-top: 1px solid #ddd;}\n");
+        style.append(".chart {width: 100%; height: auto; margin: 10px 0 20px 0;}\n");
+        style.append(".chart-legend span {display: inline-block; margin-right: 20px; font-size: 0.9em;}\n");
         style.append(".section-title {font-size: 1.5em; margin: 30px 0 20px 0; color: #333; border-bottom: 2px solid #667eea; padding-bottom: 10px;}\n");
         style.append("</style>\n");
         return style.toString();
@@ -141,6 +167,154 @@ public class HtmlReportGenerator {
         return html.toString();
     }
 
+    private String getSections() {
+        StringBuilder html = new StringBuilder();
+        for (Section section : sections) {
+            html.append("    <div class=\"content\"><div class=\"section-title\">").append(escape(section.title))
+                    .append("</div><table class=\"results-table\"><thead><tr>");
+            for (String header : section.headers) {
+                html.append("<th>").append(escape(header)).append("</th>");
+            }
+            html.append("</tr></thead><tbody>\n");
+            for (List<String> row : section.rows) {
+                html.append("<tr>");
+                for (String cell : row) {
+                    html.append("<td>").append(escape(cell)).append("</td>");
+                }
+                html.append("</tr>\n");
+            }
+            html.append("</tbody></table></div>\n");
+        }
+        return html.toString();
+    }
+
+    private String getCharts() {
+        if (charts.isEmpty()) {
+            return "";
+        }
+        StringBuilder html = new StringBuilder("    <div class=\"content\">\n");
+        for (Chart chart : charts) {
+            html.append("<div class=\"section-title\">").append(escape(chart.title)).append("</div><div class=\"chart-legend\">");
+            int color = 0;
+            for (String name : chart.series.keySet()) {
+                html.append("<span style=\"color: ").append(CHART_COLORS[color++ % CHART_COLORS.length])
+                        .append(";\">&#9632; ").append(escape(name)).append("</span>");
+            }
+            html.append("</div>\n").append(renderChart(chart)).append('\n');
+        }
+        html.append("</div>\n");
+        return html.toString();
+    }
+
+    /**
+     * SVG of one chart; long runs are reduced to CHART_MAX_POINTS points keeping each group's peak
+     */
+    private static String renderChart(Chart chart) {
+        int width = 1080;
+        int height = 260;
+        int left = 60;
+        int right = 10;
+        int top = 10;
+        int bottom = 30;
+        int n = chart.epochSeconds.length;
+        if (n == 0) {
+            return "";
+        }
+        int group = Math.max(1, (n + CHART_MAX_POINTS - 1) / CHART_MAX_POINTS);
+
+        List<double[]> reduced = new ArrayList<>();
+        double maxValue = 0;
+        for (double[] values : chart.series.values()) {
+            double[] points = new double[(n + group - 1) / group];
+            for (int i = 0; i < points.length; i++) {
+                double peak = Double.NaN;
+                for (int j = i * group; j < Math.min(n, (i + 1) * group); j++) {
+                    if (!Double.isNaN(values[j]) && (Double.isNaN(peak) || values[j] > peak)) {
+                        peak = values[j];
+                    }
+                }
+                points[i] = peak;
+                if (!Double.isNaN(peak)) {
+                    maxValue = Math.max(maxValue, peak);
+                }
+            }
+            reduced.add(points);
+        }
+        double scale = niceCeiling(maxValue);
+        long start = chart.epochSeconds[0];
+        double span = Math.max(1, chart.epochSeconds[n - 1] - start);
+        double plotWidth = width - left - right;
+        double plotHeight = height - top - bottom;
+
+        StringBuilder svg = new StringBuilder();
+        svg.append("<svg class=\"chart\" viewBox=\"0 0 ").append(width).append(' ').append(height)
+                .append("\" xmlns=\"http://www.w3.org/2000/svg\" font-size=\"11\" fill=\"#666\">");
+        for (int i = 0; i <= 4; i++) {
+            double y = top + plotHeight - plotHeight * i / 4;
+            svg.append(String.format(Locale.ROOT, "<line x1=\"%d\" y1=\"%.1f\" x2=\"%d\" y2=\"%.1f\" stroke=\"#eee\"/>",
+                    left, y, width - right, y));
+            svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%.1f\" text-anchor=\"end\">%s</text>",
+                    left - 6, y + 4, formatAxis(scale * i / 4) + (i == 4 ? " " + escape(chart.unit) : "")));
+        }
+        for (int i = 0; i <= 4; i++) {
+            double x = left + plotWidth * i / 4;
+            svg.append(String.format(Locale.ROOT, "<text x=\"%.1f\" y=\"%d\" text-anchor=\"middle\">%s</text>",
+                    x, height - 8, formatElapsed(Math.round(span * i / 4))));
+        }
+        int color = 0;
+        for (double[] points : reduced) {
+            StringBuilder path = new StringBuilder();
+            boolean drawing = false;
+            for (int i = 0; i < points.length; i++) {
+                if (Double.isNaN(points[i])) {
+                    drawing = false;
+                    continue;
+                }
+                double x = left + plotWidth * (chart.epochSeconds[i * group] - start) / span;
+                double y = top + plotHeight - plotHeight * points[i] / scale;
+                path.append(drawing ? 'L' : 'M').append(String.format(Locale.ROOT, "%.1f %.1f ", x, y));
+                drawing = true;
+            }
+            svg.append("<path d=\"").append(path.toString().trim()).append("\" fill=\"none\" stroke=\"")
+                    .append(CHART_COLORS[color++ % CHART_COLORS.length]).append("\" stroke-width=\"1.5\"/>");
+        }
+        svg.append("</svg>");
+        return svg.toString();
+    }
+
+    /**
+     * Smallest 1, 2 or 5 x 10^k at or above value
+     */
+    private static double niceCeiling(double value) {
+        if (value <= 0) {
+            return 1;
+        }
+        double magnitude = Math.pow(10, Math.floor(Math.log10(value)));
+        for (double step : new double[]{1, 2, 5, 10}) {
+            if (value <= step * magnitude) {
+                return step * magnitude;
+            }
+        }
+        return 10 * magnitude;
+    }
+
+    private static String formatAxis(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private static String formatElapsed(long seconds) {
+        return seconds >= 3600
+                ? String.format("%d:%02d:%02d", seconds / 3600, seconds / 60 % 60, seconds % 60)
+                : String.format("%d:%02d", seconds / 60, seconds % 60);
+    }
+
+    private static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
     private String getFooter() {
         String timestamp = reportTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
         return "        <div class=\"footer\"><p>RestAssured API Testing Framework | Report generated on " + timestamp + "</p></div></div>\n";
@@ -161,4 +335,30 @@ public class HtmlReportGenerator {
             this.responseBody = responseBody;
         }
     }
+
+    private static class Section {
+        String title;
+        List<String> headers;
+        List<List<String>> rows;
+
+        Section(String title, List<String> headers, List<List<String>> rows) {
+            this.title = title;
+            this.headers = headers;
+            this.rows = rows;
+        }
+    }
+
+    private static class Chart {
+        String title;
+        String unit;
+        long[] epochSeconds;
+        Map<String, double[]> series;
+
+        Chart(String title, String unit, long[] epochSeconds, Map<String, double[]> series) {
+            this.title = title;
+            this.unit = unit;
+            this.epochSeconds = epochSeconds;
+            this.series = series;
+        }
+    }
 }
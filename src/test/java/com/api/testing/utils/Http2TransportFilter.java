@@ -0,0 +1,89 @@
+package com.api.testing.utils;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.net.http.HttpClient;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Terminal pipeline stage that sends requests over the HTTP/2-capable HttpTransport
+ * instead of RestAssured's HTTP/1.1 client. Requests the transport cannot express
+ * (see HttpTransport.supports) continue down the normal RestAssured chain.
+ * The pipeline's instance is selected per request: only requests whose environment (the one bound
+ * to the calling thread, else the suite's) has http.transport=http2 take it. Its transport is
+ * created on first use and shared by all such environments.
+ */
+public class Http2TransportFilter implements ReportingFilter {
+    private static final Logger logger = LogManager.getLogger(Http2TransportFilter.class);
+
+    private final boolean perEnvironment;
+    private volatile HttpTransport transport;
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    /**
+     * Send every request over transport
+     */
+    public Http2TransportFilter(HttpTransport transport) {
+        this.transport = transport;
+        this.perEnvironment = false;
+    }
+
+    /**
+     * Send the requests of environments with http.transport=http2 over an HTTP/2 transport
+     */
+    public Http2TransportFilter() {
+        this.perEnvironment = true;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (perEnvironment && !"http2".equalsIgnoreCase(ConfigManager.getHttpTransport())) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        HttpTransport transport = getTransport();
+        if (!transport.supports(requestSpec)) {
+            fallbacks.incrementAndGet();
+            logger.debug("Falling back to HTTP/1.1 client for " + requestSpec.getMethod() + " " + requestSpec.getURI());
+            return ctx.next(requestSpec, responseSpec);
+        }
+        return transport.send(requestSpec);
+    }
+
+    public HttpTransport getTransport() {
+        HttpTransport current = transport;
+        if (current == null) {
+            synchronized (this) {
+                current = transport;
+                if (current == null) {
+                    current = new HttpTransport(HttpClient.Version.HTTP_2,
+                            ConfigManager.getConnectionTimeout(), ConfigManager.getRequestTimeout());
+                    transport = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public String getName() {
+        return "HTTP/2 Transport";
+    }
+
+    @Override
+    public String getSummary() {
+        HttpTransport current = transport;
+        return current == null ? "not used" : current.getSummary() + ", fallbacks=" + fallbacks.get();
+    }
+
+    @Override
+    public int getOrder() {
+        return RequestPipeline.TRANSPORT_ORDER;
+    }
+}
@@ -0,0 +1,333 @@
+package com.api.testing.utils;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client-side HTTP cache for GET requests.
+ * Entries are keyed by URI, the Authorization header and the request headers named in the
+ * response's Vary header, so one user's response is never served to another (the pipeline is
+ * shared by all tests and virtual users).
+ * Fresh entries (Cache-Control max-age / Expires) are served without a network call;
+ * stale entries are revalidated with If-None-Match / If-Modified-Since and a 304 reuses
+ * the cached body with the 304's headers merged in. Entries are evicted least-recently-used
+ * once the byte budget is exceeded.
+ */
+public class HttpCacheFilter implements ReportingFilter {
+    private static final Logger logger = LogManager.getLogger(HttpCacheFilter.class);
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, CacheEntry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, List<String>> varyByUri = new ConcurrentHashMap<>();
+    private long currentBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    public HttpCacheFilter(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String method = requestSpec.getMethod();
+        String uri = requestSpec.getURI();
+
+        if (!"GET".equalsIgnoreCase(method)) {
+            if (!"HEAD".equalsIgnoreCase(method) && !"OPTIONS".equalsIgnoreCase(method)) {
+                invalidate(uri);
+            }
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        List<String> requestDirectives = directives(requestSpec.getHeaders().getValue("Cache-Control"));
+        if (requestDirectives.contains("no-store")
+                || requestSpec.getHeaders().hasHeaderWithName("If-None-Match")
+                || requestSpec.getHeaders().hasHeaderWithName("If-Modified-Since")) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        String key = cacheKey(requestSpec, uri);
+        CacheEntry entry = lookup(key);
+        long now = System.currentTimeMillis();
+
+        if (entry != null && !entry.mustRevalidate && !requestDirectives.contains("no-cache") && now < entry.freshUntil) {
+            hits.incrementAndGet();
+            bytesSaved.addAndGet(entry.body.length);
+            logger.debug("Cache hit: " + uri);
+            return entry.toResponse();
+        }
+
+        if (entry != null) {
+            if (entry.etag != null) {
+                requestSpec.header("If-None-Match", entry.etag);
+            }
+            if (entry.lastModified != null) {
+                requestSpec.header("If-Modified-Since", entry.lastModified);
+            }
+        }
+
+        Response response = ctx.next(requestSpec, responseSpec);
+
+        if (entry != null && response.getStatusCode() == 304) {
+            revalidations.incrementAndGet();
+            bytesSaved.addAndGet(entry.body.length);
+            CacheEntry updated = entry.revalidated(response, System.currentTimeMillis());
+            replace(key, entry, updated);
+            logger.debug("Cache revalidated (304): " + uri);
+            return updated.toResponse();
+        }
+
+        misses.incrementAndGet();
+        if (response.getStatusCode() == 200) {
+            store(requestSpec, uri, response);
+        }
+        return response;
+    }
+
+    /**
+     * Store a response if its Cache-Control allows it
+     */
+    private void store(FilterableRequestSpecification requestSpec, String uri, Response response) {
+        List<String> responseDirectives = directives(response.getHeader("Cache-Control"));
+        String vary = response.getHeader("Vary");
+        if (responseDirectives.contains("no-store") || (vary != null && vary.trim().equals("*"))) {
+            return;
+        }
+
+        String etag = response.getHeader("ETag");
+        String lastModified = response.getHeader("Last-Modified");
+        long now = System.currentTimeMillis();
+        long freshUntil = freshUntil(response, now);
+        if (freshUntil <= now && etag == null && lastModified == null) {
+            return;
+        }
+
+        List<String> varyNames = new ArrayList<>();
+        if (vary != null) {
+            for (String name : vary.split(",")) {
+                if (!name.trim().isEmpty()) {
+                    varyNames.add(name.trim().toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        varyByUri.put(uri, varyNames);
+
+        byte[] body = response.asByteArray();
+        CacheEntry entry = new CacheEntry(uri, response, body, etag, lastModified, freshUntil,
+                responseDirectives.contains("no-cache"));
+
+        synchronized (entries) {
+            if (entry.size > maxBytes) {
+                return;
+            }
+            CacheEntry previous = entries.put(cacheKey(requestSpec, uri), entry);
+            if (previous != null) {
+                currentBytes -= previous.size;
+            }
+            currentBytes += entry.size;
+            evictIfNeeded();
+        }
+    }
+
+    /**
+     * Swap in the entry updated by a 304, unless it was evicted or replaced meanwhile
+     */
+    private void replace(String key, CacheEntry previous, CacheEntry updated) {
+        synchronized (entries) {
+            if (entries.get(key) != previous) {
+                return;
+            }
+            entries.put(key, updated);
+            currentBytes += updated.size - previous.size;
+            evictIfNeeded();
+        }
+    }
+
+    private CacheEntry lookup(String key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    /**
+     * Drop all entries for a URI after an unsafe method was sent to it
+     */
+    private void invalidate(String uri) {
+        synchronized (entries) {
+            Iterator<Map.Entry<String, CacheEntry>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                CacheEntry entry = it.next().getValue();
+                if (entry.uri.equals(uri)) {
+                    currentBytes -= entry.size;
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, CacheEntry>> it = entries.entrySet().iterator();
+        while (currentBytes > maxBytes && it.hasNext()) {
+            CacheEntry eldest = it.next().getValue();
+            currentBytes -= eldest.size;
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private String cacheKey(FilterableRequestSpecification requestSpec, String uri) {
+        List<String> varyNames = varyByUri.getOrDefault(uri, Collections.emptyList());
+        StringBuilder key = new StringBuilder(uri);
+        String authorization = requestSpec.getHeaders().getValue("Authorization");
+        if (authorization != null) {
+            key.append("\nauthorization=").append(authorization);
+        }
+        for (String name : varyNames) {
+            key.append('\n').append(name).append('=').append(requestSpec.getHeaders().getValue(name));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Compute the freshness deadline from Cache-Control max-age or Expires
+     */
+    private static long freshUntil(Response response, long now) {
+        for (String directive : directives(response.getHeader("Cache-Control"))) {
+            if (directive.startsWith("max-age=")) {
+                try {
+                    return now + Long.parseLong(directive.substring("max-age=".length())) * 1000;
+                } catch (NumberFormatException e) {
+                    return now;
+                }
+            }
+        }
+        String expires = response.getHeader("Expires");
+        if (expires != null) {
+            try {
+                return ZonedDateTime.parse(expires, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                return now;
+            }
+        }
+        return now;
+    }
+
+    private static List<String> directives(String cacheControl) {
+        if (cacheControl == null) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>();
+        for (String directive : cacheControl.split(",")) {
+            result.add(directive.trim().toLowerCase(Locale.ROOT));
+        }
+        return result;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getRevalidations() {
+        return revalidations.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @Override
+    public String getName() {
+        return "HTTP Cache";
+    }
+
+    @Override
+    public String getSummary() {
+        return "hits=" + hits.get() + ", revalidated=" + revalidations.get() + ", misses=" + misses.get()
+                + ", evictions=" + evictions.get() + ", saved=" + bytesSaved.get() / 1024 + "KB";
+    }
+
+    @Override
+    public int getOrder() {
+        return RequestPipeline.CACHE_ORDER;
+    }
+
+    /**
+     * Cached response body plus the validators needed to revalidate it
+     */
+    private static class CacheEntry {
+        final String uri;
+        final Response template;
+        final byte[] body;
+        final String etag;
+        final String lastModified;
+        final boolean mustRevalidate;
+        final long size;
+        final long freshUntil;
+
+        CacheEntry(String uri, Response template, byte[] body, String etag, String lastModified,
+                   long freshUntil, boolean mustRevalidate) {
+            this.uri = uri;
+            this.template = template;
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.freshUntil = freshUntil;
+            this.mustRevalidate = mustRevalidate;
+            this.size = body.length + template.getHeaders().toString().length();
+        }
+
+        Response toResponse() {
+            return new ResponseBuilder().clone(template).setBody(body).build();
+        }
+
+        /**
+         * Entry after a 304: the 304's headers (Cache-Control, ETag, Date, ...) replace the stored
+         * ones of the same name, as RFC 9111 4.3.4 requires; the body is kept
+         */
+        CacheEntry revalidated(Response notModified, long now) {
+            List<Header> merged = new ArrayList<>();
+            for (Header header : template.getHeaders()) {
+                if (!notModified.getHeaders().hasHeaderWithName(header.getName())) {
+                    merged.add(header);
+                }
+            }
+            for (Header header : notModified.getHeaders()) {
+                if (!"Content-Length".equalsIgnoreCase(header.getName())
+                        && !"Transfer-Encoding".equalsIgnoreCase(header.getName())) {
+                    merged.add(header);
+                }
+            }
+            Response updated = new ResponseBuilder().clone(template).setHeaders(new Headers(merged)).build();
+            return new CacheEntry(uri, updated, body,
+                    notModified.getHeader("ETag") != null ? notModified.getHeader("ETag") : etag,
+                    notModified.getHeader("Last-Modified") != null ? notModified.getHeader("Last-Modified") : lastModified,
+                    freshUntil(updated, now), directives(updated.getHeader("Cache-Control")).contains("no-cache"));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.api.testing.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event for one HTTP exchange sent through the request pipeline.
+ * The event's own duration covers the exchange as seen by the client; socket-level detail
+ * (jdk.SocketRead/jdk.SocketWrite), GC and thread parking for the same thread come from the
+ * JDK's built-in events in the same recording.
+ */
+@Name("com.api.testing.HttpRequest")
+@Label("HTTP Request")
+@Category({"API Testing", "HTTP"})
+@Description("HTTP request sent by the test framework")
+@StackTrace(false)
+public class HttpRequestEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Endpoint")
+    @Description("Method, host and path template, e.g. GET host/posts/{id}")
+    String endpoint;
+
+    @Label("URL")
+    String url;
+
+    @Label("Environment")
+    String environment;
+
+    @Label("Status")
+    int status;
+
+    @Label("Request Bytes")
+    @DataAmount
+    long requestBytes;
+
+    @Label("Response Bytes")
+    @DataAmount
+    long responseBytes;
+
+    @Label("Time To Response")
+    @Description("Time until the response was received, as measured by RestAssured")
+    @Timespan(Timespan.MILLISECONDS)
+    long responseTime;
+
+    @Label("Failure")
+    @Description("Exception type when no response was received")
+    String failure;
+}
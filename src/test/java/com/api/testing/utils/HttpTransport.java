@@ -0,0 +1,310 @@
+package com.api.testing.utils;
+
+import io.restassured.authentication.AuthenticationScheme;
+import io.restassured.authentication.BasicAuthScheme;
+import io.restassured.authentication.NoAuthScheme;
+import io.restassured.authentication.PreemptiveBasicAuthScheme;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.time.TimingFilter;
+import io.restassured.http.Cookie;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.internal.RestAssuredResponseImpl;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Request transport backed by the JDK HttpClient.
+ * Unlike the Apache HttpClient 4 bundled with RestAssured it speaks HTTP/2 (ALPN over TLS,
+ * h2c upgrade over cleartext) and multiplexes concurrent requests as streams over a single
+ * connection per host, falling back to HTTP/1.1 when the server does not negotiate HTTP/2.
+ * Requests are converted from RestAssured specifications and responses back into RestAssured
+ * responses, so callers keep the usual then()/extract() API.
+ */
+public class HttpTransport {
+    private static final Logger logger = LogManager.getLogger(HttpTransport.class);
+    private static final Set<String> RESTRICTED_HEADERS = Set.of(
+            "connection", "content-length", "expect", "host", "upgrade", "http2-settings");
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+
+    private final AtomicInteger activeStreams = new AtomicInteger();
+    private final AtomicInteger peakStreams = new AtomicInteger();
+    private final AtomicLong http2Responses = new AtomicLong();
+    private final AtomicLong http1Responses = new AtomicLong();
+    private final AtomicLong totalStreamMillis = new AtomicLong();
+
+    public HttpTransport(HttpClient.Version version, int connectTimeoutMillis, int requestTimeoutMillis) {
+        this.client = HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .sslContext(trustAllSslContext())
+                .build();
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+    }
+
+    /**
+     * Check whether a RestAssured request can be expressed on this transport
+     * (multipart bodies, proxies and non-basic auth schemes stay on the default client)
+     */
+    public boolean supports(FilterableRequestSpecification requestSpec) {
+        AuthenticationScheme auth = requestSpec.getAuthenticationScheme();
+        boolean supportedAuth = auth == null || auth instanceof NoAuthScheme
+                || auth instanceof BasicAuthScheme || auth instanceof PreemptiveBasicAuthScheme;
+        return supportedAuth
+                && requestSpec.getMultiPartParams().isEmpty()
+                && requestSpec.getProxySpecification() == null;
+    }
+
+    /**
+     * Convert a RestAssured request specification into a JDK request
+     */
+    public HttpRequest toHttpRequest(FilterableRequestSpecification requestSpec) {
+        // A per-request socket timeout (e.g. from AdaptiveTimeoutFilter) overrides the client default
+        Object socketTimeout = requestSpec.getConfig().getHttpClientConfig().params().get("http.socket.timeout");
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(requestSpec.getURI()))
+                .timeout(socketTimeout instanceof Number && ((Number) socketTimeout).longValue() > 0
+                        ? Duration.ofMillis(((Number) socketTimeout).longValue()) : requestTimeout);
+
+        for (Header header : requestSpec.getHeaders()) {
+            if (!RESTRICTED_HEADERS.contains(header.getName().toLowerCase(Locale.ROOT))) {
+                builder.header(header.getName(), header.getValue());
+            }
+        }
+        if (requestSpec.getCookies().exist()) {
+            List<String> cookies = new ArrayList<>();
+            for (Cookie cookie : requestSpec.getCookies()) {
+                cookies.add(cookie.getName() + "=" + cookie.getValue());
+            }
+            builder.header("Cookie", String.join("; ", cookies));
+        }
+        String authorization = basicAuthorization(requestSpec.getAuthenticationScheme());
+        if (authorization != null && !requestSpec.getHeaders().hasHeaderWithName("Authorization")) {
+            builder.header("Authorization", authorization);
+        }
+
+        builder.method(requestSpec.getMethod(), bodyPublisher(requestSpec, builder));
+        return builder.build();
+    }
+
+    /**
+     * Send a RestAssured request synchronously
+     */
+    public Response send(FilterableRequestSpecification requestSpec) {
+        HttpRequest request = toHttpRequest(requestSpec);
+        long start = System.nanoTime();
+        streamOpened();
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            return toResponse(response, start);
+        } catch (IOException e) {
+            throw new UncheckedIOException("HTTP request failed: " + request.method() + " " + request.uri(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + request.uri(), e);
+        } finally {
+            streamClosed(start);
+        }
+    }
+
+    /**
+     * Send a request without blocking the calling thread; cancelling the returned future aborts
+     * the exchange
+     */
+    public CompletableFuture<Response> sendAsync(HttpRequest request) {
+        long start = System.nanoTime();
+        streamOpened();
+        CompletableFuture<HttpResponse<byte[]>> exchange = client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        CompletableFuture<Response> response = exchange
+                .whenComplete((httpResponse, error) -> streamClosed(start))
+                .thenApply(httpResponse -> toResponse(httpResponse, start));
+        response.whenComplete((r, error) -> {
+            if (error instanceof CancellationException) {
+                exchange.cancel(true);
+            }
+        });
+        return response;
+    }
+
+    private Response toResponse(HttpResponse<byte[]> httpResponse, long startNanos) {
+        if (httpResponse.version() == HttpClient.Version.HTTP_2) {
+            http2Responses.incrementAndGet();
+        } else {
+            http1Responses.incrementAndGet();
+        }
+
+        List<Header> headers = new ArrayList<>();
+        httpResponse.headers().map().forEach((name, values) -> {
+            if (!name.startsWith(":")) {
+                for (String value : values) {
+                    headers.add(new Header(name, value));
+                }
+            }
+        });
+
+        ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(httpResponse.statusCode())
+                .setStatusLine(protocol(httpResponse.version()) + " " + httpResponse.statusCode())
+                .setHeaders(new Headers(headers))
+                .setBody(httpResponse.body());
+        httpResponse.headers().firstValue("Content-Type").ifPresent(builder::setContentType);
+        Response response = builder.build();
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(TimingFilter.RESPONSE_TIME_MILLISECONDS, (System.nanoTime() - startNanos) / 1_000_000);
+        ((RestAssuredResponseImpl) response).setFilterContextProperties(properties);
+        return response;
+    }
+
+    private HttpRequest.BodyPublisher bodyPublisher(FilterableRequestSpecification requestSpec, HttpRequest.Builder builder) {
+        Object body = requestSpec.getBody();
+        if (body instanceof byte[]) {
+            return HttpRequest.BodyPublishers.ofByteArray((byte[]) body);
+        }
+        if (body != null) {
+            return HttpRequest.BodyPublishers.ofString(body.toString(), charsetOf(requestSpec.getContentType()));
+        }
+        if (!requestSpec.getFormParams().isEmpty()) {
+            List<String> pairs = new ArrayList<>();
+            requestSpec.getFormParams().forEach((name, value) ->
+                    pairs.add(URLEncoder.encode(name, StandardCharsets.UTF_8) + "="
+                            + URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8)));
+            if (!requestSpec.getHeaders().hasHeaderWithName("Content-Type")) {
+                builder.header("Content-Type", "application/x-www-form-urlencoded; charset=UTF-8");
+            }
+            return HttpRequest.BodyPublishers.ofString(String.join("&", pairs));
+        }
+        return HttpRequest.BodyPublishers.noBody();
+    }
+
+    private static String basicAuthorization(AuthenticationScheme auth) {
+        String userName = null;
+        String password = null;
+        if (auth instanceof BasicAuthScheme) {
+            userName = ((BasicAuthScheme) auth).getUserName();
+            password = ((BasicAuthScheme) auth).getPassword();
+        } else if (auth instanceof PreemptiveBasicAuthScheme) {
+            userName = ((PreemptiveBasicAuthScheme) auth).getUserName();
+            password = ((PreemptiveBasicAuthScheme) auth).getPassword();
+        }
+        if (userName == null) {
+            return null;
+        }
+        String credentials = userName + ":" + password;
+        return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Charset charsetOf(String contentType) {
+        if (contentType != null) {
+            for (String part : contentType.split(";")) {
+                String trimmed = part.trim();
+                if (trimmed.toLowerCase(Locale.ROOT).startsWith("charset=")) {
+                    try {
+                        return Charset.forName(trimmed.substring("charset=".length()).replace("\"", ""));
+                    } catch (IllegalArgumentException e) {
+                        logger.warn("Unknown request charset: " + trimmed);
+                    }
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private static String protocol(HttpClient.Version version) {
+        return version == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1";
+    }
+
+    private void streamOpened() {
+        int active = activeStreams.incrementAndGet();
+        peakStreams.accumulateAndGet(active, Math::max);
+    }
+
+    private void streamClosed(long startNanos) {
+        activeStreams.decrementAndGet();
+        totalStreamMillis.addAndGet((System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * Trust-all TLS context, matching RestAssured.useRelaxedHTTPSValidation() in BaseTest
+     */
+    static SSLContext trustAllSslContext() {
+        TrustManager trustAll = new X509TrustManager() {
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public X509Certificate[] getAcceptedIssuers() {
+                return new X509Certificate[0];
+            }
+        };
+        try {
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, new TrustManager[]{trustAll}, null);
+            return context;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot create TLS context", e);
+        }
+    }
+
+    public int getActiveStreams() {
+        return activeStreams.get();
+    }
+
+    public int getPeakStreams() {
+        return peakStreams.get();
+    }
+
+    public long getHttp2Responses() {
+        return http2Responses.get();
+    }
+
+    public long getHttp1Responses() {
+        return http1Responses.get();
+    }
+
+    /**
+     * One-line stream statistics for the pipeline report
+     */
+    public String getSummary() {
+        long total = http2Responses.get() + http1Responses.get();
+        long avg = total > 0 ? totalStreamMillis.get() / total : 0;
+        return "h2=" + http2Responses.get() + ", http/1.1=" + http1Responses.get()
+                + ", peak streams=" + peakStreams.get() + ", avg stream=" + avg + "ms";
+    }
+}
@@ -0,0 +1,383 @@
+package com.api.testing.utils;
+
+import io.restassured.response.Response;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Extracts single values from a JSON document addressed by a JSON Pointer (RFC 6901)
+ * without building a parse tree. The scanner skips everything that is not on the
+ * path to the requested value and stops reading as soon as the value is complete,
+ * so fields near the start of a large response cost only a short prefix scan.
+ *
+ * Example: getInt(response, "/id") or getString(response, "/0/address/city")
+ */
+public class JsonFieldExtractor {
+    private static final Logger logger = LogManager.getLogger(JsonFieldExtractor.class);
+    private static final int BUFFER_SIZE = 8192;
+
+    private JsonFieldExtractor() {
+    }
+
+    /**
+     * Get the raw JSON text of the value at the pointer, or null when the path does not exist
+     */
+    public static String getRaw(InputStream input, String pointer) {
+        try {
+            return new Scanner(input).find(parsePointer(pointer));
+        } catch (IOException e) {
+            logger.error("Failed to read JSON while extracting: " + pointer, e);
+            throw new UncheckedIOException("Cannot read JSON for pointer: " + pointer, e);
+        }
+    }
+
+    /**
+     * Get the raw JSON text of the value at the pointer from a byte array
+     */
+    public static String getRaw(byte[] json, String pointer) {
+        return getRaw(new ByteArrayInputStream(json), pointer);
+    }
+
+    /**
+     * Get the raw JSON text of the value at the pointer from a RestAssured response
+     */
+    public static String getRaw(Response response, String pointer) {
+        return getRaw(response.asByteArray(), pointer);
+    }
+
+    /**
+     * Get a string value (JSON strings are unescaped, other values returned as raw text)
+     */
+    public static String getString(Response response, String pointer) {
+        return toStringValue(getRaw(response, pointer));
+    }
+
+    /**
+     * Get a string value from a byte array
+     */
+    public static String getString(byte[] json, String pointer) {
+        return toStringValue(getRaw(json, pointer));
+    }
+
+    /**
+     * Get an integer value
+     */
+    public static Integer getInt(Response response, String pointer) {
+        String raw = getRaw(response, pointer);
+        return isNullValue(raw) ? null : Integer.valueOf(raw);
+    }
+
+    /**
+     * Get an integer value from a byte array
+     */
+    public static Integer getInt(byte[] json, String pointer) {
+        String raw = getRaw(json, pointer);
+        return isNullValue(raw) ? null : Integer.valueOf(raw);
+    }
+
+    /**
+     * Get a long value
+     */
+    public static Long getLong(Response response, String pointer) {
+        String raw = getRaw(response, pointer);
+        return isNullValue(raw) ? null : Long.valueOf(raw);
+    }
+
+    /**
+     * Get a double value
+     */
+    public static Double getDouble(Response response, String pointer) {
+        String raw = getRaw(response, pointer);
+        return isNullValue(raw) ? null : Double.valueOf(raw);
+    }
+
+    /**
+     * Get a boolean value
+     */
+    public static Boolean getBoolean(Response response, String pointer) {
+        String raw = getRaw(response, pointer);
+        return isNullValue(raw) ? null : Boolean.valueOf(raw);
+    }
+
+    /**
+     * Check whether the pointer resolves to a value (JSON null counts as present)
+     */
+    public static boolean exists(Response response, String pointer) {
+        return getRaw(response, pointer) != null;
+    }
+
+    private static boolean isNullValue(String raw) {
+        return raw == null || "null".equals(raw);
+    }
+
+    private static String toStringValue(String raw) {
+        if (isNullValue(raw)) {
+            return null;
+        }
+        if (raw.startsWith("\"")) {
+            try {
+                Scanner scanner = new Scanner(new ByteArrayInputStream(raw.getBytes(StandardCharsets.UTF_8)));
+                scanner.expect('"');
+                return scanner.readString();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return raw;
+    }
+
+    /**
+     * Split a JSON Pointer into unescaped reference tokens ("" addresses the whole document)
+     */
+    static String[] parsePointer(String pointer) {
+        if (pointer == null || pointer.isEmpty()) {
+            return new String[0];
+        }
+        if (pointer.charAt(0) != '/') {
+            throw new IllegalArgumentException("JSON Pointer must start with '/': " + pointer);
+        }
+        String[] tokens = pointer.substring(1).split("/", -1);
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = tokens[i].replace("~1", "/").replace("~0", "~");
+        }
+        return tokens;
+    }
+
+    /**
+     * Minimal pull scanner over UTF-8 JSON bytes
+     */
+    private static class Scanner {
+        private final InputStream input;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private int limit;
+        private ByteArrayOutputStream capture;
+
+        Scanner(InputStream input) {
+            this.input = input;
+        }
+
+        String find(String[] tokens) throws IOException {
+            for (String token : tokens) {
+                int c = skipWhitespace();
+                if (c == '{') {
+                    if (!seekMember(token)) {
+                        return null;
+                    }
+                } else if (c == '[') {
+                    if (!seekElement(token)) {
+                        return null;
+                    }
+                } else {
+                    return null;
+                }
+            }
+            skipWhitespace();
+            capture = new ByteArrayOutputStream();
+            skipValue();
+            String value = new String(capture.toByteArray(), StandardCharsets.UTF_8);
+            capture = null;
+            return value;
+        }
+
+        /**
+         * Position the scanner at the value of the named member of the current object
+         */
+        private boolean seekMember(String name) throws IOException {
+            read();
+            int c = skipWhitespace();
+            if (c == '}') {
+                return false;
+            }
+            while (true) {
+                expect('"');
+                String key = readString();
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                if (key.equals(name)) {
+                    return true;
+                }
+                skipValue();
+                c = skipWhitespace();
+                read();
+                if (c == '}') {
+                    return false;
+                }
+                if (c != ',') {
+                    throw new IllegalStateException("Malformed JSON object, unexpected '" + (char) c + "'");
+                }
+                skipWhitespace();
+            }
+        }
+
+        /**
+         * Position the scanner at the indexed element of the current array
+         */
+        private boolean seekElement(String token) throws IOException {
+            int index;
+            try {
+                index = Integer.parseInt(token);
+            } catch (NumberFormatException e) {
+                return false;
+            }
+            read();
+            int c = skipWhitespace();
+            if (c == ']') {
+                return false;
+            }
+            for (int i = 0; ; i++) {
+                if (i == index) {
+                    return true;
+                }
+                skipValue();
+                c = skipWhitespace();
+                read();
+                if (c == ']') {
+                    return false;
+                }
+                if (c != ',') {
+                    throw new IllegalStateException("Malformed JSON array, unexpected '" + (char) c + "'");
+                }
+                skipWhitespace();
+            }
+        }
+
+        /**
+         * Consume one complete value without materializing it
+         */
+        private void skipValue() throws IOException {
+            int c = peek();
+            if (c == '"') {
+                read();
+                skipString();
+            } else if (c == '{' || c == '[') {
+                int depth = 0;
+                do {
+                    c = read();
+                    if (c == '"') {
+                        skipString();
+                    } else if (c == '{' || c == '[') {
+                        depth++;
+                    } else if (c == '}' || c == ']') {
+                        depth--;
+                    } else if (c < 0) {
+                        throw new IllegalStateException("Unexpected end of JSON input");
+                    }
+                } while (depth > 0);
+            } else {
+                while (true) {
+                    c = peek();
+                    if (c < 0 || c == ',' || c == '}' || c == ']' || isWhitespace(c)) {
+                        return;
+                    }
+                    read();
+                }
+            }
+        }
+
+        private void skipString() throws IOException {
+            while (true) {
+                int c = read();
+                if (c == '\\') {
+                    read();
+                } else if (c == '"') {
+                    return;
+                } else if (c < 0) {
+                    throw new IllegalStateException("Unterminated JSON string");
+                }
+            }
+        }
+
+        /**
+         * Read and unescape a string whose opening quote was already consumed
+         */
+        String readString() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            StringBuilder text = new StringBuilder();
+            while (true) {
+                int c = read();
+                if (c == '"') {
+                    break;
+                }
+                if (c < 0) {
+                    throw new IllegalStateException("Unterminated JSON string");
+                }
+                if (c != '\\') {
+                    bytes.write(c);
+                    continue;
+                }
+                text.append(new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+                bytes.reset();
+                int escape = read();
+                switch (escape) {
+                    case 'b': text.append('\b'); break;
+                    case 'f': text.append('\f'); break;
+                    case 'n': text.append('\n'); break;
+                    case 'r': text.append('\r'); break;
+                    case 't': text.append('\t'); break;
+                    case 'u':
+                        char[] hex = new char[4];
+                        for (int i = 0; i < 4; i++) {
+                            hex[i] = (char) read();
+                        }
+                        text.append((char) Integer.parseInt(new String(hex), 16));
+                        break;
+                    default: text.append((char) escape);
+                }
+            }
+            return text.append(new String(bytes.toByteArray(), StandardCharsets.UTF_8)).toString();
+        }
+
+        void expect(char expected) throws IOException {
+            int c = read();
+            if (c != expected) {
+                throw new IllegalStateException("Expected '" + expected + "' but found '" + (char) c + "'");
+            }
+        }
+
+        private int skipWhitespace() throws IOException {
+            int c = peek();
+            while (isWhitespace(c)) {
+                read();
+                c = peek();
+            }
+            return c;
+        }
+
+        private boolean isWhitespace(int c) {
+            return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+        }
+
+        private int peek() throws IOException {
+            if (position >= limit && !fill()) {
+                return -1;
+            }
+            return buffer[position] & 0xFF;
+        }
+
+        private int read() throws IOException {
+            if (position >= limit && !fill()) {
+                return -1;
+            }
+            int c = buffer[position++] & 0xFF;
+            if (capture != null) {
+                capture.write(c);
+            }
+            return c;
+        }
+
+        private boolean fill() throws IOException {
+            limit = input.read(buffer, 0, buffer.length);
+            position = 0;
+            return limit > 0;
+        }
+    }
+}
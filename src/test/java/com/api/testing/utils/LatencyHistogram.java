@@ -0,0 +1,156 @@
+package com.api.testing.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear latency histogram (microsecond resolution).
+ * Each power of two is split into 16 linear sub-buckets, so any recorded value is reported
+ * within about 6% of its true value while the whole range (1µs to hours) fits in a few hundred
+ * counters. Recording is a single atomic increment, percentiles are computed on read, and
+ * histograms can be merged (e.g. per-endpoint into per-host, or across worker processes).
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS + SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+    private final AtomicLong minMicros = new AtomicLong(Long.MAX_VALUE);
+
+    public void recordMicros(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.increment();
+        totalMicros.add(value);
+        maxMicros.accumulateAndGet(value, Math::max);
+        minMicros.accumulateAndGet(value, Math::min);
+    }
+
+    /**
+     * Record the same value count times (e.g. when restoring exported buckets)
+     */
+    public void recordMicros(long micros, long count) {
+        if (count <= 0) {
+            return;
+        }
+        long value = Math.max(0, micros);
+        counts.addAndGet(bucketIndex(value), count);
+        totalCount.add(count);
+        totalMicros.add(value * count);
+        maxMicros.accumulateAndGet(value, Math::max);
+        minMicros.accumulateAndGet(value, Math::min);
+    }
+
+    public void recordMillis(long millis) {
+        recordMicros(millis * 1000);
+    }
+
+    public void recordNanos(long nanos) {
+        recordMicros(nanos / 1000);
+    }
+
+    /**
+     * Add all observations of another histogram to this one
+     */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = other.counts.get(i);
+            if (count > 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.add(other.totalCount.sum());
+        totalMicros.add(other.totalMicros.sum());
+        maxMicros.accumulateAndGet(other.maxMicros.get(), Math::max);
+        minMicros.accumulateAndGet(other.minMicros.get(), Math::min);
+    }
+
+    /**
+     * Value at a percentile (0-100) in microseconds; 0 when empty
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = totalCount.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+
+    public long getPercentileMillis(double percentile) {
+        return getValueAtPercentile(percentile) / 1000;
+    }
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    public double getMeanMicros() {
+        long count = totalCount.sum();
+        return count == 0 ? 0 : totalMicros.sum() / (double) count;
+    }
+
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    public long getMinMicros() {
+        long min = minMicros.get();
+        return min == Long.MAX_VALUE ? 0 : min;
+    }
+
+    /**
+     * Raw bucket counts with their upper bounds in microseconds, for export
+     */
+    public long[][] getBuckets() {
+        int nonEmpty = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (counts.get(i) > 0) {
+                nonEmpty++;
+            }
+        }
+        long[][] buckets = new long[nonEmpty][];
+        int n = 0;
+        for (int i = 0; i < BUCKET_COUNT && n < nonEmpty; i++) {
+            long count = counts.get(i);
+            if (count > 0) {
+                buckets[n++] = new long[]{bucketUpperBound(i), count};
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Values below 16 get their own bucket; above that, 16 buckets per power of two
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,53 @@
+package com.api.testing.utils;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Latency and error-rate objective for the requests a test issues, checked by TestReportListener
+ * over every request of the test (all data-provider rows and invocations together) rather than
+ * on a single response time.
+ * On a method the objective covers that method; on a class it covers all requests of the class's
+ * methods that have no objective of their own.
+ * <pre>
+ * &#64;LatencySlo(p99 = "200ms", errorRate = "0.1%")
+ * public class GetRequestTest extends BaseTest { ... }
+ * </pre>
+ * Durations take a us, ms or s suffix; the error rate is a percentage or a fraction. Errors are
+ * 5xx responses and requests that failed without a response.
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface LatencySlo {
+
+    /**
+     * Highest allowed median latency (e.g. "50ms"); empty for no objective
+     */
+    String p50() default "";
+
+    /**
+     * Highest allowed 95th percentile latency
+     */
+    String p95() default "";
+
+    /**
+     * Highest allowed 99th percentile latency
+     */
+    String p99() default "";
+
+    /**
+     * Highest allowed share of failed requests (e.g. "0.1%" or "0.001")
+     */
+    String errorRate() default "";
+
+    /**
+     * Requests needed before the objective is checked; fewer are reported as insufficient
+     */
+    int minRequests() default 20;
+}
@@ -0,0 +1,71 @@
+package com.api.testing.utils;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+
+/**
+ * Records each request in the @LatencySlo scope bound to the calling thread. It sits next to the
+ * metrics filter, so each network attempt counts once; requests from tests without an objective
+ * pass straight through.
+ */
+public class LatencySloFilter implements ReportingFilter, AsyncStage {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        LatencySloTracker.Binding binding = LatencySloTracker.current();
+        if (binding == null) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        long start = System.nanoTime();
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            binding.record(System.nanoTime() - start, response.statusCode() >= 500);
+            return response;
+        } catch (Exception e) {
+            // RestAssured rethrows checked IOExceptions undeclared
+            binding.recordFailure();
+            throw e;
+        }
+    }
+
+    /**
+     * Async requests are recorded in the scope bound to the thread that sends them
+     */
+    @Override
+    public Exchange begin(String method, URI uri, String endpointKey) {
+        LatencySloTracker.Binding binding = LatencySloTracker.current();
+        return (status, error, nanos) -> {
+            if (binding == null) {
+                return;
+            }
+            if (error != null) {
+                binding.recordFailure();
+            } else {
+                binding.record(nanos, status >= 500);
+            }
+        };
+    }
+
+    @Override
+    public String getName() {
+        return "Latency SLO";
+    }
+
+    @Override
+    public String getSummary() {
+        long violated = LatencySloTracker.global().getScopes().stream()
+                .filter(scope -> !scope.getViolations().isEmpty()).count();
+        return LatencySloTracker.global().getScopes().size() + " scopes, " + violated + " violated";
+    }
+
+    @Override
+    public int getOrder() {
+        return RequestPipeline.SLO_ORDER;
+    }
+}
@@ -0,0 +1,358 @@
+package com.api.testing.utils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Collects the requests of tests that declare a @LatencySlo and checks them against it.
+ * TestReportListener binds the test's scope to the test thread for each invocation; requests sent
+ * from that thread, or from threads it starts while bound, are recorded by LatencySloFilter and
+ * AsyncRequestClient. A scope lives for the whole run, so data-provider rows and repeated
+ * invocations add up to one distribution.
+ */
+public class LatencySloTracker {
+    private static final LatencySloTracker GLOBAL = new LatencySloTracker();
+    private static final InheritableThreadLocal<Binding> CURRENT = new InheritableThreadLocal<>();
+    private static final Pattern DURATION = Pattern.compile("(\\d+(?:\\.\\d+)?)\\s*(us|ms|s)");
+
+    private final ConcurrentHashMap<String, Scope> scopes = new ConcurrentHashMap<>();
+
+    /**
+     * Tracker used by the listener and the request pipeline
+     */
+    public static LatencySloTracker global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Objective of a test method: its own, else its class's; null when neither declares one
+     */
+    public static LatencySlo find(Class<?> testClass, Method method) {
+        LatencySlo slo = method.getAnnotation(LatencySlo.class);
+        return slo != null ? slo : testClass.getAnnotation(LatencySlo.class);
+    }
+
+    /**
+     * Scope a test method's requests count towards: the method when it declares the objective,
+     * otherwise its class
+     */
+    public static String scopeName(Class<?> testClass, Method method) {
+        return method.isAnnotationPresent(LatencySlo.class)
+                ? testClass.getName() + "." + method.getName() : testClass.getName();
+    }
+
+    /**
+     * Record the calling thread's requests (and those of threads it starts) in a scope
+     */
+    public Binding bind(String name, LatencySlo slo) {
+        Binding binding = new Binding(scopes.computeIfAbsent(name, key -> new Scope(key, slo)));
+        CURRENT.set(binding);
+        return binding;
+    }
+
+    /**
+     * Record the calling thread's requests in an existing binding, e.g. on a pool thread working
+     * for a test; null detaches the thread
+     */
+    public static void attach(Binding binding) {
+        if (binding == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(binding);
+        }
+    }
+
+    /**
+     * Stop recording for a binding, including in threads that inherited it
+     */
+    public static void unbind(Binding binding) {
+        binding.active = false;
+        if (CURRENT.get() == binding) {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Binding of the calling thread, or null when its requests are not tracked
+     */
+    public static Binding current() {
+        Binding binding = CURRENT.get();
+        return binding != null && binding.active ? binding : null;
+    }
+
+    public Scope getScope(String name) {
+        return scopes.get(name);
+    }
+
+    /**
+     * All scopes, sorted by name
+     */
+    public List<Scope> getScopes() {
+        return new ArrayList<>(new TreeMap<>(scopes).values());
+    }
+
+    /**
+     * Add every scope with its objective, measured values and status to the HTML report
+     */
+    public void appendTo(HtmlReportGenerator report) {
+        List<List<String>> rows = new ArrayList<>();
+        int violated = 0;
+        for (Scope scope : getScopes()) {
+            LatencyHistogram latencies = scope.getLatencies();
+            List<String> violations = scope.getViolations();
+            if (!violations.isEmpty()) {
+                violated++;
+            }
+            rows.add(List.of(scope.getStatus(), scope.getName(), scope.describeObjective(),
+                    String.valueOf(scope.getRequests()),
+                    formatMicros(latencies.getValueAtPercentile(50)), formatMicros(latencies.getValueAtPercentile(95)),
+                    formatMicros(latencies.getValueAtPercentile(99)),
+                    String.format(Locale.ROOT, "%.2f%%", scope.getErrorRate() * 100),
+                    String.join("; ", violations)));
+        }
+        report.addSection("🎯 Latency SLOs (" + violated + " of " + rows.size() + " violated)",
+                List.of("Status", "Scope", "Objective", "Requests", "p50", "p95", "p99", "Errors", "Violations"), rows);
+    }
+
+    /**
+     * Parse "250ms", "1.5s" or "800us" to microseconds
+     */
+    static long parseMicros(String value) {
+        Matcher matcher = DURATION.matcher(value.trim().toLowerCase(Locale.ROOT));
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid duration '" + value + "', expected e.g. 200ms, 1.5s or 800us");
+        }
+        double amount = Double.parseDouble(matcher.group(1));
+        switch (matcher.group(2)) {
+            case "s":
+                return Math.round(amount * 1_000_000);
+            case "ms":
+                return Math.round(amount * 1000);
+            default:
+                return Math.round(amount);
+        }
+    }
+
+    /**
+     * Parse "0.1%" or "0.001" to a fraction
+     */
+    static double parseRate(String value) {
+        String trimmed = value.trim();
+        try {
+            double rate = trimmed.endsWith("%")
+                    ? Double.parseDouble(trimmed.substring(0, trimmed.length() - 1).trim()) / 100
+                    : Double.parseDouble(trimmed);
+            if (rate < 0 || rate > 1) {
+                throw new IllegalArgumentException("Error rate out of range: " + value);
+            }
+            return rate;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid error rate '" + value + "', expected e.g. 0.1% or 0.001", e);
+        }
+    }
+
+    static String formatMicros(long micros) {
+        return micros >= 1_000_000 ? String.format(Locale.ROOT, "%.2fs", micros / 1e6)
+                : String.format(Locale.ROOT, "%.1fms", micros / 1000.0);
+    }
+
+    /**
+     * Objective of a scope and everything recorded for it
+     */
+    public static class Scope {
+        private final String name;
+        private final long p50Micros;
+        private final long p95Micros;
+        private final long p99Micros;
+        private final double maxErrorRate;
+        private final int minRequests;
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicBoolean reported = new AtomicBoolean();
+
+        Scope(String name, LatencySlo slo) {
+            this.name = name;
+            try {
+                this.p50Micros = slo.p50().isBlank() ? -1 : parseMicros(slo.p50());
+                this.p95Micros = slo.p95().isBlank() ? -1 : parseMicros(slo.p95());
+                this.p99Micros = slo.p99().isBlank() ? -1 : parseMicros(slo.p99());
+                this.maxErrorRate = slo.errorRate().isBlank() ? -1 : parseRate(slo.errorRate());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid @LatencySlo on " + name + ": " + e.getMessage(), e);
+            }
+            this.minRequests = Math.max(1, slo.minRequests());
+        }
+
+        /**
+         * A request that got a response; 5xx counts as an error
+         */
+        void record(long nanos, boolean error) {
+            synchronized (latencies) {
+                latencies.recordNanos(nanos);
+            }
+            requests.incrementAndGet();
+            if (error) {
+                errors.incrementAndGet();
+            }
+        }
+
+        /**
+         * A request that failed without a response
+         */
+        void recordFailure() {
+            requests.incrementAndGet();
+            errors.incrementAndGet();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getRequests() {
+            return requests.get();
+        }
+
+        public long getErrors() {
+            return errors.get();
+        }
+
+        public double getErrorRate() {
+            long total = requests.get();
+            return total > 0 ? errors.get() / (double) total : 0;
+        }
+
+        /**
+         * Copy of the latencies recorded so far
+         */
+        public LatencyHistogram getLatencies() {
+            LatencyHistogram copy = new LatencyHistogram();
+            synchronized (latencies) {
+                copy.merge(latencies);
+            }
+            return copy;
+        }
+
+        /**
+         * Whether enough requests were recorded to check the objective
+         */
+        public boolean isEvaluated() {
+            return requests.get() >= minRequests;
+        }
+
+        /**
+         * Broken objectives, e.g. "p99 250.0ms > 200.0ms"; empty when met or not yet evaluated
+         */
+        public List<String> getViolations() {
+            List<String> violations = new ArrayList<>();
+            if (!isEvaluated()) {
+                return violations;
+            }
+            LatencyHistogram snapshot = getLatencies();
+            checkPercentile(violations, snapshot, "p50", 50, p50Micros);
+            checkPercentile(violations, snapshot, "p95", 95, p95Micros);
+            checkPercentile(violations, snapshot, "p99", 99, p99Micros);
+            if (maxErrorRate >= 0 && getErrorRate() > maxErrorRate) {
+                violations.add(String.format(Locale.ROOT, "errors %.2f%% > %.2f%%", getErrorRate() * 100, maxErrorRate * 100));
+            }
+            return violations;
+        }
+
+        private static void checkPercentile(List<String> violations, LatencyHistogram snapshot, String label,
+                                            double percentile, long limitMicros) {
+            if (limitMicros >= 0 && snapshot.getCount() > 0) {
+                long actual = snapshot.getValueAtPercentile(percentile);
+                if (actual > limitMicros) {
+                    violations.add(label + " " + formatMicros(actual) + " > " + formatMicros(limitMicros));
+                }
+            }
+        }
+
+        /**
+         * Failure message the first time the objective is found broken, null otherwise; later
+         * invocations in the same scope are not failed again for the same requests
+         */
+        public String checkOnce() {
+            List<String> violations = getViolations();
+            if (violations.isEmpty() || !reported.compareAndSet(false, true)) {
+                return null;
+            }
+            return "Latency SLO violated for " + name + " over " + getRequests() + " requests: "
+                    + String.join("; ", violations);
+        }
+
+        public String getStatus() {
+            if (!isEvaluated()) {
+                return "⊗ " + getRequests() + "/" + minRequests + " requests";
+            }
+            return getViolations().isEmpty() ? "✓ MET" : "✗ VIOLATED";
+        }
+
+        public String describeObjective() {
+            List<String> parts = new ArrayList<>();
+            if (p50Micros >= 0) {
+                parts.add("p50 ≤ " + formatMicros(p50Micros));
+            }
+            if (p95Micros >= 0) {
+                parts.add("p95 ≤ " + formatMicros(p95Micros));
+            }
+            if (p99Micros >= 0) {
+                parts.add("p99 ≤ " + formatMicros(p99Micros));
+            }
+            if (maxErrorRate >= 0) {
+                parts.add(String.format(Locale.ROOT, "errors ≤ %.2f%%", maxErrorRate * 100));
+            }
+            return String.join(", ", parts);
+        }
+
+        /**
+         * Multi-line summary for the Allure attachment
+         */
+        public String describe() {
+            LatencyHistogram snapshot = getLatencies();
+            return "Scope: " + name + "\nObjective: " + describeObjective()
+                    + "\nRequests: " + getRequests() + " (" + getErrors() + " errors)"
+                    + "\np50: " + formatMicros(snapshot.getValueAtPercentile(50))
+                    + "\np95: " + formatMicros(snapshot.getValueAtPercentile(95))
+                    + "\np99: " + formatMicros(snapshot.getValueAtPercentile(99))
+                    + "\nmax: " + formatMicros(snapshot.getMaxMicros())
+                    + "\nViolations: " + String.join("; ", getViolations());
+        }
+    }
+
+    /**
+     * A scope bound to a test thread for one invocation
+     */
+    public static class Binding {
+        private final Scope scope;
+        private volatile boolean active = true;
+
+        Binding(Scope scope) {
+            this.scope = scope;
+        }
+
+        public Scope getScope() {
+            return scope;
+        }
+
+        public void record(long nanos, boolean error) {
+            if (active) {
+                scope.record(nanos, error);
+            }
+        }
+
+        public void recordFailure() {
+            if (active) {
+                scope.recordFailure();
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.api.testing.utils;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP endpoint for watching long load and soak runs while they execute.
+ * GET /live returns JSON with the in-flight count and, over the last window of complete
+ * seconds, requests per second, error rate and p50/p90/p99/max latency per endpoint;
+ * GET /live?format=openmetrics serves the same figures as gauges, and GET /metrics the full
+ * MetricsRegistry. Everything is read from the lock-free counters, so scraping never blocks
+ * the requests being measured.
+ */
+public class LiveMetricsServer implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(LiveMetricsServer.class);
+    private static final String OPENMETRICS = "application/openmetrics-text; version=1.0.0; charset=utf-8";
+    private static final double[] PERCENTILES = {50, 90, 99};
+    private static LiveMetricsServer suiteServer;
+
+    private final MetricsFilter metrics;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long startedAt = System.currentTimeMillis();
+
+    public LiveMetricsServer(MetricsFilter metrics, String host, int port) {
+        if (metrics.getRollingStats() == null) {
+            throw new IllegalArgumentException("Live metrics need a MetricsFilter with rolling stats");
+        }
+        this.metrics = metrics;
+        try {
+            server = HttpServer.create(new InetSocketAddress(host, port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot start live metrics server on " + host + ":" + port, e);
+        }
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "live-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/live", exchange -> {
+            String query = exchange.getRequestURI().getQuery();
+            if (query != null && query.contains("format=openmetrics")) {
+                respond(exchange, OPENMETRICS, toOpenMetrics());
+            } else {
+                respond(exchange, "application/json; charset=utf-8", toJson());
+            }
+        });
+        server.createContext("/metrics", exchange -> respond(exchange, OPENMETRICS, metrics.getRegistry().scrape()));
+        server.start();
+        logger.info("Live metrics at " + getBaseUrl() + "/live and " + getBaseUrl() + "/metrics");
+    }
+
+    /**
+     * Serve the installed pipeline's metrics when live.metrics.enabled is set
+     */
+    public static synchronized void startSuite() {
+        MetricsFilter filter = RequestPipeline.getStage(MetricsFilter.class);
+        if (suiteServer == null && ConfigManager.isLiveMetricsEnabled() && filter != null) {
+            suiteServer = new LiveMetricsServer(filter, ConfigManager.getLiveMetricsHost(), ConfigManager.getLiveMetricsPort());
+        }
+    }
+
+    public static synchronized void stopSuite() {
+        if (suiteServer != null) {
+            suiteServer.close();
+            suiteServer = null;
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, String body) throws IOException {
+        try {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.getResponseHeaders().set("Cache-Control", "no-store");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Current figures as JSON; latencies in milliseconds
+     */
+    public String toJson() {
+        RollingRequestStats rolling = metrics.getRollingStats();
+        long count = 0;
+        long errors = 0;
+        JsonObject endpoints = new JsonObject();
+        for (Map.Entry<String, RollingRequestStats.Window> entry : rolling.getWindows().entrySet()) {
+            RollingRequestStats.Window window = entry.getValue();
+            count += window.getCount();
+            errors += window.getErrors();
+            JsonObject endpoint = new JsonObject();
+            endpoint.addProperty("requests", window.getCount());
+            endpoint.addProperty("rps", round(window.getRequestsPerSecond()));
+            endpoint.addProperty("errorRate", round(window.getErrorRate()));
+            for (double percentile : PERCENTILES) {
+                endpoint.addProperty("p" + (int) percentile + "Ms", round(window.getLatencies().getValueAtPercentile(percentile) / 1000.0));
+            }
+            endpoint.addProperty("maxMs", round(window.getLatencies().getMaxMicros() / 1000.0));
+            endpoints.add(entry.getKey(), endpoint);
+        }
+
+        JsonObject root = new JsonObject();
+        root.addProperty("timestamp", System.currentTimeMillis());
+        root.addProperty("uptimeSeconds", (System.currentTimeMillis() - startedAt) / 1000);
+        root.addProperty("environment", ConfigManager.getCurrentEnvironment());
+        root.addProperty("windowSeconds", rolling.getWindowSeconds());
+        root.addProperty("inFlight", metrics.getInFlight());
+        root.addProperty("rps", round(count / (double) rolling.getWindowSeconds()));
+        root.addProperty("errorRate", round(count == 0 ? 0 : errors / (double) count));
+        root.add("endpoints", endpoints);
+        return new GsonBuilder().setPrettyPrinting().create().toJson(root);
+    }
+
+    /**
+     * Current figures as OpenMetrics gauges; latencies in seconds
+     */
+    public String toOpenMetrics() {
+        StringBuilder out = new StringBuilder();
+        out.append("# TYPE api_live_in_flight gauge\n");
+        out.append("# HELP api_live_in_flight Requests waiting for a response\n");
+        out.append("api_live_in_flight ").append(metrics.getInFlight()).append('\n');
+        StringBuilder rates = new StringBuilder();
+        rates.append("# TYPE api_live_requests_per_second gauge\n");
+        rates.append("# HELP api_live_requests_per_second Request rate over the window\n");
+        StringBuilder errors = new StringBuilder();
+        errors.append("# TYPE api_live_error_ratio gauge\n");
+        errors.append("# HELP api_live_error_ratio Share of 5xx responses and failed requests over the window\n");
+        StringBuilder latencies = new StringBuilder();
+        latencies.append("# TYPE api_live_latency_seconds gauge\n");
+        latencies.append("# HELP api_live_latency_seconds Latency percentiles over the window\n");
+        for (Map.Entry<String, RollingRequestStats.Window> entry : metrics.getRollingStats().getWindows().entrySet()) {
+            String label = "endpoint=\"" + entry.getKey().replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+            RollingRequestStats.Window window = entry.getValue();
+            rates.append("api_live_requests_per_second{").append(label).append("} ").append(format(window.getRequestsPerSecond())).append('\n');
+            errors.append("api_live_error_ratio{").append(label).append("} ").append(format(window.getErrorRate())).append('\n');
+            for (double percentile : PERCENTILES) {
+                latencies.append("api_live_latency_seconds{").append(label).append(",quantile=\"").append(format(percentile / 100))
+                        .append("\"} ").append(window.getLatencies().getValueAtPercentile(percentile) / 1e6).append('\n');
+            }
+        }
+        return out.append(rates).append(errors).append(latencies).append("# EOF\n").toString();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%s", round(value));
+    }
+
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
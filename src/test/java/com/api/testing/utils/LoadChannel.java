@@ -0,0 +1,90 @@
+package com.api.testing.utils;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One coordinator-worker connection: JSON messages, one per line, each with a "type".
+ * Worker to coordinator: hello (with the shared token), ready, result, error.
+ * Coordinator to worker: assign, start, error (when the hello is rejected).
+ */
+class LoadChannel implements AutoCloseable {
+    private final Socket socket;
+    private final BufferedReader reader;
+    private final BufferedWriter writer;
+
+    LoadChannel(Socket socket) throws IOException {
+        this.socket = socket;
+        this.reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        this.writer = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+    }
+
+    String getRemoteAddress() {
+        return String.valueOf(socket.getRemoteSocketAddress());
+    }
+
+    static JsonObject message(String type) {
+        JsonObject message = new JsonObject();
+        message.addProperty("type", type);
+        return message;
+    }
+
+    synchronized void send(JsonObject message) {
+        try {
+            writer.write(message.toString());
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot send to " + socket.getRemoteSocketAddress(), e);
+        }
+    }
+
+    /**
+     * Wait for the next message, which must be of the expected type; an "error" message from the
+     * other side is rethrown
+     */
+    JsonObject receive(String expectedType, int timeoutMillis) {
+        String line;
+        try {
+            socket.setSoTimeout(timeoutMillis);
+            line = reader.readLine();
+        } catch (SocketException e) {
+            throw new UncheckedIOException("Connection to " + socket.getRemoteSocketAddress() + " failed", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No '" + expectedType + "' from " + socket.getRemoteSocketAddress(), e);
+        }
+        if (line == null) {
+            throw new IllegalStateException(socket.getRemoteSocketAddress() + " closed the connection before '"
+                    + expectedType + "'");
+        }
+        JsonObject message = JsonParser.parseString(line).getAsJsonObject();
+        String type = message.get("type").getAsString();
+        if ("error".equals(type)) {
+            throw new IllegalStateException(message.get("message").getAsString());
+        }
+        if (!expectedType.equals(type)) {
+            throw new IllegalStateException("Expected '" + expectedType + "' but got '" + type + "' from "
+                    + socket.getRemoteSocketAddress());
+        }
+        return message;
+    }
+
+    @Override
+    public void close() {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // already gone
+        }
+    }
+}
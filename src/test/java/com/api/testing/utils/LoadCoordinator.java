@@ -0,0 +1,272 @@
+package com.api.testing.utils;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a load scenario across several worker JVMs, so the load is not capped by what one
+ * RestAssured JVM can generate.
+ * The coordinator listens on a TCP port and starts the local workers as child processes. Workers
+ * on other hosts are started by hand and pointed at the same port. Once every worker has
+ * connected, each gets its share of the scenario. The coordinator waits until all of them report
+ * ready, then sends "start" to all at once, so the load begins together rather than ramping up
+ * with JVM start-up. The workers' histograms and counters are merged into one LoadResult.
+ * Every worker must present the run's shared token in its hello; other connections are dropped.
+ * <pre>java -cp &lt;test classpath&gt; com.api.testing.utils.LoadCoordinator</pre>
+ */
+public class LoadCoordinator implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(LoadCoordinator.class);
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final LoadScenario scenario;
+    private final int localWorkers;
+    private final int remoteWorkers;
+    private final List<String> workerJvmArgs;
+    private final int connectTimeoutMillis;
+    private final String token;
+    private final ServerSocket server;
+    private final List<Process> processes = new ArrayList<>();
+    private final List<LoadChannel> channels = new ArrayList<>();
+
+    /**
+     * A blank token is generated for the run, which only local workers can learn, so it is
+     * rejected when remote workers are expected
+     */
+    public LoadCoordinator(LoadScenario scenario, int localWorkers, int remoteWorkers, String bindHost, int port,
+                           String token, List<String> workerJvmArgs, int connectTimeoutSeconds) {
+        if (localWorkers + remoteWorkers < 1) {
+            throw new IllegalArgumentException("A load run needs at least one worker");
+        }
+        boolean blankToken = token == null || token.trim().isEmpty();
+        if (blankToken && remoteWorkers > 0) {
+            throw new IllegalArgumentException("load.token must be set when load.remote.workers > 0");
+        }
+        this.token = blankToken ? generateToken() : token.trim();
+        this.scenario = scenario;
+        this.localWorkers = localWorkers;
+        this.remoteWorkers = remoteWorkers;
+        this.workerJvmArgs = workerJvmArgs;
+        this.connectTimeoutMillis = connectTimeoutSeconds * 1000;
+        try {
+            server = new ServerSocket();
+            server.bind(new InetSocketAddress(InetAddress.getByName(bindHost), port));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot listen for load workers on " + bindHost + ":" + port, e);
+        }
+    }
+
+    /**
+     * Coordinator for the load.* settings
+     */
+    public static LoadCoordinator fromConfig() {
+        String jvmArgs = ConfigManager.getLoadWorkerJvmArgs().trim();
+        return new LoadCoordinator(LoadScenario.fromConfig(), ConfigManager.getLoadWorkers(),
+                ConfigManager.getLoadRemoteWorkers(), ConfigManager.getLoadCoordinatorBind(),
+                ConfigManager.getLoadCoordinatorPort(), ConfigManager.getLoadToken(),
+                jvmArgs.isEmpty() ? List.of() : Arrays.asList(jvmArgs.split("\\s+")),
+                ConfigManager.getLoadConnectTimeoutSeconds());
+    }
+
+    public static void main(String[] args) {
+        int exitCode;
+        try (LoadCoordinator coordinator = fromConfig()) {
+            LoadResult result = coordinator.run();
+            report(result, Paths.get(ConfigManager.getLoadResultFile()));
+            exitCode = result.getTests().values().stream().anyMatch(stats -> stats.getFailed() > 0) ? 1 : 0;
+        } catch (RuntimeException e) {
+            logger.error("Load run failed: " + e.getMessage(), e);
+            exitCode = 2;
+        }
+        System.exit(exitCode);
+    }
+
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Start the local workers, wait for all workers, run the scenario and merge their results
+     */
+    public LoadResult run() {
+        int workers = localWorkers + remoteWorkers;
+        logger.info("Load scenario " + scenario + " on " + workers + " workers (" + localWorkers + " local, "
+                + remoteWorkers + " remote), coordinator port " + getPort());
+        for (int i = 1; i <= localWorkers; i++) {
+            processes.add(startLocalWorker("local-" + i));
+        }
+
+        List<String> ids = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + connectTimeoutMillis;
+        try {
+            while (channels.size() < workers) {
+                server.setSoTimeout((int) Math.max(1, deadline - System.currentTimeMillis()));
+                LoadChannel channel = new LoadChannel(server.accept());
+                String id = handshake(channel);
+                if (id == null) {
+                    continue;
+                }
+                channels.add(channel);
+                ids.add(id);
+                logger.info("Load worker " + id + " connected (" + channels.size() + "/" + workers + ")");
+            }
+        } catch (SocketTimeoutException e) {
+            throw new IllegalStateException("Only " + channels.size() + " of " + workers + " load workers connected within "
+                    + connectTimeoutMillis / 1000 + "s; see target/load/*.log for local workers", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot accept load workers", e);
+        }
+
+        List<LoadScenario> shares = scenario.split(workers);
+        for (int i = 0; i < workers; i++) {
+            JsonObject assign = LoadChannel.message("assign");
+            assign.add("scenario", shares.get(i).toJson());
+            channels.get(i).send(assign);
+        }
+        for (LoadChannel channel : channels) {
+            channel.receive("ready", connectTimeoutMillis);
+        }
+        for (LoadChannel channel : channels) {
+            channel.send(LoadChannel.message("start"));
+        }
+        logger.info("Load started on " + workers + " workers");
+
+        // Without a time limit a run takes as long as its iterations do
+        int resultTimeout = scenario.getDurationSeconds() > 0
+                ? scenario.getDurationSeconds() * 1000 + connectTimeoutMillis : 0;
+        LoadResult merged = new LoadResult();
+        for (int i = 0; i < workers; i++) {
+            LoadResult result = LoadResult.fromJson(channels.get(i).receive("result", resultTimeout).getAsJsonObject("result"));
+            logger.info("Load worker " + ids.get(i) + ": " + result.getRequests() + " requests, "
+                    + result.getErrors() + " errors");
+            merged.merge(result);
+        }
+        return merged;
+    }
+
+    /**
+     * Read a connection's hello; returns the worker id, or null after rejecting and closing a
+     * connection that does not present the token
+     */
+    private String handshake(LoadChannel channel) {
+        String peer = channel.getRemoteAddress();
+        try {
+            JsonObject hello = channel.receive("hello", connectTimeoutMillis);
+            String presented = hello.has("token") ? hello.get("token").getAsString() : "";
+            if (MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8))) {
+                return hello.get("worker").getAsString();
+            }
+            JsonObject error = LoadChannel.message("error");
+            error.addProperty("message", "Load coordinator rejected the worker: wrong load.token");
+            channel.send(error);
+            logger.warn("Rejected load worker connection from " + peer + ": wrong token");
+        } catch (RuntimeException e) {
+            logger.warn("Rejected load worker connection from " + peer + ": " + e.getMessage());
+        }
+        channel.close();
+        return null;
+    }
+
+    private static String generateToken() {
+        byte[] bytes = new byte[24];
+        new SecureRandom().nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private Process startLocalWorker(String id) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(workerJvmArgs);
+        command.add("-Denv=" + ConfigManager.getCurrentEnvironment());
+        // Workers share the working directory, so each writes its own metrics and time series
+        command.add("-Dmetrics.file=target/load/" + id + ".prom");
+        command.add("-Dtimeseries.file=target/load/" + id + "-timeseries.csv");
+        command.add("-Dprofiling.file=target/load/" + id + ".jfr");
+        command.add("-Dlive.metrics.enabled=false");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(LoadWorker.class.getName());
+        command.add("127.0.0.1");
+        command.add(String.valueOf(getPort()));
+        command.add(id);
+        File log = Paths.get("target", "load", id + ".log").toFile();
+        try {
+            Files.createDirectories(log.toPath().getParent());
+            ProcessBuilder builder = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log);
+            // Through the environment rather than the command line, which other local users can list
+            builder.environment().put(LoadWorker.TOKEN_ENV, token);
+            return builder.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot start load worker " + id, e);
+        }
+    }
+
+    /**
+     * Log the combined result, write it as JSON and render the HTML report; returns the report path
+     */
+    public static String report(LoadResult result, Path jsonFile) {
+        LatencyHistogram all = result.getLatencies();
+        logger.info("=".repeat(80));
+        logger.info(String.format(Locale.ROOT, "DISTRIBUTED LOAD: %d workers, %d requests in %.1fs (%.1f req/s), %d errors",
+                result.getWorkers().size(), result.getRequests(), result.getDurationSeconds(),
+                result.getThroughput(), result.getErrors()));
+        logger.info(String.format(Locale.ROOT, "Latency p50 %.1fms, p95 %.1fms, p99 %.1fms, max %.1fms",
+                all.getValueAtPercentile(50) / 1000.0, all.getValueAtPercentile(95) / 1000.0,
+                all.getValueAtPercentile(99) / 1000.0, all.getMaxMicros() / 1000.0));
+        logger.info("=".repeat(80));
+        try {
+            Files.createDirectories(jsonFile.toAbsolutePath().getParent());
+            Files.writeString(jsonFile, new GsonBuilder().setPrettyPrinting().create().toJson(result.toJson()),
+                    StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write load result " + jsonFile, e);
+        }
+        HtmlReportGenerator report = new HtmlReportGenerator("Distributed Load");
+        result.appendTo(report);
+        return report.generateReport();
+    }
+
+    /**
+     * Close the connections and wait for the local workers to exit
+     */
+    @Override
+    public void close() {
+        channels.forEach(LoadChannel::close);
+        try {
+            server.close();
+        } catch (IOException ignored) {
+            // nothing left to accept
+        }
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.api.testing.utils;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * What one worker (or all of them, merged) measured during a distributed load run: latency
+ * histograms with request and error counts per endpoint, results and durations per test method,
+ * and a line per worker. Histograms and counters merge exactly, so the combined percentiles are
+ * those of all requests rather than an average of per-worker percentiles.
+ */
+public class LoadResult {
+    private final Map<String, EndpointStats> endpoints = new TreeMap<>();
+    private final Map<String, TestStats> tests = new TreeMap<>();
+    private final List<WorkerStats> workers = new ArrayList<>();
+
+    /**
+     * Stats of an endpoint, created on first use
+     */
+    public EndpointStats endpoint(String key) {
+        return endpoints.computeIfAbsent(key, k -> new EndpointStats());
+    }
+
+    /**
+     * Stats of a test method ("Class.method"), created on first use
+     */
+    public TestStats test(String key) {
+        return tests.computeIfAbsent(key, k -> new TestStats());
+    }
+
+    public void addWorker(String id, double durationSeconds) {
+        workers.add(new WorkerStats(id, durationSeconds, getRequests(), getErrors()));
+    }
+
+    /**
+     * Add another result; used by the coordinator to combine the workers
+     */
+    public void merge(LoadResult other) {
+        other.endpoints.forEach((key, stats) -> endpoint(key).merge(stats));
+        other.tests.forEach((key, stats) -> test(key).merge(stats));
+        workers.addAll(other.workers);
+    }
+
+    public Map<String, EndpointStats> getEndpoints() {
+        return endpoints;
+    }
+
+    public Map<String, TestStats> getTests() {
+        return tests;
+    }
+
+    public List<WorkerStats> getWorkers() {
+        return workers;
+    }
+
+    public long getRequests() {
+        return endpoints.values().stream().mapToLong(EndpointStats::getRequests).sum();
+    }
+
+    public long getErrors() {
+        return endpoints.values().stream().mapToLong(EndpointStats::getErrors).sum();
+    }
+
+    /**
+     * Wall-clock time of the run; workers start together, so it is the slowest worker's time
+     */
+    public double getDurationSeconds() {
+        return workers.stream().mapToDouble(WorkerStats::getDurationSeconds).max().orElse(0);
+    }
+
+    public double getThroughput() {
+        double duration = getDurationSeconds();
+        return duration > 0 ? getRequests() / duration : 0;
+    }
+
+    /**
+     * Latencies of all endpoints together
+     */
+    public LatencyHistogram getLatencies() {
+        LatencyHistogram all = new LatencyHistogram();
+        endpoints.values().forEach(stats -> all.merge(stats.latencies));
+        return all;
+    }
+
+    /**
+     * Add endpoint, test and worker tables to the HTML report
+     */
+    public void appendTo(HtmlReportGenerator report) {
+        double duration = getDurationSeconds();
+        List<List<String>> endpointRows = new ArrayList<>();
+        endpoints.forEach((key, stats) -> endpointRows.add(List.of(key, String.valueOf(stats.requests),
+                String.valueOf(stats.errors), rate(stats.requests, duration),
+                millis(stats.latencies.getValueAtPercentile(50)), millis(stats.latencies.getValueAtPercentile(95)),
+                millis(stats.latencies.getValueAtPercentile(99)), millis(stats.latencies.getMaxMicros()))));
+        LatencyHistogram all = getLatencies();
+        endpointRows.add(List.of("All endpoints", String.valueOf(getRequests()), String.valueOf(getErrors()),
+                rate(getRequests(), duration), millis(all.getValueAtPercentile(50)),
+                millis(all.getValueAtPercentile(95)), millis(all.getValueAtPercentile(99)), millis(all.getMaxMicros())));
+        report.addSection(String.format(Locale.ROOT, "🚀 Distributed Load (%d workers, %.1fs, %.1f req/s)",
+                        workers.size(), duration, getThroughput()),
+                List.of("Endpoint", "Requests", "Errors", "Req/s", "p50", "p95", "p99", "Max"), endpointRows);
+
+        List<List<String>> testRows = new ArrayList<>();
+        tests.forEach((key, stats) -> testRows.add(List.of(key, String.valueOf(stats.passed),
+                String.valueOf(stats.failed), String.valueOf(stats.skipped),
+                millis(stats.durations.getValueAtPercentile(50)), millis(stats.durations.getValueAtPercentile(99)),
+                stats.firstFailure == null ? "" : stats.firstFailure)));
+        report.addSection("🧪 Load Test Methods",
+                List.of("Test", "Passed", "Failed", "Skipped", "p50", "p99", "First failure"), testRows);
+
+        List<List<String>> workerRows = new ArrayList<>();
+        for (WorkerStats worker : workers) {
+            workerRows.add(List.of(worker.id, String.valueOf(worker.requests), String.valueOf(worker.errors),
+                    String.format(Locale.ROOT, "%.1fs", worker.durationSeconds), rate(worker.requests, worker.durationSeconds)));
+        }
+        report.addSection("🖥 Load Workers", List.of("Worker", "Requests", "Errors", "Duration", "Req/s"), workerRows);
+    }
+
+    private static String rate(long count, double seconds) {
+        return seconds > 0 ? String.format(Locale.ROOT, "%.1f", count / seconds) : "-";
+    }
+
+    private static String millis(long micros) {
+        return String.format(Locale.ROOT, "%.1f ms", micros / 1000.0);
+    }
+
+    JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        JsonObject endpointJson = new JsonObject();
+        endpoints.forEach((key, stats) -> {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("requests", stats.requests);
+            entry.addProperty("errors", stats.errors);
+            entry.add("latencies", PerformanceBaseline.bucketsToJson(stats.latencies));
+            endpointJson.add(key, entry);
+        });
+        json.add("endpoints", endpointJson);
+        JsonObject testJson = new JsonObject();
+        tests.forEach((key, stats) -> {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("passed", stats.passed);
+            entry.addProperty("failed", stats.failed);
+            entry.addProperty("skipped", stats.skipped);
+            if (stats.firstFailure != null) {
+                entry.addProperty("firstFailure", stats.firstFailure);
+            }
+            entry.add("durations", PerformanceBaseline.bucketsToJson(stats.durations));
+            testJson.add(key, entry);
+        });
+        json.add("tests", testJson);
+        JsonArray workerJson = new JsonArray();
+        for (WorkerStats worker : workers) {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("id", worker.id);
+            entry.addProperty("durationSeconds", worker.durationSeconds);
+            entry.addProperty("requests", worker.requests);
+            entry.addProperty("errors", worker.errors);
+            workerJson.add(entry);
+        }
+        json.add("workers", workerJson);
+        return json;
+    }
+
+    static LoadResult fromJson(JsonObject json) {
+        LoadResult result = new LoadResult();
+        for (Map.Entry<String, JsonElement> entry : json.getAsJsonObject("endpoints").entrySet()) {
+            JsonObject value = entry.getValue().getAsJsonObject();
+            EndpointStats stats = result.endpoint(entry.getKey());
+            stats.requests = value.get("requests").getAsLong();
+            stats.errors = value.get("errors").getAsLong();
+            stats.latencies.merge(PerformanceBaseline.bucketsFromJson(value.getAsJsonArray("latencies")));
+        }
+        for (Map.Entry<String, JsonElement> entry : json.getAsJsonObject("tests").entrySet()) {
+            JsonObject value = entry.getValue().getAsJsonObject();
+            TestStats stats = result.test(entry.getKey());
+            stats.passed = value.get("passed").getAsLong();
+            stats.failed = value.get("failed").getAsLong();
+            stats.skipped = value.get("skipped").getAsLong();
+            stats.firstFailure = value.has("firstFailure") ? value.get("firstFailure").getAsString() : null;
+            stats.durations.merge(PerformanceBaseline.bucketsFromJson(value.getAsJsonArray("durations")));
+        }
+        for (JsonElement element : json.getAsJsonArray("workers")) {
+            JsonObject value = element.getAsJsonObject();
+            result.workers.add(new WorkerStats(value.get("id").getAsString(), value.get("durationSeconds").getAsDouble(),
+                    value.get("requests").getAsLong(), value.get("errors").getAsLong()));
+        }
+        return result;
+    }
+
+    /**
+     * Requests, errors (5xx and failed requests) and latencies of successful responses
+     */
+    public static class EndpointStats {
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private long requests;
+        private long errors;
+
+        /**
+         * Add the requests of one worker: latencies of the non-error responses plus the errors
+         */
+        public void record(LatencyHistogram responses, long errorCount) {
+            latencies.merge(responses);
+            requests += responses.getCount() + errorCount;
+            errors += errorCount;
+        }
+
+        void merge(EndpointStats other) {
+            latencies.merge(other.latencies);
+            requests += other.requests;
+            errors += other.errors;
+        }
+
+        public LatencyHistogram getLatencies() {
+            return latencies;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+    }
+
+    /**
+     * Invocation results and durations of a test method
+     */
+    public static class TestStats {
+        private final LatencyHistogram durations = new LatencyHistogram();
+        private long passed;
+        private long failed;
+        private long skipped;
+        private String firstFailure;
+
+        public synchronized void passed(long durationMillis) {
+            passed++;
+            durations.recordMicros(durationMillis * 1000);
+        }
+
+        public synchronized void failed(long durationMillis, String message) {
+            failed++;
+            durations.recordMicros(durationMillis * 1000);
+            if (firstFailure == null) {
+                firstFailure = message;
+            }
+        }
+
+        public synchronized void skipped() {
+            skipped++;
+        }
+
+        synchronized void merge(TestStats other) {
+            durations.merge(other.durations);
+            passed += other.passed;
+            failed += other.failed;
+            skipped += other.skipped;
+            if (firstFailure == null) {
+                firstFailure = other.firstFailure;
+            }
+        }
+
+        public LatencyHistogram getDurations() {
+            return durations;
+        }
+
+        public long getPassed() {
+            return passed;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public long getSkipped() {
+            return skipped;
+        }
+    }
+
+    /**
+     * Totals of one worker
+     */
+    public static class WorkerStats {
+        private final String id;
+        private final double durationSeconds;
+        private final long requests;
+        private final long errors;
+
+        WorkerStats(String id, double durationSeconds, long requests, long errors) {
+            this.id = id;
+            this.durationSeconds = durationSeconds;
+            this.requests = requests;
+            this.errors = errors;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public double getDurationSeconds() {
+            return durationSeconds;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.api.testing.utils;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A distributed load run built from the existing test classes: which tests to run, how many
+ * invocations of each test method in total, how many run concurrently per method, and an optional
+ * time limit. Tests are "com.api.testing.tests.GetRequestTest" for every @Test method of a class,
+ * or "...GetRequestTest#testGetPostById" for one method.
+ * split() divides the invocations and concurrency between workers, so N workers together
+ * produce the load of the whole scenario.
+ */
+public class LoadScenario {
+    private final List<String> tests;
+    private final int iterations;
+    private final int threads;
+    private final int durationSeconds;
+
+    public LoadScenario(List<String> tests, int iterations, int threads, int durationSeconds) {
+        if (tests.isEmpty()) {
+            throw new IllegalArgumentException("A load scenario needs at least one test class or method");
+        }
+        this.tests = Collections.unmodifiableList(new ArrayList<>(tests));
+        this.iterations = Math.max(1, iterations);
+        this.threads = Math.max(1, threads);
+        this.durationSeconds = Math.max(0, durationSeconds);
+    }
+
+    /**
+     * Scenario from the load.* settings
+     */
+    public static LoadScenario fromConfig() {
+        List<String> tests = Arrays.stream(ConfigManager.getLoadScenario().split(","))
+                .map(String::trim)
+                .filter(test -> !test.isEmpty())
+                .collect(Collectors.toList());
+        return new LoadScenario(tests, ConfigManager.getLoadIterations(), ConfigManager.getLoadThreads(),
+                ConfigManager.getLoadDurationSeconds());
+    }
+
+    /**
+     * Shares of the scenario for each worker; iterations and threads are spread as evenly as
+     * possible, and a worker never gets less than one of each
+     */
+    public List<LoadScenario> split(int workers) {
+        List<LoadScenario> shares = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            shares.add(new LoadScenario(tests, share(iterations, workers, i), share(threads, workers, i), durationSeconds));
+        }
+        return shares;
+    }
+
+    private static int share(int total, int workers, int index) {
+        return Math.max(1, total / workers + (index < total % workers ? 1 : 0));
+    }
+
+    public List<String> getTests() {
+        return tests;
+    }
+
+    /**
+     * Invocations of each test method
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Concurrent invocations of each test method
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Time limit in seconds after which remaining invocations are dropped (0 = none)
+     */
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        JsonArray testArray = new JsonArray();
+        tests.forEach(testArray::add);
+        json.add("tests", testArray);
+        json.addProperty("iterations", iterations);
+        json.addProperty("threads", threads);
+        json.addProperty("durationSeconds", durationSeconds);
+        return json;
+    }
+
+    static LoadScenario fromJson(JsonObject json) {
+        List<String> tests = new ArrayList<>();
+        for (JsonElement test : json.getAsJsonArray("tests")) {
+            tests.add(test.getAsString());
+        }
+        return new LoadScenario(tests, json.get("iterations").getAsInt(), json.get("threads").getAsInt(),
+                json.get("durationSeconds").getAsInt());
+    }
+
+    @Override
+    public String toString() {
+        return tests + " x" + iterations + " on " + threads + " threads"
+                + (durationSeconds > 0 ? " for up to " + durationSeconds + "s" : "");
+    }
+}
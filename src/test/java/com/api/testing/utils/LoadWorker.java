@@ -0,0 +1,292 @@
+package com.api.testing.utils;
+
+import com.google.gson.JsonObject;
+import io.restassured.RestAssured;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAnnotationTransformer;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+import org.testng.TestNG;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Worker side of a distributed load run. It connects to the coordinator, receives its share of
+ * the scenario, reports ready, and on "start" runs the share through TestNG. Every selected test
+ * method runs with the share's invocation count and thread pool. The worker then sends back the
+ * endpoint histograms and counters of its MetricsFilter and the per-test results.
+ * Started by the coordinator for local workers, or by hand on other hosts:
+ * <pre>java -cp &lt;test classpath&gt; com.api.testing.utils.LoadWorker &lt;coordinator-host&gt; &lt;port&gt; [worker-id]</pre>
+ * The coordinator's token is read from the LOAD_TOKEN environment variable, else from load.token.
+ */
+public class LoadWorker {
+    private static final Logger logger = LogManager.getLogger(LoadWorker.class);
+    private static final String DEADLINE_REACHED = "Load duration reached";
+    private static final int RECONNECT_DELAY_MILLIS = 500;
+    static final String TOKEN_ENV = "LOAD_TOKEN";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: LoadWorker <coordinator-host> <port> [worker-id]");
+            System.exit(2);
+        }
+        String id = args.length > 2 ? args[2]
+                : InetAddress.getLocalHost().getHostName() + "-" + ProcessHandle.current().pid();
+        String token = System.getenv(TOKEN_ENV);
+        if (token == null || token.trim().isEmpty()) {
+            token = ConfigManager.getLoadToken();
+        }
+        int exitCode = 0;
+        try {
+            serve(args[0], Integer.parseInt(args[1]), id, token.trim(), ConfigManager.getLoadConnectTimeoutSeconds() * 1000);
+        } catch (RuntimeException e) {
+            logger.error("Load worker " + id + " failed: " + e.getMessage(), e);
+            exitCode = 1;
+        }
+        // Pipeline threads (metrics export, config watcher) must not keep the worker alive
+        System.exit(exitCode);
+    }
+
+    /**
+     * Run one load session for a coordinator; retries the connection until the coordinator is up
+     */
+    public static void serve(String host, int port, String id, String token, int connectTimeoutMillis) throws IOException {
+        try (LoadChannel channel = new LoadChannel(connect(host, port, connectTimeoutMillis))) {
+            JsonObject hello = LoadChannel.message("hello");
+            hello.addProperty("worker", id);
+            hello.addProperty("token", token);
+            channel.send(hello);
+
+            LoadScenario share = LoadScenario.fromJson(channel.receive("assign", 0).getAsJsonObject("scenario"));
+            logger.info("Load worker " + id + " assigned " + share);
+            TestNG testng;
+            Recorder recorder = new Recorder(share.getDurationSeconds());
+            try {
+                testng = prepare(share, id, recorder);
+            } catch (RuntimeException e) {
+                JsonObject error = LoadChannel.message("error");
+                error.addProperty("message", "Worker " + id + " cannot run " + share.getTests() + ": " + e.getMessage());
+                channel.send(error);
+                throw e;
+            }
+            channel.send(LoadChannel.message("ready"));
+
+            channel.receive("start", 0);
+            LoadResult result = run(testng, recorder, id);
+            JsonObject message = LoadChannel.message("result");
+            message.add("result", result.toJson());
+            channel.send(message);
+            logger.info("Load worker " + id + " sent " + result.getRequests() + " requests");
+        }
+    }
+
+    private static Socket connect(String host, int port, int timeoutMillis) throws IOException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            try {
+                return new Socket(host, port);
+            } catch (IOException e) {
+                if (System.currentTimeMillis() >= deadline) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Build the TestNG run for a share: selected methods run in parallel, each with the share's
+     * invocation count and thread pool. Allure is left out; a load run would write a result file
+     * per invocation.
+     */
+    static TestNG prepare(LoadScenario share, String id, Recorder recorder) {
+        Map<String, List<String>> methodsByClass = new LinkedHashMap<>();
+        int methodCount = 0;
+        for (String test : share.getTests()) {
+            int hash = test.indexOf('#');
+            String className = hash < 0 ? test : test.substring(0, hash);
+            Class<?> testClass;
+            try {
+                testClass = Class.forName(className);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("Unknown test class " + className, e);
+            }
+            List<String> methods = methodsByClass.computeIfAbsent(className, key -> new ArrayList<>());
+            if (hash < 0) {
+                methodCount += countTestMethods(testClass);
+            } else {
+                methods.add(test.substring(hash + 1));
+                methodCount++;
+            }
+        }
+
+        XmlSuite suite = new XmlSuite();
+        suite.setName("Load " + id);
+        suite.setParallel(XmlSuite.ParallelMode.METHODS);
+        suite.setThreadCount(Math.max(1, methodCount));
+        XmlTest test = new XmlTest(suite);
+        test.setName("Load");
+        List<XmlClass> classes = new ArrayList<>();
+        methodsByClass.forEach((className, methods) -> {
+            XmlClass xmlClass = new XmlClass(className);
+            for (String method : methods) {
+                xmlClass.getIncludedMethods().add(new XmlInclude(method));
+            }
+            classes.add(xmlClass);
+        });
+        test.setXmlClasses(classes);
+
+        TestNG testng = new TestNG(false);
+        testng.setUseDefaultListeners(false);
+        testng.setListenersToSkipFromBeingWiredInViaServiceLoaders("io.qameta.allure.testng.AllureTestNg");
+        testng.setVerbose(0);
+        testng.setXmlSuites(List.of(suite));
+        testng.addListener(new IAnnotationTransformer() {
+            // TestNG declares these parameters raw, so an override cannot add type arguments
+            @Override
+            @SuppressWarnings("rawtypes")
+            public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor,
+                                  Method testMethod) {
+                annotation.setInvocationCount(share.getIterations());
+                annotation.setThreadPoolSize(share.getThreads());
+            }
+        });
+        testng.addListener(recorder);
+        warmUp();
+        return testng;
+    }
+
+    /**
+     * Install the pipeline and load RestAssured's classes before reporting ready, so JVM warm-up
+     * is not part of the synchronized run
+     */
+    private static void warmUp() {
+        RequestPipeline.install();
+        RestAssured.given().baseUri("http://localhost").basePath("/").header("Accept", "application/json");
+    }
+
+    private static int countTestMethods(Class<?> testClass) {
+        int count = 0;
+        for (Method method : testClass.getMethods()) {
+            if (method.isAnnotationPresent(Test.class)) {
+                count++;
+            }
+        }
+        return Math.max(1, count);
+    }
+
+    /**
+     * Run a prepared share and collect what the pipeline's MetricsFilter measured
+     */
+    static LoadResult run(TestNG testng, Recorder recorder, String id) {
+        testng.run();
+        double durationSeconds = recorder.getDurationSeconds();
+
+        LoadResult result = recorder.result;
+        MetricsFilter metrics = RequestPipeline.getStage(MetricsFilter.class);
+        if (metrics == null) {
+            logger.warn("No MetricsFilter in the request pipeline (metrics.enabled=false); endpoint stats are empty");
+        } else {
+            Map<String, LatencyHistogram> latencies = metrics.getLatencies().getHistograms();
+            Map<String, Long> errors = metrics.getErrors();
+            latencies.forEach((endpoint, histogram) ->
+                    result.endpoint(endpoint).record(histogram, errors.getOrDefault(endpoint, 0L)));
+            errors.forEach((endpoint, count) -> {
+                if (!latencies.containsKey(endpoint)) {
+                    result.endpoint(endpoint).record(new LatencyHistogram(), count);
+                }
+            });
+        }
+        result.addWorker(id, durationSeconds);
+        return result;
+    }
+
+    /**
+     * Counts invocation results per test method and drops invocations once the duration is up.
+     * The clock starts with the first test invocation, after the suite's @BeforeSuite setup.
+     */
+    static class Recorder implements ITestListener, IInvokedMethodListener {
+        private final LoadResult result = new LoadResult();
+        private final long durationNanos;
+        private final AtomicLong startNanos = new AtomicLong();
+        private final AtomicLong endNanos = new AtomicLong();
+
+        Recorder(int durationSeconds) {
+            this.durationNanos = durationSeconds * 1_000_000_000L;
+        }
+
+        @Override
+        public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+            if (!method.isTestMethod()) {
+                return;
+            }
+            long now = System.nanoTime();
+            startNanos.compareAndSet(0, now);
+            if (durationNanos > 0 && now - startNanos.get() >= durationNanos) {
+                throw new SkipException(DEADLINE_REACHED);
+            }
+        }
+
+        @Override
+        public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+            if (method.isTestMethod()) {
+                endNanos.accumulateAndGet(System.nanoTime(), Math::max);
+            }
+        }
+
+        double getDurationSeconds() {
+            long start = startNanos.get();
+            return start == 0 ? 0 : (endNanos.get() - start) / 1e9;
+        }
+
+        private LoadResult.TestStats stats(ITestResult testResult) {
+            synchronized (result) {
+                return result.test(testResult.getTestClass().getName() + "." + testResult.getMethod().getMethodName());
+            }
+        }
+
+        @Override
+        public void onTestSuccess(ITestResult testResult) {
+            stats(testResult).passed(testResult.getEndMillis() - testResult.getStartMillis());
+        }
+
+        @Override
+        public void onTestFailure(ITestResult testResult) {
+            Throwable error = testResult.getThrowable();
+            stats(testResult).failed(testResult.getEndMillis() - testResult.getStartMillis(),
+                    error == null ? "unknown" : error.getClass().getSimpleName() + ": " + error.getMessage());
+        }
+
+        @Override
+        public void onTestSkipped(ITestResult testResult) {
+            Throwable reason = testResult.getThrowable();
+            if (reason == null || !DEADLINE_REACHED.equals(reason.getMessage())) {
+                stats(testResult).skipped();
+            }
+        }
+    }
+}
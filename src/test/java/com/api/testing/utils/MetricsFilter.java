@@ -0,0 +1,153 @@
+package com.api.testing.utils;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Feeds request counters, latency histograms and the in-flight gauge of a MetricsRegistry,
+ * labelled by environment, method, endpoint template and status class, and optionally the
+ * one-second buckets behind the live metrics endpoint. Full-resolution latency histograms of
+ * the responses (5xx excluded) are kept per endpoint for the performance baseline.
+ * Like the JFR filter it sits inside the retry, cache and limiter stages, so each network
+ * attempt is counted once. AsyncRequestClient's requests are recorded the same way.
+ */
+public class MetricsFilter implements ReportingFilter, AsyncStage {
+    private final MetricsRegistry registry;
+    private final MetricsRegistry.Family<MetricsRegistry.Counter> requests;
+    private final MetricsRegistry.Family<MetricsRegistry.Histogram> durations;
+    private final MetricsRegistry.Family<MetricsRegistry.Counter> failures;
+    private final MetricsRegistry.Gauge inFlight;
+    private final RollingRequestStats rolling;
+    private final EndpointLatencyTracker latencies = new EndpointLatencyTracker();
+    private final ConcurrentHashMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    public MetricsFilter(MetricsRegistry registry) {
+        this(registry, null);
+    }
+
+    public MetricsFilter(MetricsRegistry registry, RollingRequestStats rolling) {
+        this.registry = registry;
+        this.rolling = rolling;
+        this.requests = registry.counter("api_requests", "HTTP requests by response status class",
+                "environment", "method", "endpoint", "status_class");
+        this.durations = registry.histogram("api_request_duration_seconds", "Time to a complete response",
+                MetricsRegistry.LATENCY_BUCKETS, "environment", "method", "endpoint");
+        this.failures = registry.counter("api_request_failures", "Requests that ended without a response",
+                "environment", "method", "endpoint", "exception");
+        this.inFlight = registry.gauge("api_requests_in_flight", "Requests waiting for a response").labels();
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        String environment = ConfigManager.getCurrentEnvironment();
+        String endpointKey = EndpointLatencyTracker.endpointKey(requestSpec);
+        inFlight.inc();
+        long start = System.nanoTime();
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            record(environment, requestSpec.getMethod(), endpointKey, response.statusCode(), null, System.nanoTime() - start);
+            return response;
+        } catch (Exception e) {
+            // RestAssured rethrows checked IOExceptions undeclared
+            record(environment, requestSpec.getMethod(), endpointKey, 0, e, System.nanoTime() - start);
+            throw e;
+        } finally {
+            inFlight.dec();
+        }
+    }
+
+    @Override
+    public Exchange begin(String method, URI uri, String endpointKey) {
+        String environment = ConfigManager.getCurrentEnvironment();
+        inFlight.inc();
+        return (status, error, nanos) -> {
+            inFlight.dec();
+            record(environment, method, endpointKey, status, error, nanos);
+        };
+    }
+
+    private void record(String environment, String method, String endpointKey, int status, Throwable error, long nanos) {
+        String endpoint = endpointKey.substring(method.length() + 1);
+        if (error != null) {
+            requests.labels(environment, method, endpoint, MetricsRegistry.statusClass(0)).inc();
+            failures.labels(environment, method, endpoint, rootCause(error).getClass().getSimpleName()).inc();
+            errors.computeIfAbsent(endpointKey, key -> new LongAdder()).increment();
+            if (rolling != null) {
+                rolling.record(endpointKey, nanos, true);
+            }
+            return;
+        }
+        durations.labels(environment, method, endpoint).observeNanos(nanos);
+        requests.labels(environment, method, endpoint, MetricsRegistry.statusClass(status)).inc();
+        if (status < 500) {
+            latencies.histogram(endpointKey).recordNanos(nanos);
+        } else {
+            errors.computeIfAbsent(endpointKey, key -> new LongAdder()).increment();
+        }
+        if (rolling != null) {
+            rolling.record(endpointKey, nanos, status >= 500);
+        }
+    }
+
+    /**
+     * The JDK client wraps its IOExceptions in CompletionException
+     */
+    private static Throwable rootCause(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    public MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    public RollingRequestStats getRollingStats() {
+        return rolling;
+    }
+
+    /**
+     * Latencies of the responses so far, per endpoint
+     */
+    public EndpointLatencyTracker getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * 5xx responses and failed requests so far, per endpoint
+     */
+    public Map<String, Long> getErrors() {
+        Map<String, Long> counts = new TreeMap<>();
+        errors.forEach((endpoint, count) -> counts.put(endpoint, count.sum()));
+        return counts;
+    }
+
+    public long getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public String getName() {
+        return "Metrics";
+    }
+
+    @Override
+    public String getSummary() {
+        return registry.getSeriesCount() + " series"
+                + (registry.getExportFile() != null ? ", exported to " + registry.getExportFile() : "");
+    }
+
+    @Override
+    public int getOrder() {
+        return RequestPipeline.METRICS_ORDER;
+    }
+}
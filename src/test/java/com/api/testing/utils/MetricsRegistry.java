@@ -0,0 +1,318 @@
+package com.api.testing.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Counters, gauges and histograms with labels, exported in the OpenMetrics text format
+ * (readable by Prometheus, the node_exporter textfile collector and most dashboards).
+ * MetricsFilter feeds the request metrics and TestReportListener the test metrics into the
+ * global() registry; startExporting() rewrites the file periodically during long runs and
+ * stopExporting() writes it a last time when the suite ends. Recording is lock-free.
+ */
+public class MetricsRegistry {
+    private static final Logger logger = LogManager.getLogger(MetricsRegistry.class);
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    /** Upper bounds (seconds) for request latencies */
+    public static final double[] LATENCY_BUCKETS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+    private final Map<String, Family<?>> families = new ConcurrentSkipListMap<>();
+    private ScheduledExecutorService exporter;
+    private Path exportFile;
+
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    public Family<Counter> counter(String name, String help, String... labelNames) {
+        return register(name, "counter", help, labelNames, Counter::new);
+    }
+
+    public Family<Gauge> gauge(String name, String help, String... labelNames) {
+        return register(name, "gauge", help, labelNames, Gauge::new);
+    }
+
+    public Family<Histogram> histogram(String name, String help, double[] buckets, String... labelNames) {
+        return register(name, "histogram", help, labelNames, () -> new Histogram(buckets));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Metric> Family<T> register(String name, String type, String help, String[] labelNames,
+                                                  Supplier<T> factory) {
+        Family<?> family = families.computeIfAbsent(name, key -> new Family<>(key, type, help, labelNames, factory));
+        if (!family.type.equals(type) || !Arrays.equals(family.labelNames, labelNames)) {
+            throw new IllegalStateException("Metric " + name + " is already registered as " + family.type
+                    + " with labels " + Arrays.toString(family.labelNames));
+        }
+        return (Family<T>) family;
+    }
+
+    /**
+     * All metrics in the OpenMetrics text format
+     */
+    public String scrape() {
+        StringBuilder out = new StringBuilder();
+        for (Family<?> family : families.values()) {
+            family.write(out);
+        }
+        out.append("# EOF\n");
+        return out.toString();
+    }
+
+    /**
+     * Write scrape() to a file atomically, so collectors never read a partial file
+     */
+    public void export(Path file) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "metrics", ".tmp");
+            Files.writeString(temp, scrape(), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write metrics " + file, e);
+        }
+    }
+
+    /**
+     * Export to file every intervalMillis (0 = only when stopExporting() is called)
+     */
+    public synchronized void startExporting(Path file, long intervalMillis) {
+        stopScheduler();
+        exportFile = file;
+        if (intervalMillis > 0) {
+            exporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "metrics-exporter");
+                thread.setDaemon(true);
+                return thread;
+            });
+            exporter.scheduleAtFixedRate(() -> {
+                try {
+                    export(file);
+                } catch (RuntimeException e) {
+                    logger.warn("Periodic metrics export failed: " + e.getMessage());
+                }
+            }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+        logger.info("Exporting metrics to " + file + (intervalMillis > 0 ? " every " + intervalMillis + "ms" : ""));
+    }
+
+    /**
+     * Stop periodic export and write the final metrics; no-op unless startExporting() was called
+     */
+    public synchronized void stopExporting() {
+        stopScheduler();
+        if (exportFile != null) {
+            export(exportFile);
+            logger.info("Metrics written to " + exportFile);
+            exportFile = null;
+        }
+    }
+
+    private void stopScheduler() {
+        if (exporter != null) {
+            exporter.shutdownNow();
+            exporter = null;
+        }
+    }
+
+    public Path getExportFile() {
+        return exportFile;
+    }
+
+    /**
+     * Number of labelled series across all metrics
+     */
+    public int getSeriesCount() {
+        return families.values().stream().mapToInt(family -> family.children.size()).sum();
+    }
+
+    /**
+     * Status class label for an HTTP status ("2xx", "5xx"), or "error" when no response arrived
+     */
+    public static String statusClass(int status) {
+        return status >= 100 && status < 600 ? (status / 100) + "xx" : "error";
+    }
+
+    /**
+     * A metric name with its children, one per combination of label values
+     */
+    public static class Family<T extends Metric> {
+        private final String name;
+        private final String type;
+        private final String help;
+        private final String[] labelNames;
+        private final Supplier<T> factory;
+        private final ConcurrentHashMap<List<String>, T> children = new ConcurrentHashMap<>();
+
+        Family(String name, String type, String help, String[] labelNames, Supplier<T> factory) {
+            this.name = name;
+            this.type = type;
+            this.help = help;
+            this.labelNames = labelNames.clone();
+            this.factory = factory;
+        }
+
+        public T labels(String... labelValues) {
+            if (labelValues.length != labelNames.length) {
+                throw new IllegalArgumentException(name + " expects labels " + Arrays.toString(labelNames));
+            }
+            return children.computeIfAbsent(List.of(labelValues), key -> factory.get());
+        }
+
+        void write(StringBuilder out) {
+            out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+            out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+            List<Map.Entry<List<String>, T>> series = new ArrayList<>(children.entrySet());
+            series.sort(Comparator.comparing(entry -> String.join("\u0000", entry.getKey())));
+            for (Map.Entry<List<String>, T> entry : series) {
+                entry.getValue().write(out, name, labels(entry.getKey()));
+            }
+        }
+
+        private String labels(List<String> values) {
+            StringBuilder labels = new StringBuilder();
+            for (int i = 0; i < labelNames.length; i++) {
+                labels.append(i == 0 ? "" : ",").append(labelNames[i]).append("=\"")
+                        .append(values.get(i).replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"))
+                        .append('"');
+            }
+            return labels.toString();
+        }
+    }
+
+    /**
+     * One labelled series
+     */
+    public interface Metric {
+        void write(StringBuilder out, String name, String labels);
+    }
+
+    public static class Counter implements Metric {
+        private final LongAdder value = new LongAdder();
+
+        public void inc() {
+            value.increment();
+        }
+
+        public void inc(long amount) {
+            value.add(amount);
+        }
+
+        public long get() {
+            return value.sum();
+        }
+
+        @Override
+        public void write(StringBuilder out, String name, String labels) {
+            sample(out, name + "_total", labels, String.valueOf(value.sum()));
+        }
+    }
+
+    public static class Gauge implements Metric {
+        private final AtomicLong value = new AtomicLong();
+
+        public void inc() {
+            value.incrementAndGet();
+        }
+
+        public void dec() {
+            value.decrementAndGet();
+        }
+
+        public void set(long newValue) {
+            value.set(newValue);
+        }
+
+        public long get() {
+            return value.get();
+        }
+
+        @Override
+        public void write(StringBuilder out, String name, String labels) {
+            sample(out, name, labels, String.valueOf(value.get()));
+        }
+    }
+
+    /**
+     * Fixed-bucket histogram of durations in seconds
+     */
+    public static class Histogram implements Metric {
+        private final double[] bounds;
+        private final LongAdder[] counts;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sumNanos = new LongAdder();
+
+        Histogram(double[] bounds) {
+            this.bounds = bounds.clone();
+            this.counts = new LongAdder[bounds.length + 1];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+
+        public void observeNanos(long nanos) {
+            double seconds = nanos / 1e9;
+            int bucket = 0;
+            while (bucket < bounds.length && seconds > bounds[bucket]) {
+                bucket++;
+            }
+            counts[bucket].increment();
+            count.increment();
+            sumNanos.add(nanos);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        @Override
+        public void write(StringBuilder out, String name, String labels) {
+            String prefix = labels.isEmpty() ? "" : labels + ",";
+            long cumulative = 0;
+            for (int i = 0; i < counts.length; i++) {
+                cumulative += counts[i].sum();
+                String le = i < bounds.length ? format(bounds[i]) : "+Inf";
+                sample(out, name + "_bucket", prefix + "le=\"" + le + "\"", String.valueOf(cumulative));
+            }
+            // _count from the same reads as the buckets, so it always equals the +Inf bucket
+            sample(out, name + "_count", labels, String.valueOf(cumulative));
+            sample(out, name + "_sum", labels, format(sumNanos.sum() / 1e9));
+        }
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, String value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) && Math.abs(value) < 1e15
+                ? String.format(Locale.ROOT, "%.1f", value) : String.format(Locale.ROOT, "%s", value);
+    }
+}
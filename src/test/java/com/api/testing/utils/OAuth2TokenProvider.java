@@ -0,0 +1,340 @@
+package com.api.testing.utils;
+
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * OAuth2 access token provider (client_credentials and password grants).
+ * Tokens are cached per (environment, client, scope). A refresh is scheduled in the background
+ * ahead of expiry, and concurrent callers share one in-flight token request (single-flight).
+ * The refresh comes refreshSkew before expiry, but not before half the token's lifetime nor
+ * within MIN_REFRESH_DELAY_MILLIS, so short-lived tokens cannot make it loop; each client has at
+ * most one refresh scheduled.
+ * While a cached token is still valid, callers get it immediately and never wait for a refresh;
+ * only the very first fetch for a client, or a fetch after a token has fully expired, blocks.
+ */
+public class OAuth2TokenProvider {
+    private static final Logger logger = LogManager.getLogger(OAuth2TokenProvider.class);
+    private static final long RETRY_DELAY_MILLIS = 5000;
+    private static final long MIN_REFRESH_DELAY_MILLIS = 3000;
+    private static OAuth2TokenProvider instance;
+
+    private final ConcurrentHashMap<ClientRegistration, TokenHolder> tokens = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService fetchExecutor;
+    private final long refreshSkewMillis;
+
+    private final AtomicLong tokenRequests = new AtomicLong();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong backgroundRefreshes = new AtomicLong();
+
+    public OAuth2TokenProvider(long refreshSkewMillis) {
+        this.refreshSkewMillis = refreshSkewMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "oauth2-token-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.fetchExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "oauth2-token-fetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Shared provider configured from config.properties
+     */
+    public static synchronized OAuth2TokenProvider getInstance() {
+        if (instance == null) {
+            instance = new OAuth2TokenProvider(ConfigManager.getOAuthRefreshSkewSeconds() * 1000L);
+        }
+        return instance;
+    }
+
+    /**
+     * Get an access token for the current environment's configured client
+     */
+    public String getAccessToken() {
+        ClientRegistration registration = ClientRegistration.fromConfig();
+        if (registration == null) {
+            throw new IllegalStateException("No OAuth2 client configured for environment: "
+                    + ConfigManager.getCurrentEnvironment());
+        }
+        return getAccessToken(registration);
+    }
+
+    /**
+     * Get a valid access token for a client, fetching or refreshing it as needed
+     */
+    public String getAccessToken(ClientRegistration registration) {
+        TokenHolder holder = tokens.computeIfAbsent(registration, TokenHolder::new);
+        Token token = holder.current;
+        long now = System.currentTimeMillis();
+
+        if (token != null && now < token.expiresAt) {
+            cacheHits.incrementAndGet();
+            if (now >= token.refreshAt) {
+                holder.refresh();
+            }
+            return token.accessToken;
+        }
+
+        try {
+            return holder.refresh().join().accessToken;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drop a cached token (e.g. after the API rejected it with 401)
+     */
+    public void invalidate(ClientRegistration registration) {
+        TokenHolder holder = tokens.get(registration);
+        if (holder != null) {
+            holder.current = null;
+            holder.cancelScheduledRefresh();
+        }
+    }
+
+    public long getTokenRequests() {
+        return tokenRequests.get();
+    }
+
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    public long getBackgroundRefreshes() {
+        return backgroundRefreshes.get();
+    }
+
+    /**
+     * Call the token endpoint
+     */
+    private Token requestToken(ClientRegistration registration) {
+        tokenRequests.incrementAndGet();
+        RequestSpecification request = given()
+                .auth().preemptive().basic(registration.clientId, registration.clientSecret)
+                .formParam("grant_type", registration.grantType);
+        if (registration.scope != null && !registration.scope.isEmpty()) {
+            request.formParam("scope", registration.scope);
+        }
+        if ("password".equals(registration.grantType)) {
+            request.formParam("username", registration.username)
+                    .formParam("password", registration.password);
+        }
+
+        Response response = request.when().post(registration.tokenUrl);
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Token request for client '" + registration.clientId
+                    + "' failed with status " + response.statusCode());
+        }
+        Map<String, Object> body = response.jsonPath().getMap("$");
+        Object accessToken = body.get("access_token");
+        if (accessToken == null) {
+            throw new IllegalStateException("Token response for client '" + registration.clientId + "' has no access_token");
+        }
+        Object expiresIn = body.get("expires_in");
+        long lifetimeSeconds = expiresIn == null ? 3600 : Long.parseLong(expiresIn.toString());
+        logger.info("Obtained OAuth2 token for " + registration + " (expires in " + lifetimeSeconds + "s)");
+        long now = System.currentTimeMillis();
+        long lifetimeMillis = lifetimeSeconds * 1000;
+        return new Token(accessToken.toString(), now + lifetimeMillis, now + refreshDelay(lifetimeMillis));
+    }
+
+    /**
+     * Time after issue at which a token is refreshed
+     */
+    private long refreshDelay(long lifetimeMillis) {
+        return Math.max(MIN_REFRESH_DELAY_MILLIS, Math.max(lifetimeMillis - refreshSkewMillis, lifetimeMillis / 2));
+    }
+
+    /**
+     * Per-client token slot with single-flight refresh
+     */
+    private class TokenHolder {
+        final ClientRegistration registration;
+        final AtomicReference<CompletableFuture<Token>> inFlight = new AtomicReference<>();
+        volatile Token current;
+        private ScheduledFuture<?> scheduledRefresh;
+
+        TokenHolder(ClientRegistration registration) {
+            this.registration = registration;
+        }
+
+        /**
+         * Start a token request unless one is already running; return the shared future
+         */
+        CompletableFuture<Token> refresh() {
+            CompletableFuture<Token> mine = new CompletableFuture<>();
+            if (!inFlight.compareAndSet(null, mine)) {
+                CompletableFuture<Token> existing = inFlight.get();
+                if (existing != null) {
+                    return existing;
+                }
+                return refresh();
+            }
+            // inFlight is cleared before mine completes, so a caller that wakes up and invalidates
+            // the token starts a new request rather than getting this finished one back
+            CompletableFuture.runAsync(() -> {
+                Token token;
+                try {
+                    token = requestToken(registration);
+                } catch (RuntimeException e) {
+                    logger.warn("OAuth2 token request failed for " + registration + ": " + e.getMessage());
+                    Token stillValid = current;
+                    if (stillValid != null && System.currentTimeMillis() < stillValid.expiresAt) {
+                        scheduleRefresh(RETRY_DELAY_MILLIS);
+                    }
+                    inFlight.compareAndSet(mine, null);
+                    mine.completeExceptionally(e);
+                    return;
+                }
+                current = token;
+                scheduleRefresh(Math.max(0, token.refreshAt - System.currentTimeMillis()));
+                inFlight.compareAndSet(mine, null);
+                mine.complete(token);
+            }, fetchExecutor);
+            return mine;
+        }
+
+        /**
+         * Replace the pending background refresh, so refreshes and invalidations never stack up
+         */
+        synchronized void scheduleRefresh(long delayMillis) {
+            cancelScheduledRefresh();
+            scheduledRefresh = scheduler.schedule(this::backgroundRefresh, delayMillis, TimeUnit.MILLISECONDS);
+        }
+
+        synchronized void cancelScheduledRefresh() {
+            if (scheduledRefresh != null) {
+                scheduledRefresh.cancel(false);
+                scheduledRefresh = null;
+            }
+        }
+
+        private void backgroundRefresh() {
+            backgroundRefreshes.incrementAndGet();
+            refresh();
+        }
+    }
+
+    private static class Token {
+        final String accessToken;
+        final long expiresAt;
+        final long refreshAt;
+
+        Token(String accessToken, long expiresAt, long refreshAt) {
+            this.accessToken = accessToken;
+            this.expiresAt = expiresAt;
+            this.refreshAt = refreshAt;
+        }
+    }
+
+    /**
+     * Identifies an OAuth2 client; also the token cache key (environment, client id, scope)
+     */
+    public static class ClientRegistration {
+        final String environment;
+        final String tokenUrl;
+        final String clientId;
+        final String clientSecret;
+        final String scope;
+        final String grantType;
+        final String username;
+        final String password;
+
+        public ClientRegistration(String environment, String tokenUrl, String clientId, String clientSecret,
+                                  String scope, String grantType, String username, String password) {
+            this.environment = environment;
+            this.tokenUrl = tokenUrl;
+            this.clientId = clientId;
+            this.clientSecret = clientSecret;
+            this.scope = scope;
+            this.grantType = grantType;
+            this.username = username;
+            this.password = password;
+        }
+
+        /**
+         * Client for the current environment, or null when oauth.token.url.&lt;env&gt; is not set
+         */
+        public static ClientRegistration fromConfig() {
+            String tokenUrl = ConfigManager.getEnvProperty("oauth.token.url");
+            if (tokenUrl == null || tokenUrl.isEmpty()) {
+                return null;
+            }
+            return new ClientRegistration(
+                    ConfigManager.getCurrentEnvironment(),
+                    tokenUrl,
+                    ConfigManager.getEnvProperty("oauth.client.id"),
+                    ConfigManager.getEnvProperty("oauth.client.secret"),
+                    ConfigManager.getEnvProperty("oauth.scope"),
+                    ConfigManager.getProperty("oauth.grant.type", "client_credentials"),
+                    ConfigManager.getUsername(),
+                    ConfigManager.getPassword());
+        }
+
+        /**
+         * Same client with a different username/password (password grant)
+         */
+        public ClientRegistration withUser(String user, String secret) {
+            return new ClientRegistration(environment, tokenUrl, clientId, clientSecret, scope, "password", user, secret);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ClientRegistration)) {
+                return false;
+            }
+            ClientRegistration other = (ClientRegistration) o;
+            return Objects.equals(environment, other.environment)
+                    && Objects.equals(clientId, other.clientId)
+                    && Objects.equals(scope, other.scope)
+                    && Objects.equals(tokenOwner(), other.tokenOwner());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(environment, clientId, scope, tokenOwner());
+        }
+
+        /**
+         * Password-grant tokens belong to a user; client-credential tokens to the client alone
+         */
+        private String tokenOwner() {
+            return "password".equals(grantType) ? username : null;
+        }
+
+        @Override
+        public String toString() {
+            return environment + "/" + clientId + (scope == null ? "" : "/" + scope)
+                    + (tokenOwner() == null ? "" : "/" + tokenOwner());
+        }
+    }
+}
@@ -0,0 +1,463 @@
+package com.api.testing.utils;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Local store of per-endpoint and per-test latency histograms from previous runs, and the
+ * regression check against them.
+ * Each run is saved as &lt;dir&gt;/&lt;environment&gt;/run-&lt;millis&gt;.json; the baseline is the
+ * merge of the last `runs` runs of the same environment that did not regress themselves.
+ * A p50 regression needs the median to be more than p50Threshold slower and a one-sided
+ * Mann-Whitney U test (on the histogram buckets, ties at mid-rank) to reject "no slower" at
+ * alpha. A p99 regression needs the p99 to be more than p99Threshold slower and a binomial test
+ * to show that significantly more than 1% of requests exceed the baseline p99. Keys with fewer
+ * than minSamples observations on either side are not compared, so single-shot tests and
+ * one-off endpoints never fail the gate on noise.
+ */
+public class PerformanceBaseline {
+    private static final Logger logger = LogManager.getLogger(PerformanceBaseline.class);
+
+    private final Path directory;
+    private final int runs;
+    private final int minSamples;
+    private final double p50Threshold;
+    private final double p99Threshold;
+    private final double alpha;
+
+    public PerformanceBaseline(Path directory, int runs, int minSamples,
+                               double p50Threshold, double p99Threshold, double alpha) {
+        this.directory = directory;
+        this.runs = runs;
+        this.minSamples = minSamples;
+        this.p50Threshold = p50Threshold;
+        this.p99Threshold = p99Threshold;
+        this.alpha = alpha;
+    }
+
+    /**
+     * Compare a run with the baseline of its environment; empty when there is no baseline yet
+     */
+    public Comparison compare(Run current) {
+        Run baseline = loadBaseline(current.environment);
+        Comparison comparison = new Comparison(baseline);
+        if (baseline == null) {
+            return comparison;
+        }
+        compare(comparison, "endpoint", current.endpoints, baseline.endpoints);
+        compare(comparison, "test", current.tests, baseline.tests);
+        return comparison;
+    }
+
+    private void compare(Comparison comparison, String kind,
+                         Map<String, LatencyHistogram> current, Map<String, LatencyHistogram> baseline) {
+        for (Map.Entry<String, LatencyHistogram> entry : current.entrySet()) {
+            LatencyHistogram now = entry.getValue();
+            LatencyHistogram before = baseline.get(entry.getKey());
+            if (before == null || now.getCount() < minSamples || before.getCount() < minSamples) {
+                continue;
+            }
+            long p50Before = before.getValueAtPercentile(50);
+            long p50Now = now.getValueAtPercentile(50);
+            double p50P = mannWhitneyGreater(now, before);
+            comparison.results.add(new Result(kind, entry.getKey(), "p50", p50Before, p50Now, p50P,
+                    p50Now > p50Before * (1 + p50Threshold) && p50P < alpha));
+
+            long p99Before = before.getValueAtPercentile(99);
+            long p99Now = now.getValueAtPercentile(99);
+            double p99P = tailExceedance(now, p99Before, 0.01);
+            comparison.results.add(new Result(kind, entry.getKey(), "p99", p99Before, p99Now, p99P,
+                    p99Now > p99Before * (1 + p99Threshold) && p99P < alpha));
+        }
+    }
+
+    /**
+     * One-sided p-value that `current` is stochastically greater than `baseline`
+     * (Mann-Whitney U, normal approximation with tie correction)
+     */
+    static double mannWhitneyGreater(LatencyHistogram current, LatencyHistogram baseline) {
+        Map<Long, long[]> buckets = new TreeMap<>();
+        for (long[] bucket : current.getBuckets()) {
+            buckets.computeIfAbsent(bucket[0], key -> new long[2])[0] += bucket[1];
+        }
+        for (long[] bucket : baseline.getBuckets()) {
+            buckets.computeIfAbsent(bucket[0], key -> new long[2])[1] += bucket[1];
+        }
+        double n1 = current.getCount();
+        double n2 = baseline.getCount();
+        double total = n1 + n2;
+        double rankSum = 0;
+        double ties = 0;
+        double below = 0;
+        for (long[] counts : buckets.values()) {
+            double t = counts[0] + counts[1];
+            double midRank = below + (t + 1) / 2;
+            rankSum += counts[0] * midRank;
+            ties += t * t * t - t;
+            below += t;
+        }
+        double u = rankSum - n1 * (n1 + 1) / 2;
+        double mean = n1 * n2 / 2;
+        double variance = n1 * n2 / 12 * ((total + 1) - ties / (total * (total - 1)));
+        if (variance <= 0) {
+            return 1;
+        }
+        return upperTail((u - mean) / Math.sqrt(variance));
+    }
+
+    /**
+     * One-sided p-value that more than `rate` of current's samples exceed `threshold` micros
+     * (exact binomial tail for small samples, normal approximation above)
+     */
+    static double tailExceedance(LatencyHistogram current, long threshold, double rate) {
+        long n = current.getCount();
+        long k = 0;
+        for (long[] bucket : current.getBuckets()) {
+            if (bucket[0] > threshold) {
+                k += bucket[1];
+            }
+        }
+        if (k == 0) {
+            return 1;
+        }
+        if (n * rate * (1 - rate) >= 9) {
+            return upperTail((k - 0.5 - n * rate) / Math.sqrt(n * rate * (1 - rate)));
+        }
+        // P(X >= k) for X ~ Binomial(n, rate), summed in log space
+        double p = 0;
+        for (long i = k; i <= n; i++) {
+            double logTerm = logChoose(n, i) + i * Math.log(rate) + (n - i) * Math.log1p(-rate);
+            double term = Math.exp(logTerm);
+            p += term;
+            if (term < 1e-15 * p) {
+                break;
+            }
+        }
+        return Math.min(1, p);
+    }
+
+    private static double logChoose(long n, long k) {
+        double result = 0;
+        for (long i = 1; i <= k; i++) {
+            result += Math.log(n - k + i) - Math.log(i);
+        }
+        return result;
+    }
+
+    /**
+     * P(Z > z) for a standard normal Z
+     */
+    static double upperTail(double z) {
+        return 0.5 * erfc(z / Math.sqrt(2));
+    }
+
+    /**
+     * Complementary error function (Numerical Recipes erfcc, fractional error below 1.2e-7)
+     */
+    private static double erfc(double x) {
+        double z = Math.abs(x);
+        double t = 1 / (1 + 0.5 * z);
+        double r = t * Math.exp(-z * z - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return x >= 0 ? r : 2 - r;
+    }
+
+    /**
+     * Merge the last `runs` non-regressed runs of an environment; null when there are none
+     */
+    Run loadBaseline(String environment) {
+        List<Path> files = runFiles(environment);
+        Run baseline = null;
+        int used = 0;
+        for (int i = files.size() - 1; i >= 0 && used < runs; i--) {
+            Run run;
+            try {
+                run = read(files.get(i));
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Ignoring unreadable baseline " + files.get(i) + ": " + e.getMessage());
+                continue;
+            }
+            if (run.regressed) {
+                continue;
+            }
+            if (baseline == null) {
+                baseline = new Run(environment, run.timestamp, 0, 0);
+            }
+            baseline.merge(run);
+            used++;
+        }
+        if (baseline != null) {
+            logger.info("Performance baseline for " + environment + " from " + used + " previous runs");
+        }
+        return baseline;
+    }
+
+    private List<Path> runFiles(String environment) {
+        Path dir = directory.resolve(environment);
+        if (!Files.isDirectory(dir)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> stream = Files.list(dir)) {
+            // run-<millis>.json, zero-padded, so name order is time order
+            return stream.filter(path -> path.getFileName().toString().matches("run-\\d+\\.json"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list baselines in " + dir, e);
+        }
+    }
+
+    /**
+     * Store a run, dropping keys below minSamples and runs beyond the newest keep
+     */
+    public Path save(Run run, boolean regressed, int keep) {
+        JsonObject root = new JsonObject();
+        root.addProperty("timestamp", run.timestamp);
+        root.addProperty("environment", run.environment);
+        root.addProperty("durationSeconds", run.durationSeconds);
+        root.addProperty("requests", run.requests);
+        root.addProperty("regressed", regressed);
+        root.add("endpoints", toJson(run.endpoints));
+        root.add("tests", toJson(run.tests));
+
+        Path dir = directory.resolve(run.environment);
+        Path file = dir.resolve(String.format("run-%015d.json", run.timestamp));
+        try {
+            Files.createDirectories(dir);
+            Path temp = Files.createTempFile(dir, "run", ".tmp");
+            Files.writeString(temp, new GsonBuilder().create().toJson(root), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            List<Path> files = runFiles(run.environment);
+            for (int i = 0; i < files.size() - keep; i++) {
+                Files.deleteIfExists(files.get(i));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write baseline " + file, e);
+        }
+        return file;
+    }
+
+    private JsonObject toJson(Map<String, LatencyHistogram> histograms) {
+        JsonObject json = new JsonObject();
+        histograms.forEach((key, histogram) -> {
+            if (histogram.getCount() >= minSamples) {
+                json.add(key, bucketsToJson(histogram));
+            }
+        });
+        return json;
+    }
+
+    /**
+     * Histogram as [[upperBoundMicros, count], ...]; restoring it with bucketsFromJson lands every
+     * count in its original bucket
+     */
+    static JsonArray bucketsToJson(LatencyHistogram histogram) {
+        JsonArray buckets = new JsonArray();
+        for (long[] bucket : histogram.getBuckets()) {
+            JsonArray pair = new JsonArray();
+            pair.add(bucket[0]);
+            pair.add(bucket[1]);
+            buckets.add(pair);
+        }
+        return buckets;
+    }
+
+    static LatencyHistogram bucketsFromJson(JsonArray buckets) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (JsonElement bucket : buckets) {
+            JsonArray pair = bucket.getAsJsonArray();
+            histogram.recordMicros(pair.get(0).getAsLong(), pair.get(1).getAsLong());
+        }
+        return histogram;
+    }
+
+    private static Run read(Path file) throws IOException {
+        JsonObject root = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8)).getAsJsonObject();
+        Run run = new Run(root.get("environment").getAsString(), root.get("timestamp").getAsLong(),
+                root.get("durationSeconds").getAsDouble(), root.get("requests").getAsLong());
+        run.regressed = root.get("regressed").getAsBoolean();
+        readHistograms(root.getAsJsonObject("endpoints"), run.endpoints);
+        readHistograms(root.getAsJsonObject("tests"), run.tests);
+        return run;
+    }
+
+    private static void readHistograms(JsonObject json, Map<String, LatencyHistogram> target) {
+        for (Map.Entry<String, JsonElement> entry : json.entrySet()) {
+            target.put(entry.getKey(), bucketsFromJson(entry.getValue().getAsJsonArray()));
+        }
+    }
+
+    /**
+     * Latencies and throughput of one run (or of the merged baseline)
+     */
+    public static class Run {
+        final String environment;
+        final long timestamp;
+        double durationSeconds;
+        long requests;
+        boolean regressed;
+        final Map<String, LatencyHistogram> endpoints = new TreeMap<>();
+        final Map<String, LatencyHistogram> tests = new TreeMap<>();
+
+        public Run(String environment, long timestamp, double durationSeconds, long requests) {
+            this.environment = environment;
+            this.timestamp = timestamp;
+            this.durationSeconds = durationSeconds;
+            this.requests = requests;
+        }
+
+        public Run endpoint(String key, LatencyHistogram histogram) {
+            endpoints.computeIfAbsent(key, k -> new LatencyHistogram()).merge(histogram);
+            return this;
+        }
+
+        public Run test(String key, LatencyHistogram histogram) {
+            tests.computeIfAbsent(key, k -> new LatencyHistogram()).merge(histogram);
+            return this;
+        }
+
+        void merge(Run other) {
+            durationSeconds += other.durationSeconds;
+            requests += other.requests;
+            other.endpoints.forEach(this::endpoint);
+            other.tests.forEach(this::test);
+        }
+
+        public double getThroughput() {
+            return durationSeconds > 0 ? requests / durationSeconds : 0;
+        }
+    }
+
+    /**
+     * Outcome of comparing one key's percentile with the baseline
+     */
+    public static class Result {
+        private final String kind;
+        private final String key;
+        private final String percentile;
+        private final long baselineMicros;
+        private final long currentMicros;
+        private final double pValue;
+        private final boolean regression;
+
+        Result(String kind, String key, String percentile, long baselineMicros, long currentMicros,
+               double pValue, boolean regression) {
+            this.kind = kind;
+            this.key = key;
+            this.percentile = percentile;
+            this.baselineMicros = baselineMicros;
+            this.currentMicros = currentMicros;
+            this.pValue = pValue;
+            this.regression = regression;
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getPercentile() {
+            return percentile;
+        }
+
+        public long getBaselineMicros() {
+            return baselineMicros;
+        }
+
+        public long getCurrentMicros() {
+            return currentMicros;
+        }
+
+        public double getChange() {
+            return baselineMicros > 0 ? (currentMicros - baselineMicros) / (double) baselineMicros : 0;
+        }
+
+        public double getPValue() {
+            return pValue;
+        }
+
+        public boolean isRegression() {
+            return regression;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s %s: %.1fms -> %.1fms (%+.0f%%, p=%.2g)", kind, key, percentile,
+                    baselineMicros / 1000.0, currentMicros / 1000.0, getChange() * 100, pValue);
+        }
+    }
+
+    /**
+     * All compared percentiles of a run
+     */
+    public static class Comparison {
+        private final Run baseline;
+        private final List<Result> results = new ArrayList<>();
+
+        Comparison(Run baseline) {
+            this.baseline = baseline;
+        }
+
+        public boolean hasBaseline() {
+            return baseline != null;
+        }
+
+        public Run getBaseline() {
+            return baseline;
+        }
+
+        public List<Result> getResults() {
+            return results;
+        }
+
+        public List<Result> getRegressions() {
+            return results.stream().filter(Result::isRegression).collect(Collectors.toList());
+        }
+
+        public int getComparedKeys() {
+            return new TreeSet<>(results.stream().map(result -> result.kind + " " + result.key)
+                    .collect(Collectors.toList())).size();
+        }
+
+        /**
+         * Add the compared percentiles to the HTML report, regressions first
+         */
+        public void appendTo(HtmlReportGenerator report) {
+            List<List<String>> rows = new ArrayList<>();
+            results.stream()
+                    .sorted((a, b) -> Boolean.compare(b.regression, a.regression))
+                    .forEach(result -> rows.add(List.of(result.regression ? "✗ REGRESSION" : "✓",
+                            result.kind, result.key, result.percentile,
+                            String.format("%.1f ms", result.baselineMicros / 1000.0),
+                            String.format("%.1f ms", result.currentMicros / 1000.0),
+                            String.format("%+.0f%%", result.getChange() * 100),
+                            String.format("%.2g", result.pValue))));
+            report.addSection("📐 Performance Baseline (" + getRegressions().size() + " regressions in "
+                            + getComparedKeys() + " compared)",
+                    List.of("Status", "Kind", "Key", "Percentile", "Baseline", "Current", "Change", "p-value"), rows);
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.api.testing.utils;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JFR recording around a test run, summarised into CPU hot methods, allocation sites and GC pauses.
+ * startSuite() is called from BaseTest.setupEnvironment() when profiling.enabled is set and
+ * stopSuite() from TestReportListener once the last &lt;test&gt; has finished; the recording file is
+ * kept next to the report for deeper analysis in JDK Mission Control.
+ */
+public class ProfilingSession {
+    private static final Logger logger = LogManager.getLogger(ProfilingSession.class);
+    private static ProfilingSession suiteSession;
+
+    private final Recording recording;
+    private final Path file;
+
+    private ProfilingSession(Recording recording, Path file) {
+        this.recording = recording;
+        this.file = file;
+    }
+
+    /**
+     * Start a recording with a JFR settings name ("profile", "default") or .jfc file
+     */
+    public static ProfilingSession start(String settings, Path file) {
+        try {
+            Configuration configuration = settings.endsWith(".jfc")
+                    ? Configuration.create(Path.of(settings)) : Configuration.getConfiguration(settings);
+            Recording recording = new Recording(configuration);
+            recording.setName("api-testing-profile");
+            recording.setToDisk(true);
+            recording.start();
+            logger.info("JFR profiling started (" + settings + "), recording to " + file);
+            return new ProfilingSession(recording, file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load JFR settings " + settings, e);
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Invalid JFR settings " + settings, e);
+        }
+    }
+
+    /**
+     * Stop the recording, write it to the file and summarise it
+     */
+    public Summary stop(int top) {
+        try {
+            recording.stop();
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            recording.dump(file);
+            logger.info("JFR profiling stopped, recording written to " + file);
+            return Summary.parse(file, top);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write JFR recording " + file, e);
+        } finally {
+            recording.close();
+        }
+    }
+
+    public static synchronized void startSuite() {
+        if (suiteSession == null && ConfigManager.isProfilingEnabled()) {
+            suiteSession = start(ConfigManager.getProfilingSettings(), Path.of(ConfigManager.getProfilingFile()));
+        }
+    }
+
+    /**
+     * Stop the suite recording; null when profiling was not started
+     */
+    public static synchronized Summary stopSuite() {
+        if (suiteSession == null) {
+            return null;
+        }
+        ProfilingSession session = suiteSession;
+        suiteSession = null;
+        return session.stop(ConfigManager.getProfilingTopEntries());
+    }
+
+    /**
+     * Hot methods, allocation sites and GC pauses of one recording
+     */
+    public static class Summary {
+        private final Path file;
+        private final long executionSamples;
+        private final List<Entry> hotMethods;
+        private final long allocatedBytes;
+        private final List<Entry> allocationSites;
+        private final Map<String, GcStats> gcPauses;
+
+        Summary(Path file, long executionSamples, List<Entry> hotMethods, long allocatedBytes,
+                List<Entry> allocationSites, Map<String, GcStats> gcPauses) {
+            this.file = file;
+            this.executionSamples = executionSamples;
+            this.hotMethods = hotMethods;
+            this.allocatedBytes = allocatedBytes;
+            this.allocationSites = allocationSites;
+            this.gcPauses = gcPauses;
+        }
+
+        /**
+         * Read a recording: execution samples by top frame, allocation weight by allocating
+         * frame and object class, GC pauses by collector
+         */
+        public static Summary parse(Path file, int top) throws IOException {
+            Map<String, Long> samples = new HashMap<>();
+            Map<String, Long> allocations = new HashMap<>();
+            Map<String, GcStats> gc = new TreeMap<>();
+            long totalSamples = 0;
+            long totalAllocated = 0;
+
+            try (RecordingFile recording = new RecordingFile(file)) {
+                while (recording.hasMoreEvents()) {
+                    RecordedEvent event = recording.readEvent();
+                    switch (event.getEventType().getName()) {
+                        case "jdk.ExecutionSample":
+                            totalSamples++;
+                            samples.merge(topFrame(event.getStackTrace()), 1L, Long::sum);
+                            break;
+                        case "jdk.ObjectAllocationSample":
+                        case "jdk.ObjectAllocationInNewTLAB":
+                        case "jdk.ObjectAllocationOutsideTLAB":
+                            long bytes = allocationWeight(event);
+                            totalAllocated += bytes;
+                            String type = event.hasField("objectClass") && event.getClass("objectClass") != null
+                                    ? typeName(event.getClass("objectClass").getName()) : "?";
+                            allocations.merge(topFrame(event.getStackTrace()) + " (" + type + ")", bytes, Long::sum);
+                            break;
+                        case "jdk.GarbageCollection":
+                            gc.computeIfAbsent(event.getString("name"), name -> new GcStats())
+                                    .add(event.getDuration("sumOfPauses"), event.getDuration("longestPause"));
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            }
+            return new Summary(file, totalSamples, topEntries(samples, totalSamples, top), totalAllocated,
+                    topEntries(allocations, totalAllocated, top), gc);
+        }
+
+        private static long allocationWeight(RecordedEvent event) {
+            if (event.hasField("weight")) {
+                return event.getLong("weight");
+            }
+            if (event.hasField("tlabSize")) {
+                return event.getLong("tlabSize");
+            }
+            return event.getLong("allocationSize");
+        }
+
+        /**
+         * Readable class name: JFR reports arrays as descriptors such as [B or [Ljava.lang.String;
+         */
+        private static String typeName(String name) {
+            int dimensions = 0;
+            while (dimensions < name.length() && name.charAt(dimensions) == '[') {
+                dimensions++;
+            }
+            if (dimensions == 0) {
+                return name;
+            }
+            String element = name.substring(dimensions);
+            switch (element) {
+                case "Z": element = "boolean"; break;
+                case "B": element = "byte"; break;
+                case "C": element = "char"; break;
+                case "S": element = "short"; break;
+                case "I": element = "int"; break;
+                case "J": element = "long"; break;
+                case "F": element = "float"; break;
+                case "D": element = "double"; break;
+                default: element = element.replaceAll("^L|;$", ""); break;
+            }
+            return element + "[]".repeat(dimensions);
+        }
+
+        private static String topFrame(RecordedStackTrace stackTrace) {
+            if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+                return "(no stack)";
+            }
+            RecordedFrame frame = stackTrace.getFrames().get(0);
+            return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+        }
+
+        private static List<Entry> topEntries(Map<String, Long> counts, long total, int top) {
+            List<Entry> entries = new ArrayList<>();
+            counts.forEach((name, value) -> entries.add(new Entry(name, value, total > 0 ? 100.0 * value / total : 0)));
+            entries.sort(Comparator.comparingLong(Entry::getValue).reversed());
+            return entries.size() > top ? new ArrayList<>(entries.subList(0, top)) : entries;
+        }
+
+        /**
+         * Add hot methods, allocation sites and GC pauses as report sections
+         */
+        public void appendTo(HtmlReportGenerator report) {
+            List<List<String>> methods = new ArrayList<>();
+            for (Entry entry : hotMethods) {
+                methods.add(List.of(entry.getName(), String.valueOf(entry.getValue()),
+                        String.format("%.1f%%", entry.getPercent())));
+            }
+            report.addSection("🔥 CPU Hot Methods (" + executionSamples + " samples)",
+                    List.of("Method", "Samples", "Share"), methods);
+
+            List<List<String>> sites = new ArrayList<>();
+            for (Entry entry : allocationSites) {
+                sites.add(List.of(entry.getName(), String.format("%.1f MB", entry.getValue() / 1048576.0),
+                        String.format("%.1f%%", entry.getPercent())));
+            }
+            report.addSection(String.format("📦 Allocation Sites (%.1f MB sampled)", allocatedBytes / 1048576.0),
+                    List.of("Site (class)", "Allocated", "Share"), sites);
+
+            List<List<String>> pauses = new ArrayList<>();
+            gcPauses.forEach((collector, stats) -> pauses.add(List.of(collector,
+                    String.valueOf(stats.getCollections()),
+                    String.format("%.1f ms", stats.getTotalPause().toNanos() / 1e6),
+                    String.format("%.1f ms", stats.getLongestPause().toNanos() / 1e6))));
+            report.addSection("🗑 GC Pauses", List.of("Collector", "Collections", "Total pause", "Longest pause"), pauses);
+        }
+
+        public Path getFile() {
+            return file;
+        }
+
+        public long getExecutionSamples() {
+            return executionSamples;
+        }
+
+        public List<Entry> getHotMethods() {
+            return hotMethods;
+        }
+
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public List<Entry> getAllocationSites() {
+            return allocationSites;
+        }
+
+        public Map<String, GcStats> getGcPauses() {
+            return gcPauses;
+        }
+    }
+
+    /**
+     * A method or allocation site with its sample count or bytes and share of the total
+     */
+    public static class Entry {
+        private final String name;
+        private final long value;
+        private final double percent;
+
+        Entry(String name, long value, double percent) {
+            this.name = name;
+            this.value = value;
+            this.percent = percent;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getValue() {
+            return value;
+        }
+
+        public double getPercent() {
+            return percent;
+        }
+    }
+
+    /**
+     * Pause totals for one collector
+     */
+    public static class GcStats {
+        private long collections;
+        private Duration totalPause = Duration.ZERO;
+        private Duration longestPause = Duration.ZERO;
+
+        void add(Duration pause, Duration longest) {
+            collections++;
+            totalPause = totalPause.plus(pause);
+            if (longest.compareTo(longestPause) > 0) {
+                longestPause = longest;
+            }
+        }
+
+        public long getCollections() {
+            return collections;
+        }
+
+        public Duration getTotalPause() {
+            return totalPause;
+        }
+
+        public Duration getLongestPause() {
+            return longestPause;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.api.testing.utils;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token-bucket rate limit per environment and per endpoint.
+ * Rates come from the snapshot of the calling thread's environment: rate.limit.rps[.&lt;env&gt;]
+ * caps all requests to the environment and rate.limit.endpoints[.&lt;env&gt;] ("/path:rps" entries,
+ * matched by path prefix) caps individual endpoints, both with rate.limit.burst[.&lt;env&gt;]
+ * requests of burst. A rate of 0 means unlimited, so environments without limits pay nothing.
+ * Permits are handed out as reservations in arrival order, so concurrent tests are served
+ * first-come first-served and each caller sleeps only until its own slot. AsyncRequestClient's
+ * requests share the same buckets.
+ */
+public class RateLimitFilter implements ReportingFilter, AsyncStage {
+    private static final Logger logger = LogManager.getLogger(RateLimitFilter.class);
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long waitNanos = reserve(URI.create(requestSpec.getURI()));
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a rate limit permit: " + requestSpec.getURI(), e);
+            }
+        }
+        return ctx.next(requestSpec, responseSpec);
+    }
+
+    /**
+     * Async requests take their permit the same way; the client delays the send instead of sleeping
+     */
+    @Override
+    public Exchange begin(String method, URI uri, String endpointKey) {
+        long waitNanos = reserve(uri);
+        return new Exchange() {
+            @Override
+            public long getDelayNanos() {
+                return waitNanos;
+            }
+
+            @Override
+            public void end(int status, Throwable error, long nanos) {
+                // the permit is spent either way
+            }
+        };
+    }
+
+    /**
+     * Reserve a permit in the environment's bucket and in every matching endpoint bucket;
+     * returns how long the caller must wait for the latest of them
+     */
+    private long reserve(URI uri) {
+        requests.increment();
+        ConfigSnapshot config = ConfigManager.current();
+        String env = config.getEnvironment();
+        long now = System.nanoTime();
+        long waitNanos = 0;
+
+        double rps = ConfigManager.getRateLimitRps(config);
+        int burst = ConfigManager.getRateLimitBurst(config);
+        if (rps > 0) {
+            waitNanos = bucket(env, rps, burst, now).reserve(now);
+        }
+        String path = uri.getPath();
+        for (Map.Entry<String, Double> rule : ConfigManager.getRateLimitEndpoints(config).entrySet()) {
+            if (path != null && path.startsWith(rule.getKey())) {
+                long endpointWait = bucket(env + " " + rule.getKey(), rule.getValue(), burst, now).reserve(now);
+                waitNanos = Math.max(waitNanos, endpointWait);
+            }
+        }
+
+        if (waitNanos > 0) {
+            throttled.increment();
+            waitTime.recordNanos(waitNanos);
+            totalWaitNanos.add(waitNanos);
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Bucket for a key; replaced when a configuration reload changed its rate
+     */
+    private TokenBucket bucket(String key, double rps, int burst, long now) {
+        return buckets.compute(key, (k, existing) -> {
+            if (existing != null && existing.rps == rps && existing.burst == burst) {
+                return existing;
+            }
+            logger.info("Rate limit for " + k + ": " + rps + " req/s, burst " + burst);
+            return new TokenBucket(rps, burst, now);
+        });
+    }
+
+    public long getThrottled() {
+        return throttled.sum();
+    }
+
+    public long getTotalWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum());
+    }
+
+    /**
+     * Time requests spent waiting for a permit
+     */
+    public LatencyHistogram getWaitTime() {
+        return waitTime;
+    }
+
+    /**
+     * Requests per bucket (environment, or "environment /path" for endpoint rules)
+     */
+    public Map<String, Long> getRequestsByBucket() {
+        Map<String, Long> counts = new TreeMap<>();
+        buckets.forEach((key, bucket) -> counts.put(key, bucket.reservations.sum()));
+        return counts;
+    }
+
+    @Override
+    public String getName() {
+        return "Rate limit";
+    }
+
+    @Override
+    public String getSummary() {
+        if (buckets.isEmpty()) {
+            return "no limits for " + ConfigManager.getCurrentEnvironment();
+        }
+        List<String> limits = new ArrayList<>();
+        new TreeMap<>(buckets).forEach((key, bucket) -> limits.add(key + " " + bucket.rps + "/s"));
+        return String.join(", ", limits) + "; throttled=" + throttled.sum() + " of " + requests.sum()
+                + ", wait p95=" + waitTime.getPercentileMillis(95) + "ms total=" + getTotalWaitMillis() + "ms";
+    }
+
+    @Override
+    public int getOrder() {
+        return RequestPipeline.RATE_LIMIT_ORDER;
+    }
+
+    /**
+     * Token bucket as virtual scheduling: each reservation moves the next free slot on by
+     * 1/rps, and up to burst slots may be taken ahead of time. Taking the slot under the lock
+     * and sleeping outside it keeps callers in FIFO order without waking them all up.
+     */
+    static class TokenBucket {
+        final double rps;
+        final int burst;
+        final LongAdder reservations = new LongAdder();
+        private final long intervalNanos;
+        private final long burstNanos;
+        private long nextFreeNanos;
+
+        TokenBucket(double rps, int burst, long now) {
+            this.rps = rps;
+            this.burst = burst;
+            this.intervalNanos = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / rps));
+            this.burstNanos = intervalNanos * Math.max(0, burst - 1);
+            this.nextFreeNanos = now - burstNanos;
+        }
+
+        /**
+         * Take the next permit and return how long the caller must wait for it
+         */
+        synchronized long reserve(long now) {
+            reservations.increment();
+            // Unused capacity accumulates up to the burst size
+            long slot = Math.max(nextFreeNanos, now - burstNanos);
+            nextFreeNanos = slot + intervalNanos;
+            return Math.max(0, slot - now);
+        }
+    }
+}
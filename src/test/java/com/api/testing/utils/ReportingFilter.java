@@ -0,0 +1,19 @@
+package com.api.testing.utils;
+
+import io.restassured.filter.OrderedFilter;
+
+/**
+ * A request pipeline filter that exposes its runtime statistics for the suite report
+ */
+public interface ReportingFilter extends OrderedFilter {
+
+    /**
+     * Short name shown in the report (e.g. "HTTP Cache")
+     */
+    String getName();
+
+    /**
+     * One-line summary of what the filter did during the run
+     */
+    String getSummary();
+}
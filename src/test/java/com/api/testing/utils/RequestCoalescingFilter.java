@@ -0,0 +1,149 @@
+package com.api.testing.utils;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-flight coalescing for identical concurrent GET/HEAD requests.
+ * Only requests whose spec carries the SHAREABLE marker filter take part; the marker is a
+ * filter context value, never a header on the wire. The first caller for a given method + URI + headers goes to the network,
+ * callers arriving while it is in flight wait for it and receive their own copy of the response.
+ */
+public class RequestCoalescingFilter implements ReportingFilter {
+    private static final Logger logger = LogManager.getLogger(RequestCoalescingFilter.class);
+
+    private static final String SHAREABLE_PROPERTY = RequestCoalescingFilter.class.getName() + ".shareable";
+
+    /**
+     * Marker that opts a request into coalescing: {@code given().filter(RequestCoalescingFilter.SHAREABLE)}.
+     * Without the coalescing stage installed it has no effect.
+     */
+    public static final Filter SHAREABLE = new OrderedFilter() {
+        @Override
+        public Response filter(FilterableRequestSpecification requestSpec,
+                               FilterableResponseSpecification responseSpec,
+                               FilterContext ctx) {
+            ctx.setValue(SHAREABLE_PROPERTY, Boolean.TRUE);
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        @Override
+        public int getOrder() {
+            return HIGHEST_PRECEDENCE;
+        }
+    };
+
+    private final ConcurrentHashMap<String, CompletableFuture<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong networkCalls = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!ctx.hasValue(SHAREABLE_PROPERTY)) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        String method = requestSpec.getMethod();
+        if (!"GET".equalsIgnoreCase(method) && !"HEAD".equalsIgnoreCase(method)) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        String key = requestKey(requestSpec);
+        CompletableFuture<SharedResponse> mine = new CompletableFuture<>();
+        CompletableFuture<SharedResponse> leader = inFlight.putIfAbsent(key, mine);
+
+        if (leader != null) {
+            coalesced.incrementAndGet();
+            logger.debug("Coalesced request onto in-flight call: " + key);
+            try {
+                return leader.join().copy();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+
+        networkCalls.incrementAndGet();
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            mine.complete(new SharedResponse(response, response.asByteArray()));
+            return response;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * Identify a request by method, URI and sorted header values
+     */
+    private String requestKey(FilterableRequestSpecification requestSpec) {
+        List<String> headers = new ArrayList<>();
+        for (Header header : requestSpec.getHeaders()) {
+            headers.add(header.getName().toLowerCase() + "=" + header.getValue());
+        }
+        headers.sort(null);
+        return requestSpec.getMethod() + " " + requestSpec.getURI() + " " + headers;
+    }
+
+    public long getNetworkCalls() {
+        return networkCalls.get();
+    }
+
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    @Override
+    public String getName() {
+        return "Coalescing";
+    }
+
+    @Override
+    public String getSummary() {
+        return "network calls=" + networkCalls.get() + ", coalesced=" + coalesced.get();
+    }
+
+    @Override
+    public int getOrder() {
+        return RequestPipeline.COALESCING_ORDER;
+    }
+
+    /**
+     * Buffered leader response that followers copy from
+     */
+    private static class SharedResponse {
+        final Response template;
+        final byte[] body;
+
+        SharedResponse(Response template, byte[] body) {
+            this.template = template;
+            this.body = body;
+        }
+
+        Response copy() {
+            return new ResponseBuilder().clone(template).setBody(body).build();
+        }
+    }
+}
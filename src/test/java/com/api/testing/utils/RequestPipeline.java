@@ -0,0 +1,192 @@
+package com.api.testing.utils;
+
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.filter.OrderedFilter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.net.http.HttpClient;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Shared request pipeline installed once per suite by BaseTest.
+ * Every stage is registered as a global RestAssured filter so plain given() calls
+ * go through it as well as requests built from BaseTest.getRequestSpec().
+ * Stages run in ascending order of the constants below; RestAssured's own
+ * Allure and logging filters sit at OrderedFilter.DEFAULT_PRECEDENCE (1000).
+ */
+public class RequestPipeline {
+    private static final Logger logger = LogManager.getLogger(RequestPipeline.class);
+
+    public static final int ROUTING_ORDER = 50;
+    public static final int CIRCUIT_BREAKER_ORDER = 200;
+    public static final int RETRY_ORDER = 500;
+    public static final int CACHE_ORDER = 700;
+    public static final int COALESCING_ORDER = 800;
+    public static final int RATE_LIMIT_ORDER = 850;
+    public static final int CONCURRENCY_ORDER = 900;
+    public static final int TIMEOUT_ORDER = 950;
+    public static final int FLIGHT_RECORDER_ORDER = 980;
+    public static final int SLO_ORDER = 985;
+    public static final int METRICS_ORDER = 990;
+    public static final int COMPRESSION_ORDER = 1100;
+    public static final int HEDGING_ORDER = 1200;
+    public static final int TRANSPORT_ORDER = OrderedFilter.LOWEST_PRECEDENCE;
+
+    private static final List<Filter> stages = new ArrayList<>();
+    private static final EndpointLatencyTracker latencies = new EndpointLatencyTracker();
+    private static TimeSeriesRecorder timeSeries;
+    private static boolean installed;
+
+    private RequestPipeline() {
+    }
+
+    /**
+     * Build the enabled stages from ConfigManager and register them with RestAssured
+     */
+    public static synchronized void install() {
+        if (installed) {
+            return;
+        }
+        stages.add(new EnvironmentRoutingFilter());
+        if (ConfigManager.isCircuitBreakerEnabled()) {
+            stages.add(new CircuitBreakerFilter(ConfigManager.getCircuitBreakerFailureThreshold(),
+                    ConfigManager.getCircuitBreakerOpenMillis()));
+        }
+        if (ConfigManager.isRetryEnabled()) {
+            stages.add(new RetryFilter(ConfigManager.getRetryCount(), ConfigManager.getRetryBaseDelayMillis(),
+                    ConfigManager.getRetryMaxDelayMillis(), ConfigManager.getRetryIdempotencyHeader(),
+                    new RetryFilter.RetryBudget(ConfigManager.getRetryBudgetRatio(), ConfigManager.getRetryBudgetMaxTokens())));
+        }
+        if (ConfigManager.isHttpCacheEnabled()) {
+            stages.add(new HttpCacheFilter(ConfigManager.getHttpCacheMaxBytes()));
+        }
+        if (ConfigManager.isRequestCoalescingEnabled()) {
+            stages.add(new RequestCoalescingFilter());
+        }
+        // Always installed: rates are resolved per request for the calling thread's environment
+        stages.add(new RateLimitFilter());
+        if (ConfigManager.isConcurrencyLimitEnabled()) {
+            stages.add(new ConcurrencyLimitFilter(ConfigManager.getConcurrencyLimitInitial(),
+                    ConfigManager.getConcurrencyLimitMin(), ConfigManager.getConcurrencyLimitMax(),
+                    ConfigManager.getConcurrencyLimitBackoffRatio(), ConfigManager.getConcurrencyLimitLatencyTolerance(),
+                    ConfigManager.getRequestTimeout()));
+        }
+        if (ConfigManager.isAdaptiveTimeoutEnabled()) {
+            stages.add(new AdaptiveTimeoutFilter(Paths.get(ConfigManager.getAdaptiveTimeoutHistoryFile()),
+                    ConfigManager.getAdaptiveTimeoutPercentile(), ConfigManager.getAdaptiveTimeoutFactor(),
+                    ConfigManager.getAdaptiveTimeoutMinMillis(), ConfigManager.getAdaptiveTimeoutMaxMillis(),
+                    ConfigManager.getAdaptiveTimeoutMinSamples()));
+        }
+        // Free unless a JFR recording enables com.api.testing.HttpRequest
+        stages.add(new FlightRecorderFilter());
+        // Free unless the test has a @LatencySlo
+        stages.add(new LatencySloFilter());
+        RollingRequestStats rolling = ConfigManager.isLiveMetricsEnabled() || ConfigManager.isTimeSeriesEnabled()
+                ? new RollingRequestStats(ConfigManager.getLiveMetricsWindowSeconds()) : null;
+        if (ConfigManager.isMetricsEnabled() || ConfigManager.isBaselineEnabled() || rolling != null) {
+            stages.add(new MetricsFilter(MetricsRegistry.global(), rolling));
+        }
+        if (ConfigManager.isMetricsEnabled()) {
+            MetricsRegistry.global().startExporting(Paths.get(ConfigManager.getMetricsFile()),
+                    ConfigManager.getMetricsExportIntervalSeconds() * 1000L);
+        }
+        if (ConfigManager.isTimeSeriesEnabled()) {
+            timeSeries = new TimeSeriesRecorder(rolling, Paths.get(ConfigManager.getTimeSeriesFile()));
+            timeSeries.start();
+        }
+        if (ConfigManager.isCompressionEnabled()) {
+            stages.add(new CompressionFilter(ConfigManager.getAcceptEncodings(),
+                    ConfigManager.getRequestCompressionThreshold()));
+        }
+        // Always installed: http.transport is resolved per request for the calling thread's environment
+        Http2TransportFilter transportFilter = new Http2TransportFilter();
+        if (ConfigManager.isHedgingEnabled()) {
+            // Hedges use one transport for the whole run, chosen by the suite's environment
+            HttpTransport hedgingTransport = "http2".equalsIgnoreCase(ConfigManager.getHttpTransport())
+                    ? transportFilter.getTransport()
+                    : new HttpTransport(HttpClient.Version.HTTP_1_1,
+                            ConfigManager.getConnectionTimeout(), ConfigManager.getRequestTimeout());
+            stages.add(new HedgingFilter(hedgingTransport, latencies, ConfigManager.getHedgingPercentile(),
+                    ConfigManager.getHedgingMinSamples(), ConfigManager.getHedgingMinDelayMillis(),
+                    ConfigManager.getHedgingMaxRate(), ConfigManager.getRequestTimeout()));
+        }
+        stages.add(transportFilter);
+
+        RestAssured.filters(stages);
+        for (Filter stage : stages) {
+            logger.info("Request pipeline stage enabled: " + stage.getClass().getSimpleName());
+        }
+        installed = true;
+    }
+
+    /**
+     * Save state kept between runs (latency history); called when a test run finishes
+     */
+    public static synchronized void persist() {
+        AdaptiveTimeoutFilter timeouts = getStage(AdaptiveTimeoutFilter.class);
+        if (timeouts != null) {
+            timeouts.save();
+        }
+    }
+
+    /**
+     * Latency histograms per endpoint, shared by the latency-aware stages
+     */
+    public static EndpointLatencyTracker getLatencyTracker() {
+        return latencies;
+    }
+
+    /**
+     * Per-second time series of the run, or null when timeseries.enabled is off
+     */
+    public static synchronized TimeSeriesRecorder getTimeSeries() {
+        return timeSeries;
+    }
+
+    /**
+     * Get an installed stage by type, or null when it is not enabled
+     */
+    public static synchronized <T extends Filter> T getStage(Class<T> type) {
+        for (Filter stage : stages) {
+            if (type.isInstance(stage)) {
+                return type.cast(stage);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Installed stages that also apply to AsyncRequestClient, in pipeline order
+     */
+    public static synchronized List<AsyncStage> getAsyncStages() {
+        List<AsyncStage> asyncStages = new ArrayList<>();
+        for (Filter stage : stages) {
+            if (stage instanceof AsyncStage) {
+                asyncStages.add((AsyncStage) stage);
+            }
+        }
+        return asyncStages;
+    }
+
+    /**
+     * Get the report summaries of all installed stages
+     */
+    public static synchronized List<String[]> getSummaries() {
+        if (stages.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String[]> summaries = new ArrayList<>();
+        for (Filter stage : stages) {
+            if (stage instanceof ReportingFilter) {
+                ReportingFilter reporting = (ReportingFilter) stage;
+                summaries.add(new String[]{reporting.getName(), reporting.getSummary()});
+            }
+        }
+        return summaries;
+    }
+}
@@ -0,0 +1,370 @@
+package com.api.testing.utils;
+
+import io.qameta.allure.Allure;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.filter.time.TimingFilter;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import io.restassured.specification.MultiPartSpecification;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.URI;
+import java.net.http.HttpConnectTimeoutException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Retries transient failures: connect failures and 429/502/503/504 responses.
+ * Only idempotent methods are retried, plus POST/PATCH when the request carries an
+ * idempotency key header. Delays use decorrelated jitter (each delay is random between the
+ * base delay and three times the previous one, capped), a Retry-After header is honoured, and
+ * every retry spends a token from a suite-wide RetryBudget so a failing dependency cannot be
+ * hammered by a retry storm. Each attempt runs the filters after this one again, so logging,
+ * Allure and the other pipeline stages see every attempt. Errors are never retried.
+ */
+public class RetryFilter implements ReportingFilter {
+    private static final Logger logger = LogManager.getLogger(RetryFilter.class);
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE", "TRACE");
+    private static final Set<Integer> RETRYABLE_STATUS = Set.of(429, 502, 503, 504);
+    private final int maxRetries;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final String idempotencyHeader;
+    private final RetryBudget budget;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder recovered = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+    private final LongAdder retryMillis = new LongAdder();
+    private final Map<String, LongAdder> retriesByReason = new ConcurrentHashMap<>();
+
+    public RetryFilter(int maxRetries, long baseDelayMillis, long maxDelayMillis,
+                       String idempotencyHeader, RetryBudget budget) {
+        this.maxRetries = maxRetries;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.idempotencyHeader = idempotencyHeader;
+        this.budget = budget;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        requests.increment();
+        budget.recordRequest();
+        if (maxRetries <= 0 || !isRetryable(requestSpec)) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        Attempts attempts = new Attempts(requestSpec);
+        for (int attempt = 0; ; attempt++) {
+            Response response;
+            try {
+                response = attempt == 0 ? ctx.next(requestSpec, responseSpec) : attempts.resend();
+            } catch (Exception e) {
+                // Only connect failures are retried. Errors (failed assertions, OutOfMemoryError) are
+                // not caught at all; Exception rather than RuntimeException because RestAssured
+                // throws checked transport exceptions such as ConnectException undeclared.
+                if (!isConnectFailure(e) || !attempts.pause(attempt, rootCause(e).getClass().getSimpleName(), -1)) {
+                    throw e;
+                }
+                continue;
+            }
+
+            int status = response.statusCode();
+            if (!RETRYABLE_STATUS.contains(status)) {
+                attempts.recovered(attempt);
+                return response;
+            }
+            long retryAfter = retryAfterMillis(response.getHeader("Retry-After"));
+            // Read the body so the connection is released for the next attempt
+            response.asByteArray();
+            if (!attempts.pause(attempt, String.valueOf(status), retryAfter)) {
+                return response;
+            }
+        }
+    }
+
+    private boolean isRetryable(FilterableRequestSpecification requestSpec) {
+        String method = requestSpec.getMethod().toUpperCase(Locale.ROOT);
+        return IDEMPOTENT_METHODS.contains(method)
+                || (idempotencyHeader != null && requestSpec.getHeaders().hasHeaderWithName(idempotencyHeader));
+    }
+
+    /**
+     * The filters ordered after this one, without the sending filters RestAssured appends to
+     * every request (the re-issued request gets its own)
+     */
+    private List<Filter> downstreamFilters(FilterableRequestSpecification requestSpec) {
+        List<Filter> downstream = new ArrayList<>();
+        for (Filter filter : requestSpec.getDefinedFilters()) {
+            int order = filter instanceof OrderedFilter ? ((OrderedFilter) filter).getOrder() : OrderedFilter.DEFAULT_PRECEDENCE;
+            if (order > getOrder() && !(filter instanceof TimingFilter)
+                    && !filter.getClass().getName().startsWith("io.restassured.internal.")) {
+                downstream.add(filter);
+            }
+        }
+        return downstream;
+    }
+
+    private static boolean isConnectFailure(Throwable t) {
+        for (Throwable cause = t; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof NoRouteToHostException
+                    || cause instanceof ConnectTimeoutException || cause instanceof HttpConnectTimeoutException
+                    || cause instanceof NoHttpResponseException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Throwable rootCause(Throwable t) {
+        Throwable root = t;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root;
+    }
+
+    /**
+     * Decorrelated jitter: random between the base delay and 3x the previous delay, capped
+     */
+    private long decorrelatedJitter(long previousDelay) {
+        long upper = Math.max(baseDelayMillis + 1, previousDelay * 3);
+        return Math.min(maxDelayMillis, ThreadLocalRandom.current().nextLong(baseDelayMillis, upper));
+    }
+
+    /**
+     * Retry-After as delta-seconds or HTTP-date; -1 when absent or unparseable
+     */
+    static long retryAfterMillis(String retryAfter) {
+        if (retryAfter == null || retryAfter.trim().isEmpty()) {
+            return -1;
+        }
+        String value = retryAfter.trim();
+        try {
+            return Math.max(0, Long.parseLong(value) * 1000);
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toMillis());
+            } catch (DateTimeParseException ignored) {
+                return -1;
+            }
+        }
+    }
+
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    public long getRecovered() {
+        return recovered.sum();
+    }
+
+    public long getBudgetExhausted() {
+        return budgetExhausted.sum();
+    }
+
+    public long getRetryMillis() {
+        return retryMillis.sum();
+    }
+
+    /**
+     * Retries per reason (status code or exception type)
+     */
+    public Map<String, Long> getRetriesByReason() {
+        Map<String, Long> counts = new TreeMap<>();
+        retriesByReason.forEach((reason, count) -> counts.put(reason, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public String getName() {
+        return "Retry";
+    }
+
+    @Override
+    public String getSummary() {
+        return "retries=" + retries.sum() + " of " + requests.sum() + " requests " + getRetriesByReason()
+                + ", recovered=" + recovered.sum() + ", budget denied=" + budgetExhausted.sum()
+                + ", time retrying=" + retryMillis.sum() + "ms";
+    }
+
+    @Override
+    public int getOrder() {
+        return RequestPipeline.RETRY_ORDER;
+    }
+
+    /**
+     * Retry state of one request. The first attempt runs the rest of the filter chain; retries
+     * re-issue the request through a fresh RestAssured specification carrying the filters after
+     * this one, so logging, Allure and the other pipeline stages see every attempt.
+     */
+    private class Attempts {
+        private final FilterableRequestSpecification requestSpec;
+        // Downstream stages may add headers or change the config; every retry starts from these
+        private final Headers headers;
+        private final Object body;
+        private final RestAssuredConfig config;
+        private RequestSpecification template;
+        private List<Filter> downstream;
+        private URI uri;
+        private long previousDelay = baseDelayMillis;
+        private long retryStart;
+
+        Attempts(FilterableRequestSpecification requestSpec) {
+            this.requestSpec = requestSpec;
+            this.headers = requestSpec.getHeaders();
+            this.body = requestSpec.getBody();
+            this.config = requestSpec.getConfig();
+        }
+
+        Response resend() {
+            if (template == null) {
+                RequestSpecBuilder builder = new RequestSpecBuilder()
+                        .setConfig(config)
+                        // The URI below is already encoded
+                        .setUrlEncodingEnabled(false)
+                        .setAuth(requestSpec.getAuthenticationScheme())
+                        .addCookies(requestSpec.getCookies())
+                        .addFormParams(requestSpec.getFormParams());
+                for (Header header : headers) {
+                    builder.addHeader(header.getName(), header.getValue());
+                }
+                if (body != null) {
+                    builder.setBody(body);
+                }
+                for (MultiPartSpecification part : requestSpec.getMultiPartParams()) {
+                    builder.addMultiPart(part);
+                }
+                if (requestSpec.getProxySpecification() != null) {
+                    builder.setProxy(requestSpec.getProxySpecification());
+                }
+                template = builder.build();
+                downstream = downstreamFilters(requestSpec);
+                uri = URI.create(requestSpec.getURI());
+            }
+            return RestAssured.given().spec(template).noFilters().filters(downstream)
+                    .request(requestSpec.getMethod(), uri);
+        }
+
+        /**
+         * Wait before the next attempt; false when the request should not be retried
+         */
+        boolean pause(int attempt, String reason, long retryAfter) {
+            long delay = decorrelatedJitter(previousDelay);
+            String giveUp = null;
+            if (attempt >= maxRetries) {
+                giveUp = "retries exhausted";
+            } else if (retryAfter > maxDelayMillis) {
+                giveUp = "Retry-After " + retryAfter + "ms exceeds " + maxDelayMillis + "ms";
+            } else if (!budget.tryAcquire()) {
+                budgetExhausted.increment();
+                giveUp = "retry budget exhausted";
+            }
+            if (giveUp != null) {
+                if (attempt > 0) {
+                    retryMillis.add(System.currentTimeMillis() - retryStart);
+                }
+                logger.warn(requestSpec.getMethod() + " " + requestSpec.getURI() + " failed (" + reason + "), not retrying: " + giveUp);
+                return false;
+            }
+
+            if (retryAfter >= 0) {
+                delay = Math.max(delay, retryAfter);
+            }
+            previousDelay = delay;
+            if (attempt == 0) {
+                retryStart = System.currentTimeMillis();
+            }
+            retries.increment();
+            retriesByReason.computeIfAbsent(reason, r -> new LongAdder()).increment();
+            String message = "Retry " + (attempt + 1) + "/" + maxRetries + " of " + requestSpec.getMethod() + " "
+                    + requestSpec.getURI() + " after " + reason + " in " + delay + "ms";
+            logger.info(message);
+            Allure.step(message);
+            try {
+                Thread.sleep(delay);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        void recovered(int attempt) {
+            if (attempt > 0) {
+                recovered.increment();
+                retryMillis.add(System.currentTimeMillis() - retryStart);
+            }
+        }
+    }
+
+    /**
+     * Suite-wide token bucket limiting retries to a fraction of traffic.
+     * Every request deposits ratio tokens (up to maxTokens) and every retry withdraws one,
+     * so during an outage retries stop once the bucket is drained instead of multiplying load.
+     */
+    public static class RetryBudget {
+        private static final long SCALE = 1000;
+
+        private final long maxMilliTokens;
+        private final long depositMilliTokens;
+        private final AtomicLong milliTokens;
+
+        public RetryBudget(double ratio, int maxTokens) {
+            this.maxMilliTokens = maxTokens * SCALE;
+            this.depositMilliTokens = Math.round(ratio * SCALE);
+            this.milliTokens = new AtomicLong(maxMilliTokens);
+        }
+
+        void recordRequest() {
+            milliTokens.accumulateAndGet(depositMilliTokens, (current, deposit) -> Math.min(maxMilliTokens, current + deposit));
+        }
+
+        boolean tryAcquire() {
+            while (true) {
+                long current = milliTokens.get();
+                if (current < SCALE) {
+                    return false;
+                }
+                if (milliTokens.compareAndSet(current, current - SCALE)) {
+                    return true;
+                }
+            }
+        }
+
+        public double getTokens() {
+            return milliTokens.get() / (double) SCALE;
+        }
+    }
+}
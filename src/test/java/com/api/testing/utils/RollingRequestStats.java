@@ -0,0 +1,173 @@
+package com.api.testing.utils;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-endpoint request counts, errors and latencies in one-second buckets.
+ * Each endpoint has a ring of buckets indexed by epoch second; the first request of a new
+ * second swaps a fresh bucket into its slot with a CAS, so recording never takes a lock.
+ * Windows are computed over complete seconds only, which keeps the rate of the second in
+ * progress from dragging the figures down.
+ */
+public class RollingRequestStats {
+    private final int windowSeconds;
+    private final int slots;
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, AtomicReferenceArray<Second>> endpoints = new ConcurrentHashMap<>();
+
+    public RollingRequestStats(int windowSeconds) {
+        this(windowSeconds, System::currentTimeMillis);
+    }
+
+    public RollingRequestStats(int windowSeconds, LongSupplier clockMillis) {
+        this.windowSeconds = windowSeconds;
+        // The window, the second in progress and one spare so a finished second is never reused while read
+        this.slots = windowSeconds + 2;
+        this.clock = clockMillis;
+    }
+
+    public void record(String endpoint, long nanos, boolean error) {
+        long now = clock.getAsLong() / 1000;
+        AtomicReferenceArray<Second> ring = endpoints.computeIfAbsent(endpoint, key -> new AtomicReferenceArray<>(slots));
+        Second second = current(ring, now);
+        if (second != null) {
+            second.count.increment();
+            if (error) {
+                second.errors.increment();
+            }
+            second.latencies.recordNanos(nanos);
+        }
+    }
+
+    private Second current(AtomicReferenceArray<Second> ring, long epochSecond) {
+        int index = (int) (epochSecond % slots);
+        while (true) {
+            Second second = ring.get(index);
+            if (second != null && second.epochSecond == epochSecond) {
+                return second;
+            }
+            if (second != null && second.epochSecond > epochSecond) {
+                // Recorder stalled across a whole ring turn; the slot belongs to a newer second
+                return null;
+            }
+            Second fresh = new Second(epochSecond);
+            if (ring.compareAndSet(index, second, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    /**
+     * Totals per endpoint over the last windowSeconds complete seconds
+     */
+    public Map<String, Window> getWindows() {
+        long now = clock.getAsLong() / 1000;
+        Map<String, Window> windows = new TreeMap<>();
+        endpoints.forEach((endpoint, ring) -> {
+            Window window = new Window(windowSeconds);
+            for (int i = 0; i < slots; i++) {
+                Second second = ring.get(i);
+                if (second != null && second.epochSecond < now && second.epochSecond >= now - windowSeconds) {
+                    window.add(second);
+                }
+            }
+            windows.put(endpoint, window);
+        });
+        return windows;
+    }
+
+    /**
+     * One endpoint's bucket for a finished second, or null when nothing was recorded in it
+     */
+    public Second getSecond(String endpoint, long epochSecond) {
+        AtomicReferenceArray<Second> ring = endpoints.get(endpoint);
+        if (ring == null) {
+            return null;
+        }
+        Second second = ring.get((int) (epochSecond % slots));
+        return second != null && second.epochSecond == epochSecond ? second : null;
+    }
+
+    public Iterable<String> getEndpoints() {
+        return endpoints.keySet();
+    }
+
+    public int getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    /**
+     * Requests, errors and latencies recorded during one second
+     */
+    public static class Second {
+        final long epochSecond;
+        final LongAdder count = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LatencyHistogram latencies = new LatencyHistogram();
+
+        Second(long epochSecond) {
+            this.epochSecond = epochSecond;
+        }
+
+        public long getEpochSecond() {
+            return epochSecond;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public LatencyHistogram getLatencies() {
+            return latencies;
+        }
+    }
+
+    /**
+     * Buckets of one endpoint merged over the window
+     */
+    public static class Window {
+        private final int seconds;
+        private long count;
+        private long errors;
+        private final LatencyHistogram latencies = new LatencyHistogram();
+
+        Window(int seconds) {
+            this.seconds = seconds;
+        }
+
+        void add(Second second) {
+            count += second.getCount();
+            errors += second.getErrors();
+            latencies.merge(second.latencies);
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public double getRequestsPerSecond() {
+            return count / (double) seconds;
+        }
+
+        public double getErrorRate() {
+            return count == 0 ? 0 : errors / (double) count;
+        }
+
+        public LatencyHistogram getLatencies() {
+            return latencies;
+        }
+    }
+}
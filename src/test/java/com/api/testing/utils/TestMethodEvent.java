@@ -0,0 +1,35 @@
+package com.api.testing.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event spanning one TestNG test method, emitted by TestReportListener.
+ * HTTP request events and JDK events on the same thread fall inside it in JDK Mission Control.
+ */
+@Name("com.api.testing.TestMethod")
+@Label("Test Method")
+@Category({"API Testing", "TestNG"})
+@Description("TestNG test method execution")
+@StackTrace(false)
+public class TestMethodEvent extends Event {
+
+    @Label("Test Class")
+    String testClass;
+
+    @Label("Test Method")
+    String testMethod;
+
+    @Label("Description")
+    String description;
+
+    @Label("Environment")
+    String environment;
+
+    @Label("Status")
+    String status;
+}
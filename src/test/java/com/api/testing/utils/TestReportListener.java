@@ -1,24 +1,44 @@
 package com.api.testing.utils;
 
+import io.qameta.allure.Allure;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.lang.reflect.Method;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.*;
 
 /**
- * Custom TestNG listener for generating neat test reports
+ * Custom TestNG listener for generating neat test reports.
+ * It also binds each invocation of a test with a @LatencySlo to the objective's scope and fails
+ * the invocation after which the scope's requests break it.
  */
-public class TestReportListener implements ITestListener {
+public class TestReportListener implements ITestListener, IInvokedMethodListener {
     private static final Logger logger = LogManager.getLogger(TestReportListener.class);
+    private static final String JFR_EVENT = "jfr.event";
+    private static final String SLO_BINDING = "slo.binding";
+    private static final int TIME_SERIES_ENDPOINTS = 5;
+    private static final double[] TEST_DURATION_BUCKETS = {0.1, 0.5, 1, 2.5, 5, 10, 30, 60, 300};
+    private static volatile List<PerformanceBaseline.Result> baselineRegressions = Collections.emptyList();
     private List<TestResultDetails> testResults = new ArrayList<>();
     private LocalDateTime suiteStartTime;
     private LocalDateTime suiteEndTime;
+    private final AtomicInteger finishedTests = new AtomicInteger();
+    private final long runStartMillis = System.currentTimeMillis();
+    private final EndpointLatencyTracker testLatencies = new EndpointLatencyTracker();
+    private final MetricsRegistry.Family<MetricsRegistry.Counter> testCounts = MetricsRegistry.global()
+            .counter("api_tests", "Test method results", "class", "status");
+    private final MetricsRegistry.Family<MetricsRegistry.Histogram> testDurations = MetricsRegistry.global()
+            .histogram("api_test_duration_seconds", "Test method duration", TEST_DURATION_BUCKETS, "class");
 
     @Override
     public void onStart(ITestContext context) {
@@ -34,12 +54,101 @@ public class TestReportListener implements ITestListener {
         logger.info("▶ TEST STARTED: " + result.getMethod().getMethodName());
         logger.info("  Description: " + result.getMethod().getDescription());
         logger.info("  Class: " + result.getTestClass().getName());
+
+        TestMethodEvent event = new TestMethodEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            result.setAttribute(JFR_EVENT, event);
+        }
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult result) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        Class<?> testClass = result.getTestClass().getRealClass();
+        Method testMethod = method.getTestMethod().getConstructorOrMethod().getMethod();
+        LatencySlo slo = LatencySloTracker.find(testClass, testMethod);
+        if (slo != null) {
+            result.setAttribute(SLO_BINDING, LatencySloTracker.global()
+                    .bind(LatencySloTracker.scopeName(testClass, testMethod), slo));
+        }
+    }
+
+    /**
+     * Check the objective over all requests of the scope so far; a broken objective fails the
+     * invocation that completed it, with the measured values attached in Allure
+     */
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        Object attribute = result.getAttribute(SLO_BINDING);
+        if (!(attribute instanceof LatencySloTracker.Binding)) {
+            return;
+        }
+        result.removeAttribute(SLO_BINDING);
+        LatencySloTracker.Binding binding = (LatencySloTracker.Binding) attribute;
+        LatencySloTracker.unbind(binding);
+        if (result.getStatus() != ITestResult.SUCCESS) {
+            return;
+        }
+        String violation = binding.getScope().checkOnce();
+        if (violation != null) {
+            Allure.addAttachment("Latency SLO", "text/plain", binding.getScope().describe());
+            result.setStatus(ITestResult.FAILURE);
+            result.setThrowable(new AssertionError(violation));
+        }
+    }
+
+    /**
+     * Count the result and its duration in the metrics registry
+     */
+    private void recordMetrics(ITestResult result, String status) {
+        String testClass = result.getTestClass().getName();
+        testCounts.labels(testClass, status).inc();
+        if (result.getEndMillis() > 0) {
+            testDurations.labels(testClass).observeNanos((result.getEndMillis() - result.getStartMillis()) * 1_000_000);
+        }
+    }
+
+    /**
+     * Test method durations for the performance baseline; each data-provider row is a sample
+     */
+    private void recordLatency(ITestResult result) {
+        if (result.getEndMillis() > 0) {
+            testLatencies.record(result.getTestClass().getName() + "." + result.getMethod().getMethodName(),
+                    (result.getEndMillis() - result.getStartMillis()) * 1000);
+        }
+    }
+
+    /**
+     * Commit the JFR event started in onTestStart
+     */
+    private void commitJfrEvent(ITestResult result, String status) {
+        Object attribute = result.getAttribute(JFR_EVENT);
+        if (!(attribute instanceof TestMethodEvent)) {
+            return;
+        }
+        result.removeAttribute(JFR_EVENT);
+        TestMethodEvent event = (TestMethodEvent) attribute;
+        event.end();
+        if (event.shouldCommit()) {
+            event.testClass = result.getTestClass().getName();
+            event.testMethod = result.getMethod().getMethodName();
+            event.description = result.getMethod().getDescription();
+            event.environment = ConfigManager.getCurrentEnvironment();
+            event.status = status;
+            event.commit();
+        }
     }
 
     @Override
     public void onTestSuccess(ITestResult result) {
         long duration = result.getEndMillis() - result.getStartMillis();
         logger.info("✓ TEST PASSED: " + result.getMethod().getMethodName() + " (" + duration + "ms)");
+        commitJfrEvent(result, "PASSED");
+        recordMetrics(result, "PASSED");
+        recordLatency(result);
         logSeparator();
 
         testResults.add(new TestResultDetails(
@@ -55,6 +164,8 @@ public class TestReportListener implements ITestListener {
     public void onTestFailure(ITestResult result) {
         long duration = result.getEndMillis() - result.getStartMillis();
         logger.error("✗ TEST FAILED: " + result.getMethod().getMethodName() + " (" + duration + "ms)");
+        commitJfrEvent(result, "FAILED");
+        recordMetrics(result, "FAILED");
         logger.error("  Error: " + result.getThrowable().getMessage());
         logSeparator();
 
@@ -70,6 +181,8 @@ public class TestReportListener implements ITestListener {
     @Override
     public void onTestSkipped(ITestResult result) {
         logger.warn("⊗ TEST SKIPPED: " + result.getMethod().getMethodName());
+        commitJfrEvent(result, "SKIPPED");
+        recordMetrics(result, "SKIPPED");
         logSeparator();
 
         testResults.add(new TestResultDetails(
@@ -92,6 +205,111 @@ public class TestReportListener implements ITestListener {
         logger.info("=".repeat(80));
 
         generateReport(context, totalDuration);
+        RequestPipeline.persist();
+
+        // The profiling recording covers the whole suite, so it ends with the last <test>
+        if (finishedTests.incrementAndGet() >= context.getSuite().getXmlSuite().getTests().size()) {
+            PerformanceBaseline.Comparison baseline = compareWithBaseline();
+            generateHtmlReport(context, baseline);
+            MetricsRegistry.global().stopExporting();
+            LiveMetricsServer.stopSuite();
+            // Failing here would only be logged by TestNG; BaseTest's @AfterSuite fails the suite
+            if (baseline != null) {
+                baselineRegressions = baseline.getRegressions();
+            }
+        }
+    }
+
+    /**
+     * Regressions found when the last &lt;test&gt; finished (empty before that or without a baseline)
+     */
+    public static List<PerformanceBaseline.Result> getBaselineRegressions() {
+        return baselineRegressions;
+    }
+
+    /**
+     * Compare this run's endpoint and test latencies with the stored baseline, then store the run.
+     * Returns null when the baseline is disabled or could not be read or written.
+     */
+    private PerformanceBaseline.Comparison compareWithBaseline() {
+        MetricsFilter metrics = RequestPipeline.getStage(MetricsFilter.class);
+        if (!ConfigManager.isBaselineEnabled() || metrics == null) {
+            return null;
+        }
+        try {
+            PerformanceBaseline store = new PerformanceBaseline(Paths.get(ConfigManager.getBaselineDir()),
+                    ConfigManager.getBaselineRuns(), ConfigManager.getBaselineMinSamples(),
+                    ConfigManager.getBaselineP50Threshold(), ConfigManager.getBaselineP99Threshold(),
+                    ConfigManager.getBaselineAlpha());
+            Map<String, LatencyHistogram> endpoints = metrics.getLatencies().getHistograms();
+            long requests = endpoints.values().stream().mapToLong(LatencyHistogram::getCount).sum();
+            PerformanceBaseline.Run run = new PerformanceBaseline.Run(ConfigManager.getCurrentEnvironment(),
+                    System.currentTimeMillis(), (System.currentTimeMillis() - runStartMillis) / 1000.0, requests);
+            endpoints.forEach(run::endpoint);
+            testLatencies.getHistograms().forEach(run::test);
+
+            PerformanceBaseline.Comparison comparison = store.compare(run);
+            List<PerformanceBaseline.Result> regressions = comparison.getRegressions();
+            logger.info("\n┌─ PERFORMANCE BASELINE " + "─".repeat(54) + "┐");
+            logger.info("│ Throughput       : " + padRight(String.format("%.1f req/s (%d requests)",
+                    run.getThroughput(), requests), 57) + "│");
+            if (!comparison.hasBaseline()) {
+                logger.info("│ Baseline         : " + padRight("none yet, this run starts it", 57) + "│");
+            } else {
+                logger.info("│ Baseline         : " + padRight(String.format("%.1f req/s", comparison.getBaseline().getThroughput()), 57) + "│");
+                logger.info("│ Compared         : " + padRight(comparison.getComparedKeys() + " endpoints/tests", 57) + "│");
+                logger.info("│ Regressions      : " + padRight(regressions.size() + (regressions.isEmpty() ? " ✓" : " ✗"), 57) + "│");
+            }
+            logger.info("└" + "─".repeat(77) + "┘");
+            for (PerformanceBaseline.Result regression : regressions) {
+                logger.error("✗ PERFORMANCE REGRESSION: " + regression);
+            }
+            // Regressed runs are kept (but not used as baseline), so keep enough to outlast a bad streak
+            store.save(run, !regressions.isEmpty(), ConfigManager.getBaselineRuns() * 2);
+            return comparison;
+        } catch (RuntimeException e) {
+            logger.error("Could not compare with the performance baseline: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Write the HTML report, with the profiling summary when the suite ran under JFR profiling,
+     * per-second charts when the time series was recorded, latency objectives and the baseline
+     * comparison
+     */
+    private void generateHtmlReport(ITestContext context, PerformanceBaseline.Comparison baseline) {
+        HtmlReportGenerator report = new HtmlReportGenerator(context.getSuite().getName());
+        for (TestResultDetails result : testResults) {
+            report.addTestResult(result.testName, result.description, result.status, result.duration, result.errorMessage);
+        }
+        try {
+            ProfilingSession.Summary profile = ProfilingSession.stopSuite();
+            if (profile != null) {
+                profile.appendTo(report);
+                logger.info("JFR recording: " + profile.getFile() + " (" + profile.getExecutionSamples()
+                        + " CPU samples, " + profile.getGcPauses().values().stream()
+                        .mapToLong(ProfilingSession.GcStats::getCollections).sum() + " GCs)");
+            }
+        } catch (RuntimeException e) {
+            logger.error("Could not summarise the profiling recording: " + e.getMessage());
+        }
+        TimeSeriesRecorder timeSeries = RequestPipeline.getTimeSeries();
+        if (timeSeries != null) {
+            try {
+                timeSeries.close();
+                timeSeries.appendCharts(report, TIME_SERIES_ENDPOINTS);
+            } catch (RuntimeException e) {
+                logger.error("Could not chart the time series: " + e.getMessage());
+            }
+        }
+        if (!LatencySloTracker.global().getScopes().isEmpty()) {
+            LatencySloTracker.global().appendTo(report);
+        }
+        if (baseline != null && !baseline.getResults().isEmpty()) {
+            baseline.appendTo(report);
+        }
+        report.generateReport();
     }
 
     /**
@@ -158,6 +376,26 @@ public class TestReportListener implements ITestListener {
             logger.info("└" + "─".repeat(77) + "┘");
         }
 
+        // Request pipeline statistics
+        List<String[]> pipelineSummaries = RequestPipeline.getSummaries();
+        if (!pipelineSummaries.isEmpty()) {
+            logger.info("\n┌─ REQUEST PIPELINE " + "─".repeat(58) + "┐");
+            for (String[] summary : pipelineSummaries) {
+                logger.info("│ " + padRight(summary[0], 16) + " : " + padRight(summary[1], 57) + "│");
+            }
+            logger.info("└" + "─".repeat(77) + "┘");
+        }
+
+        // Latency objectives
+        List<LatencySloTracker.Scope> sloScopes = LatencySloTracker.global().getScopes();
+        if (!sloScopes.isEmpty()) {
+            logger.info("\n┌─ LATENCY SLOs " + "─".repeat(62) + "┐");
+            for (LatencySloTracker.Scope scope : sloScopes) {
+                logger.info("│ " + padRight(scope.getName(), 50) + " : " + padRight(scope.getStatus(), 23) + "│");
+            }
+            logger.info("└" + "─".repeat(77) + "┘");
+        }
+
         // Overall status
         String overallStatus = failed == 0 ? "✓ ALL TESTS PASSED" : "✗ SOME TESTS FAILED";
         logger.info("\n┌" + "─".repeat(77) + "┐");
@@ -0,0 +1,225 @@
+package com.api.testing.utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Writes the one-second buckets of RollingRequestStats to a compact time-series file as each
+ * second completes, one line per endpoint plus a "*" line for all endpoints together:
+ * <pre>epoch_second,count,errors,p50_ms,p99_ms,max_ms,endpoint</pre>
+ * Aggregate histograms hide warm-up, gradual degradation and GC storms; the series shows the
+ * second they started. appendCharts() renders throughput and latency over the run into the
+ * HTML report, reading the file back so a soak run holds only the current seconds in memory.
+ */
+public class TimeSeriesRecorder implements AutoCloseable {
+    private static final Logger logger = LogManager.getLogger(TimeSeriesRecorder.class);
+    public static final String ALL_ENDPOINTS = "*";
+    private static final String HEADER = "# epoch_second,count,errors,p50_ms,p99_ms,max_ms,endpoint";
+
+    private final RollingRequestStats stats;
+    private final Path file;
+    private final LongSupplier clock;
+    private final BufferedWriter writer;
+    private ScheduledExecutorService scheduler;
+    private long lastWritten;
+    private boolean closed;
+
+    public TimeSeriesRecorder(RollingRequestStats stats, Path file) {
+        this(stats, file, System::currentTimeMillis);
+    }
+
+    public TimeSeriesRecorder(RollingRequestStats stats, Path file, LongSupplier clockMillis) {
+        this.stats = stats;
+        this.file = file;
+        this.clock = clockMillis;
+        this.lastWritten = clockMillis.getAsLong() / 1000 - 1;
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            writer.write(HEADER);
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write time series " + file, e);
+        }
+    }
+
+    /**
+     * Write completed seconds every second in the background
+     */
+    public synchronized void start() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "timeseries");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleAtFixedRate(() -> {
+                try {
+                    flush(false);
+                } catch (RuntimeException e) {
+                    logger.warn("Time series write failed: " + e.getMessage());
+                }
+            }, 1000, 1000, TimeUnit.MILLISECONDS);
+            logger.info("Recording per-second time series to " + file);
+        }
+    }
+
+    /**
+     * Write every second not yet written up to the last complete one (or the current one)
+     */
+    public synchronized void flush(boolean includeCurrent) {
+        if (closed) {
+            return;
+        }
+        long now = clock.getAsLong() / 1000;
+        long upTo = includeCurrent ? now : now - 1;
+        try {
+            for (long second = lastWritten + 1; second <= upTo; second++) {
+                writeSecond(second);
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write time series " + file, e);
+        }
+        lastWritten = Math.max(lastWritten, upTo);
+    }
+
+    private void writeSecond(long epochSecond) throws IOException {
+        LatencyHistogram all = new LatencyHistogram();
+        long count = 0;
+        long errors = 0;
+        for (String endpoint : stats.getEndpoints()) {
+            RollingRequestStats.Second second = stats.getSecond(endpoint, epochSecond);
+            if (second != null && second.getCount() > 0) {
+                writeLine(epochSecond, second.getCount(), second.getErrors(), second.getLatencies(), endpoint);
+                count += second.getCount();
+                errors += second.getErrors();
+                all.merge(second.getLatencies());
+            }
+        }
+        writeLine(epochSecond, count, errors, all, ALL_ENDPOINTS);
+    }
+
+    private void writeLine(long epochSecond, long count, long errors, LatencyHistogram latencies, String endpoint)
+            throws IOException {
+        writer.write(String.format(Locale.ROOT, "%d,%d,%d,%.3f,%.3f,%.3f,%s", epochSecond, count, errors,
+                latencies.getValueAtPercentile(50) / 1000.0, latencies.getValueAtPercentile(99) / 1000.0,
+                latencies.getMaxMicros() / 1000.0, endpoint));
+        writer.newLine();
+    }
+
+    /**
+     * Stop the background writer and write the remaining seconds, including the current one
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        flush(true);
+        closed = true;
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close time series " + file, e);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Add throughput, latency and per-endpoint p99 charts for the file to the report
+     */
+    public void appendCharts(HtmlReportGenerator report, int topEndpoints) {
+        List<String[]> rows = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                if (!line.startsWith("#") && !line.isBlank()) {
+                    rows.add(line.split(",", 7));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read time series " + file, e);
+        }
+        List<String[]> totals = new ArrayList<>();
+        Map<String, Long> requestsByEndpoint = new HashMap<>();
+        Map<String, Map<Long, Double>> p99ByEndpoint = new HashMap<>();
+        for (String[] row : rows) {
+            if (ALL_ENDPOINTS.equals(row[6])) {
+                totals.add(row);
+            } else {
+                requestsByEndpoint.merge(row[6], Long.parseLong(row[1]), Long::sum);
+                p99ByEndpoint.computeIfAbsent(row[6], key -> new TreeMap<>()).put(Long.parseLong(row[0]), Double.parseDouble(row[4]));
+            }
+        }
+        if (totals.isEmpty()) {
+            return;
+        }
+
+        int n = totals.size();
+        long[] seconds = new long[n];
+        double[] throughput = new double[n];
+        double[] errors = new double[n];
+        double[] p50 = new double[n];
+        double[] p99 = new double[n];
+        double[] max = new double[n];
+        for (int i = 0; i < n; i++) {
+            String[] row = totals.get(i);
+            seconds[i] = Long.parseLong(row[0]);
+            throughput[i] = Long.parseLong(row[1]);
+            errors[i] = Long.parseLong(row[2]);
+            boolean idle = throughput[i] == 0;
+            // No requests in a second leaves a gap rather than a drop to zero latency
+            p50[i] = idle ? Double.NaN : Double.parseDouble(row[3]);
+            p99[i] = idle ? Double.NaN : Double.parseDouble(row[4]);
+            max[i] = idle ? Double.NaN : Double.parseDouble(row[5]);
+        }
+
+        Map<String, double[]> rates = new LinkedHashMap<>();
+        rates.put("requests/s", throughput);
+        rates.put("errors/s", errors);
+        report.addLineChart("📉 Throughput per Second", "req/s", seconds, rates);
+
+        Map<String, double[]> latency = new LinkedHashMap<>();
+        latency.put("p50", p50);
+        latency.put("p99", p99);
+        latency.put("max", max);
+        report.addLineChart("⏱ Latency per Second (all endpoints)", "ms", seconds, latency);
+
+        Map<String, double[]> byEndpoint = new LinkedHashMap<>();
+        requestsByEndpoint.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(topEndpoints)
+                .forEach(entry -> {
+                    Map<Long, Double> points = p99ByEndpoint.get(entry.getKey());
+                    double[] values = new double[n];
+                    for (int i = 0; i < n; i++) {
+                        values[i] = points.getOrDefault(seconds[i], Double.NaN);
+                    }
+                    byEndpoint.put(entry.getKey(), values);
+                });
+        report.addLineChart("⏱ p99 per Second by Endpoint (top " + byEndpoint.size() + ")", "ms", seconds, byEndpoint);
+    }
+}